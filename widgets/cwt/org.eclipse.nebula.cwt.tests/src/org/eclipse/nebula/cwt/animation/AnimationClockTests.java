@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.nebula.cwt.animation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import junit.framework.TestCase;
+
+public class AnimationClockTests extends TestCase {
+
+	private static final int FRAME_RATE = 50;
+	private static final long PERIOD = 1000000000L / FRAME_RATE;
+	// timers have millisecond resolution
+	private static final long TOLERANCE = 2000000L;
+
+	/**
+	 * Records the times of its frames, and runs until stopped.
+	 */
+	private static class Recorder implements IFrameListener {
+		final List<Long> frames = new ArrayList<Long>();
+		long sleep = 0;
+		int sleepFrame = -1;
+		boolean stopped = false;
+
+		public boolean doFrame(long frameTime) {
+			frames.add(frameTime);
+			if (frames.size() - 1 == sleepFrame) {
+				try {
+					Thread.sleep(sleep / 1000000L);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return !stopped;
+		}
+	}
+
+	private Display display;
+	private Shell shell;
+	private AnimationClock clock;
+
+	@Override
+	protected void setUp() throws Exception {
+		display = Display.getDefault();
+		shell = new Shell(display);
+		shell.setSize(100, 100);
+		shell.open();
+		clock = AnimationClock.getClock(display);
+		clock.setFrameRate(FRAME_RATE);
+		clock.resetStatistics();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		// let the clock run out of listeners
+		pump(3 * PERIOD);
+		clock.setFrameRate(AnimationClock.DEFAULT_FRAME_RATE);
+	}
+
+	/**
+	 * Returns the slots of the frame grid the frames of the given recorder
+	 * were called in, counted from the first frame.  Timers fire late by up to
+	 * a few milliseconds, so frames are not exactly on the grid.
+	 */
+	private static long[] slots(Recorder recorder) {
+		long first = recorder.frames.get(0);
+		long[] slots = new long[recorder.frames.size()];
+		for (int i = 0; i < slots.length; i++)
+			slots[i] = (recorder.frames.get(i) - first + PERIOD / 2) / PERIOD;
+		return slots;
+	}
+
+	private void pump(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			if (!display.readAndDispatch())
+				Thread.yield();
+		}
+	}
+
+	private void pumpUntil(Recorder recorder, int frames) {
+		long end = System.nanoTime() + 5000000000L;
+		while (recorder.frames.size() < frames && System.nanoTime() < end) {
+			if (!display.readAndDispatch())
+				Thread.yield();
+		}
+		assertTrue("timed out", recorder.frames.size() >= frames);
+	}
+
+	public void testGetClock() {
+		assertSame(clock, AnimationClock.getClock(display));
+		assertEquals(FRAME_RATE, clock.getFrameRate());
+		try {
+			clock.setFrameRate(0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testGridPacing() {
+		Recorder recorder = new Recorder();
+		clock.addListener(recorder);
+		assertTrue(clock.isRunning());
+		pumpUntil(recorder, 10);
+		recorder.stopped = true;
+
+		long[] slots = slots(recorder);
+		for (int i = 1; i < slots.length; i++) {
+			// a late frame does not delay the next ones
+			assertTrue("slots " + Arrays.toString(slots), slots[i] > slots[i - 1]);
+		}
+		// every frame of the clock called the listener
+		assertEquals(recorder.frames.size(), clock.getFrameCount());
+		assertTrue(clock.getLastFrameInterval() > 0);
+	}
+
+	public void testSimultaneousListeners() {
+		Recorder recorder1 = new Recorder();
+		Recorder recorder2 = new Recorder();
+		clock.addListener(recorder1);
+		clock.addListener(recorder2);
+		pumpUntil(recorder2, 5);
+		recorder1.stopped = true;
+		recorder2.stopped = true;
+		pumpUntil(recorder2, 6);
+		assertEquals(recorder1.frames, recorder2.frames);
+	}
+
+	public void testDroppedFrames() {
+		Recorder recorder = new Recorder();
+		recorder.sleepFrame = 2;
+		recorder.sleep = 4 * PERIOD;
+		clock.addListener(recorder);
+		pumpUntil(recorder, 6);
+		recorder.stopped = true;
+
+		// the slow frame took the time of about 4 frames
+		assertTrue("dropped " + clock.getDroppedFrameCount(),
+				clock.getDroppedFrameCount() >= 3);
+		assertTrue(clock.getMaxFrameDuration() >= 4 * PERIOD - TOLERANCE);
+		// the clock skips the missed frames instead of catching up
+		long[] slots = slots(recorder);
+		assertTrue("slots " + Arrays.toString(slots), slots[3] >= slots[2] + 4);
+		for (int i = 4; i < slots.length; i++) {
+			assertTrue("slots " + Arrays.toString(slots), slots[i] > slots[i - 1]);
+		}
+	}
+
+	public void testPausedWhileHidden() {
+		Composite control = new Composite(shell, SWT.NONE);
+		control.setVisible(false);
+		Recorder recorder = new Recorder();
+		clock.addListener(recorder, control);
+		pump(10 * PERIOD);
+		assertTrue(recorder.frames.isEmpty());
+		assertTrue(clock.isRunning());
+		assertTrue(clock.getFrameCount() > 0);
+
+		control.setVisible(true);
+		pumpUntil(recorder, 2);
+		recorder.stopped = true;
+	}
+
+	public void testRemovedOnDispose() {
+		Composite control = new Composite(shell, SWT.NONE);
+		Recorder recorder = new Recorder();
+		clock.addListener(recorder, control);
+		pumpUntil(recorder, 2);
+
+		control.dispose();
+		int frames = recorder.frames.size();
+		pump(5 * PERIOD);
+		assertEquals(frames, recorder.frames.size());
+		// the timer stops with the last listener
+		assertFalse(clock.isRunning());
+	}
+
+	public void testRemoveListener() {
+		Recorder recorder = new Recorder();
+		clock.addListener(recorder);
+		pumpUntil(recorder, 2);
+		clock.removeListener(recorder);
+		int frames = recorder.frames.size();
+		pump(5 * PERIOD);
+		assertEquals(frames, recorder.frames.size());
+		assertFalse(clock.isRunning());
+	}
+
+	public void testListenerRemovedDuringFrame() {
+		final Recorder removed = new Recorder();
+		Recorder remover = new Recorder() {
+			@Override
+			public boolean doFrame(long frameTime) {
+				clock.removeListener(removed);
+				return super.doFrame(frameTime);
+			}
+		};
+		clock.addListener(remover);
+		clock.addListener(removed);
+		pumpUntil(remover, 3);
+		remover.stopped = true;
+		// removed before its first frame was called
+		assertTrue(removed.frames.isEmpty());
+	}
+
+	public void testThrowingListener() {
+		final RuntimeException failure = new IllegalStateException();
+		IFrameListener thrower = new IFrameListener() {
+			public boolean doFrame(long frameTime) {
+				throw failure;
+			}
+		};
+		Recorder recorder = new Recorder();
+		clock.addListener(thrower);
+		clock.addListener(recorder);
+
+		RuntimeException thrown = null;
+		long end = System.nanoTime() + 5000000000L;
+		while (thrown == null && System.nanoTime() < end) {
+			try {
+				if (!display.readAndDispatch())
+					Thread.yield();
+			} catch (RuntimeException e) {
+				thrown = e;
+			}
+		}
+		assertSame(failure, thrown);
+		// the other listener was called in the same frame, and the clock
+		// keeps running without the failed listener
+		assertEquals(1, recorder.frames.size());
+		assertTrue(clock.isRunning());
+		pumpUntil(recorder, 4);
+		recorder.stopped = true;
+	}
+
+	public void testListenerReturningFalse() {
+		Recorder recorder = new Recorder();
+		recorder.stopped = true;
+		clock.addListener(recorder);
+		pump(5 * PERIOD);
+		assertEquals(1, recorder.frames.size());
+		assertFalse(clock.isRunning());
+	}
+
+}
@@ -0,0 +1,203 @@
+/****************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.nebula.cwt.svg;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.Transform;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that a compiled SvgDocument paints the same as an uncompiled one.
+ */
+public class SvgCompiledTests extends TestCase {
+
+	private static final String[] FILES = { "line01", "rect01", "rect02", "circle01", "ellipse01",
+			"polygon01", "polyline01", "triangle01", "cubic02", "quad01", "arcs01", "arcs02",
+			"lingrad01", "lingrad02", "radgrad01", "PreserveAspectRatio" };
+
+	// two shapes linking to the same gradient
+	private static final String SHARED_GRADIENT = "<svg width=\"200\" height=\"100\">"
+			+ "<defs><linearGradient id=\"g\">"
+			+ "<stop offset=\"0%\" stop-color=\"#F00\"/><stop offset=\"100%\" stop-color=\"#00F\"/>"
+			+ "</linearGradient></defs>"
+			+ "<rect x=\"10\" y=\"10\" width=\"80\" height=\"80\" fill=\"url(#g)\"/>"
+			+ "<rect x=\"110\" y=\"10\" width=\"80\" height=\"80\" fill=\"url(#g)\" stroke=\"url(#g)\"/>"
+			+ "</svg>";
+
+	// antialiased edges may be rounded differently when painted from a cached image
+	private static final int TOLERANCE = 8;
+
+	private static SvgDocument load(String file) {
+		return SvgDocument.load(SvgCompiledTests.class.getResourceAsStream("resources/" + file + ".svg"));
+	}
+
+	private static ImageData render(SvgDocument svg, int width, int height, float dx) {
+		Display display = Display.getDefault();
+		Image image = new Image(display, width, height);
+		GC gc = new GC(image);
+		Transform transform = null;
+		try {
+			gc.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+			gc.fillRectangle(0, 0, width, height);
+			if(dx != 0) {
+				transform = new Transform(display);
+				transform.translate(dx, 0);
+				gc.setTransform(transform);
+			}
+			svg.apply(gc, new Rectangle(0, 0, width, height));
+			return image.getImageData();
+		} finally {
+			gc.dispose();
+			if(transform != null) {
+				transform.dispose();
+			}
+			image.dispose();
+		}
+	}
+
+	private static ImageData render(SvgDocument svg, int width, int height) {
+		return render(svg, width, height, 0);
+	}
+
+	private static void assertSimilar(String message, ImageData expected, ImageData actual) {
+		assertEquals(message, expected.width, actual.width);
+		assertEquals(message, expected.height, actual.height);
+		for(int y = 0; y < expected.height; y++) {
+			for(int x = 0; x < expected.width; x++) {
+				RGB e = expected.palette.getRGB(expected.getPixel(x, y));
+				RGB a = actual.palette.getRGB(actual.getPixel(x, y));
+				if(Math.abs(e.red - a.red) > TOLERANCE || Math.abs(e.green - a.green) > TOLERANCE
+						|| Math.abs(e.blue - a.blue) > TOLERANCE) {
+					fail(message + ": " + e + " expected at " + x + "," + y + " but was " + a);
+				}
+			}
+		}
+	}
+
+	public void testRasterCacheMatchesUncompiled() {
+		for(String file : FILES) {
+			SvgDocument svg = load(file);
+			ImageData expected = render(svg, 200, 150);
+			svg.setCompiled(true);
+			try {
+				assertSimilar(file, expected, render(svg, 200, 150));
+				// painted from the cached image
+				assertSimilar(file, expected, render(svg, 200, 150));
+			} finally {
+				svg.dispose();
+			}
+		}
+	}
+
+	public void testRetainedShapesMatchUncompiled() {
+		for(String file : FILES) {
+			SvgDocument svg = load(file);
+			ImageData expected = render(svg, 200, 150);
+			svg.setCompiled(true);
+			svg.setRasterCacheSize(0);
+			try {
+				assertSimilar(file, expected, render(svg, 200, 150));
+				assertSimilar(file, expected, render(svg, 200, 150));
+			} finally {
+				svg.dispose();
+			}
+		}
+	}
+
+	public void testTransformedMatchesUncompiled() {
+		for(String file : FILES) {
+			SvgDocument svg = load(file);
+			ImageData expected = render(svg, 200, 150, 10);
+			svg.setCompiled(true);
+			try {
+				// the raster cache is bypassed while the gc has a transform
+				assertSimilar(file, expected, render(svg, 200, 150, 10));
+			} finally {
+				svg.dispose();
+			}
+		}
+	}
+
+	public void testResize() {
+		SvgDocument svg = load("lingrad01");
+		ImageData small = render(svg, 100, 50);
+		ImageData large = render(svg, 300, 150);
+		svg.setCompiled(true);
+		svg.setRasterCacheSize(0);
+		try {
+			assertSimilar("small", small, render(svg, 100, 50));
+			assertSimilar("large", large, render(svg, 300, 150));
+			assertSimilar("small again", small, render(svg, 100, 50));
+		} finally {
+			svg.dispose();
+		}
+	}
+
+	public void testSharedGradient() {
+		SvgDocument svg = SvgDocument.load(SHARED_GRADIENT);
+		ImageData expected = render(svg, 200, 100);
+		svg.setCompiled(true);
+		svg.setRasterCacheSize(0);
+		assertSimilar("compiled", expected, render(svg, 200, 100));
+		svg.setCompiled(false);
+		// the gradient still paints uncompiled after the compiled paints were disposed
+		assertSimilar("uncompiled", expected, render(svg, 200, 100));
+	}
+
+	public void testDispose() {
+		SvgDocument svg = load("radgrad01");
+		ImageData expected = render(svg, 200, 150);
+		svg.setCompiled(true);
+		render(svg, 200, 150);
+		svg.dispose();
+		assertTrue(svg.isCompiled());
+		// the resources are created again
+		assertSimilar("after dispose", expected, render(svg, 200, 150));
+		svg.dispose();
+		svg.dispose();
+	}
+
+	public void testInvalidate() {
+		SvgDocument svg = load("arcs02");
+		ImageData expected = render(svg, 200, 150);
+		svg.setCompiled(true);
+		try {
+			render(svg, 200, 150);
+			svg.invalidate();
+			assertTrue(svg.isCompiled());
+			assertSimilar("after invalidate", expected, render(svg, 200, 150));
+		} finally {
+			svg.dispose();
+		}
+	}
+
+	public void testSetCompiled() {
+		SvgDocument svg = load("rect01");
+		assertFalse(svg.isCompiled());
+		assertEquals(SvgDocument.RASTER_CACHE_SIZE_DEFAULT, svg.getRasterCacheSize());
+		svg.setRasterCacheSize(-1);
+		assertEquals(0, svg.getRasterCacheSize());
+		svg.setCompiled(true);
+		assertTrue(svg.isCompiled());
+		svg.setCompiled(false);
+		assertFalse(svg.isCompiled());
+		// disposing an uncompiled document does nothing
+		svg.dispose();
+	}
+
+}
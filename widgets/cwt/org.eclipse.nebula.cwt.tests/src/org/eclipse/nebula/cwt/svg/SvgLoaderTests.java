@@ -0,0 +1,313 @@
+/****************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.nebula.cwt.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.swt.graphics.Point;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the element trees parsed from the sample documents with the trees
+ * parsed by the single threaded loader this loader replaced, which are kept
+ * in the <code>.tree</code> files next to the samples.
+ */
+public class SvgLoaderTests extends TestCase {
+
+	static final String[] FILES = { "line01", "rect01", "rect02", "circle01", "ellipse01",
+			"polygon01", "polyline01", "triangle01", "cubic02", "quad01", "arcs01", "arcs02",
+			"lingrad01", "lingrad02", "radgrad01" };
+
+	// the resolution the reference trees were parsed at
+	private static final Point DPI = new Point(96, 96);
+
+	// links back up the tree, resources of compiled documents and indexes of the tree
+	private static final List<String> SKIPPED_FIELDS = Arrays.asList("container", "parent", "gc",
+			"paintServer", "retained", "colorResource", "stopsResource", "patternResource",
+			"pattern", "bounds", "path", "resources", "rasterCacheSize", "fragmentMap", "elementMap");
+
+	private static byte[] read(String file) throws IOException {
+		InputStream in = SvgLoaderTests.class.getResourceAsStream("resources/" + file);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int n;
+			while((n = in.read(buffer)) != -1) {
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+	private static SvgDocument parse(byte[] content) throws Exception {
+		// the loader is not visible outside of its bundle
+		Method load = SvgLoader.class.getDeclaredMethod("load", InputStream.class, Point.class);
+		load.setAccessible(true);
+		return (SvgDocument) load.invoke(null, new ByteArrayInputStream(content), DPI);
+	}
+
+	/**
+	 * Returns a textual dump of the fields of the given document and of all
+	 * the objects it holds, in a stable order.
+	 */
+	static String dump(SvgDocument document) throws IllegalAccessException {
+		StringBuilder sb = new StringBuilder();
+		dump(sb, document, "", new IdentityHashMap<Object, Boolean>());
+		return sb.toString();
+	}
+
+	private static void dump(StringBuilder sb, Object value, String indent, Map<Object, Boolean> seen)
+			throws IllegalAccessException {
+		if(value == null || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum) {
+			sb.append(value).append('\n');
+		} else if(value instanceof String) {
+			sb.append('"').append(value).append('"').append('\n');
+		} else if(value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+			sb.append(value.getClass().getComponentType()).append('[');
+			for(int i = 0; i < Array.getLength(value); i++) {
+				sb.append(i == 0 ? "" : ", ").append(Array.get(value, i));
+			}
+			sb.append(']').append('\n');
+		} else if(seen.containsKey(value)) {
+			sb.append("<same as above> ").append(value.getClass().getSimpleName()).append('\n');
+		} else {
+			seen.put(value, Boolean.TRUE);
+			String inner = indent + "  ";
+			if(value.getClass().isArray() || value instanceof Collection) {
+				Object[] items = value.getClass().isArray() ? (Object[]) value : ((Collection<?>) value).toArray();
+				sb.append('[').append('\n');
+				for(Object item : items) {
+					sb.append(inner);
+					dump(sb, item, inner, seen);
+				}
+				sb.append(indent).append(']').append('\n');
+			} else if(value instanceof Map) {
+				sb.append('{').append('\n');
+				for(Map.Entry<?, ?> e : new TreeMap<Object, Object>((Map<?, ?>) value).entrySet()) {
+					sb.append(inner).append(e.getKey()).append(": ");
+					dump(sb, e.getValue(), inner, seen);
+				}
+				sb.append(indent).append('}').append('\n');
+			} else {
+				sb.append(value.getClass().getSimpleName()).append(" {").append('\n');
+				for(Field field : getFields(value.getClass())) {
+					sb.append(inner).append(field.getName()).append(": ");
+					dump(sb, field.get(value), inner, seen);
+				}
+				sb.append(indent).append('}').append('\n');
+			}
+		}
+	}
+
+	private static List<Field> getFields(Class<?> type) {
+		List<Field> fields = new ArrayList<Field>();
+		for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			List<Field> declared = new ArrayList<Field>();
+			for(Field field : c.getDeclaredFields()) {
+				if(!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()
+						&& !SKIPPED_FIELDS.contains(field.getName())) {
+					field.setAccessible(true);
+					declared.add(field);
+				}
+			}
+			declared.sort((f1, f2) -> f1.getName().compareTo(f2.getName()));
+			fields.addAll(0, declared);
+		}
+		return fields;
+	}
+
+	private static String expected(String file) throws IOException {
+		return new String(read(file + ".tree"), StandardCharsets.UTF_8);
+	}
+
+	public void testTrees() throws Exception {
+		for(String file : FILES) {
+			assertEquals(file, expected(file), dump(parse(read(file + ".svg"))));
+		}
+	}
+
+	public void testConcurrentTrees() throws Exception {
+		// every sample parsed on several threads at once
+		final int threads = 4;
+		final byte[][] contents = new byte[FILES.length][];
+		for(int i = 0; i < FILES.length; i++) {
+			contents[i] = read(FILES[i] + ".svg");
+		}
+		final String[][] dumps = new String[threads][FILES.length];
+		final Throwable[] error = new Throwable[1];
+		Thread[] workers = new Thread[threads];
+		for(int t = 0; t < threads; t++) {
+			final int thread = t;
+			workers[t] = new Thread(() -> {
+				try {
+					for(int i = 0; i < FILES.length; i++) {
+						// each thread starts with another file
+						int file = (i + thread * 3) % FILES.length;
+						dumps[thread][file] = dump(parse(contents[file]));
+					}
+				} catch(Throwable e) {
+					error[0] = e;
+				}
+			});
+			workers[t].start();
+		}
+		for(Thread worker : workers) {
+			worker.join();
+		}
+		if(error[0] != null) {
+			throw new AssertionError(error[0]);
+		}
+		for(int t = 0; t < threads; t++) {
+			for(int i = 0; i < FILES.length; i++) {
+				assertEquals(FILES[i], expected(FILES[i]), dumps[t][i]);
+			}
+		}
+	}
+
+	public void testDocumentLoaderCache() throws Exception {
+		SvgDocumentLoader loader = new SvgDocumentLoader(2);
+		try {
+			byte[] content = read("rect01.svg");
+			SvgDocument doc = loader.load(content);
+			assertSame(doc, loader.load(content.clone()));
+			Future<SvgDocument> future = loader.loadAsync(content);
+			assertSame(doc, future.get());
+
+			loader.clear();
+			assertNotSame(doc, loader.load(content));
+		} finally {
+			loader.dispose();
+		}
+	}
+
+	public void testDocumentLoaderConcurrentLoads() throws Exception {
+		final SvgDocumentLoader loader = new SvgDocumentLoader(1);
+		try {
+			final byte[] content = read("radgrad01.svg");
+			final SvgDocument[] docs = new SvgDocument[8];
+			final Throwable[] error = new Throwable[1];
+			Thread[] workers = new Thread[docs.length];
+			for(int t = 0; t < workers.length; t++) {
+				final int thread = t;
+				workers[t] = new Thread(() -> {
+					try {
+						docs[thread] = loader.load(content.clone());
+					} catch(Throwable e) {
+						error[0] = e;
+					}
+				});
+			}
+			for(Thread worker : workers) {
+				worker.start();
+			}
+			for(Thread worker : workers) {
+				worker.join();
+			}
+			if(error[0] != null) {
+				throw new AssertionError(error[0]);
+			}
+			// parsed once, all loads get the same document
+			for(SvgDocument doc : docs) {
+				assertSame(docs[0], doc);
+			}
+			assertSame(docs[0], loader.load(content));
+		} finally {
+			loader.dispose();
+		}
+	}
+
+	public void testDocumentLoaderFailure() throws Exception {
+		SvgDocumentLoader loader = new SvgDocumentLoader(1);
+		try {
+			// a length which is not a number
+			byte[] content = "<svg><rect x=\"1\" y=\"2\" width=\"wide\" height=\"4\"/></svg>".getBytes(StandardCharsets.UTF_8);
+			for(int i = 0; i < 2; i++) {
+				try {
+					loader.load(content);
+					fail();
+				} catch(NumberFormatException expected) {
+				}
+			}
+			try {
+				loader.loadAsync(content).get();
+				fail();
+			} catch(ExecutionException expected) {
+				assertTrue(expected.getCause() instanceof NumberFormatException);
+			}
+			// the failed loads are not cached
+			Field cache = SvgDocumentLoader.class.getDeclaredField("cache");
+			cache.setAccessible(true);
+			assertTrue(((Map<?, ?>) cache.get(loader)).isEmpty());
+
+			SvgDocument doc = loader.load(read("rect01.svg"));
+			assertSame(doc, loader.load(read("rect01.svg")));
+		} finally {
+			loader.dispose();
+		}
+	}
+
+	public void testDocumentLoaderCacheSize() throws Exception {
+		SvgDocumentLoader loader = new SvgDocumentLoader(1);
+		try {
+			assertEquals(SvgDocumentLoader.CACHE_SIZE_DEFAULT, loader.getCacheSize());
+			loader.setCacheSize(2);
+			byte[] line = read("line01.svg");
+			byte[] rect = read("rect01.svg");
+			byte[] circle = read("circle01.svg");
+			SvgDocument lineDoc = loader.load(line);
+			SvgDocument rectDoc = loader.load(rect);
+			// line is now the most recently used document
+			assertSame(lineDoc, loader.load(line));
+			loader.load(circle);
+			assertSame(lineDoc, loader.load(line));
+			assertNotSame(rectDoc, loader.load(rect));
+
+			loader.setCacheSize(0);
+			assertNotSame(lineDoc, loader.load(line));
+			try {
+				loader.setCacheSize(-1);
+				fail();
+			} catch(IllegalArgumentException expected) {
+			}
+		} finally {
+			loader.dispose();
+		}
+	}
+
+	public void testDumpIsStable() throws Exception {
+		byte[] content = "<svg><rect x=\"1\" y=\"2\" width=\"3\" height=\"4\"/></svg>".getBytes(StandardCharsets.UTF_8);
+		String dump = dump(parse(content));
+		assertTrue(dump, dump.contains("SvgShape {"));
+		assertEquals(dump, dump(parse(content)));
+	}
+
+}
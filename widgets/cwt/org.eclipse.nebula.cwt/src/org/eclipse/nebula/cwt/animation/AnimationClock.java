@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.nebula.cwt.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * A clock which drives all animations of a display with a single timer, so
+ * that simultaneous animations are updated together in one frame instead of
+ * each scheduling its own timer.
+ * <p>
+ * Frames are paced on a fixed grid of the frame rate. When a frame takes so
+ * long that following frames are missed, the clock skips to the next frame
+ * of the grid instead of catching up, and counts the missed frames as
+ * dropped. The timer only runs while listeners are registered.
+ * <p>
+ * A listener may be registered with a control. It is paused while the
+ * control is not visible, and removed once the control is disposed.
+ * <p>
+ * A listener which throws an exception is removed, so that it does not stop
+ * the other animations. The exception is rethrown once the other listeners
+ * of the frame were called.
+ * <p>
+ * All methods must be called on the user interface thread of the display.
+ */
+public class AnimationClock {
+
+	/**
+	 * Default is 60 fps.
+	 */
+	public static final int DEFAULT_FRAME_RATE = 60;
+
+	private static final String KEY = AnimationClock.class.getName();
+
+	private static class Entry {
+		final IFrameListener listener;
+		final Control control;
+
+		Entry(IFrameListener listener, Control control) {
+			this.listener = listener;
+			this.control = control;
+		}
+	}
+
+	/**
+	 * Returns the animation clock of the given display, creating it if
+	 * necessary.
+	 *
+	 * @param display
+	 * @return the animation clock of the display.
+	 */
+	public static AnimationClock getClock(Display display) {
+		AnimationClock clock = (AnimationClock) display.getData(KEY);
+		if (clock == null) {
+			clock = new AnimationClock(display);
+			display.setData(KEY, clock);
+		}
+		return clock;
+	}
+
+	private final Display display;
+	private final List<Entry> entries = new ArrayList<Entry>();
+	private long framePeriod = 1000000000L / DEFAULT_FRAME_RATE;
+	private boolean scheduled = false;
+	private long nextFrameTime;
+
+	private long frameCount = 0;
+	private long droppedFrameCount = 0;
+	private long lastFrameTime = 0;
+	private long lastFrameInterval = 0;
+	private long lastFrameDuration = 0;
+	private long maxFrameDuration = 0;
+
+	private final Runnable tick = new Runnable() {
+		public void run() {
+			doFrame();
+		}
+	};
+
+	private AnimationClock(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Register a listener which is called on each frame until it returns
+	 * false or is removed.
+	 *
+	 * @param listener
+	 */
+	public void addListener(IFrameListener listener) {
+		addListener(listener, null);
+	}
+
+	/**
+	 * Register a listener which is called on each frame until it returns
+	 * false or is removed. The listener is not called while the given control
+	 * is not visible, and is removed when the control is disposed.
+	 *
+	 * @param listener
+	 * @param control
+	 *            the control animated by the listener, or null.
+	 */
+	public void addListener(IFrameListener listener, Control control) {
+		entries.add(new Entry(listener, control));
+		if (!scheduled) {
+			nextFrameTime = System.nanoTime() + framePeriod;
+			lastFrameTime = 0;
+			schedule();
+		}
+	}
+
+	/**
+	 * Unregister a listener.
+	 *
+	 * @param listener
+	 */
+	public void removeListener(IFrameListener listener) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (entries.get(i).listener == listener) {
+				entries.remove(i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of frames per second.
+	 */
+	public int getFrameRate() {
+		return (int) (1000000000L / framePeriod);
+	}
+
+	/**
+	 * Set the number of frames per second.
+	 *
+	 * @param framerate
+	 */
+	public void setFrameRate(int framerate) {
+		if (framerate < 1)
+			throw new IllegalArgumentException("framerate must be at least 1"); //$NON-NLS-1$
+		framePeriod = 1000000000L / framerate;
+	}
+
+	/**
+	 * @return true if listeners are registered and the clock is running.
+	 */
+	public boolean isRunning() {
+		return scheduled;
+	}
+
+	/**
+	 * @return the number of frames since the clock was created or the
+	 *         statistics were reset.
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * @return the number of frames which were skipped because the previous
+	 *         frames or other events took too long.
+	 */
+	public long getDroppedFrameCount() {
+		return droppedFrameCount;
+	}
+
+	/**
+	 * @return the time between the last two frames in nanoseconds, or 0 if the
+	 *         clock has not run two consecutive frames.
+	 */
+	public long getLastFrameInterval() {
+		return lastFrameInterval;
+	}
+
+	/**
+	 * @return the time the listeners took in the last frame, in nanoseconds.
+	 */
+	public long getLastFrameDuration() {
+		return lastFrameDuration;
+	}
+
+	/**
+	 * @return the longest time the listeners took in a frame, in nanoseconds.
+	 */
+	public long getMaxFrameDuration() {
+		return maxFrameDuration;
+	}
+
+	/**
+	 * Reset the frame counts and timings.
+	 */
+	public void resetStatistics() {
+		frameCount = 0;
+		droppedFrameCount = 0;
+		lastFrameInterval = 0;
+		lastFrameDuration = 0;
+		maxFrameDuration = 0;
+	}
+
+	private void doFrame() {
+		scheduled = false;
+		long now = System.nanoTime();
+		if (lastFrameTime != 0)
+			lastFrameInterval = now - lastFrameTime;
+		lastFrameTime = now;
+		frameCount++;
+
+		RuntimeException error = null;
+		try {
+			Entry[] frameEntries = entries.toArray(new Entry[entries.size()]);
+			for (Entry entry : frameEntries) {
+				// removed by a listener called earlier in this frame
+				if (!entries.contains(entry))
+					continue;
+				if (entry.control != null) {
+					if (entry.control.isDisposed()) {
+						entries.remove(entry);
+						continue;
+					}
+					if (!entry.control.isVisible())
+						continue;
+				}
+				boolean running;
+				try {
+					running = entry.listener.doFrame(now);
+				} catch (RuntimeException e) {
+					running = false;
+					if (error == null)
+						error = e;
+				}
+				if (!running)
+					entries.remove(entry);
+			}
+		} finally {
+			lastFrameDuration = System.nanoTime() - now;
+			maxFrameDuration = Math.max(maxFrameDuration, lastFrameDuration);
+			nextFrameTime += framePeriod;
+			schedule();
+		}
+		if (error != null)
+			throw error;
+	}
+
+	private void schedule() {
+		if (scheduled || entries.isEmpty() || display.isDisposed())
+			return;
+
+		long now = System.nanoTime();
+		while (nextFrameTime <= now) {
+			nextFrameTime += framePeriod;
+			if (lastFrameTime != 0)
+				droppedFrameCount++;
+		}
+		int delay = (int) ((nextFrameTime - now + 999999) / 1000000);
+		display.timerExec(delay, tick);
+		scheduled = true;
+	}
+}
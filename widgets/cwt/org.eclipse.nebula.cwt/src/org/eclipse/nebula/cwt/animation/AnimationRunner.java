@@ -15,10 +15,13 @@
 package org.eclipse.nebula.cwt.animation;
 
 import org.eclipse.nebula.cwt.animation.effects.IEffect;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 
 /**
- * An animation runner which can run only one effect at the same time.
+ * An animation runner which can run only one effect at the same time. Effects
+ * are updated on the frames of the {@link AnimationClock} of the display, so
+ * all runners of a display are updated together.
  * 
  * @author Nicolas Richeton
  */
@@ -30,6 +33,27 @@ public class AnimationRunner {
 	int delay = 20;
 	IEffect effect;
 	boolean running = false;
+	Control control;
+	// the control the frame listener was registered with
+	Control runningControl;
+	long lastFrameTime;
+
+	IFrameListener frameListener = new IFrameListener() {
+		public boolean doFrame(long frameTime) {
+			if (effect == null || effect.isDone()) {
+				running = false;
+				return false;
+			}
+			// skip clock frames to keep to the framerate of this runner
+			long period = 1000000000L / AnimationClock.getClock(
+					Display.getCurrent()).getFrameRate();
+			if (frameTime - lastFrameTime >= delay * 1000000L - period / 2) {
+				lastFrameTime = frameTime;
+				effect.doEffect();
+			}
+			return true;
+		}
+	};
 
 	/**
 	 * Create a new animation runner using the default framerate (50 fps)
@@ -49,6 +73,19 @@ public class AnimationRunner {
 		delay = 1000 / framerate;
 	}
 
+	/**
+	 * Set the control animated by the effects of this runner. Effects are
+	 * paused while the control is not visible, and stopped when it is
+	 * disposed. Must be set before an effect is started.
+	 * 
+	 * @param control
+	 *            the animated control, or null to run effects regardless of
+	 *            the state of any control.
+	 */
+	public void setControl(Control control) {
+		this.control = control;
+	}
+
 	/**
 	 * Start a new effect, cancelling the previous one if any.
 	 * 
@@ -72,20 +109,22 @@ public class AnimationRunner {
 	}
 
 	private void startEffect() {
-		if (running)
-			return;
-
-		running = true;
-		Display.getCurrent().syncExec(new Runnable() {
-			public void run() {
-				if (!effect.isDone()) {
-					Display.getCurrent().timerExec(delay, this);
-					effect.doEffect();
-				} else {
-					running = false;
-				}
-			}
+		AnimationClock clock = AnimationClock.getClock(Display.getCurrent());
+		if (running) {
+			if (runningControl == null || !runningControl.isDisposed())
+				return;
+			// The clock drops the listener of a disposed control without
+			// calling it, so it cannot reset the running state itself.
+			clock.removeListener(frameListener);
+			running = false;
+		}
 
-		});
+		if (!effect.isDone() && (control == null || !control.isDisposed())) {
+			running = true;
+			runningControl = control;
+			lastFrameTime = System.nanoTime();
+			effect.doEffect();
+			clock.addListener(frameListener, control);
+		}
 	}
 }
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.nebula.cwt.animation;
+
+/**
+ * A listener which is called on each frame of an {@link AnimationClock}.
+ */
+public interface IFrameListener {
+	/**
+	 * Draw or update the animation for the given frame.
+	 *
+	 * @param frameTime
+	 *            the time of the frame, in nanoseconds as returned by
+	 *            {@link System#nanoTime()}. All listeners of a frame get the
+	 *            same time.
+	 * @return true to be called again on the next frame, false to be
+	 *         removed from the clock.
+	 */
+	public boolean doFrame(long frameTime);
+}
@@ -20,7 +20,6 @@ import org.eclipse.nebula.cwt.animation.movement.IMovement;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.ScrollBar;
@@ -163,18 +162,18 @@ public class ScrollingSmoother {
 		me = moveScrollBarEffect;
 
 		if (oldEffect == null) {
-			Display.getCurrent().syncExec(new Runnable() {
-
-				public void run() {
-					if (me != null && !me.isDone()) {
-						me.doEffect();
-						Display.getCurrent().timerExec(10, this);
-					} else {
-						me = null;
-					}
-				}
-
-			});
+			me.doEffect();
+			AnimationClock.getClock(component.getDisplay()).addListener(
+					new IFrameListener() {
+						public boolean doFrame(long frameTime) {
+							if (me != null && !me.isDone()) {
+								me.doEffect();
+								return true;
+							}
+							me = null;
+							return false;
+						}
+					}, component);
 		}
 
 	}
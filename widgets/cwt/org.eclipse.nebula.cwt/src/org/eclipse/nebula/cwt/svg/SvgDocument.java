@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
 
 /**
@@ -33,6 +34,8 @@ public class SvgDocument extends SvgContainer {
 
 	/**
 	 * Create a new SvgDocument from the contents of the given <code>InputStream</code>.
+	 * This method may be called on any thread; see {@link SvgDocumentLoader} to load
+	 * many documents in the background.
 	 * @param in an <code>InputStream</code> containing the svg source.
 	 * @return a newly created SvgDocument
 	 */
@@ -49,7 +52,14 @@ public class SvgDocument extends SvgContainer {
 		return SvgLoader.load(src);
 	}
 
+	/**
+	 * The default size of the raster cache, in pixels.
+	 */
+	public static final int RASTER_CACHE_SIZE_DEFAULT = 1024 * 1024;
+
 	private Map<String, SvgFragment> fragmentMap;
+	SvgResources resources;
+	private int rasterCacheSize = RASTER_CACHE_SIZE_DEFAULT;
 
 	SvgDocument() {
 		super(null, null);
@@ -61,6 +71,7 @@ public class SvgDocument extends SvgContainer {
 		if(element instanceof SvgFragment) {
 			elements.add(element);
 			fragmentMap.put(element.getId(), (SvgFragment) element);
+			invalidate();
 		}
 	}
 
@@ -73,11 +84,34 @@ public class SvgDocument extends SvgContainer {
 	 * @param bounds the bounds to which this document will be scaled
 	 */
 	public void apply(GC gc, Rectangle bounds) {
+		if(resources != null && bounds.width > 0 && bounds.height > 0 && resources.isIdentity(gc)) {
+			Image image = resources.getImage(this, bounds.width, bounds.height);
+			if(image != null) {
+				gc.drawImage(image, bounds.x, bounds.y);
+				return;
+			}
+		}
+		applyFragments(gc, bounds);
+	}
+
+	void applyFragments(GC gc, Rectangle bounds) {
 		for(SvgElement element : elements) {
 			((SvgFragment) element).apply(gc, bounds);
 		}
 	}
 
+	/**
+	 * Disposes all native resources kept by this document in compiled mode.
+	 * The document remains compiled, and creates the resources again the next
+	 * time it is applied.
+	 * @see #setCompiled(boolean)
+	 */
+	public void dispose() {
+		if(resources != null) {
+			resources.dispose();
+		}
+	}
+
 	@Override
 	public String getDescription() {
 		return elements.isEmpty() ? null : ((SvgFragment) elements.get(0)).getDescription();
@@ -119,8 +153,74 @@ public class SvgDocument extends SvgContainer {
 		return fragmentMap.containsKey(id);
 	}
 
+	/**
+	 * Returns the size of the raster cache, in pixels.
+	 * @return the size of the raster cache
+	 * @see #setRasterCacheSize(int)
+	 */
+	public int getRasterCacheSize() {
+		return rasterCacheSize;
+	}
+
+	/**
+	 * Discards the native resources and rasterised images of this document,
+	 * so that they are created again from the current state of the document
+	 * the next time it is applied.  This must be called after the elements
+	 * of a compiled document were changed.
+	 */
+	public void invalidate() {
+		dispose();
+	}
+
+	/**
+	 * Returns whether this document is compiled.
+	 * @return true if this document is compiled, false otherwise
+	 * @see #setCompiled(boolean)
+	 */
+	public boolean isCompiled() {
+		return resources != null;
+	}
+
 	public boolean isEmpty() {
 		return elements.isEmpty();
 	}
 
+	/**
+	 * Sets whether this document is compiled.
+	 * <p>A document which is not compiled creates and disposes the paths, patterns
+	 * and transforms of each shape every time it is applied.  A compiled document
+	 * creates these resources the first time it is applied to a device, and keeps
+	 * them until it is disposed.  In addition, it keeps images of the whole document
+	 * at the sizes it was recently applied at, which are painted instead of the shapes
+	 * while the graphics context has no transform and the platform keeps the alpha
+	 * channel of images drawn on; see {@link #setRasterCacheSize(int)}.</p>
+	 * <p>A compiled document must be disposed by the application when it is no longer
+	 * needed, and is bound to the thread of the device it is applied to.</p>
+	 * @param compiled true to compile this document, false to release all its
+	 * resources and apply it uncompiled
+	 * @see #dispose()
+	 */
+	public void setCompiled(boolean compiled) {
+		if(compiled && resources == null) {
+			resources = new SvgResources(rasterCacheSize);
+		} else if(!compiled && resources != null) {
+			resources.dispose();
+			resources = null;
+		}
+	}
+
+	/**
+	 * Sets the size of the raster cache of a compiled document, in pixels.  The
+	 * images of the least recently used sizes are disposed when the cache holds
+	 * more pixels, and a document applied at a size larger than the cache is painted
+	 * from its shapes.  A size of 0 disables the raster cache.
+	 * @param pixels the size of the raster cache, in pixels
+	 */
+	public void setRasterCacheSize(int pixels) {
+		rasterCacheSize = Math.max(0, pixels);
+		if(resources != null) {
+			resources.setRasterCacheSize(rasterCacheSize);
+		}
+	}
+
 }
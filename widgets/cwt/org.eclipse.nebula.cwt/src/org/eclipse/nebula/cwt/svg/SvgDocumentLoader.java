@@ -0,0 +1,276 @@
+/****************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.nebula.cwt.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * <p>Loads svg documents on a pool of worker threads, and keeps the loaded
+ * documents in a cache keyed by a hash of their content.  The cache holds at
+ * most {@link #getCacheSize()} documents, the least recently used documents are
+ * removed from it first.  This is meant for
+ * applications which load many svg documents, such as icon sets, at startup
+ * without blocking the user interface thread.</p>
+ * <p>Svg sources with the same content share one SvgDocument, so the documents
+ * returned by a loader must not be modified by the application, and a compiled
+ * document (see {@link SvgDocument#setCompiled(boolean)}) is compiled for all
+ * of its users.</p>
+ * <p>All methods of this class may be called on any thread.</p>
+ */
+public class SvgDocumentLoader {
+
+	/**
+	 * The default size of the cache, in documents.
+	 */
+	public static final int CACHE_SIZE_DEFAULT = 256;
+
+	private static class Entry {
+		final FutureTask<SvgDocument> document;
+		volatile long lastUse;
+
+		Entry(FutureTask<SvgDocument> document) {
+			this.document = document;
+		}
+	}
+
+	private final ExecutorService executor;
+	private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<String, Entry>();
+	private final AtomicLong clock = new AtomicLong();
+	private volatile int cacheSize = CACHE_SIZE_DEFAULT;
+	private final Point dpi;
+
+	/**
+	 * Creates a loader with one worker thread per available processor.
+	 * @see #SvgDocumentLoader(int)
+	 */
+	public SvgDocumentLoader() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a loader with the given number of worker threads.
+	 * <p>Svg documents with lengths in absolute units (cm, in, mm) need the resolution
+	 * of the display.  If the loader is created on the user interface thread, the
+	 * resolution is taken once and workers never wait for the user interface thread;
+	 * otherwise it is requested from the default display when needed.</p>
+	 * @param threads the number of worker threads, at least 1
+	 */
+	public SvgDocumentLoader(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1: " + threads); //$NON-NLS-1$
+		}
+		Display display = Display.getCurrent();
+		dpi = (display != null) ? display.getDPI() : null;
+		final AtomicInteger count = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "SvgDocumentLoader-" + count.incrementAndGet()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Removes all documents from the cache.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Stops the worker threads.  Loads which were already submitted are
+	 * completed, new loads are rejected.  The cache remains usable through
+	 * {@link #load(byte[])} and {@link #load(InputStream)}.
+	 */
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Returns the document with the given svg source, loading it on the
+	 * calling thread if it is not cached.
+	 * @param content the svg source
+	 * @return the document with the given svg source
+	 */
+	public SvgDocument load(final byte[] content) {
+		String key = hash(content);
+		Entry entry = cache.get(key);
+		if(entry == null) {
+			// the placeholder is parsed outside of the map, concurrent loads
+			// of the same content wait for it instead of parsing it again
+			Entry created = new Entry(new FutureTask<SvgDocument>(new Callable<SvgDocument>() {
+				public SvgDocument call() {
+					return SvgLoader.load(new ByteArrayInputStream(content), dpi);
+				}
+			}));
+			entry = cache.putIfAbsent(key, created);
+			if(entry == null) {
+				entry = created;
+				entry.document.run();
+			}
+		}
+		entry.lastUse = clock.incrementAndGet();
+		if(cache.size() > cacheSize) {
+			evict();
+		}
+		try {
+			return entry.document.get();
+		} catch(ExecutionException e) {
+			// a later load parses the source again
+			cache.remove(key, entry);
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch(InterruptedException e) {
+			// parse it on this thread rather than waiting for the other one
+			Thread.currentThread().interrupt();
+			return SvgLoader.load(new ByteArrayInputStream(content), dpi);
+		}
+	}
+
+	/**
+	 * Removes the least recently used documents until the cache holds no more
+	 * than its size.  The scan is linear, which is cheap next to parsing a
+	 * document, and only happens once the cache is full.
+	 */
+	private synchronized void evict() {
+		while(cache.size() > cacheSize) {
+			String eldest = null;
+			long eldestUse = Long.MAX_VALUE;
+			for(Map.Entry<String, Entry> e : cache.entrySet()) {
+				if(e.getValue().lastUse < eldestUse) {
+					eldest = e.getKey();
+					eldestUse = e.getValue().lastUse;
+				}
+			}
+			if(eldest == null) {
+				return;
+			}
+			cache.remove(eldest);
+		}
+	}
+
+	/**
+	 * Returns the maximum number of documents kept in the cache.
+	 * @return the size of the cache
+	 * @see #setCacheSize(int)
+	 */
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of documents kept in the cache.  The least
+	 * recently used documents are removed when the cache holds more.  A
+	 * size of 0 disables the cache, so every load parses its source.
+	 * @param documents the size of the cache, at least 0
+	 */
+	public void setCacheSize(int documents) {
+		if(documents < 0) {
+			throw new IllegalArgumentException("cache size must be at least 0: " + documents); //$NON-NLS-1$
+		}
+		cacheSize = documents;
+		evict();
+	}
+
+	/**
+	 * Reads the given stream to its end and returns the document with its
+	 * content, loading it on the calling thread if it is not cached.  The
+	 * stream is not closed.
+	 * @param in an <code>InputStream</code> containing the svg source
+	 * @return the document with the svg source of the given stream
+	 * @throws IOException if the stream cannot be read
+	 */
+	public SvgDocument load(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		while((n = in.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return load(out.toByteArray());
+	}
+
+	/**
+	 * Loads the document at the given url on a worker thread.
+	 * @param url the location of the svg source
+	 * @return a future which holds the loaded document, or the
+	 * <code>IOException</code> which occurred while reading it
+	 */
+	public Future<SvgDocument> loadAsync(final URL url) {
+		return executor.submit(new Callable<SvgDocument>() {
+			public SvgDocument call() throws Exception {
+				InputStream in = url.openStream();
+				try {
+					return load(in);
+				} finally {
+					in.close();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Loads the document with the given svg source on a worker thread.
+	 * @param content the svg source
+	 * @return a future which holds the loaded document
+	 */
+	public Future<SvgDocument> loadAsync(final byte[] content) {
+		return executor.submit(new Callable<SvgDocument>() {
+			public SvgDocument call() {
+				return load(content);
+			}
+		});
+	}
+
+	private static String hash(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content); //$NON-NLS-1$
+			StringBuilder sb = new StringBuilder(digest.length * 2);
+			for(byte b : digest) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch(NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
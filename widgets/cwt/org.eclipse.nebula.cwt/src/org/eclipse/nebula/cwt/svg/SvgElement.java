@@ -56,6 +56,18 @@ public abstract class SvgElement {
 		return getFragment().getElement(id);
 	}
 	
+	/**
+	 * Returns the resources of the document of this element if it is
+	 * compiled, null otherwise.
+	 */
+	SvgResources getResources() {
+		SvgElement root = this;
+		while(root.container != null) {
+			root = root.container;
+		}
+		return (root instanceof SvgDocument) ? ((SvgDocument) root).resources : null;
+	}
+
 	SvgFragment getFragment() {
 		if(container != null) {
 			return container.getFragment();
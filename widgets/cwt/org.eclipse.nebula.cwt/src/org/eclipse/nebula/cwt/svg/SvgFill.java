@@ -25,11 +25,11 @@ class SvgFill extends SvgPaint {
 	
 	void apply() {
 		if(paintServer != null) {
-			paintServer.apply(false);
+			applyPaintServer(false);
 		} else {
-			Color c = new Color(gc.getDevice(), color >> 16, (color & 0x00FF00) >> 8, color & 0x0000FF);
+			Color c = createColor();
 			gc.setBackground(c);
-			c.dispose();
+			disposeColor(c);
 			gc.setFillRule(rule);
 			gc.setAlpha((int)(255 * opacity));
 		}
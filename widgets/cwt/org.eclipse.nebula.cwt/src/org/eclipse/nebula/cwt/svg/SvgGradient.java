@@ -55,7 +55,10 @@ class SvgGradient extends SvgElement {
 	}
 
 	public void apply(boolean foreground) {
-		SvgGradientStop[] stops = getStops();
+		apply(gc, getStops(), pattern, foreground);
+	}
+
+	static void apply(GC gc, SvgGradientStop[] stops, Pattern pattern, boolean foreground) {
 		if(stops.length == 1) {
 			apply(gc, stops[0], foreground);
 		} else if(stops.length > 1) {
@@ -71,7 +74,7 @@ class SvgGradient extends SvgElement {
 		}
 	}
 	
-	private void apply(GC gc, SvgGradientStop stop, boolean foreground) {
+	private static void apply(GC gc, SvgGradientStop stop, boolean foreground) {
 		Color c = createColor(gc, stop.color);
 		if(foreground) {
 			gc.setForeground(c);
@@ -98,10 +101,29 @@ class SvgGradient extends SvgElement {
 		}
 	}
 
-	private Color createColor(GC gc, int color) {
+	private static Color createColor(GC gc, int color) {
 		return new Color(gc.getDevice(), color >> 16, (color & 0x00FF00) >> 8, color & 0x0000FF);
 	}
 
+	/**
+	 * Returns a new pattern of this gradient for the given shape, or null if it
+	 * cannot be created.  Unlike {@link #create(SvgShape, GC)}, the state of this
+	 * gradient, which is shared by all shapes linking to it, is left unchanged.
+	 */
+	Pattern createPattern(SvgShape shape, GC gc) {
+		GC oldGC = this.gc;
+		float[] oldBounds = bounds;
+		Pattern oldPattern = pattern;
+		try {
+			create(shape, gc);
+			return pattern;
+		} finally {
+			this.gc = oldGC;
+			bounds = oldBounds;
+			pattern = oldPattern;
+		}
+	}
+
 	public void dispose() {
 		if(pattern != null) {
 			gc.setBackgroundPattern(null);
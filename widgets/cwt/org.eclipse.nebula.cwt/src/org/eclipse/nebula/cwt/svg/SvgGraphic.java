@@ -13,6 +13,8 @@
  *****************************************************************************/
 package org.eclipse.nebula.cwt.svg;
 
+import java.util.List;
+
 import org.eclipse.nebula.cwt.svg.SvgPaint.PaintType;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.GC;
@@ -149,29 +151,38 @@ public abstract class SvgGraphic extends SvgElement {
 	Transform getTransform(GC gc) {
 		Transform t = new Transform(gc.getDevice());
 		gc.getTransform(t);
-		for(SvgElement el : getAncestry(this)) {
+		multiplyTransforms(t, getAncestry(this));
+		return t;
+	}
+
+	/**
+	 * Multiplies the given transform with the transforms of the given
+	 * ancestry, outermost first.
+	 */
+	static void multiplyTransforms(Transform t, List<SvgElement> ancestry) {
+		Transform tmp = null;
+		for(SvgElement el : ancestry) {
+			SvgTransform st = null;
 			if(el instanceof SvgFragment) {
-				SvgTransform st = ((SvgFragment) el).boundsTransform;
+				st = ((SvgFragment) el).boundsTransform;
+			} else if(el instanceof SvgGraphic) {
+				st = ((SvgGraphic) el).transform;
+			}
+			while(st != null) {
 				if(!st.isIdentity()) {
-					Transform tmp = new Transform(gc.getDevice());
+					if(tmp == null) {
+						tmp = new Transform(t.getDevice());
+					}
 					tmp.setElements(st.data[0], st.data[1], st.data[2], st.data[3], st.data[4], st.data[5]);
 					t.multiply(tmp);
-					tmp.dispose();
-				}
-			} else if(el instanceof SvgGraphic) {
-				SvgTransform st = ((SvgGraphic) el).transform;
-				while(st != null) {
-					if(!st.isIdentity()) {
-						Transform tmp = new Transform(gc.getDevice());
-						tmp.setElements(st.data[0], st.data[1], st.data[2], st.data[3], st.data[4], st.data[5]);
-						t.multiply(tmp);
-						tmp.dispose();
-					}
-					st = st.next;
 				}
+				// the bounds transform of a fragment is not chained
+				st = (el instanceof SvgFragment) ? null : st.next;
 			}
 		}
-		return t;
+		if(tmp != null) {
+			tmp.dispose();
+		}
 	}
 	
 	/**
@@ -25,10 +25,10 @@ import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 import static java.lang.Math.toRadians;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -108,7 +108,7 @@ class SvgLoader {
 
 	//	private static final String paramRegex = "[^\\d^\\.^-]+"; //$NON-NLS-1$
 	private static final String paramRegex = "[ ,]+"; //$NON-NLS-1$
-	private static final Matcher urlMatcher = Pattern.compile(" *url\\( *#(\\w+) *\\) *").matcher(""); //$NON-NLS-1$  //$NON-NLS-2$
+	private static final Pattern urlPattern = Pattern.compile(" *url\\( *#(\\w+) *\\) *"); //$NON-NLS-1$
 
 	
 	private static void addArc(String[] sa, int ix, List<Byte> types, List<Float> points, boolean relative) {
@@ -293,58 +293,86 @@ class SvgLoader {
 
 	/**
 	 * find the closer for the XML tag which begins with the given start position
-	 * ('<' should be the first char)
+	 * ('<' should be the first char): the '>' of an empty element tag, or the '<'
+	 * of the matching end tag
 	 * @param ca
 	 * @param start
 	 * @return
 	 */
-	private static int findClosingTag(char[] ca, int start, int end) {
+	private int findClosingTag(char[] ca, int start, int end) {
 		if(start >= 0 && start < ca.length && start < end) {
-			int s1 = findAny(ca, start, end, ' ', '>');
-			if(s1 != -1) {
-				char[] opener = new char[s1-start];
-				opener[0] = '<';
-				char[] closer = new char[s1-start+2];
-				closer[0] = '<';
-				closer[1] = '/';
-				closer[closer.length-1] = '>';
-				int i = start+1;
-				for( ; i < s1; i++) {
-					opener[i-start] = ca[i];
-					closer[i-start+1] = ca[i];
+			int closer = tagEnds[start];
+			if(closer <= end) {
+				return closer;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the closers of all XML tags in a single pass.
+	 * @param ca
+	 * @return an array which holds the position of the closer of each tag at the
+	 * position of the tag's '<', and -1 at all other positions
+	 * @see #findClosingTag(char[], int, int)
+	 */
+	private static int[] indexTags(char[] ca) {
+		int[] ends = new int[ca.length];
+		Arrays.fill(ends, -1);
+		int[] open = new int[16];
+		int depth = 0;
+		int i = findAll(ca, 0, ca.length - 1, '<');
+		while(i != -1) {
+			int next;
+			if(isNext(ca, i, ELEMENT_CDATA)) {
+				next = findAll(ca, i + ELEMENT_CDATA.length, ca.length - 1, ELEMENT_CDATA_END);
+			} else if(isNext(ca, i, ELEMENT_COMMENT)) {
+				next = findAll(ca, i + ELEMENT_COMMENT.length, ca.length - 1, ELEMENT_COMMENT_END);
+			} else if(isNext(ca, i, '<', '/')) {
+				next = findAll(ca, i, ca.length - 1, '>');
+				for(int j = depth - 1; j >= 0; j--) {
+					if(isSameName(ca, open[j], i + 1)) {
+						ends[open[j]] = i;
+						depth = j;
+						break;
+					}
 				}
-				
-				int count1 = 1;
-				int count2 = 1;
-				for( ; i < ca.length; i++) {
-					if(ca[i] == '<') {
-						count1++;
-						if(isNext(ca, i, opener)) {
-							count2++;
-						} else if(isNext(ca, i, closer)) {
-							count2--;
-							if(count2 == 0) {
-								return i;
-							}
-						} else if(isNext(ca, i, ELEMENT_CDATA)) {
-							i = findAll(ca, i+ELEMENT_CDATA.length, end, ELEMENT_CDATA_END);
-						}
-					} else if(ca[i] == '>') {
-						if(ca[i-1] == '/') {
-							count1--;
-						}
-						if(count1 == 0) {
-							return i;
+			} else {
+				next = closer(ca, i, ca.length - 1);
+				if(next != -1 && ca[i + 1] != '?' && ca[i + 1] != '!') {
+					if(ca[next - 1] == '/') {
+						ends[i] = next;
+					} else {
+						if(depth == open.length) {
+							open = Arrays.copyOf(open, depth * 2);
 						}
-					} else if(ca[i] == '"') {
-						i = closer(ca, i, end); // just entered a string - get out of it
+						open[depth++] = i;
 					}
 				}
 			}
+			i = (next == -1) ? -1 : findAll(ca, next, ca.length - 1, '<');
 		}
-		return -1;
+		return ends;
 	}
-	
+
+	private static boolean isSameName(char[] ca, int tag1, int tag2) {
+		for(int i = tag1 + 1, j = tag2 + 1; i < ca.length && j < ca.length; i++, j++) {
+			boolean end1 = isNameEnd(ca[i]);
+			boolean end2 = isNameEnd(ca[j]);
+			if(end1 || end2) {
+				return end1 && end2;
+			}
+			if(ca[i] != ca[j]) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isNameEnd(char c) {
+		return c == '>' || c == '/' || Character.isWhitespace(c);
+	}
+
 	private static int findNextTag(char[] ca, int start, int end) {
 		int s1 = findAll(ca, start, end, '<');
 		if(s1 != -1 && s1 < ca.length-1) {
@@ -471,7 +499,7 @@ class SvgLoader {
 	}
 
 	private static String getLink(String link) {
-		urlMatcher.reset(link);
+		Matcher urlMatcher = urlPattern.matcher(link);
 		if(urlMatcher.matches()) {
 			return urlMatcher.group(1);
 		}
@@ -567,7 +595,7 @@ class SvgLoader {
 
 	private static boolean isNext(char[] ca, int start, char...test) {
 		for(int i = start, j = 0; j < test.length; i++, j++) {
-			if(ca[i] != test[j]) {
+			if(i >= ca.length || ca[i] != test[j]) {
 				return false;
 			}
 		}
@@ -590,18 +618,40 @@ class SvgLoader {
 	}
 
 	static SvgDocument load(InputStream in) {
+		return load(in, null);
+	}
+
+	/**
+	 * Loads a document from the given stream.  The parse only touches objects
+	 * of its own, so documents may be loaded on any number of threads at once.
+	 * @param in
+	 * @param dpi the resolution of the display, used for absolute units; if null,
+	 * it is taken from the default display when needed
+	 * @return
+	 */
+	static SvgDocument load(InputStream in, Point dpi) {
+		return new SvgLoader(read(in), dpi).load();
+	}
+
+	static SvgDocument load(String src) {
+		return new SvgLoader(src.toCharArray(), null).load();
+	}
+
+	private static char[] read(InputStream in) {
 		StringBuilder sb = new StringBuilder();
-		BufferedInputStream bis = new BufferedInputStream(in);
-		int i;
+		byte[] buffer = new byte[8192];
+		int n;
 		try {
-			while((i = bis.read()) != -1) {
-				char c = (char) i;
-				if(Character.isWhitespace(c)) { // replace all whitespace chars with a space char
-					if(' ' != sb.charAt(sb.length() - 1)) { // no point in having multiple spaces
-						sb.append(' ');
+			while((n = in.read(buffer)) != -1) {
+				for(int i = 0; i < n; i++) {
+					char c = (char) (buffer[i] & 0xFF);
+					if(Character.isWhitespace(c)) { // replace all whitespace chars with a space char
+						if(sb.length() > 0 && ' ' != sb.charAt(sb.length() - 1)) { // no point in having multiple spaces
+							sb.append(' ');
+						}
+					} else {
+						sb.append(c);
 					}
-				} else {
-					sb.append(c);
 				}
 			}
 		} catch(IOException e) {
@@ -609,18 +659,10 @@ class SvgLoader {
 		}
 		char[] ca = new char[sb.length()];
 		sb.getChars(0, sb.length(), ca, 0);
-		SvgDocument doc = new SvgDocument();
-		parse(doc, ca, 0, ca.length - 1);
-		return doc;
-	}
-
-	static SvgDocument load(String src) {
-		SvgDocument doc = new SvgDocument();
-		parse(doc, src.toCharArray(), 0, src.length() - 1);
-		return doc;
+		return ca;
 	}
 
-	private static void parse(SvgContainer container, char[] ca, int start, int end) {
+	private void parse(SvgContainer container, char[] ca, int start, int end) {
 		int s1 = start;
 		while(s1 != -1 && s1 < end) {
 			s1 = findNextTag(ca, s1, end);
@@ -670,7 +712,7 @@ class SvgLoader {
 		}
 	}
 
-	private static int parseCircle(SvgContainer container, char[] ca, int start, int end) {
+	private int parseCircle(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -721,7 +763,7 @@ class SvgLoader {
 		element.styles = styles;
 	}
 
-	private static int parseDefs(SvgContainer container, char[] ca, int start, int end) {
+	private int parseDefs(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -732,7 +774,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseDescription(SvgContainer container, char[] ca, int start, int end) {
+	private int parseDescription(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			start = closer(ca, start, end);
@@ -743,7 +785,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseEllipse(SvgContainer container, char[] ca, int start, int end) {
+	private int parseEllipse(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -796,7 +838,7 @@ class SvgLoader {
 		}
 	}
 
-	private static int parseGradientStop(SvgGradient gradient, char[] ca, int start, int end) {
+	private int parseGradientStop(SvgGradient gradient, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -820,7 +862,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseGroup(SvgContainer container, char[] ca, int start, int end) {
+	private int parseGroup(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -834,40 +876,22 @@ class SvgLoader {
 	}
 
 	// cm, em, ex, in, mm, pc, pt, px 
-	private static float parseLength(String s, String defaultString) {
+	private float parseLength(String s, String defaultString) {
 		if(s == null) {
 			s = defaultString;
 		}
 		if(s.endsWith("%")) { //$NON-NLS-1$
 			throw new UnsupportedOperationException("TODO parseLength: %"); //$NON-NLS-1$
 		} else if(s.endsWith("cm")) { //$NON-NLS-1$
-			final Point dpi = new Point(0, 0);
-			Display.getDefault().syncExec(new Runnable() {
-				public void run() {
-					dpi.x = Display.getDefault().getDPI().x;
-				}
-			});
-			return Float.parseFloat(s.substring(0, s.length() - 2)) * dpi.x * 0.393700787f;
+			return Float.parseFloat(s.substring(0, s.length() - 2)) * getDPIX() * 0.393700787f;
 		} else if(s.endsWith("em")) { //$NON-NLS-1$
 			throw new UnsupportedOperationException("TODO parseLength: em"); //$NON-NLS-1$
 		} else if(s.endsWith("ex")) { //$NON-NLS-1$
 			throw new UnsupportedOperationException("TODO parseLength: ex"); //$NON-NLS-1$
 		} else if(s.endsWith("in")) { //$NON-NLS-1$
-			final Point dpi = new Point(0, 0);
-			Display.getDefault().syncExec(new Runnable() {
-				public void run() {
-					dpi.x = Display.getDefault().getDPI().x;
-				}
-			});
-			return Float.parseFloat(s.substring(0, s.length() - 2)) * dpi.x;
+			return Float.parseFloat(s.substring(0, s.length() - 2)) * getDPIX();
 		} else if(s.endsWith("mm")) { //$NON-NLS-1$
-			final Point dpi = new Point(0, 0);
-			Display.getDefault().syncExec(new Runnable() {
-				public void run() {
-					dpi.x = Display.getDefault().getDPI().x;
-				}
-			});
-			return Float.parseFloat(s.substring(0, s.length() - 2)) * dpi.x * 0.0393700787f;
+			return Float.parseFloat(s.substring(0, s.length() - 2)) * getDPIX() * 0.0393700787f;
 		} else if(s.endsWith("pc")) { //$NON-NLS-1$
 			throw new UnsupportedOperationException("TODO parseLength: pc"); //$NON-NLS-1$
 		} else if(s.endsWith("pt")) { //$NON-NLS-1$
@@ -879,7 +903,7 @@ class SvgLoader {
 		}
 	}
 
-	private static int parseLine(SvgContainer container, char[] ca, int start, int end) {
+	private int parseLine(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -899,7 +923,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseLinearGradient(SvgContainer container, char[] ca, int start, int end) {
+	private int parseLinearGradient(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -953,7 +977,7 @@ class SvgLoader {
 		}
 	}
 
-	private static int parsePath(SvgContainer container, char[] ca, int start, int end) {
+	private int parsePath(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1181,7 +1205,7 @@ class SvgLoader {
 		return new float[0];
 	}
 
-	private static int parsePolygon(SvgContainer container, char[] ca, int start, int end) {
+	private int parsePolygon(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1207,7 +1231,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parsePolyline(SvgContainer container, char[] ca, int start, int end) {
+	private int parsePolyline(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1232,7 +1256,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseRadialGradient(SvgContainer container, char[] ca, int start, int end) {
+	private int parseRadialGradient(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1258,7 +1282,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseRectangle(SvgContainer container, char[] ca, int start, int end) {
+	private int parseRectangle(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1347,7 +1371,7 @@ class SvgLoader {
 		return null;
 	}
 
-	private static int parseStyle(SvgContainer container, char[] ca, int start, int end) {
+	private int parseStyle(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endData = closer(ca, start, end);
@@ -1387,7 +1411,7 @@ class SvgLoader {
 		return new HashMap<String, String>(0);
 	}
 
-	private static int parseSvg(SvgContainer container, char[] ca, int start, int end) {
+	private int parseSvg(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1406,7 +1430,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseTitle(SvgContainer container, char[] ca, int start, int end) {
+	private int parseTitle(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			start = closer(ca, start, end);
@@ -1417,7 +1441,7 @@ class SvgLoader {
 		return end;
 	}
 
-	private static int parseUse(SvgContainer container, char[] ca, int start, int end) {
+	private int parseUse(SvgContainer container, char[] ca, int start, int end) {
 		end = findClosingTag(ca, start, end);
 		if(end != -1) {
 			int endAttrs = closer(ca, start, end);
@@ -1456,8 +1480,43 @@ class SvgLoader {
 		return -1;
 	}
 
-	private SvgLoader() {
-		// class should never be instantiated
+	private final char[] chars;
+	private final int[] tagEnds;
+	private Point dpi;
+
+	private SvgLoader(char[] chars, Point dpi) {
+		this.chars = chars;
+		this.tagEnds = indexTags(chars);
+		this.dpi = dpi;
+	}
+
+	private SvgDocument load() {
+		SvgDocument doc = new SvgDocument();
+		parse(doc, chars, 0, chars.length - 1);
+		return doc;
+	}
+
+	static Point getDPI() {
+		Display display = Display.getCurrent();
+		if(display != null) {
+			return display.getDPI();
+		}
+		final Point dpi = new Point(0, 0);
+		Display.getDefault().syncExec(new Runnable() {
+			public void run() {
+				Point p = Display.getDefault().getDPI();
+				dpi.x = p.x;
+				dpi.y = p.y;
+			}
+		});
+		return dpi;
+	}
+
+	private int getDPIX() {
+		if(dpi == null) {
+			dpi = getDPI();
+		}
+		return dpi.x;
 	}
 
 }
@@ -13,7 +13,9 @@
  *****************************************************************************/
 package org.eclipse.nebula.cwt.svg;
 
+import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Pattern;
 
 abstract class SvgPaint {
 
@@ -27,6 +29,12 @@ abstract class SvgPaint {
 	Integer color = null;
 	Float opacity = null;
 
+	// set by retain(GC), kept until disposeResources()
+	boolean retained = false;
+	Color colorResource;
+	SvgGradientStop[] stopsResource;
+	Pattern patternResource;
+
 	SvgPaint(SvgGraphic parent) {
 		this.parent = parent;
 	}
@@ -50,6 +58,67 @@ abstract class SvgPaint {
 		}
 	}
 	
+	/**
+	 * Creates the resources of this paint and keeps them until
+	 * {@link #disposeResources()} is called, instead of creating and disposing
+	 * them each time the paint is applied.  The paint server is shared by all
+	 * shapes linking to it, so its stops and a pattern of its own are copied
+	 * into this paint.
+	 */
+	void retain(GC gc) {
+		if(!(parent instanceof SvgShape)) {
+			throw new UnsupportedOperationException("only shapes can be painted..."); //$NON-NLS-1$
+		}
+		this.gc = gc;
+		if(linkId != null) {
+			SvgElement def = parent.getElement(linkId);
+			if(def instanceof SvgGradient) {
+				paintServer = (SvgGradient) def;
+				stopsResource = paintServer.getStops();
+				patternResource = paintServer.createPattern((SvgShape) parent, gc);
+			}
+		}
+		retained = true;
+	}
+
+	void applyPaintServer(boolean foreground) {
+		if(retained) {
+			SvgGradient.apply(gc, stopsResource, patternResource, foreground);
+		} else {
+			paintServer.apply(foreground);
+		}
+	}
+
+	Color createColor() {
+		if(colorResource != null) {
+			return colorResource;
+		}
+		Color c = new Color(gc.getDevice(), color >> 16, (color & 0x00FF00) >> 8, color & 0x0000FF);
+		if(retained) {
+			colorResource = c;
+		}
+		return c;
+	}
+
+	void disposeColor(Color c) {
+		if(c != colorResource) {
+			c.dispose();
+		}
+	}
+
+	void disposeResources() {
+		if(colorResource != null) {
+			colorResource.dispose();
+			colorResource = null;
+		}
+		if(patternResource != null) {
+			patternResource.dispose();
+			patternResource = null;
+		}
+		stopsResource = null;
+		gc = null;
+	}
+
 	public boolean dispose() {
 		if(paintServer != null) {
 			paintServer.dispose();
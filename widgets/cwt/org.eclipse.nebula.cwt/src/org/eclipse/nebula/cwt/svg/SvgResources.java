@@ -0,0 +1,296 @@
+/****************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.nebula.cwt.svg;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Path;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.Transform;
+
+/**
+ * The native resources of a compiled SvgDocument: the paths, paints and
+ * transforms of its shapes, and rasterised images of the whole document at
+ * the sizes it was recently painted at.
+ * <p>
+ * All resources belong to one device and are kept until disposed.  This class
+ * is not thread safe, it is only used on the thread of the device.
+ * </p>
+ */
+class SvgResources {
+
+	static class ShapeResources {
+		// the ancestry of the shape, outermost first
+		List<SvgElement> ancestry;
+		// the resources of the same shape in another ancestry
+		ShapeResources next;
+		Path path;
+		SvgFill fill;
+		SvgStroke stroke;
+		// the transforms of the shape's ancestry, without the gc's transform
+		Transform transform;
+		// the bounds transforms of the ancestry, the transform is built from
+		float[] boundsKey;
+
+		boolean hasAncestry(SvgElement element) {
+			int i = ancestry.size() - 1;
+			for(SvgElement el = element; el != null; el = el.getContainer(), i--) {
+				if(i < 0 || ancestry.get(i) != el) {
+					return false;
+				}
+			}
+			return i < 0;
+		}
+
+		/**
+		 * Copies the bounds transforms of the fragments in the ancestry to the
+		 * bounds key, and returns true if they changed since the last call.
+		 */
+		boolean updateBoundsKey() {
+			boolean changed = false;
+			if(boundsKey == null) {
+				int fragments = 0;
+				for(int i = 0; i < ancestry.size(); i++) {
+					if(ancestry.get(i) instanceof SvgFragment) {
+						fragments++;
+					}
+				}
+				boundsKey = new float[6 * fragments];
+				changed = true;
+			}
+			int k = 0;
+			for(int i = 0; i < ancestry.size(); i++) {
+				SvgElement el = ancestry.get(i);
+				if(el instanceof SvgFragment) {
+					float[] data = ((SvgFragment) el).boundsTransform.data;
+					for(int j = 0; j < 6; j++, k++) {
+						if(boundsKey[k] != data[j]) {
+							boundsKey[k] = data[j];
+							changed = true;
+						}
+					}
+				}
+			}
+			return changed;
+		}
+
+		void dispose() {
+			if(path != null) {
+				path.dispose();
+			}
+			fill.disposeResources();
+			stroke.disposeResources();
+			transform.dispose();
+		}
+	}
+
+	private Device device;
+	// shapes used by an SvgUse have resources for each ancestry, chained by next
+	private Map<SvgShape, ShapeResources> shapes = new IdentityHashMap<SvgShape, ShapeResources>();
+	// whether drawing on an image keeps its alpha channel, tested once per device
+	private Boolean alphaDrawing;
+	private Transform gcTransform;
+	private Transform derivedTransform;
+	private float[] elements = new float[6];
+
+	// access ordered, the eldest entry is the least recently used one
+	private Map<Point, Image> images = new LinkedHashMap<Point, Image>(16, 0.75f, true);
+	private long pixels = 0;
+	private long rasterCacheSize;
+
+	SvgResources(long rasterCacheSize) {
+		this.rasterCacheSize = rasterCacheSize;
+	}
+
+	long getRasterCacheSize() {
+		return rasterCacheSize;
+	}
+
+	void setRasterCacheSize(long rasterCacheSize) {
+		this.rasterCacheSize = rasterCacheSize;
+		evictImages();
+	}
+
+	private void checkDevice(Device device) {
+		if(this.device != device) {
+			dispose();
+			this.device = device;
+			gcTransform = new Transform(device);
+			derivedTransform = new Transform(device);
+		}
+	}
+
+	/**
+	 * Returns the resources of the given shape in its current ancestry,
+	 * creating them if necessary.
+	 */
+	ShapeResources getShape(SvgShape shape, GC gc) {
+		checkDevice(gc.getDevice());
+		ShapeResources first = shapes.get(shape);
+		ShapeResources r = first;
+		while(r != null && !r.hasAncestry(shape)) {
+			r = r.next;
+		}
+		if(r == null) {
+			r = new ShapeResources();
+			r.ancestry = SvgElement.getAncestry(shape);
+			r.next = first;
+			if(shape.pathData.types != null) {
+				r.path = new Path(device, shape.pathData);
+			}
+			r.fill = shape.getFill();
+			r.stroke = shape.getStroke();
+			r.transform = new Transform(device);
+			shapes.put(shape, r);
+
+			// paint servers take the bounds of the path
+			shape.path = r.path;
+			if(r.fill.isPaintable()) {
+				r.fill.retain(gc);
+			}
+			if(r.stroke.isPaintable()) {
+				r.stroke.retain(gc);
+			}
+		}
+		if(r.updateBoundsKey()) {
+			r.transform.identity();
+			SvgGraphic.multiplyTransforms(r.transform, r.ancestry);
+		}
+		return r;
+	}
+
+	/**
+	 * Sets the transform of the gc to its current transform multiplied with
+	 * the given one, and returns the current transform, which is valid until
+	 * this method is called again.
+	 */
+	Transform setTransform(GC gc, Transform transform) {
+		gc.getTransform(gcTransform);
+		gcTransform.getElements(elements);
+		derivedTransform.setElements(elements[0], elements[1], elements[2], elements[3], elements[4], elements[5]);
+		derivedTransform.multiply(transform);
+		gc.setTransform(derivedTransform);
+		return gcTransform;
+	}
+
+	boolean isIdentity(GC gc) {
+		checkDevice(gc.getDevice());
+		gc.getTransform(gcTransform);
+		return gcTransform.isIdentity();
+	}
+
+	/**
+	 * Returns the image of the document at the given size, rasterising it if
+	 * necessary, or null if the image would not fit in the raster cache or the
+	 * device cannot rasterise documents.
+	 */
+	Image getImage(SvgDocument document, int width, int height) {
+		long size = (long) width * height;
+		if(size > rasterCacheSize || !isAlphaDrawing()) {
+			return null;
+		}
+		Point key = new Point(width, height);
+		Image image = images.get(key);
+		if(image == null) {
+			image = rasterize(document, width, height);
+			images.put(key, image);
+			pixels += size;
+			evictImages();
+		}
+		return image;
+	}
+
+	private void evictImages() {
+		Iterator<Map.Entry<Point, Image>> it = images.entrySet().iterator();
+		while(pixels > rasterCacheSize && it.hasNext()) {
+			Map.Entry<Point, Image> entry = it.next();
+			pixels -= (long) entry.getKey().x * entry.getKey().y;
+			entry.getValue().dispose();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Returns whether shapes drawn on a transparent image make it opaque.  Not
+	 * all platforms keep the alpha channel of an image a GC draws on, and the
+	 * document is then painted from its shapes.
+	 */
+	private boolean isAlphaDrawing() {
+		if(alphaDrawing == null) {
+			Image image = createTransparentImage(1, 1);
+			GC gc = new GC(image);
+			try {
+				gc.setBackground(device.getSystemColor(SWT.COLOR_BLACK));
+				gc.fillRectangle(0, 0, 1, 1);
+			} finally {
+				gc.dispose();
+			}
+			byte[] alphaData = image.getImageData().alphaData;
+			image.dispose();
+			alphaDrawing = alphaData != null && (alphaData[0] & 0xFF) == 255;
+		}
+		return alphaDrawing;
+	}
+
+	private Image createTransparentImage(int width, int height) {
+		ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		data.alphaData = new byte[width * height];
+		return new Image(device, data);
+	}
+
+	/**
+	 * Paints the document once on a transparent image.
+	 */
+	private Image rasterize(SvgDocument document, int width, int height) {
+		Image image = createTransparentImage(width, height);
+		GC gc = new GC(image);
+		try {
+			document.applyFragments(gc, new Rectangle(0, 0, width, height));
+		} finally {
+			gc.dispose();
+		}
+		return image;
+	}
+
+	void dispose() {
+		for(ShapeResources r : shapes.values()) {
+			for(; r != null; r = r.next) {
+				r.dispose();
+			}
+		}
+		shapes.clear();
+		for(Image image : images.values()) {
+			image.dispose();
+		}
+		images.clear();
+		pixels = 0;
+		alphaDrawing = null;
+		if(gcTransform != null) {
+			gcTransform.dispose();
+			derivedTransform.dispose();
+			gcTransform = null;
+			derivedTransform = null;
+		}
+		device = null;
+	}
+
+}
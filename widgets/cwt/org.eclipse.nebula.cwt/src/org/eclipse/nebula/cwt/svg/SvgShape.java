@@ -41,7 +41,7 @@ import org.eclipse.swt.graphics.Transform;
  */
 public class SvgShape extends SvgGraphic {
 
-	private Path path;
+	Path path;
 	PathData pathData;
 
 	SvgShape(SvgContainer container, String id) {
@@ -82,7 +82,46 @@ public class SvgShape extends SvgGraphic {
 		derivedTransform.dispose();
 	}
 
+	private void doApply(GC gc, SvgResources resources) {
+		SvgResources.ShapeResources r = resources.getShape(this, gc);
+		path = r.path;
+		gc.setAntialias(SWT.ON);
+
+		Transform bak = null;
+		if(!r.transform.isIdentity()) {
+			bak = resources.setTransform(gc, r.transform);
+		}
+
+		if(r.fill.isPaintable()) {
+			r.fill.gc = gc;
+			r.fill.apply();
+			doFill(gc);
+			if(r.fill.patternResource != null) {
+				gc.setBackgroundPattern(null);
+			}
+		}
+
+		if(r.stroke.isPaintable()) {
+			r.stroke.gc = gc;
+			r.stroke.apply();
+			doStroke(gc);
+			if(r.stroke.patternResource != null) {
+				gc.setForegroundPattern(null);
+			}
+		}
+
+		if(bak != null) {
+			gc.setTransform(bak);
+		}
+		path = null;
+	}
+
 	public void apply(GC gc) {
+		SvgResources resources = getResources();
+		if(resources != null) {
+			doApply(gc, resources);
+			return;
+		}
 		if(pathData.types != null) {
 			path = new Path(gc.getDevice(), pathData);
 		}
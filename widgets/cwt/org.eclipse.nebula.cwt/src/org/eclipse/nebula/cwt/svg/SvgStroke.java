@@ -28,11 +28,11 @@ class SvgStroke extends SvgPaint {
 	
 	public void apply() {
 		if(paintServer != null) {
-			paintServer.apply(true);
+			applyPaintServer(true);
 		} else {
-			Color c = new Color(gc.getDevice(), color >> 16, (color & 0x00FF00) >> 8, color & 0x0000FF);
+			Color c = createColor();
 			gc.setForeground(c);
-			c.dispose();
+			disposeColor(c);
 			gc.setLineWidth((int)Math.ceil(width));
 			gc.setLineCap(lineCap);
 			gc.setLineJoin(lineJoin);
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.nebula.effects.stw.transitions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Test;
+
+/**
+ * Composes frames on image data built by hand, in the pixel formats of the
+ * platforms, and compares them with frames composed pixel by pixel.
+ */
+public class PixelCompositorTest {
+
+    /** 24 bits BGR, as on Windows. */
+    private static final PaletteData BGR24 = new PaletteData(0xFF, 0xFF00, 0xFF0000);
+
+    /** 32 bits xRGB, as on GTK and macOS. */
+    private static final PaletteData XRGB32 = new PaletteData(0xFF0000, 0xFF00, 0xFF);
+
+    /** 32 bits BGRx. */
+    private static final PaletteData BGRX32 = new PaletteData(0xFF00, 0xFF0000, 0xFF000000);
+
+    private static final RGB GRAY = new RGB(100, 100, 100);
+
+    private static final int[] DEPTHS = { 24, 32, 32 };
+    private static final PaletteData[] PALETTES = { BGR24, XRGB32, BGRX32 };
+
+    private static ImageData image(int depth, PaletteData palette, int width, int height, RGB rgb) {
+        ImageData data = new ImageData(width, height, depth, palette);
+        int pixel = palette.getPixel(rgb);
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                data.setPixel(x, y, pixel);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Returns an image with a different color for each pixel.
+     */
+    private static ImageData pattern(int depth, PaletteData palette, int width, int height) {
+        ImageData data = new ImageData(width, height, depth, palette);
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                data.setPixel(x, y, palette.getPixel(color(x, y)));
+            }
+        }
+        return data;
+    }
+
+    private static RGB color(int x, int y) {
+        return new RGB((x * 7) % 256, (y * 13) % 256, (x * 3 + y * 5 + 1) % 256);
+    }
+
+    private static RGB rgb(ImageData data, int x, int y) {
+        return data.palette.getRGB(data.getPixel(x, y));
+    }
+
+    private static PixelCompositor compositor(int depth, PaletteData palette, int width, int height) {
+        PixelCompositor compositor = new PixelCompositor(null, width, height, depth, palette);
+        assertTrue(compositor.isSupported());
+        compositor.setBackground(image(depth, palette, width, height, GRAY));
+        return compositor;
+    }
+
+    private static int blend(int src, int dest, int alpha) {
+        return Math.round((src * alpha + dest * (255 - alpha)) / 255f);
+    }
+
+    /**
+     * Composes the blits pixel by pixel on the gray background.
+     */
+    private static RGB[][] reference(int width, int height, ImageData[] src, int[][] blits) {
+        RGB[][] frame = new RGB[height][width];
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                frame[y][x] = GRAY;
+            }
+        }
+        for(int i = 0; i < blits.length; i++) {
+            int[] b = blits[i];
+            int alpha = Math.min(b[8], 255);
+            if(alpha <= 0) {
+                continue;
+            }
+            for(int y = Math.max(b[5], 0); y < Math.min(b[5] + b[7], height); y++) {
+                for(int x = Math.max(b[4], 0); x < Math.min(b[4] + b[6], width); x++) {
+                    RGB s = rgb(src[i], b[0] + (x - b[4]) * b[2] / b[6], b[1] + (y - b[5]) * b[3] / b[7]);
+                    RGB d = frame[y][x];
+                    frame[y][x] = new RGB(blend(s.red, d.red, alpha),
+                            blend(s.green, d.green, alpha), blend(s.blue, d.blue, alpha));
+                }
+            }
+        }
+        return frame;
+    }
+
+    private static void assertFrame(String message, RGB[][] expected, ImageData frame) {
+        for(int y = 0; y < expected.length; y++) {
+            for(int x = 0; x < expected[y].length; x++) {
+                RGB e = expected[y][x];
+                RGB a = rgb(frame, x, y);
+                if(Math.abs(e.red - a.red) > 1 || Math.abs(e.green - a.green) > 1
+                        || Math.abs(e.blue - a.blue) > 1) {
+                    fail(message + ": " + e + " expected at " + x + "," + y + " but was " + a);
+                }
+            }
+        }
+    }
+
+    /**
+     * Composes the given blits, each as srcX, srcY, srcWidth, srcHeight,
+     * destX, destY, destWidth, destHeight, alpha, on a pattern source in each
+     * pixel format, and compares the frame with the reference.
+     */
+    private static void assertBlits(int width, int height, int srcWidth, int srcHeight, int[]... blits) {
+        for(int f = 0; f < DEPTHS.length; f++) {
+            PixelCompositor compositor = compositor(DEPTHS[f], PALETTES[f], width, height);
+            ImageData source = compositor.prepare(pattern(DEPTHS[f], PALETTES[f], srcWidth, srcHeight));
+            ImageData[] sources = new ImageData[blits.length];
+            compositor.beginFrame();
+            for(int i = 0; i < blits.length; i++) {
+                int[] b = blits[i];
+                sources[i] = source;
+                compositor.blit(source, b[0], b[1], b[2], b[3], b[4], b[5], b[6], b[7], b[8]);
+            }
+            String message = DEPTHS[f] + " bits " + Integer.toHexString(PALETTES[f].redMask);
+            assertFrame(message, reference(width, height, sources, blits), compositor.compose());
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        assertBlits(16, 12, 8, 6, new int[] { 0, 0, 8, 6, 3, 2, 8, 6, 255 });
+    }
+
+    @Test
+    public void testSourceRectangle() {
+        assertBlits(16, 12, 8, 6, new int[] { 2, 1, 5, 4, 0, 7, 5, 4, 255 });
+    }
+
+    @Test
+    public void testSinglePixelColumns() {
+        //the columns of a rotation
+        assertBlits(16, 12, 8, 6,
+                new int[] { 3, 0, 1, 6, 4, 1, 1, 10, 255 },
+                new int[] { 4, 0, 1, 6, 5, 2, 1, 8, 255 });
+    }
+
+    @Test
+    public void testScaled() {
+        assertBlits(20, 16, 8, 6,
+                new int[] { 0, 0, 8, 6, 1, 1, 17, 13, 255 },
+                new int[] { 1, 1, 6, 4, 4, 3, 3, 2, 255 });
+    }
+
+    @Test
+    public void testAlpha() {
+        assertBlits(16, 12, 8, 6,
+                new int[] { 0, 0, 8, 6, 2, 2, 8, 6, 128 },
+                new int[] { 0, 0, 8, 6, 6, 4, 12, 7, 77 });
+    }
+
+    @Test
+    public void testAlphaZero() {
+        for(int f = 0; f < DEPTHS.length; f++) {
+            PixelCompositor compositor = compositor(DEPTHS[f], PALETTES[f], 8, 8);
+            ImageData source = compositor.prepare(image(DEPTHS[f], PALETTES[f], 4, 4, new RGB(255, 0, 0)));
+            compositor.beginFrame();
+            compositor.blit(source, 0, 0, 4, 4, 2, 2, 4, 4, 0);
+            compositor.blit(source, 0, 0, 4, 4, 2, 2, 6, 6, -1);
+            ImageData frame = compositor.compose();
+            for(int y = 0; y < 8; y++) {
+                for(int x = 0; x < 8; x++) {
+                    assertEquals(GRAY, rgb(frame, x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAlphaOpaque() {
+        for(int f = 0; f < DEPTHS.length; f++) {
+            PixelCompositor compositor = compositor(DEPTHS[f], PALETTES[f], 8, 8);
+            RGB red = new RGB(255, 0, 0);
+            ImageData source = compositor.prepare(image(DEPTHS[f], PALETTES[f], 4, 4, red));
+            compositor.beginFrame();
+            compositor.blit(source, 0, 0, 4, 4, 2, 2, 4, 4, 255);
+            //alphas above 255 are opaque too
+            compositor.blit(source, 0, 0, 2, 2, 0, 0, 1, 1, 1000);
+            ImageData frame = compositor.compose();
+            assertEquals(red, rgb(frame, 0, 0));
+            assertEquals(GRAY, rgb(frame, 1, 1));
+            assertEquals(red, rgb(frame, 2, 2));
+            assertEquals(red, rgb(frame, 5, 5));
+            assertEquals(GRAY, rgb(frame, 6, 6));
+        }
+    }
+
+    @Test
+    public void testClippedAtNegativeDestination() {
+        assertBlits(16, 12, 8, 6,
+                new int[] { 0, 0, 8, 6, -3, 2, 8, 6, 255 },
+                new int[] { 0, 0, 8, 6, 2, -4, 8, 6, 255 },
+                new int[] { 0, 0, 8, 6, -5, -2, 8, 6, 128 });
+    }
+
+    @Test
+    public void testClippedScaledAtNegativeDestination() {
+        assertBlits(16, 12, 8, 6,
+                new int[] { 0, 0, 8, 6, -7, -5, 19, 13, 255 },
+                new int[] { 1, 1, 5, 4, -2, -1, 3, 3, 200 });
+    }
+
+    @Test
+    public void testClippedAtFrameEnd() {
+        assertBlits(16, 12, 8, 6,
+                new int[] { 0, 0, 8, 6, 12, 9, 8, 6, 255 },
+                new int[] { 0, 0, 8, 6, 10, 8, 14, 11, 255 },
+                new int[] { 0, 0, 8, 6, 16, 0, 8, 6, 255 },
+                new int[] { 0, 0, 8, 6, -8, 0, 8, 6, 255 });
+    }
+
+    @Test
+    public void testParallelBands() {
+        //large enough to be composed in parallel bands
+        assertBlits(512, 256, 64, 48,
+                new int[] { 0, 0, 64, 48, -20, -10, 400, 270, 255 },
+                new int[] { 8, 8, 40, 30, 100, 50, 40, 30, 255 },
+                new int[] { 0, 0, 64, 48, 300, 100, 300, 200, 100 });
+    }
+
+    @Test
+    public void testRandomBlits() {
+        Random random = new Random(42);
+        for(int n = 0; n < 20; n++) {
+            int[][] blits = new int[1 + random.nextInt(100)][];
+            for(int i = 0; i < blits.length; i++) {
+                int sx = random.nextInt(12), sy = random.nextInt(12);
+                blits[i] = new int[] { sx, sy, 1 + random.nextInt(12 - sx), 1 + random.nextInt(12 - sy),
+                        random.nextInt(60) - 20, random.nextInt(60) - 20,
+                        1 + random.nextInt(30), 1 + random.nextInt(30), random.nextInt(300) };
+            }
+            assertBlits(40, 40, 12, 12, blits);
+        }
+    }
+
+    @Test
+    public void testFrames() {
+        //the blit tables and column tables are reused from frame to frame
+        PixelCompositor compositor = compositor(32, XRGB32, 16, 12);
+        ImageData source = compositor.prepare(pattern(32, XRGB32, 8, 6));
+        ImageData[] sources = { source };
+        for(int frame = 0; frame < 4; frame++) {
+            int[] blit = { 0, 0, 8, 6, frame - 2, frame, 10 - frame, 6 + frame, 255 };
+            compositor.beginFrame();
+            compositor.blit(source, blit[0], blit[1], blit[2], blit[3], blit[4], blit[5], blit[6], blit[7], blit[8]);
+            assertFrame("frame " + frame, reference(16, 12, sources, new int[][] { blit }), compositor.compose());
+        }
+    }
+
+    @Test
+    public void testPrepare() {
+        PixelCompositor compositor = compositor(32, XRGB32, 8, 8);
+        ImageData same = pattern(32, XRGB32, 4, 4);
+        assertSame(same, compositor.prepare(same));
+
+        ImageData other = pattern(24, BGR24, 4, 4);
+        ImageData prepared = compositor.prepare(other);
+        assertEquals(32, prepared.depth);
+        assertEquals(XRGB32.redMask, prepared.palette.redMask);
+        assertSame(prepared, compositor.prepare(other));
+        assertSame(prepared, compositor.prepare(prepared));
+        for(int y = 0; y < 4; y++) {
+            for(int x = 0; x < 4; x++) {
+                assertEquals(color(x, y), rgb(prepared, x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSupported() {
+        assertFalse(new PixelCompositor(null, 8, 8, 16, new PaletteData(0xF800, 0x7E0, 0x1F)).isSupported());
+        assertFalse(new PixelCompositor(null, 8, 8, 8, new PaletteData(new RGB[] { GRAY })).isSupported());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        PixelCompositor compositor = compositor(24, BGR24, 8, 8);
+        ImageData source = compositor.prepare(pattern(24, BGR24, 4, 4));
+        compositor.beginFrame();
+        int[][] invalid = {
+                { 0, 0, -1, 4, 0, 0, 4, 4 },
+                { 0, 0, 4, 4, 0, 0, 4, -1 },
+                { -1, 0, 4, 4, 0, 0, 4, 4 },
+                { 1, 0, 4, 4, 0, 0, 4, 4 },
+                { 0, 2, 4, 3, 0, 0, 4, 4 } };
+        for(int[] b : invalid) {
+            try {
+                compositor.blit(source, b[0], b[1], b[2], b[3], b[4], b[5], b[6], b[7], 255);
+                fail();
+            } catch(IllegalArgumentException expected) {
+            }
+        }
+        //empty blits are ignored
+        compositor.blit(source, 0, 0, 0, 4, 0, 0, 4, 4, 255);
+        compositor.blit(source, 0, 0, 4, 4, 0, 0, 4, 0, 255);
+        ImageData frame = compositor.compose();
+        assertEquals(GRAY, rgb(frame, 0, 0));
+    }
+
+}
@@ -14,11 +14,13 @@
 
 package org.eclipse.nebula.effects.stw;
 
+import org.eclipse.nebula.cwt.animation.AnimationClock;
+import org.eclipse.nebula.cwt.animation.IFrameListener;
 import org.eclipse.swt.events.PaintEvent;
 import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Display;
 
@@ -37,6 +39,7 @@ import org.eclipse.swt.widgets.Display;
  * initTransition(from, to, xitionImgGC, direction);
  * render(xitionImgGC);
  * while(t <= T) {
+ *   t = elapsed time;
  *   if(t <= T) {
  *     stepTransition(t, from, to, xitionImgGC, direction);
  *   } else {
@@ -44,7 +47,7 @@ import org.eclipse.swt.widgets.Display;
  *     endTransition(from, to, xitionImgGC, direction);
  *   }
  *   render(xitionImgGC);
- *   t += dt;
+ *   wait for the next frame of the display's AnimationClock;
  * }
  * </code></pre>
  * 
@@ -102,6 +105,9 @@ public abstract class Transition {
     private long        _dt;    //time step
     private long        _t;     //time counter
     
+    private long        _frames;        //frames painted by the last transition
+    private double      _achievedFPS;   //frames per second of the last transition
+    
     /**
      * Constructs a new transition object
      * @param transitionManager the transition manager to be used to manage transitions 
@@ -144,6 +150,29 @@ public abstract class Transition {
         return _fps;
     }
     
+    /**
+     * Returns the number of frames per second actually painted during the
+     * last transition, which is at most the maximum set by {@link #setFPS(long)}.
+     * A value noticeably lower than the maximum means that painting the
+     * frames takes too long for the size of the transitioned images.
+     * 
+     * @return the achieved number of frames per second of the last
+     * transition, or 0 if no transition was completed yet
+     */
+    public final double getAchievedFPS() {
+        return _achievedFPS;
+    }
+    
+    /**
+     * Returns the number of frames painted during the last transition,
+     * including the first and last frames.
+     * 
+     * @return the number of frames painted during the last transition
+     */
+    public final long getFrameCount() {
+        return _frames;
+    }
+    
     /**
      * Sets the total time of the transition effect in milliseconds.
      * 
@@ -177,76 +206,112 @@ public abstract class Transition {
         
         //_transitionManager.isAnyTransitionInProgress.setValue(true);
         
-        boolean flag = true;
-        long t0 = System.currentTimeMillis();
-        long dt = 0;
-        long ttemp = 0;
+        final Display display = canvas.getDisplay();
+        final AnimationClock clock = AnimationClock.getClock(display);
+        final long t0 = System.nanoTime();
+        final boolean[] finished = new boolean[1];
         _t = 0;
+        _frames = 0;
         
         //prepare transition background
-        ImageData   fromData    = from.getImageData();
-        final Image       xitionBg    = new Image(Display.getCurrent(), fromData.width, fromData.height);
-        GC          xitionBgGC  = new GC(xitionBg);
-        
-        xitionBgGC.setBackground(_transitionManager.backgroundColor);
-        xitionBgGC.fillRectangle(0, 0, fromData.width, fromData.height);
-        
-        if( null != _transitionManager.backgroundImage ) {
-            
-            ImageData imgData = _transitionManager.backgroundImage.getImageData();
-            xitionBgGC.drawImage(_transitionManager.backgroundImage
-                    , 0, 0, imgData.width, imgData.height
-                    , 0, 0, fromData.width, fromData.height);
-            
-        }
-        
-        xitionBgGC.dispose();
-        
+        Rectangle   fromBounds  = from.getBounds();
+        final Image       xitionBg    = new Image(display, fromBounds.width, fromBounds.height);
         final TransitionPainter transitionPainter
             = new TransitionPainter(canvas, from, to, direction, xitionBg);
         
-        transitionPainter.paintTransition(
-            TransitionPainter.TRANSITION_INIT);
-        
-        //while(!_transitionManager.isCurrentTransitionCanceled.get()
-        //        && _t <= _T) {
-        while(_t <= _T) {
+        //the frames are painted by the animation clock of the display,
+        //together with the other animations of the display
+        final IFrameListener frameListener = new IFrameListener() {
             
-            ttemp = System.currentTimeMillis() - t0;
-            dt = ttemp - _t;
-            if(flag) _t = ttemp;
+            private long _tLastFrame = 0;
             
-            //this condition is to make sure that the
-            //required fps (or less) is satisfied and
-            //not more
-            if(dt >= _dt) {
+            @Override
+            public boolean doFrame(long frameTime) {
+                if(canvas.isDisposed()) {
+                    finished[0] = true;
+                    return false;
+                }
+                
+                long t = (frameTime - t0) / 1000000L;
+                
+                //this condition is to make sure that the
+                //required fps (or less) is satisfied and
+                //not more
+                long clockPeriod = 1000L / clock.getFrameRate();
+                if(t <= _T && t - _tLastFrame < _dt - clockPeriod / 2) {
+                    return true;
+                }
+                _tLastFrame = t;
+                _t = t;
+                
                 if(_t <= _T) {
-                    transitionPainter.paintTransition(
-                        TransitionPainter.TRANSITION_STEP);
-                    
-                } else {
-                    transitionPainter.paintTransition(
-                        TransitionPainter.TRANSITION_END);
+                    //no need to paint the steps of a hidden canvas
+                    if(canvas.isVisible()) {
+                        transitionPainter.paintTransition(
+                            TransitionPainter.TRANSITION_STEP);
+                        _frames++;
+                    }
+                    return true;
                 }
                 
-                flag = true;
-                doEvents();
+                transitionPainter.paintTransition(
+                    TransitionPainter.TRANSITION_END);
+                _frames++;
+                finished[0] = true;
+                return false;
+            }
+        };
+        
+        try {
+            GC          xitionBgGC  = new GC(xitionBg);
+            try {
+                xitionBgGC.setBackground(_transitionManager.backgroundColor);
+                xitionBgGC.fillRectangle(0, 0, fromBounds.width, fromBounds.height);
                 
-            } else {
-                try {
-                    flag = false;
-                    Thread.sleep(_dt - dt);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+                if( null != _transitionManager.backgroundImage ) {
+                    
+                    Rectangle imgBounds = _transitionManager.backgroundImage.getBounds();
+                    xitionBgGC.drawImage(_transitionManager.backgroundImage
+                            , 0, 0, imgBounds.width, imgBounds.height
+                            , 0, 0, fromBounds.width, fromBounds.height);
+                    
                 }
+            } finally {
+                xitionBgGC.dispose();
             }
             
+            transitionPainter.paintTransition(
+                TransitionPainter.TRANSITION_INIT);
+            _frames++;
+            
+            clock.addListener(frameListener);
+            
+            while(!finished[0] && !display.isDisposed()) {
+                if(!display.readAndDispatch()) {
+                    display.sleep();
+                }
+            }
+        } finally {
+            //an exception of a frame or of another event ends the transition
+            clock.removeListener(frameListener);
+            transitionPainter.dispose();
+            xitionBg.dispose();
         }
         
-        xitionBg.dispose();
+        long elapsed = System.nanoTime() - t0;
+        _achievedFPS = elapsed > 0 ? _frames * 1000000000.0 / elapsed : 0;
+        
         //_transitionManager.isAnyTransitionInProgress.setValue(false);
     }
     
+    /**
+     * Processes the pending events of the display.
+     * 
+     * @deprecated the frames of a transition are driven by the
+     *             {@link AnimationClock} of the display, this method is not
+     *             called anymore.
+     */
+    @Deprecated
     protected void doEvents() {
         Display.getCurrent().readAndDispatch();
     }
@@ -332,8 +397,26 @@ public abstract class Transition {
          * Dispose the transition image objects.
          */
         private void disposeXitionImg() {
-            _xitionImg.dispose();
             _xitionImgGC.dispose();
+            _xitionImg.dispose();
+            _xitionImgGC = null;
+            _xitionImg = null;
+        }
+        
+        /**
+         * Release the objects of a transition which did not reach its end.
+         */
+        private void dispose() {
+            if (null != _xitionImg) {
+                disposeXitionImg();
+            }
+            if (null != _gc) {
+                _gc.dispose();
+                _gc = null;
+            }
+            if (!_canvas.isDisposed()) {
+                _canvas.removePaintListener(this);
+            }
         }
         
         /**
@@ -365,6 +448,7 @@ public abstract class Transition {
                 if (_transition == TRANSITION_END) {
                     disposeXitionImg();
                     _gc.dispose();
+                    _gc = null;
                 }
             }
         }
@@ -33,9 +33,7 @@ public class CubicRotationTransition extends Transition {
     private boolean _flag1;
     private ImageData _fromData;
     private ImageData _toData;
-    private ImageData _imgDataBuffer;
-    private ImageData _imgDataToDraw;
-    private Image _bgImage;
+    private PixelCompositor _compositor;
     private long _halfT, _t1, _tSqrd;
     private double _dy1, _dx1, _dx2, _dy2
                 , _x1, _y1, _x2, _y2
@@ -74,10 +72,15 @@ public class CubicRotationTransition extends Transition {
     protected void initTransition(Image from, Image to, GC gc, double direction) {
 
         _halfT = (long) (_T / 2.0);
-        _fromData = from.getImageData();
-        _toData = to.getImageData();
-        _w = _fromData.width;
-        _h = _fromData.height;
+        _w = from.getBounds().width;
+        _h = from.getBounds().height;
+        _compositor = new PixelCompositor(gc.getDevice(), _w, _h);
+        if (_compositor.isSupported()) {
+            _fromData = _compositor.prepare(from.getImageData());
+            _toData = _compositor.prepare(to.getImageData());
+        } else {
+            _compositor = null;
+        }
         _halfW = (int) (_w / 2.0);
         _halfH = (int) (_h / 2.0);
         
@@ -122,50 +125,12 @@ public class CubicRotationTransition extends Transition {
         }
         
         _flag1 = false;
-        
-        if (useDataBuffersToDraw()) {
-            initImgDataBuffers(gc, direction);
-        }
-    }
-    
-    /**
-     * Initialize the image data buffers, used to draw the transition
-     * instead of drawing into the graphics context object directly.
-     * @param gc Graphics context where to initialize the background image object.
-     * @param direction Direction to be used as a reference to
-     * initialize the image data buffers.
-     */
-    private void initImgDataBuffers(GC gc, double direction) {
-        switch((int)direction) {
-        case (int)DIR_RIGHT:
-        case (int)DIR_LEFT:
-            _imgDataBuffer = new ImageData((int) _dx1, _h, 
-                    _fromData.depth, _fromData.palette);
-            break;
-        case (int)DIR_UP:
-        case (int)DIR_DOWN:
-            _imgDataBuffer = new ImageData(_w, (int) _dy1, 
-                    _fromData.depth, _fromData.palette);
-            break;
-        }
-        _bgImage = new Image(gc.getDevice(), _w, _h);
-    }
-    
-    /**
-     * @return true if the application will use the data buffers
-     * to draw the image, false if the buffers won't be used and the
-     * image will be drawn directly to the graphics context
-     * object instead.
-     */
-    private boolean useDataBuffersToDraw() {
-        return IS_MAC_OS;
     }
     
     /**
      * Draw an image to a graphics context object. The image
-     * can be drawn using image data buffers before drawing to the
-     * graphics context object, or drawn directly to the
-     * graphics context object. 
+     * is added to the frame of the pixel compositor if it is used,
+     * or drawn directly to the graphics context object otherwise.
      * @param gc Graphics context object to draw the image to.
      * @param src the source image.
      * @param srcData image data of the source image.
@@ -182,75 +147,22 @@ public class CubicRotationTransition extends Transition {
             int srcX, int srcY, int srcWidth, int srcHeight,
             int destX, int destY, int destWidth, int destHeight) {
         
-        if (useDataBuffersToDraw()) {
-            drawImageData(srcData, 
+        if (null != _compositor) {
+            _compositor.blit(srcData, 
                     srcX, srcY, srcWidth, srcHeight,
-                    destX, destY, destWidth, destHeight);
+                    destX, destY, destWidth, destHeight, 255);
         } else {
             gc.drawImage(src, srcX, srcY, srcWidth, srcHeight,
                     destX, destY, destWidth, destHeight);
         }
     }
     
-    /**
-     * Draw an image to the image data buffer object that contains all
-     * the image data to be drawn to the graphics context object.
-     * @param srcData image data of the source image.
-     * @param srcX the x coordinate in the source image to copy from
-     * @param srcY the y coordinate in the source image to copy from
-     * @param srcWidth the width in pixels to copy from the source
-     * @param srcHeight the height in pixels to copy from the source
-     * @param destX the x coordinate in the destination to copy to
-     * @param destY the y coordinate in the destination to copy to
-     * @param destWidth the width in pixels of the destination rectangle
-     * @param destHeight the height in pixels of the destination rectangle
-     */
-    private void drawImageData(ImageData srcData, 
-            int srcX, int srcY, int srcWidth, int srcHeight,
-            int destX, int destY, int destWidth, int destHeight) {
-
-        if (srcWidth == 0 || srcHeight == 0 || destWidth == 0 || destHeight == 0) {
-            return;
-        }
-        if (srcX == srcData.width) {
-            srcX--;
-        }
-        if (srcY == srcData.height) {
-            srcY--;
-        }
-        if (destX == _imgDataToDraw.width) {
-            destX--;
-        }
-        if (destY == _imgDataToDraw.height) {
-            destY--;
-        }
-        if ((srcX + srcWidth) > srcData.width || (srcY + srcHeight) > srcData.height
-                || (destX + destWidth) > _imgDataToDraw.width || (destY + destHeight) > _imgDataToDraw.height) {
-            return;
-        }
-        
-        for (int y = 0; y < srcHeight; y++) {
-            for (int x = 0; x < srcWidth; x++) {
-                _imgDataBuffer.setPixel(x, y, srcData.getPixel(srcX + x, srcY + y));
-            }
-        }
-        
-        ImageData scaledDataBuffer = _imgDataBuffer.scaledTo(destWidth, destHeight);
-        
-        for (int y = 0; y < destHeight; y++) {
-            for (int x = 0; x < destWidth; x++) {
-                _imgDataToDraw.setPixel(destX + x, destY + y, scaledDataBuffer.getPixel(x, y));
-            }
-        }
-    }
-    
     @Override
     protected void stepTransition(long t, Image from, Image to, GC gc,
             double direction) {
 
-        if (useDataBuffersToDraw()) {
-            gc.copyArea(_bgImage, 0, 0);
-            _imgDataToDraw = _bgImage.getImageData();
+        if (null != _compositor) {
+            _compositor.beginFrame(gc);
         }
         
         switch((int)direction) {
@@ -487,18 +399,17 @@ public class CubicRotationTransition extends Transition {
             break;
         
         }
-        if (useDataBuffersToDraw()) {
-            Image buffer = new Image(gc.getDevice(), _imgDataToDraw);
-            gc.drawImage(buffer, 0, 0);
-            buffer.dispose();
+        if (null != _compositor) {
+            _compositor.endFrame(gc);
         }
     }
     
     @Override
     protected void endTransition(Image from, Image to, GC gc, double direction) {
-        if (_bgImage != null && !_bgImage.isDisposed()) {
-            _bgImage.dispose();
-        }
+        //release the frame buffers
+        _compositor = null;
+        _fromData = null;
+        _toData = null;
     }
     
     /**
@@ -18,6 +18,7 @@ import org.eclipse.nebula.effects.stw.Transition;
 import org.eclipse.nebula.effects.stw.TransitionManager;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 
 /**
  * Applies a fade effect. The <i>from</i> control fades out and the the <i>to</i>
@@ -36,6 +37,8 @@ public class FadeTransition extends Transition {
         , _fadeInStartT, _fadeInMidT, _fadeInStopT;
     private double _fadeOutStart = 0, _fadeOutStop = 100
             , _fadeInStart = 0, _fadeInStop = 100;
+    private ImageData _fromData, _toData;
+    private PixelCompositor _compositor;
     
     /**
      * This constructor creates a FadeTransition with number of frames per second of {@link Transition#DEFAULT_FPS}
@@ -85,28 +88,58 @@ public class FadeTransition extends Transition {
         _flag1 = false;
         _flag2 = false;
         
+        _compositor = new PixelCompositor(gc.getDevice(),
+                from.getBounds().width, from.getBounds().height);
+        if (_compositor.isSupported()) {
+            _fromData = _compositor.prepare(from.getImageData());
+            _toData = _compositor.prepare(to.getImageData());
+        } else {
+            _compositor = null;
+        }
+        
+    }
+    
+    /**
+     * Draw an image blended with the given alpha, either to the frame of the
+     * pixel compositor if it is used, or directly to the graphics context object.
+     * @param gc Graphics context object to draw the image to.
+     * @param src the source image.
+     * @param srcData image data of the source image.
+     * @param alpha the alpha to blend the image with, from 0 to 255.
+     */
+    private void drawImage(GC gc, Image src, ImageData srcData, int alpha) {
+        if (null != _compositor) {
+            _compositor.blit(srcData, 0, 0, srcData.width, srcData.height,
+                    0, 0, srcData.width, srcData.height, alpha);
+        } else {
+            gc.setAlpha(alpha);
+            gc.drawImage(src, 0, 0);
+            gc.setAlpha(255);
+        }
     }
 
     @Override
     protected void stepTransition(long t, Image from, Image to, GC gc,
             double direction) {
         
+        if (null != _compositor) {
+            _compositor.beginFrame(gc);
+        }
+        
         if( t >= 0 && t < _fadeOutStartT ) {
             
-            gc.drawImage(from, 0, 0);
+            drawImage(gc, from, _fromData, 255);
             
         } else if( t >= _fadeOutStartT && t < _fadeOutMidT ) {
             
-            gc.setAlpha((int) _alphaFrom);
-            gc.drawImage(from, 0, 0);
+            drawImage(gc, from, _fromData, (int) _alphaFrom);
             
             _t1 = t - _fadeOutStartT;
             _alphaFrom = _aw - Math.min(0.5 * _aFrom * _t1 * _t1, _halfAW);
             
         } else if( t >= _fadeOutMidT && t <= _fadeOutStopT ) {
             
-            gc.setAlpha((int) _alphaFrom);
-            gc.drawImage(from, 0, 0);
+            drawImage(gc, from, _fromData, (int) _alphaFrom);
             
             if(!_flag1) {
                 
@@ -126,16 +159,14 @@ public class FadeTransition extends Transition {
         
         if( t >= _fadeInStartT && t < _fadeInMidT ) {
             
-            gc.setAlpha((int) _alphaTo);
-            gc.drawImage(to, 0, 0);
+            drawImage(gc, to, _toData, (int) _alphaTo);
             
             _t1 = t - _fadeInStartT;
             _alphaTo = Math.min(0.5 * _aTo * _t1 * _t1, _halfAW);
             
         } else if( t >= _fadeInMidT && t <= _fadeInStopT) {
             
-            gc.setAlpha((int) _alphaTo);
-            gc.drawImage(to, 0, 0);
+            drawImage(gc, to, _toData, (int) _alphaTo);
             
             if(!_flag2) {
                 
@@ -151,14 +182,22 @@ public class FadeTransition extends Transition {
             
         } else if( t > _fadeInStopT) {
             
-            gc.drawImage(to, 0, 0);
+            drawImage(gc, to, _toData, 255);
             
         }
         
+        if (null != _compositor) {
+            _compositor.endFrame(gc);
+        }
+        
     }
 
     @Override
     protected void endTransition(Image from, Image to, GC gc, double direction) {
+        //release the frame buffers
+        _compositor = null;
+        _fromData = null;
+        _toData = null;
     }
     
     /**
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.nebula.effects.stw.transitions;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * Composes the frames of a transition directly on the bytes of an image data
+ * buffer instead of drawing on a graphics context.<br/><br/>
+ *
+ * A frame is described as a list of blits, each copying a rectangle of a source
+ * image to a rectangle of the frame, scaled with nearest neighbour sampling and
+ * optionally blended with a constant alpha. The blits are stored in tables which
+ * are reused from frame to frame, and executed in the order they were added on
+ * bands of rows, which are composed in parallel for large frames.<br/><br/>
+ *
+ * The frame buffer has the pixel format of the device, and the source images
+ * are converted to this format once by {@link #prepare(ImageData)}. Only 24 and
+ * 32 bits direct color formats are supported, see {@link #isSupported()}.
+ */
+class PixelCompositor {
+
+    /** Frames with less pixels are composed in a single band. */
+    private static final int PARALLEL_THRESHOLD = 256 * 256;
+
+    /** The minimum number of rows of a band. */
+    private static final int MIN_BAND_HEIGHT = 32;
+
+    private final Device _device;
+    private final int _width, _height;
+    private final int _depth;
+    private final PaletteData _palette;
+    private final boolean _supported;
+
+    private final Map<ImageData, ImageData> _prepared = new IdentityHashMap<ImageData, ImageData>();
+    private ImageData _background;
+    private ImageData _frame;
+
+    //the blit tables
+    private int _count;
+    private ImageData[] _src = new ImageData[64];
+    private int[] _sx = new int[64], _sy = new int[64], _sw = new int[64], _sh = new int[64];
+    private int[] _dx = new int[64], _dy = new int[64], _dw = new int[64], _dh = new int[64];
+    private int[] _alpha = new int[64];
+    //the source offset of each frame column of the scaled blits, computed
+    //once per frame for all bands
+    private int[][] _columns = new int[64][];
+
+    /**
+     * Creates a compositor for frames of the given size on the given device.
+     * @param device the device to draw the frames on
+     * @param width the width of the frames
+     * @param height the height of the frames
+     */
+    PixelCompositor(Device device, int width, int height) {
+        this(device, width, height, probeFormat(device));
+    }
+
+    private PixelCompositor(Device device, int width, int height, ImageData format) {
+        this(device, width, height, format.depth, format.palette);
+    }
+
+    /**
+     * Creates a compositor for frames of the given size and pixel format.
+     * @param device the device to draw the frames on
+     * @param width the width of the frames
+     * @param height the height of the frames
+     * @param depth the depth of the frames
+     * @param palette the palette of the frames
+     */
+    PixelCompositor(Device device, int width, int height, int depth, PaletteData palette) {
+        _device = device;
+        _width = width;
+        _height = height;
+        _depth = depth;
+        _palette = palette;
+        _supported = _palette.isDirect && (_depth == 24 || _depth == 32);
+    }
+
+    private static ImageData probeFormat(Device device) {
+        Image probe = new Image(device, 1, 1);
+        ImageData format = probe.getImageData();
+        probe.dispose();
+        return format;
+    }
+
+    /**
+     * @return true if the pixel format of the device is supported,
+     * false if the transition has to draw on the graphics context
+     */
+    boolean isSupported() {
+        return _supported;
+    }
+
+    /**
+     * Returns the given image data in the pixel format of the frames, converting
+     * it if necessary. The conversion is done once for each image data.
+     * @param data the image data of a source image
+     * @return the image data to pass to {@link #blit}
+     */
+    ImageData prepare(ImageData data) {
+        ImageData prepared = _prepared.get(data);
+        if(null == prepared) {
+            prepared = isFrameFormat(data) ? data : convert(data);
+            _prepared.put(data, prepared);
+            _prepared.put(prepared, prepared);
+        }
+        return prepared;
+    }
+
+    private boolean isFrameFormat(ImageData data) {
+        return data.depth == _depth && data.palette.isDirect
+                && data.palette.redMask == _palette.redMask
+                && data.palette.greenMask == _palette.greenMask
+                && data.palette.blueMask == _palette.blueMask;
+    }
+
+    private ImageData convert(ImageData data) {
+        ImageData result = new ImageData(data.width, data.height, _depth, _palette);
+        int[] pixels = new int[data.width];
+        RGB rgb = new RGB(0, 0, 0);
+        for(int y = 0; y < data.height; y++) {
+            data.getPixels(0, y, data.width, pixels, 0);
+            for(int x = 0; x < pixels.length; x++) {
+                RGB src = data.palette.getRGB(pixels[x]);
+                rgb.red = src.red;
+                rgb.green = src.green;
+                rgb.blue = src.blue;
+                pixels[x] = _palette.getPixel(rgb);
+            }
+            result.setPixels(0, y, data.width, pixels, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Starts a new frame. The current content of the graphics context is taken
+     * as the background of all frames on the first call.
+     * @param gc the graphics context the frames are drawn on, holding the
+     * transition background
+     */
+    void beginFrame(GC gc) {
+        if(null == _background) {
+            Image bg = new Image(_device, _width, _height);
+            gc.copyArea(bg, 0, 0);
+            setBackground(bg.getImageData());
+            bg.dispose();
+        }
+        beginFrame();
+    }
+
+    /**
+     * Starts a new frame on the background set by {@link #setBackground(ImageData)}.
+     */
+    void beginFrame() {
+        _count = 0;
+    }
+
+    /**
+     * Sets the background of all frames.
+     * @param background the image data of the background, of the size of the frames
+     */
+    void setBackground(ImageData background) {
+        _background = prepare(background);
+        _frame = new ImageData(_width, _height, _depth, _palette);
+    }
+
+    /**
+     * Adds a blit to the current frame. The arguments are checked as by
+     * {@link GC#drawImage(Image, int, int, int, int, int, int, int, int)}.
+     * @param src the source image data, as returned by {@link #prepare(ImageData)}
+     * @param srcX the x coordinate in the source image to copy from
+     * @param srcY the y coordinate in the source image to copy from
+     * @param srcWidth the width in pixels to copy from the source
+     * @param srcHeight the height in pixels to copy from the source
+     * @param destX the x coordinate in the frame to copy to
+     * @param destY the y coordinate in the frame to copy to
+     * @param destWidth the width in pixels of the destination rectangle
+     * @param destHeight the height in pixels of the destination rectangle
+     * @param alpha the alpha to blend the source with, from 0 to 255
+     * @exception IllegalArgumentException if any of the sizes is negative, or
+     * the source rectangle is not inside the source image
+     */
+    void blit(ImageData src, int srcX, int srcY, int srcWidth, int srcHeight,
+            int destX, int destY, int destWidth, int destHeight, int alpha) {
+
+        if(srcWidth < 0 || srcHeight < 0 || destWidth < 0 || destHeight < 0) {
+            SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+        }
+        if(srcWidth == 0 || srcHeight == 0 || destWidth == 0 || destHeight == 0 || alpha <= 0) {
+            return;
+        }
+        if(srcX < 0 || srcY < 0 || srcX + srcWidth > src.width || srcY + srcHeight > src.height) {
+            SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+        }
+
+        if(_count == _src.length) {
+            grow();
+        }
+        _src[_count] = src;
+        _sx[_count] = srcX; _sy[_count] = srcY; _sw[_count] = srcWidth; _sh[_count] = srcHeight;
+        _dx[_count] = destX; _dy[_count] = destY; _dw[_count] = destWidth; _dh[_count] = destHeight;
+        _alpha[_count] = Math.min(alpha, 255);
+        _count++;
+    }
+
+    private void grow() {
+        int n = _src.length * 2;
+        ImageData[] src = new ImageData[n];
+        System.arraycopy(_src, 0, src, 0, _count);
+        _src = src;
+        _sx = grow(_sx, n); _sy = grow(_sy, n); _sw = grow(_sw, n); _sh = grow(_sh, n);
+        _dx = grow(_dx, n); _dy = grow(_dy, n); _dw = grow(_dw, n); _dh = grow(_dh, n);
+        _alpha = grow(_alpha, n);
+        int[][] columns = new int[n][];
+        System.arraycopy(_columns, 0, columns, 0, _count);
+        _columns = columns;
+    }
+
+    private int[] grow(int[] table, int n) {
+        int[] result = new int[n];
+        System.arraycopy(table, 0, result, 0, _count);
+        return result;
+    }
+
+    /**
+     * Composes the current frame and draws it on the graphics context.
+     * @param gc the graphics context to draw the frame on
+     */
+    void endFrame(GC gc) {
+        Image frame = new Image(_device, compose());
+        gc.drawImage(frame, 0, 0);
+        frame.dispose();
+    }
+
+    /**
+     * Composes the current frame.
+     * @return the frame buffer, valid until the next frame is composed
+     */
+    ImageData compose() {
+        computeColumns();
+        final int bands = (_width * _height < PARALLEL_THRESHOLD) ? 1
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                        _height / MIN_BAND_HEIGHT));
+        if(bands == 1) {
+            composeBand(0, _height);
+        } else {
+            IntStream.range(0, bands).parallel().forEach(band ->
+                composeBand(band * _height / bands, (band + 1) * _height / bands));
+        }
+        return _frame;
+    }
+
+    /**
+     * Computes the source offset of each visible column of the scaled blits.
+     */
+    private void computeColumns() {
+        final int bpp = _depth / 8;
+        for(int i = 0; i < _count; i++) {
+            int sw = _sw[i], dw = _dw[i];
+            if(sw == dw) {
+                continue;
+            }
+            if(null == _columns[i]) {
+                _columns[i] = new int[_width];
+            }
+            int[] columns = _columns[i];
+            int left = Math.max(_dx[i], 0);
+            int right = Math.min(_dx[i] + dw, _width);
+            for(int x = left; x < right; x++) {
+                columns[x] = (_sx[i] + (int) ((long) (x - _dx[i]) * sw / dw)) * bpp;
+            }
+        }
+    }
+
+    /**
+     * Composes the rows from <code>y0</code> inclusive to <code>y1</code> exclusive
+     * of the frame, executing all blits in order clipped to these rows.
+     */
+    private void composeBand(int y0, int y1) {
+        final int bpp = _depth / 8;
+        final byte[] dest = _frame.data;
+        final int destBpl = _frame.bytesPerLine;
+
+        int bgBpl = _background.bytesPerLine;
+        if(bgBpl == destBpl) {
+            System.arraycopy(_background.data, y0 * bgBpl, dest, y0 * destBpl, (y1 - y0) * destBpl);
+        } else {
+            for(int y = y0; y < y1; y++) {
+                System.arraycopy(_background.data, y * bgBpl, dest, y * destBpl, _width * bpp);
+            }
+        }
+
+        for(int i = 0; i < _count; i++) {
+            int top = Math.max(_dy[i], y0);
+            int bottom = Math.min(_dy[i] + _dh[i], y1);
+            int left = Math.max(_dx[i], 0);
+            int right = Math.min(_dx[i] + _dw[i], _width);
+            if(top >= bottom || left >= right) {
+                continue;
+            }
+
+            ImageData src = _src[i];
+            byte[] source = src.data;
+            int srcBpl = src.bytesPerLine;
+            int alpha = _alpha[i];
+            int sw = _sw[i], sh = _sh[i], dw = _dw[i], dh = _dh[i];
+            boolean scaled = sw != dw;
+
+            //the source row of the first row, stepped without division as
+            //(y - dy) * sh = (sy - srcY) * dh + remainder
+            long first = (long) (top - _dy[i]) * sh;
+            int sy = _sy[i] + (int) (first / dh);
+            int remainder = (int) (first % dh);
+            int step = sh / dh, stepRemainder = sh % dh;
+
+            int length = (right - left) * bpp;
+            int srcOffset = (_sx[i] + left - _dx[i]) * bpp;
+            for(int y = top; y < bottom; y++) {
+                int srcRow = sy * srcBpl;
+                int d = y * destBpl + left * bpp;
+
+                if(scaled) {
+                    scaleRow(source, srcRow, _columns[i], dest, d, left, right, bpp, alpha);
+                } else if(alpha == 255) {
+                    if(length <= 16) {
+                        //one or a few pixels, as in the columns of a rotation
+                        for(int k = 0, s = srcRow + srcOffset; k < length; k++) {
+                            dest[d + k] = source[s + k];
+                        }
+                    } else {
+                        System.arraycopy(source, srcRow + srcOffset, dest, d, length);
+                    }
+                } else {
+                    blend(source, srcRow + srcOffset, dest, d, length, alpha);
+                }
+
+                sy += step;
+                remainder += stepRemainder;
+                if(remainder >= dh) {
+                    remainder -= dh;
+                    sy++;
+                }
+            }
+        }
+    }
+
+    private static void scaleRow(byte[] source, int srcRow, int[] columns,
+            byte[] dest, int d, int left, int right, int bpp, int alpha) {
+        for(int x = left; x < right; x++, d += bpp) {
+            int s = srcRow + columns[x];
+            if(alpha == 255) {
+                for(int c = 0; c < bpp; c++) {
+                    dest[d + c] = source[s + c];
+                }
+            } else {
+                blend(source, s, dest, d, bpp, alpha);
+            }
+        }
+    }
+
+    /**
+     * Blends <code>length</code> bytes of the source on the destination. The
+     * channels of a pixel are blended alike, whatever their order.
+     */
+    private static void blend(byte[] source, int s, byte[] dest, int d, int length, int alpha) {
+        int beta = 255 - alpha;
+        for(int k = 0; k < length; k++) {
+            int v = (source[s + k] & 0xFF) * alpha + (dest[d + k] & 0xFF) * beta + 128;
+            //v / 255, rounded
+            dest[d + k] = (byte) ((v + (v >> 8)) >> 8);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.gallery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.gallery.Gallery;
+import org.eclipse.nebula.widgets.gallery.GalleryItem;
+import org.eclipse.nebula.widgets.gallery.NoGroupRenderer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adds items to a group and removes them again, one by one and with the bulk
+ * methods. Every invocation starts with a new gallery holding an empty group
+ * and a full one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GalleryItemsBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int itemCount;
+
+	private Shell shell;
+	private Gallery gallery;
+	private GalleryItem empty;
+	private GalleryItem full;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		shell = new Shell(Display.getDefault());
+		shell.setSize(800, 600);
+	}
+
+	@Setup(Level.Invocation)
+	public void createGallery() {
+		gallery = new Gallery(shell, SWT.V_SCROLL | SWT.MULTI);
+		gallery.setGroupRenderer(new NoGroupRenderer());
+		gallery.setSize(800, 600);
+		empty = new GalleryItem(gallery, SWT.NONE);
+		full = new GalleryItem(gallery, SWT.NONE);
+		full.addItems(SWT.NONE, itemCount);
+	}
+
+	@TearDown(Level.Invocation)
+	public void disposeGallery() {
+		gallery.dispose();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	@Benchmark
+	public GalleryItem addOneByOne() {
+		for (int i = 0; i < itemCount; i++)
+			new GalleryItem(empty, SWT.NONE);
+		return empty;
+	}
+
+	@Benchmark
+	public GalleryItem[] addItems() {
+		return empty.addItems(SWT.NONE, itemCount);
+	}
+
+	@Benchmark
+	public GalleryItem insertAtStart() {
+		for (int i = 0; i < itemCount; i++)
+			new GalleryItem(empty, SWT.NONE, 0);
+		return empty;
+	}
+
+	@Benchmark
+	public GalleryItem disposeOneByOne() {
+		while (full.getItemCount() > 0)
+			full.getItem(0).dispose();
+		return full;
+	}
+
+	@Benchmark
+	public GalleryItem removeItems() {
+		full.removeItems(0, itemCount - 1);
+		return full;
+	}
+
+}
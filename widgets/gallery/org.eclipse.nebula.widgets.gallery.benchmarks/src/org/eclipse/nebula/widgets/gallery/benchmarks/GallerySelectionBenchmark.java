@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.gallery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.gallery.Gallery;
+import org.eclipse.nebula.widgets.gallery.GalleryItem;
+import org.eclipse.nebula.widgets.gallery.NoGroupRenderer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selects all items of a group, one by one and as a range, and reads the
+ * selection back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GallerySelectionBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int itemCount;
+
+	private Shell shell;
+	private Gallery gallery;
+	private GalleryItem group;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		shell = new Shell(Display.getDefault());
+		gallery = new Gallery(shell, SWT.V_SCROLL | SWT.MULTI);
+		gallery.setGroupRenderer(new NoGroupRenderer());
+		gallery.setSize(800, 600);
+		group = new GalleryItem(gallery, SWT.NONE);
+		group.addItems(SWT.NONE, itemCount);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	@Benchmark
+	public GalleryItem[] selectOneByOne() {
+		gallery.deselectAll();
+		for (int i = 0; i < itemCount; i++)
+			group.select(i, i);
+		return gallery.getSelection();
+	}
+
+	@Benchmark
+	public GalleryItem[] selectRange() {
+		gallery.deselectAll();
+		group.select(0, itemCount - 1);
+		return gallery.getSelection();
+	}
+
+	@Benchmark
+	public GalleryItem[] selectAll() {
+		gallery.deselectAll();
+		gallery.selectAll();
+		return gallery.getSelection();
+	}
+
+	@Benchmark
+	public int toggleOne() {
+		// Selection changes between reads, as with a user clicking
+		group.select(itemCount / 2, itemCount / 2);
+		int count = gallery.getSelectionCount();
+		group.deselectAll();
+		return count;
+	}
+
+}
@@ -1,5 +1,8 @@
 package org.eclipse.nebula.widgets.gallery.tests;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 
 import org.eclipse.nebula.widgets.gallery.DefaultGalleryGroupRenderer;
@@ -7,6 +10,8 @@ import org.eclipse.nebula.widgets.gallery.DefaultGalleryItemRenderer;
 import org.eclipse.nebula.widgets.gallery.Gallery;
 import org.eclipse.nebula.widgets.gallery.GalleryItem;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 
@@ -116,6 +121,135 @@ public class GalleryTest extends TestCase {
 		
 	}
 
+	public void testGroupLookup() {
+		s.setSize(200, 200);
+		Gallery g = createGallery(SWT.V_SCROLL);
+		g.setSize(200, 200);
+
+		GalleryItem items[] = new GalleryItem[200];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = new GalleryItem(g, SWT.None);
+			items[i].setText("i" + i);
+			items[i].setExpanded(i % 3 != 0);
+			for (int j = 0; j < i % 5; j++) {
+				new GalleryItem(items[i], SWT.None);
+			}
+		}
+
+		for (int i = 0; i < items.length; i++) {
+			Rectangle bounds = items[i].getBounds();
+			assertEquals(i, g.indexOf(items[i]));
+			assertSame(items[i], g.getGroup(new Point(bounds.x + 1,
+					bounds.y + bounds.height / 2)));
+		}
+
+		// Below the last group
+		Rectangle last = items[items.length - 1].getBounds();
+		assertNull(g.getGroup(new Point(1, last.y + last.height + 10)));
+
+		items[10].dispose();
+		assertEquals(10, g.indexOf(items[11]));
+		Rectangle bounds = items[11].getBounds();
+		assertSame(items[11], g.getGroup(new Point(bounds.x + 1,
+				bounds.y + 1)));
+
+		g.dispose();
+	}
+
+	public void testBulkItemsAndSelection() {
+		Gallery g = createGallery(SWT.V_SCROLL | SWT.MULTI);
+
+		GalleryItem group = g.addItems(SWT.None, 1)[0];
+		GalleryItem[] items = group.addItems(SWT.None, 100);
+		assertEquals(100, group.getItemCount());
+		assertSame(items[42], group.getItem(42));
+		assertEquals(42, group.indexOf(items[42]));
+
+		group.select(10, 19);
+		assertEquals(10, g.getSelectionCount());
+		assertSame(items[10], g.getSelection()[0]);
+		assertTrue(isSelected(g, items[19]));
+		assertFalse(isSelected(g, items[20]));
+
+		// Selection follows the items when others are removed or inserted
+		group.removeItems(0, 4);
+		assertTrue(items[0].isDisposed());
+		assertEquals(95, group.getItemCount());
+		assertEquals(5, group.indexOf(items[10]));
+		assertTrue(isSelected(g, items[10]));
+		assertFalse(isSelected(g, items[9]));
+		assertEquals(10, g.getSelectionCount());
+
+		GalleryItem inserted = new GalleryItem(group, SWT.None, 0);
+		assertFalse(isSelected(g, inserted));
+		assertTrue(isSelected(g, items[19]));
+		assertEquals(10, g.getSelectionCount());
+
+		items[15].dispose();
+		assertEquals(9, g.getSelectionCount());
+
+		group.deselectAll();
+		assertEquals(0, g.getSelectionCount());
+
+		g.selectAll();
+		assertEquals(1 + group.getItemCount(), g.getSelectionCount());
+
+		g.removeItems(0, 0);
+		assertEquals(0, g.getItemCount());
+		assertTrue(items[50].isDisposed());
+		assertEquals(0, g.getSelectionCount());
+		g.dispose();
+	}
+
+	public void testDeselectNotifiesLastSelected() {
+		final GalleryItem[] notified = new GalleryItem[1];
+		Gallery g = createGallery(SWT.V_SCROLL | SWT.MULTI);
+		g.addListener(SWT.Selection,
+				e -> notified[0] = (GalleryItem) e.item);
+		GalleryItem group = g.addItems(SWT.None, 1)[0];
+		GalleryItem[] items = group.addItems(SWT.None, 5);
+
+		g.setSelection(new GalleryItem[] { items[3], items[2], items[1] });
+		assertEquals(3, g.getSelectionCount());
+		// the selection is in gallery order
+		assertSame(items[1], g.getSelection()[0]);
+
+		// the item selected last is still selected
+		setSelected(g, items[2], false);
+		assertSame(items[1], notified[0]);
+		assertEquals(2, g.getSelectionCount());
+
+		// otherwise the last one in gallery order
+		setSelected(g, items[1], false);
+		assertSame(items[3], notified[0]);
+		assertEquals(1, g.getSelectionCount());
+
+		setSelected(g, items[3], false);
+		assertNull(notified[0]);
+		assertEquals(0, g.getSelectionCount());
+		g.dispose();
+	}
+
+	/**
+	 * Changes the selection like a click with the control key.
+	 */
+	private static void setSelected(Gallery g, GalleryItem item,
+			boolean selected) {
+		try {
+			Method setSelected = Gallery.class
+					.getDeclaredMethod("setSelected", GalleryItem.class,
+							boolean.class, boolean.class);
+			setSelected.setAccessible(true);
+			setSelected.invoke(g, item, selected, true);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static boolean isSelected(Gallery g, GalleryItem item) {
+		return Arrays.asList(g.getSelection()).contains(item);
+	}
+
 	private Gallery createGallery(int flags) {
 		Gallery g = new Gallery(s, flags);
 
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.nebula.widgets.gallery.tests;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.nebula.widgets.gallery.Gallery;
+import org.eclipse.nebula.widgets.gallery.GalleryItem;
+import org.eclipse.nebula.widgets.gallery.ThumbnailCache;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+public class ThumbnailCacheTest extends TestCase {
+	Display d = null;
+	Shell s = null;
+	Gallery g = null;
+	private boolean createdDisplay = false;
+
+	/**
+	 * Sources which were loaded, in order.
+	 */
+	final List<Object> loaded = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Exposes the paint hooks, which are called by the gallery when it paints.
+	 * The shell is never opened so the tests are the only painter.
+	 */
+	class TestCache extends ThumbnailCache {
+		TestCache(Loader loader) {
+			super(loader, 1);
+		}
+
+		void paint() {
+			beginPaint();
+		}
+
+		void paintDone(boolean complete) {
+			endPaint(complete);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		if (s != null) {
+			s.dispose();
+		}
+		if (createdDisplay) {
+			d.dispose();
+		}
+		super.tearDown();
+	}
+
+	private ImageData load(Object source, int maxWidth, int maxHeight) {
+		loaded.add(source);
+		return new ImageData(maxWidth, maxHeight, 24,
+				new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	}
+
+	/**
+	 * Creates the gallery and its cache. The scaling tests need no display.
+	 */
+	private TestCache createCache(ThumbnailCache.Loader loader) {
+		d = Display.getCurrent();
+		if (d == null) {
+			d = new Display();
+			createdDisplay = true;
+		}
+		s = new Shell(d, SWT.NONE);
+		g = new Gallery(s, SWT.V_SCROLL);
+		TestCache cache = new TestCache(loader);
+		g.setThumbnailCache(cache);
+		return cache;
+	}
+
+	private GalleryItem createItem(GalleryItem group, String source) {
+		GalleryItem item = new GalleryItem(group, SWT.NONE);
+		item.setData(ThumbnailCache.SOURCE, source);
+		return item;
+	}
+
+	/**
+	 * Asks for the thumbnail until it is loaded, running the event loop.
+	 */
+	private Image waitFor(ThumbnailCache cache, GalleryItem item) {
+		long end = System.currentTimeMillis() + 5000;
+		Image image;
+		while ((image = cache.getThumbnail(item, 10, 10)) == null
+				&& System.currentTimeMillis() < end) {
+			if (!d.readAndDispatch()) {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		assertNotNull("thumbnail not loaded", image);
+		return image;
+	}
+
+	public void testEvictsLeastRecentlyUsed() {
+		TestCache cache = createCache(this::load);
+		// Two thumbnails of 10x10
+		cache.setPixelBudget(200);
+		GalleryItem group = new GalleryItem(g, SWT.NONE);
+		GalleryItem a = createItem(group, "a");
+		GalleryItem b = createItem(group, "b");
+		GalleryItem c = createItem(group, "c");
+
+		cache.paint();
+		Image imageA = waitFor(cache, a);
+		cache.paintDone(false);
+		cache.paint();
+		Image imageB = waitFor(cache, b);
+		cache.paintDone(false);
+		// a is used again, b becomes the least recently used
+		cache.paint();
+		assertSame(imageA, cache.getThumbnail(a, 10, 10));
+		cache.paintDone(false);
+		cache.paint();
+		Image imageC = waitFor(cache, c);
+		cache.paintDone(false);
+
+		assertTrue(imageB.isDisposed());
+		assertFalse(cache.isThumbnail(imageB));
+		assertFalse(imageA.isDisposed());
+		assertTrue(cache.isThumbnail(imageA));
+		assertTrue(cache.isThumbnail(imageC));
+
+		// An evicted thumbnail is loaded again
+		cache.paint();
+		assertNull(cache.getThumbnail(b, 10, 10));
+		waitFor(cache, b);
+		cache.paintDone(false);
+		assertEquals(4, loaded.size());
+	}
+
+	public void testKeepsThumbnailsOfCurrentPaint() {
+		TestCache cache = createCache(this::load);
+		// Less than one thumbnail
+		cache.setPixelBudget(50);
+		GalleryItem group = new GalleryItem(g, SWT.NONE);
+		GalleryItem a = createItem(group, "a");
+		GalleryItem b = createItem(group, "b");
+
+		cache.paint();
+		Image imageA = waitFor(cache, a);
+		Image imageB = waitFor(cache, b);
+		cache.paintDone(true);
+		// Both are on screen
+		assertFalse(imageA.isDisposed());
+		assertFalse(imageB.isDisposed());
+
+		cache.paint();
+		assertSame(imageB, cache.getThumbnail(b, 10, 10));
+		cache.paintDone(true);
+		cache.setPixelBudget(50);
+		assertTrue(imageA.isDisposed());
+		assertFalse(imageB.isDisposed());
+	}
+
+	public void testCancelsRequestsOutOfView() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		TestCache cache = createCache((source, maxWidth, maxHeight) -> {
+			if ("a".equals(source)) {
+				started.countDown();
+				release.await();
+			}
+			return load(source, maxWidth, maxHeight);
+		});
+		GalleryItem group = new GalleryItem(g, SWT.NONE);
+		GalleryItem a = createItem(group, "a");
+		GalleryItem b = createItem(group, "b");
+		GalleryItem c = createItem(group, "c");
+
+		try {
+			cache.paint();
+			assertNull(cache.getThumbnail(a, 10, 10));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			// Queued behind a on the single thread
+			assertNull(cache.getThumbnail(b, 10, 10));
+			cache.paintDone(true);
+
+			// An incomplete paint does not cancel anything
+			cache.paint();
+			assertNull(cache.getThumbnail(c, 10, 10));
+			cache.paintDone(false);
+
+			// a and b were scrolled out of view
+			cache.paint();
+			assertNull(cache.getThumbnail(c, 10, 10));
+			cache.paintDone(true);
+		} finally {
+			release.countDown();
+		}
+
+		cache.paint();
+		waitFor(cache, c);
+		cache.paintDone(true);
+		assertFalse(loaded.contains("b"));
+		assertEquals("c", loaded.get(loaded.size() - 1));
+	}
+
+	public void testClearAndDispose() {
+		TestCache cache = createCache(this::load);
+		GalleryItem group = new GalleryItem(g, SWT.NONE);
+		GalleryItem a = createItem(group, "a");
+
+		cache.paint();
+		Image image = waitFor(cache, a);
+		cache.clear();
+		assertTrue(image.isDisposed());
+		assertFalse(cache.isThumbnail(image));
+
+		image = waitFor(cache, a);
+		cache.paintDone(true);
+		assertEquals(2, loaded.size());
+
+		// Disposed with the gallery
+		g.dispose();
+		assertTrue(image.isDisposed());
+		assertFalse(cache.isThumbnail(image));
+	}
+
+	public void testScaleAveragesPixels() {
+		// 4x2 image, left half black, right half white
+		ImageData data = new ImageData(4, 2, 24,
+				new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int y = 0; y < 2; y++) {
+			for (int x = 0; x < 4; x++) {
+				data.setPixel(x, y, x < 2 ? 0x000000 : 0xFFFFFF);
+			}
+		}
+
+		ImageData scaled = ThumbnailCache.scale(data, 2, 1);
+		assertEquals(2, scaled.width);
+		assertEquals(1, scaled.height);
+		assertEquals(new RGB(0, 0, 0),
+				scaled.palette.getRGB(scaled.getPixel(0, 0)));
+		assertEquals(new RGB(255, 255, 255),
+				scaled.palette.getRGB(scaled.getPixel(1, 0)));
+
+		ImageData half = ThumbnailCache.scale(data, 1, 1);
+		assertEquals(new RGB(127, 127, 127),
+				half.palette.getRGB(half.getPixel(0, 0)));
+		assertNull(half.alphaData);
+	}
+
+	public void testScaleIndexedWithAlpha() {
+		ImageData data = new ImageData(2, 2, 8, new PaletteData(
+				new RGB[] { new RGB(255, 0, 0), new RGB(0, 0, 255) }));
+		data.setPixel(0, 0, 0);
+		data.setPixel(1, 0, 1);
+		data.setPixel(0, 1, 0);
+		data.setPixel(1, 1, 1);
+		data.alphaData = new byte[] { (byte) 255, 0, (byte) 255, 0 };
+
+		// The transparent blue pixels must not tint the result
+		ImageData scaled = ThumbnailCache.scale(data, 1, 1);
+		assertEquals(new RGB(255, 0, 0),
+				scaled.palette.getRGB(scaled.getPixel(0, 0)));
+		assertEquals(127, scaled.getAlpha(0, 0));
+	}
+
+	public void testScaleUp() {
+		ImageData data = new ImageData(2, 2, 24,
+				new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		ImageData scaled = ThumbnailCache.scale(data, 4, 4);
+		assertEquals(4, scaled.width);
+		assertEquals(4, scaled.height);
+		assertSame(data, ThumbnailCache.scale(data, 2, 2));
+	}
+}
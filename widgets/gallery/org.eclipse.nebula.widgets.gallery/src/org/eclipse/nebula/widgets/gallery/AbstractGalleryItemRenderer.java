@@ -18,6 +18,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 
 /**
  * <p>
@@ -302,6 +303,46 @@ public abstract class AbstractGalleryItemRenderer {
 		return result;
 	}
 
+	/**
+	 * Returns the image to draw for the item. If the gallery has a
+	 * {@link ThumbnailCache}, this is the thumbnail that fits in maxWidth x
+	 * maxHeight or the placeholder until the thumbnail is ready.
+	 * 
+	 * @param item
+	 * @param maxWidth
+	 * @param maxHeight
+	 * @return the image or null if the item has none
+	 */
+	protected Image getImage(GalleryItem item, int maxWidth, int maxHeight) {
+		ThumbnailCache thumbnails = gallery.getThumbnailCache();
+		if (thumbnails == null)
+			return item.getImage();
+		if (thumbnails.getSource(item) == null)
+			return null;
+
+		Image thumbnail = thumbnails.getThumbnail(item, maxWidth, maxHeight);
+		return thumbnail != null ? thumbnail : thumbnails.getPlaceholder();
+	}
+
+	/**
+	 * Returns the size of an image drawn in an area of maxWidth x maxHeight.
+	 * Thumbnails already have this size, other images are scaled to fit.
+	 * 
+	 * @param image
+	 * @param maxWidth
+	 * @param maxHeight
+	 * @return
+	 */
+	protected Point getImageSize(Image image, int maxWidth, int maxHeight) {
+		Rectangle bounds = image.getBounds();
+		ThumbnailCache thumbnails = gallery.getThumbnailCache();
+		if (thumbnails != null && thumbnails.isThumbnail(image))
+			return new Point(bounds.width, bounds.height);
+
+		return RendererHelper.getBestSize(bounds.width, bounds.height,
+				maxWidth, maxHeight);
+	}
+
 	/**
 	 * Check the GalleryItem, Gallery, and Display in order for the active
 	 * background color for the given GalleryItem.
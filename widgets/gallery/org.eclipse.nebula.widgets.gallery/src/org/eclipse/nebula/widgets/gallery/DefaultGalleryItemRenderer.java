@@ -131,7 +131,6 @@ public class DefaultGalleryItemRenderer extends AbstractGalleryItemRenderer {
 	 */
 	public void draw(GC gc, GalleryItem item, int index, int x, int y,
 			int width, int height) {
-		_drawImage = item.getImage();
 		_drawForegroundColor = getForeground(item);
 
 		// Set up the GC
@@ -152,14 +151,16 @@ public class DefaultGalleryItemRenderer extends AbstractGalleryItemRenderer {
 		int yShift = 0;
 		Point size = null;
 
+		int maxImageWidth = width - 8 - 2 * this.dropShadowsSize;
+		int maxImageHeight = useableHeight - 8 - 2 * this.dropShadowsSize;
+		_drawImage = getImage(item, maxImageWidth, maxImageHeight);
+
 		if (_drawImage != null) {
 			Rectangle itemImageBounds = _drawImage.getBounds();
 			imageWidth = itemImageBounds.width;
 			imageHeight = itemImageBounds.height;
 
-			size = RendererHelper.getBestSize(imageWidth, imageHeight,
-					width - 8 - 2 * this.dropShadowsSize,
-					useableHeight - 8 - 2 * this.dropShadowsSize);
+			size = getImageSize(_drawImage, maxImageWidth, maxImageHeight);
 
 			xShift = RendererHelper.getShift(width, size.x);
 			yShift = RendererHelper.getShift(useableHeight, size.y);
@@ -17,6 +17,8 @@ package org.eclipse.nebula.widgets.gallery;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -102,9 +104,28 @@ public class Gallery extends Canvas {
 	 */
 	protected static boolean DEBUG = false;
 
+	/**
+	 * Root items. The array grows by doubling its capacity, only the first
+	 * itemCount slots are used.
+	 */
 	GalleryItem[] items = null;
 
-	private GalleryItem[] selection = null;
+	/**
+	 * Number of root items.
+	 */
+	int itemCount = 0;
+
+	/**
+	 * Selected items, built from the selection flags when requested. Null if
+	 * the selection has changed since.
+	 */
+	GalleryItem[] selection = null;
+
+	/**
+	 * The item that was selected last. Notified when another item is
+	 * deselected, as long as it is still selected.
+	 */
+	GalleryItem lastSelected = null;
 
 	/**
 	 * Selection bit flags. Each 'int' contains flags for 32 items.
@@ -151,6 +172,13 @@ public class Gallery extends Canvas {
 
 	int lastIndexOf = 0;
 
+	/**
+	 * Position of each root item on the scrolling axis, updated by
+	 * calculateSize(). The last value is the content size. Used to find groups
+	 * by position with a binary search.
+	 */
+	private int[] groupOffsets = null;
+
 	/**
 	 * Keeps track of the last selected item. This is necessary to support
 	 * "Shift+Mouse button" where we have to select all items between the
@@ -206,6 +234,8 @@ public class Gallery extends Canvas {
 
 	AbstractGalleryGroupRenderer groupRenderer;
 
+	ThumbnailCache thumbnailCache;
+
 	/**
 	 * Return the number of root-level items in the receiver. Does not include
 	 * children.
@@ -215,10 +245,7 @@ public class Gallery extends Canvas {
 	public int getItemCount() {
 		checkWidget();
 
-		if (items == null)
-			return 0;
-
-		return items.length;
+		return itemCount;
 	}
 
 	/**
@@ -242,10 +269,12 @@ public class Gallery extends Canvas {
 			GalleryItem[] newItems = new GalleryItem[count];
 			if (items != null) {
 				System.arraycopy(items, 0, newItems, 0,
-						Math.min(count, items.length));
+						Math.min(count, itemCount));
 			}
 			items = newItems;
 		}
+		itemCount = count;
+		selection = null;
 
 		updateStructuralValues(null, false);
 		this.updateScrollBarsProperties();
@@ -279,6 +308,39 @@ public class Gallery extends Canvas {
 		redraw();
 	}
 
+	/**
+	 * Get current thumbnail cache.
+	 * 
+	 * @return the thumbnail cache or null if item images are drawn directly
+	 */
+	public ThumbnailCache getThumbnailCache() {
+		checkWidget();
+		return thumbnailCache;
+	}
+
+	/**
+	 * Set the thumbnail cache. With a thumbnail cache, the renderers draw
+	 * thumbnails which are loaded and scaled in the background instead of
+	 * scaling the item images on every paint. The previous cache is disposed,
+	 * the cache is disposed with the gallery.
+	 * 
+	 * @param thumbnailCache
+	 *            the cache or null to draw the item images directly
+	 * @see ThumbnailCache#SOURCE
+	 */
+	public void setThumbnailCache(ThumbnailCache thumbnailCache) {
+		checkWidget();
+		if (this.thumbnailCache != null
+				&& this.thumbnailCache != thumbnailCache)
+			this.thumbnailCache.dispose();
+
+		this.thumbnailCache = thumbnailCache;
+		if (thumbnailCache != null)
+			thumbnailCache.setGallery(this);
+
+		redraw();
+	}
+
 	/**
 	 * Adds the listener to the collection of listeners who will be notified
 	 * when the receiver's selection changes, by sending it one of the messages
@@ -710,12 +772,42 @@ public class Gallery extends Canvas {
 		addListener(SWT.MouseUp, event -> onMouseUp(event));
 	}
 
-	private void select(int from, int to) {
-		for (int i = from; i <= to; i++) {
-			GalleryItem item = getItem(i);
-			this._addSelection(item);
-			item._selectAll();
+	/**
+	 * Selects the root items from start to end (inclusive) and all their
+	 * children. Indexes out of range are ignored.
+	 * 
+	 * @param start
+	 *            index of the first item
+	 * @param end
+	 *            index of the last item
+	 */
+	public void select(int start, int end) {
+		checkWidget();
+		_select(Math.max(0, start), Math.min(end, itemCount - 1));
+		redraw();
+	}
 
+	private void _select(int from, int to) {
+		if (!multi) {
+			for (int i = from; i <= to; i++) {
+				GalleryItem item = getItem(i);
+				this._addSelection(item);
+				item._selectAll();
+			}
+			return;
+		}
+
+		if (from > to)
+			return;
+
+		// Set the flags of the whole range at once
+		selectionFlags = _setFlags(selectionFlags, itemCount, from, to);
+		selection = null;
+
+		for (int i = from; i <= to; i++) {
+			GalleryItem item = _getItem(i);
+			if (item != null && item.getItemCount() > 0)
+				item._selectAll();
 		}
 	}
 
@@ -728,11 +820,11 @@ public class Gallery extends Canvas {
 			if (fromParent == null) {
 				int fromIndex = indexOf(from);
 				int toIndex = indexOf(to);
-				select(fromIndex, toIndex);
+				_select(fromIndex, toIndex);
 			} else {
 				int fromIndex = fromParent.indexOf(from);
 				int toIndex = toParent.indexOf(to);
-				fromParent.select(fromIndex, toIndex);
+				fromParent._select(fromIndex, toIndex);
 			}
 		} else {
 			int fromParentIndex = indexOf(fromParent);
@@ -740,11 +832,11 @@ public class Gallery extends Canvas {
 			int fromIndex = fromParent.indexOf(from);
 			int toIndex = toParent.indexOf(to);
 
-			fromParent.select(fromIndex, fromParent.getItemCount() - 1);
+			fromParent._select(fromIndex, fromParent.getItemCount() - 1);
 			for (int i = fromParentIndex + 1; i < toParentIndex; i++) {
 				getItem(i)._selectAll();
 			}
-			toParent.select(0, toIndex);
+			toParent._select(0, toIndex);
 
 		}
 		this.notifySelectionListeners(to, indexOf(to), false);
@@ -814,8 +906,12 @@ public class Gallery extends Canvas {
 			if (item != null && selected) {
 				notifiedItem = item;
 			} else {
-				if (selection != null && selection.length > 0) {
-					notifiedItem = selection[selection.length - 1];
+				// The item selected last, or the last one in gallery order
+				GalleryItem[] selectedItems = getSelection();
+				for (int i = 0; i < selectedItems.length; i++) {
+					notifiedItem = selectedItems[i];
+					if (notifiedItem == lastSelected)
+						break;
 				}
 			}
 
@@ -853,7 +949,7 @@ public class Gallery extends Canvas {
 				// Create selectionFlag array
 				// Add 31 before dividing by 32 to ensure at least one 'int' is
 				// created if size < 32.
-				selectionFlags = new int[(items.length + 31) >> 5];
+				selectionFlags = new int[(itemCount + 31) >> 5];
 			} else if (n >= selectionFlags.length) {
 				// Expand selectionArray
 				int[] oldFlags = selectionFlags;
@@ -867,16 +963,8 @@ public class Gallery extends Canvas {
 
 		}
 
-		if (selection == null) {
-			selection = new GalleryItem[1];
-		} else {
-			GalleryItem[] oldSelection = selection;
-			selection = new GalleryItem[oldSelection.length + 1];
-			System.arraycopy(oldSelection, 0, selection, 0,
-					oldSelection.length);
-		}
-		selection[selection.length - 1] = item;
-
+		selection = null;
+		lastSelected = item;
 	}
 
 	private void _removeSelection(GalleryItem item) {
@@ -887,17 +975,13 @@ public class Gallery extends Canvas {
 		} else
 			_removeSelection(item.getParentItem(), item);
 
-		int index = _arrayIndexOf(selection, item);
-		if (index == -1)
-			return;
-
-		selection = (GalleryItem[]) _arrayRemoveItem(selection, index);
-
+		selection = null;
 	}
 
 	protected void _removeSelection(GalleryItem parent, GalleryItem item) {
 		int index = _indexOf(parent, item);
 		parent.selectionFlags[index >> 5] &= ~(1 << (index & 0x1f));
+		selection = null;
 	}
 
 	protected boolean isSelected(GalleryItem item) {
@@ -952,9 +1036,7 @@ public class Gallery extends Canvas {
 			for (int i = 0; i < selectionFlags.length; i++)
 				selectionFlags[i] = 0;
 
-		if (items == null)
-			return;
-		for (int i = 0; i < items.length; i++) {
+		for (int i = 0; i < itemCount; i++) {
 			if (items[i] != null)
 				items[i]._deselectAll();
 		}
@@ -1016,6 +1098,9 @@ public class Gallery extends Canvas {
 		if (groupRenderer != null)
 			groupRenderer.dispose();
 
+		if (thumbnailCache != null)
+			thumbnailCache.dispose();
+
 	}
 
 	void onMouseDown(Event e) {
@@ -1171,6 +1256,9 @@ public class Gallery extends Canvas {
 
 			int[] indexes = getVisibleItems(clipping);
 
+			if (thumbnailCache != null)
+				thumbnailCache.beginPaint();
+
 			if (indexes != null && indexes.length > 0) {
 
 				// Call preDraw for optimization
@@ -1192,6 +1280,12 @@ public class Gallery extends Canvas {
 				if (itemRenderer != null)
 					itemRenderer.postDraw(gc);
 			}
+
+			// Cancel the thumbnails of items which are not visible anymore
+			if (thumbnailCache != null)
+				thumbnailCache.endPaint(clipping.contains(0, 0) && clipping
+						.contains(getClientArea().width - 1,
+								getClientArea().height - 1));
 		} catch (Exception e) {
 			// We can't let onPaint throw an exception because unexpected
 			// results may occur in SWT.
@@ -1232,33 +1326,67 @@ public class Gallery extends Canvas {
 		int end = vertical ? (clipping.y + clipping.height + translate)
 				: (clipping.x + clipping.width + translate);
 
-		ArrayList<Integer> al = new ArrayList<>();
-		int index = 0;
-		GalleryItem item = null;
-		while (index < items.length) {
-			if (virtualGroups) {
-				item = _getItem(index, false);
-			} else {
-				item = _getItem(index);
-			}
-			if ((vertical ? item.y : item.x) > end)
-				break;
+		int[] offsets = getGroupOffsets();
+		int count = offsets.length - 1;
 
-			if ((vertical ? (item.y + item.height)
-					: (item.x + item.width)) >= start)
-				al.add(new Integer(index));
+		// First group which ends after start, last group which begins before
+		// end.
+		int first = findOffset(offsets, 1, count + 1, start) - 1;
+		int last = findOffset(offsets, 0, count, end + 1) - 1;
 
-			index++;
-		}
+		if (last < first)
+			return new int[0];
 
-		int[] result = new int[al.size()];
-
-		for (int i = 0; i < al.size(); i++)
-			result[i] = ((Integer) al.get(i)).intValue();
+		int[] result = new int[last - first + 1];
+		for (int i = 0; i < result.length; i++)
+			result[i] = first + i;
 
 		return result;
 	}
 
+	/**
+	 * Returns the offsets of all root items. The offsets are rebuilt from the
+	 * item positions if they do not match the current items.
+	 * 
+	 * @return
+	 */
+	private int[] getGroupOffsets() {
+		int count = itemCount;
+		if (groupOffsets != null && groupOffsets.length == count + 1)
+			return groupOffsets;
+
+		int[] offsets = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			GalleryItem item = virtualGroups ? _getItem(i, false)
+					: _getItem(i);
+			offsets[i] = vertical ? item.y : item.x;
+			offsets[i + 1] = vertical ? (item.y + item.height)
+					: (item.x + item.width);
+		}
+		groupOffsets = offsets;
+		return offsets;
+	}
+
+	/**
+	 * Binary search in offsets[from..to[.
+	 * 
+	 * @return the index of the first offset greater or equal to value, or to
+	 *         if there is none.
+	 */
+	private static int findOffset(int[] offsets, int from, int to,
+			int value) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (offsets[mid] < value)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
 	/**
 	 * Refresh item by firering SWT.SetData.
 	 * <p>
@@ -1508,8 +1636,10 @@ public class Gallery extends Canvas {
 		int currentHeight = 0;
 
 		int mainItemCount = getItemCount();
+		int[] offsets = new int[mainItemCount + 1];
 
 		for (int i = 0; i < mainItemCount; i++) {
+			offsets[i] = currentHeight;
 			GalleryItem item = null;
 			if (virtualGroups) {
 				item = this._getItem(i, false);
@@ -1553,6 +1683,9 @@ public class Gallery extends Canvas {
 
 		groupRenderer.postLayout(null);
 
+		offsets[mainItemCount] = currentHeight;
+		groupOffsets = offsets;
+
 		return currentHeight;
 	}
 
@@ -1693,7 +1826,8 @@ public class Gallery extends Canvas {
 
 	private void _addItem(GalleryItem item, int position) {
 		// Insert item
-		items = (GalleryItem[]) _arrayAddItem(items, item, position);
+		_insertItems(new GalleryItem[] { item },
+				position == -1 ? itemCount : position);
 
 		// Update Gallery
 		updateStructuralValues(null, false);
@@ -1729,7 +1863,7 @@ public class Gallery extends Canvas {
 
 			if (parent.items == null) {
 				return null;
-			} else if (index < parent.items.length) {
+			} else if (index < parent.itemCount) {
 				return parent.items[index];
 			}
 		}
@@ -1766,7 +1900,7 @@ public class Gallery extends Canvas {
 
 		if (index < getItemCount()) {
 			updateItem(null, index, create);
-			if (index < items.length) {
+			if (index < itemCount) {
 				return items[index];
 			}
 		}
@@ -1839,20 +1973,13 @@ public class Gallery extends Canvas {
 
 		int pos = vertical ? (coords.y + translate) : (coords.x + translate);
 
-		int index = 0;
-		GalleryItem item = null;
-		while (index < items.length) {
-			item = getItem(index);
-
-			if ((vertical ? item.y : item.x) > pos)
-				break;
+		int[] offsets = getGroupOffsets();
+		int count = offsets.length - 1;
 
-			if ((vertical ? (item.y + item.height)
-					: (item.x + item.width)) >= pos)
-				return item;
-
-			index++;
-		}
+		// First group which ends after pos
+		int index = findOffset(offsets, 1, count + 1, pos) - 1;
+		if (index < count && offsets[index] <= pos)
+			return getItem(index);
 
 		return null;
 	}
@@ -1892,9 +2019,9 @@ public class Gallery extends Canvas {
 			return;
 
 		if (virtual) {
-			items = new GalleryItem[items.length];
+			items = new GalleryItem[itemCount];
 		} else {
-			for (int i = 0; i < items.length; i++) {
+			for (int i = 0; i < itemCount; i++) {
 				if (items[i] != null) {
 					if (all) {
 						items[i].clearAll(true);
@@ -1995,6 +2122,19 @@ public class Gallery extends Canvas {
 		int itemCount = getItemCount();
 		if (item == null)
 			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+
+		// Look up the group by its position first
+		int[] offsets = groupOffsets;
+		if (offsets != null && offsets.length == itemCount + 1) {
+			int i = findOffset(offsets, 0, itemCount,
+					vertical ? item.y : item.x);
+			for (; i < itemCount && offsets[i] == (vertical ? item.y
+					: item.x); i++) {
+				if (items[i] == item)
+					return lastIndexOf = i;
+			}
+		}
+
 		if (1 <= lastIndexOf && lastIndexOf < itemCount - 1) {
 			if (items[lastIndexOf] == item)
 				return lastIndexOf;
@@ -2056,8 +2196,8 @@ public class Gallery extends Canvas {
 		if (items == null)
 			return new GalleryItem[0];
 
-		GalleryItem[] itemsLocal = new GalleryItem[this.items.length];
-		System.arraycopy(items, 0, itemsLocal, 0, this.items.length);
+		GalleryItem[] itemsLocal = new GalleryItem[itemCount];
+		System.arraycopy(items, 0, itemsLocal, 0, itemCount);
 
 		return itemsLocal;
 	}
@@ -2238,19 +2378,48 @@ public class Gallery extends Canvas {
 		this.redraw();
 	}
 
+	/**
+	 * Returns the selected items, groups first followed by their selected
+	 * children, in the order of the gallery.
+	 * 
+	 * @return the selected items, never null
+	 */
 	public GalleryItem[] getSelection() {
 		if (selection == null) {
-			return new GalleryItem[0];
+			// Built from the selection flags on demand
+			List<GalleryItem> selected = new ArrayList<>();
+			for (int i = 0; i < itemCount; i++) {
+				if (items[i] == null)
+					continue;
+				if (_getFlag(selectionFlags, i))
+					selected.add(items[i]);
+				items[i]._collectSelection(selected);
+			}
+			selection = selected.toArray(new GalleryItem[selected.size()]);
 		}
 
 		return selection;
 	}
 
+	/**
+	 * Returns the number of selected items, counted like
+	 * {@link #getSelection()}.
+	 * 
+	 * @return the number of selected items
+	 */
 	public int getSelectionCount() {
-		if (selection == null)
-			return 0;
+		if (selection != null)
+			return selection.length;
 
-		return selection.length;
+		int count = 0;
+		for (int i = 0; i < itemCount; i++) {
+			if (items[i] == null)
+				continue;
+			if (_getFlag(selectionFlags, i))
+				count++;
+			count += items[i]._countSelection();
+		}
+		return count;
 	}
 
 	/**
@@ -2286,18 +2455,14 @@ public class Gallery extends Canvas {
 
 		if (items != null) {
 			// Clear items
+			GalleryItem[] tmpArray = items;
+			int count = itemCount;
+			_removeItems(0, count);
 
-			GalleryItem[] tmpArray = new GalleryItem[items.length];
-			System.arraycopy(items, 0, tmpArray, 0, items.length);
-
-			for (int i = 0; i < tmpArray.length; i++) {
-
-				// Dispose items if not virtual
-				// if (!virtual) {
+			for (int i = 0; i < count; i++) {
 				if (tmpArray[i] != null) {
-					tmpArray[i]._dispose();
+					tmpArray[i]._disposeRemoved();
 				}
-				// }
 			}
 		}
 	}
@@ -2319,21 +2484,204 @@ public class Gallery extends Canvas {
 		}
 	}
 
-	protected void _remove(int index) {
-		if (isSelected(items[index])) {
-			setSelected(items[index], false, false);
+	/**
+	 * Removes and disposes the root items from start to end (inclusive). The
+	 * gallery is laid out once for all items.
+	 * 
+	 * @param start
+	 *            index of the first item
+	 * @param end
+	 *            index of the last item
+	 */
+	public void removeItems(int start, int end) {
+		checkWidget();
+		if (start > end)
+			return;
+		if (start < 0 || end >= itemCount) {
+			throw new IllegalArgumentException("ERROR_INVALID_RANGE "); //$NON-NLS-1$
+		}
+
+		GalleryItem[] removed = new GalleryItem[end - start + 1];
+		System.arraycopy(items, start, removed, 0, removed.length);
+		_removeItems(start, end + 1);
+
+		for (int i = 0; i < removed.length; i++) {
+			if (removed[i] != null)
+				removed[i]._disposeRemoved();
 		}
 
-		this.items = (GalleryItem[]) this._arrayRemoveItem(this.items, index);
+		updateStructuralValues(null, false);
+		updateScrollBarsProperties();
+		redraw();
+	}
+
+	/**
+	 * Creates new root items at the end of the receiver. The gallery is laid
+	 * out once for all items.
+	 * 
+	 * @param style
+	 *            the style of the new items
+	 * @param count
+	 *            number of items to create
+	 * @return the new items
+	 */
+	public GalleryItem[] addItems(int style, int count) {
+		checkWidget();
+		GalleryItem[] added = new GalleryItem[count];
+		for (int i = 0; i < count; i++) {
+			added[i] = new GalleryItem(this, style, itemCount + i, false);
+		}
+		_insertItems(added, itemCount);
+
+		updateStructuralValues(null, false);
+		updateScrollBarsProperties();
+		redraw();
+		return added;
+	}
+
+	protected void _remove(int index) {
+		_removeItems(index, index + 1);
 	}
 
 	protected void _remove(GalleryItem parent, int index) {
-		if (isSelected(parent.items[index])) {
-			setSelected(parent.items[index], false, false);
+		parent._removeItems(index, index + 1);
+	}
+
+	private void _insertItems(GalleryItem[] added, int index) {
+		items = _arrayInsert(items, itemCount, index, added.length);
+		System.arraycopy(added, 0, items, index, added.length);
+		selectionFlags = _shiftFlags(selectionFlags, itemCount, index,
+				added.length);
+		itemCount += added.length;
+		selection = null;
+	}
+
+	private void _removeItems(int from, int to) {
+		selectionFlags = _shiftFlags(selectionFlags, itemCount, from,
+				from - to);
+		items = _arrayRemove(items, itemCount, from, to);
+		itemCount -= to - from;
+		selection = null;
+	}
+
+	/**
+	 * Opens a gap of n slots at index in an array holding count items. The
+	 * capacity is doubled when the array is full.
+	 * 
+	 * @return the array, or a new one if it was too small
+	 */
+	static GalleryItem[] _arrayInsert(GalleryItem[] array, int count,
+			int index, int n) {
+		if (array != null && count + n <= array.length) {
+			System.arraycopy(array, index, array, index + n, count - index);
+			return array;
+		}
+
+		int capacity = array == null ? 0 : array.length;
+		GalleryItem[] newArray = new GalleryItem[Math.max(count + n,
+				Math.max(4, capacity * 2))];
+		if (array != null) {
+			System.arraycopy(array, 0, newArray, 0, index);
+			System.arraycopy(array, index, newArray, index + n, count - index);
+		}
+		return newArray;
+	}
+
+	/**
+	 * Removes the slots from..to (exclusive) of an array holding count items.
+	 * The array is trimmed when less than a quarter is used.
+	 * 
+	 * @return the array, a smaller one or null if no item is left
+	 */
+	static GalleryItem[] _arrayRemove(GalleryItem[] array, int count,
+			int from, int to) {
+		int newCount = count - (to - from);
+		if (newCount == 0)
+			return null;
+
+		System.arraycopy(array, to, array, from, count - to);
+		Arrays.fill(array, newCount, count, null);
+
+		if (array.length > 16 && newCount < array.length / 4)
+			return Arrays.copyOf(array, newCount * 2);
+
+		return array;
+	}
+
+	static boolean _getFlag(int[] flags, int index) {
+		int n = index >> 5;
+		return flags != null && n < flags.length
+				&& (flags[n] & 1 << (index & 0x1f)) != 0;
+	}
+
+	private static void _setFlag(int[] flags, int index, boolean value) {
+		int n = index >> 5;
+		if (value)
+			flags[n] |= 1 << (index & 0x1f);
+		else if (n < flags.length)
+			flags[n] &= ~(1 << (index & 0x1f));
+	}
+
+	/**
+	 * Sets the selection flags from..to (inclusive) for count items.
+	 * 
+	 * @return the flags, or a new array if they were too small
+	 */
+	static int[] _setFlags(int[] flags, int count, int from, int to) {
+		int words = (count + 31) >> 5;
+		if (flags == null)
+			flags = new int[words];
+		else if (flags.length < words)
+			flags = Arrays.copyOf(flags, words);
+
+		int i = from;
+		while (i <= to) {
+			if ((i & 0x1f) == 0 && to - i >= 31) {
+				// Whole block of 32 items
+				flags[i >> 5] = -1;
+				i += 32;
+			} else {
+				flags[i >> 5] |= 1 << (i & 0x1f);
+				i++;
+			}
 		}
+		return flags;
+	}
+
+	/**
+	 * Moves the selection flags of the items after index when shift items
+	 * were inserted at index (shift &gt; 0) or removed from index (shift &lt;
+	 * 0).
+	 * 
+	 * @param count
+	 *            the number of items before the change
+	 * @return the flags, or a new array if they were too small
+	 */
+	static int[] _shiftFlags(int[] flags, int count, int index, int shift) {
+		if (flags == null || shift == 0)
+			return flags;
 
-		parent.items = (GalleryItem[]) this._arrayRemoveItem(parent.items,
-				index);
+		if (shift > 0) {
+			// Nothing selected after index
+			if ((index >> 5) >= flags.length)
+				return flags;
+
+			int words = (count + shift + 31) >> 5;
+			if (flags.length < words)
+				flags = Arrays.copyOf(flags, words);
+
+			for (int i = count - 1; i >= index; i--)
+				_setFlag(flags, i + shift, _getFlag(flags, i));
+			for (int i = index; i < index + shift; i++)
+				_setFlag(flags, i, false);
+		} else {
+			int removed = -shift;
+			for (int i = index; i + removed < count; i++)
+				_setFlag(flags, i, _getFlag(flags, i + removed));
+			for (int i = Math.max(index, count - removed); i < count; i++)
+				_setFlag(flags, i, false);
+		}
+		return flags;
 	}
 
 	protected Object[] _arrayRemoveItem(Object[] array, int index) {
@@ -2447,6 +2795,8 @@ public class Gallery extends Canvas {
 
 	public void _setGalleryItems(GalleryItem[] items) {
 		this.items = items;
+		this.itemCount = items == null ? 0 : items.length;
+		this.selection = null;
 	}
 
 	/**
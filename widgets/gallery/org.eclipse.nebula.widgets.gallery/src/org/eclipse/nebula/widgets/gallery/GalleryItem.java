@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.nebula.widgets.gallery;
 
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Color;
@@ -46,10 +48,16 @@ public class GalleryItem extends Item {
 
 	// This is managed by the Gallery
 	/**
-	 * Children of this item. Only used when groups are enabled.
+	 * Children of this item. Only used when groups are enabled. The array
+	 * grows by doubling its capacity, only the first itemCount slots are used.
 	 */
 	protected GalleryItem[] items = null;
 
+	/**
+	 * Number of children.
+	 */
+	protected int itemCount = 0;
+
 	/**
 	 * Bounds of this items in the current Gallery.
 	 * 
@@ -187,7 +195,8 @@ public class GalleryItem extends Item {
 		// this item in virtual mode
 
 		// Insert item
-		items = (GalleryItem[]) parent._arrayAddItem(items, item, position);
+		_insertItems(new GalleryItem[] { item },
+				position == -1 ? itemCount : position);
 
 		// Update Gallery
 		parent.updateStructuralValues(null, false);
@@ -201,11 +210,7 @@ public class GalleryItem extends Item {
 	 * @return
 	 */
 	public int getItemCount() {
-
-		if (items == null)
-			return 0;
-
-		return items.length;
+		return itemCount;
 	}
 
 	/**
@@ -223,10 +228,84 @@ public class GalleryItem extends Item {
 			GalleryItem[] newItems = new GalleryItem[count];
 			if (items != null) {
 				System.arraycopy(items, 0, newItems, 0,
-						Math.min(count, items.length));
+						Math.min(count, itemCount));
 			}
 			items = newItems;
 		}
+		itemCount = count;
+		parent.selection = null;
+	}
+
+	/**
+	 * Creates new children at the end of this item. The gallery is laid out
+	 * once for all items.
+	 * 
+	 * @param style
+	 *            the style of the new items
+	 * @param count
+	 *            number of items to create
+	 * @return the new items
+	 */
+	public GalleryItem[] addItems(int style, int count) {
+		checkWidget();
+		GalleryItem[] added = new GalleryItem[count];
+		for (int i = 0; i < count; i++) {
+			added[i] = new GalleryItem(this, style, itemCount + i, false);
+		}
+		_insertItems(added, itemCount);
+
+		parent.updateStructuralValues(null, false);
+		parent.updateScrollBarsProperties();
+		parent.redraw();
+		return added;
+	}
+
+	/**
+	 * Removes and disposes the children from start to end (inclusive). The
+	 * gallery is laid out once for all items.
+	 * 
+	 * @param start
+	 *            index of the first item
+	 * @param end
+	 *            index of the last item
+	 */
+	public void removeItems(int start, int end) {
+		checkWidget();
+		if (start > end)
+			return;
+		if (start < 0 || end >= itemCount) {
+			throw new IllegalArgumentException("ERROR_INVALID_RANGE"); //$NON-NLS-1$
+		}
+
+		GalleryItem[] removed = new GalleryItem[end - start + 1];
+		System.arraycopy(items, start, removed, 0, removed.length);
+		_removeItems(start, end + 1);
+
+		for (int i = 0; i < removed.length; i++) {
+			if (removed[i] != null)
+				removed[i]._disposeRemoved();
+		}
+
+		parent.updateStructuralValues(null, false);
+		parent.updateScrollBarsProperties();
+		parent.redraw();
+	}
+
+	void _insertItems(GalleryItem[] added, int index) {
+		items = Gallery._arrayInsert(items, itemCount, index, added.length);
+		System.arraycopy(added, 0, items, index, added.length);
+		selectionFlags = Gallery._shiftFlags(selectionFlags, itemCount, index,
+				added.length);
+		itemCount += added.length;
+		parent.selection = null;
+	}
+
+	void _removeItems(int from, int to) {
+		selectionFlags = Gallery._shiftFlags(selectionFlags, itemCount, from,
+				from - to);
+		items = Gallery._arrayRemove(items, itemCount, from, to);
+		itemCount -= to - from;
+		parent.selection = null;
 	}
 
 	/**
@@ -250,8 +329,8 @@ public class GalleryItem extends Item {
 		if (items == null)
 			return new GalleryItem[0];
 
-		GalleryItem[] itemsLocal = new GalleryItem[this.items.length];
-		System.arraycopy(items, 0, itemsLocal, 0, this.items.length);
+		GalleryItem[] itemsLocal = new GalleryItem[itemCount];
+		System.arraycopy(items, 0, itemsLocal, 0, itemCount);
 
 		return itemsLocal;
 	}
@@ -341,17 +420,45 @@ public class GalleryItem extends Item {
 		if (selectionFlags != null)
 			for (int i = 0; i < selectionFlags.length; i++)
 				selectionFlags[i] = 0;
-
-		if (items == null)
-			return;
+		parent.selection = null;
 
 		// Deselect group content.
-		for (int i = 0; i < items.length; i++) {
+		for (int i = 0; i < itemCount; i++) {
 			if (items[i] != null)
 				items[i]._deselectAll();
 		}
 	}
 
+	/**
+	 * Adds the selected children and their selected children to the list.
+	 */
+	void _collectSelection(List<GalleryItem> selected) {
+		for (int i = 0; i < itemCount; i++) {
+			if (items[i] == null)
+				continue;
+			if (Gallery._getFlag(selectionFlags, i))
+				selected.add(items[i]);
+			if (items[i].itemCount > 0)
+				items[i]._collectSelection(selected);
+		}
+	}
+
+	/**
+	 * Counts the selected children and their selected children.
+	 */
+	int _countSelection() {
+		int count = 0;
+		for (int i = 0; i < itemCount; i++) {
+			if (items[i] == null)
+				continue;
+			if (Gallery._getFlag(selectionFlags, i))
+				count++;
+			if (items[i].itemCount > 0)
+				count += items[i]._countSelection();
+		}
+		return count;
+	}
+
 	protected void _addSelection(GalleryItem item) {
 		// Deselect all items is multi selection is disabled
 		if (!parent.multi) {
@@ -368,7 +475,7 @@ public class GalleryItem extends Item {
 				// Create selectionFlag array
 				// Add 31 before dividing by 32 to ensure at least one 'int' is
 				// created if size < 32.
-				selectionFlags = new int[(items.length + 31) >> 5];
+				selectionFlags = new int[(itemCount + 31) >> 5];
 			} else if (n >= selectionFlags.length) {
 				// Expand selectionArray
 				int[] oldFlags = selectionFlags;
@@ -401,14 +508,46 @@ public class GalleryItem extends Item {
 		return false;
 	}
 
-	protected void select(int from, int to) {
+	/**
+	 * Selects the children from start to end (inclusive). Indexes out of range
+	 * are ignored.
+	 * 
+	 * @param start
+	 *            index of the first item
+	 * @param end
+	 *            index of the last item
+	 */
+	public void select(int start, int end) {
+		checkWidget();
+		_select(Math.max(0, start), Math.min(end, itemCount - 1));
+		parent.redraw();
+	}
+
+	protected void _select(int from, int to) {
 		if (Gallery.DEBUG)
 			System.out.println("GalleryItem.select(  " + from + "," + to + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+		if (!parent.multi) {
+			for (int i = from; i <= to; i++) {
+				GalleryItem item = getItem(i);
+				parent._addSelection(item);
+				item._selectAll();
+			}
+			return;
+		}
+
+		if (from > to)
+			return;
+
+		// Set the flags of the whole range at once
+		selectionFlags = Gallery._setFlags(selectionFlags, itemCount, from,
+				to);
+		parent.selection = null;
+
 		for (int i = from; i <= to; i++) {
-			GalleryItem item = getItem(i);
-			parent._addSelection(item);
-			item._selectAll();
+			GalleryItem item = parent._getItem(this, i);
+			if (item != null && item.itemCount > 0)
+				item._selectAll();
 		}
 	}
 
@@ -658,9 +797,9 @@ public class GalleryItem extends Item {
 			return;
 
 		if (virtualGallery) {
-			items = new GalleryItem[items.length];
+			items = new GalleryItem[itemCount];
 		} else {
-			for (int i = 0; i < items.length; i++) {
+			for (int i = 0; i < itemCount; i++) {
 				if (items[i] != null) {
 					if (all) {
 						items[i].clearAll(true);
@@ -681,7 +820,7 @@ public class GalleryItem extends Item {
 	}
 
 	protected void _selectAll() {
-		select(0, this.getItemCount() - 1);
+		_select(0, this.getItemCount() - 1);
 	}
 
 	public void remove(int index) {
@@ -709,17 +848,27 @@ public class GalleryItem extends Item {
 
 	protected void _disposeChildren() {
 		if (items != null) {
-			while (items != null) {
-				if (items[items.length - 1] != null) {
-					items[items.length - 1]._dispose();
-				} else {
-					// This is an uninitialized item, just remove the slot
-					parent._remove(this, items.length - 1);
-				}
+			GalleryItem[] children = items;
+			int count = itemCount;
+			_removeItems(0, count);
+
+			for (int i = count - 1; i >= 0; i--) {
+				// Uninitialized items have no slot to dispose
+				if (children[i] != null)
+					children[i]._disposeRemoved();
 			}
 		}
 	}
 
+	/**
+	 * Disposes the item and its children once it has been removed from its
+	 * parent.
+	 */
+	void _disposeRemoved() {
+		_disposeChildren();
+		super.dispose();
+	}
+
 	protected void removeFromParent() {
 		if (parentItem != null) {
 			int index = parent._indexOf(parentItem, this);
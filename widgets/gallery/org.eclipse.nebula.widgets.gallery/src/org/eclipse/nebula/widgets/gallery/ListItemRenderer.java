@@ -124,7 +124,6 @@ public class ListItemRenderer extends AbstractGalleryItemRenderer {
 	public void draw(GC gc, GalleryItem item, int index, int x, int y,
 			int width, int height) {
 
-		Image itemImage = item.getImage();
 		Color itemBackgroundColor = item.getBackground();
 		Color itemForegroundColor = item.getForeground();
 
@@ -136,14 +135,15 @@ public class ListItemRenderer extends AbstractGalleryItemRenderer {
 		int yShift = 0;
 		Point size = null;
 
+		int maxImageSize = useableHeight - 4 - this.dropShadowsSize;
+		Image itemImage = getImage(item, maxImageSize, maxImageSize);
+
 		if (itemImage != null) {
 			Rectangle itemImageBounds = itemImage.getBounds();
 			imageWidth = itemImageBounds.width;
 			imageHeight = itemImageBounds.height;
 
-			size = RendererHelper.getBestSize(imageWidth, imageHeight,
-					useableHeight - 4 - this.dropShadowsSize,
-					useableHeight - 4 - this.dropShadowsSize);
+			size = getImageSize(itemImage, maxImageSize, maxImageSize);
 
 			xShift = ((useableHeight - size.x) >> 1) + 2;
 			yShift = (useableHeight - size.y) >> 1;
@@ -0,0 +1,522 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.nebula.widgets.gallery;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * <p>
+ * Loads and scales item images in the background and keeps the scaled images
+ * for the next paints. Install it with
+ * {@link Gallery#setThumbnailCache(ThumbnailCache)}.
+ * </p>
+ * <p>
+ * The renderers ask for the thumbnail of an item in the size of the area they
+ * draw the image in. Until it is ready, the placeholder image is drawn. The
+ * source of a thumbnail is the object set with
+ * <code>item.setData(ThumbnailCache.SOURCE, source)</code>, or the image of
+ * the item if there is none. Items only need a source, so the full size images
+ * are never resident. The default loader supports {@link File},
+ * {@link Path}, {@link URL}, file names and {@link ImageData}; set a
+ * {@link Loader} for other sources.
+ * </p>
+ * <p>
+ * Thumbnails are evicted least recently used first when their pixels exceed
+ * the pixel budget. Requests for items which are not drawn anymore, because
+ * they were scrolled out of view, are cancelled.
+ * </p>
+ * <p>
+ * NOTE: THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.
+ * </p>
+ */
+public class ThumbnailCache {
+
+	/**
+	 * Id for the source of the thumbnail of an item.
+	 *
+	 * Example : item.setData( ThumbnailCache.SOURCE, new File(...) );
+	 */
+	public final static String SOURCE = "org.eclipse.nebula.widget.gallery.thumbnailSource"; //$NON-NLS-1$
+
+	/**
+	 * The default pixel budget, 16 million pixels or 64 MB.
+	 */
+	public final static long PIXEL_BUDGET_DEFAULT = 16L * 1024 * 1024;
+
+	/**
+	 * Creates the image data of a thumbnail. Called in a background thread.
+	 */
+	public interface Loader {
+		/**
+		 * @param source
+		 *            the source set on the item, or the image data of the
+		 *            item image
+		 * @param maxWidth
+		 * @param maxHeight
+		 * @return the image data, scaled to fit in maxWidth x maxHeight
+		 * @throws Exception
+		 *             if the source cannot be loaded
+		 */
+		ImageData load(Object source, int maxWidth, int maxHeight)
+				throws Exception;
+	}
+
+	private static class Key {
+		final Object source;
+		final int width;
+		final int height;
+
+		Key(Object source, int width, int height) {
+			this.source = source;
+			this.width = width;
+			this.height = height;
+		}
+
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return width == other.width && height == other.height
+					&& source.equals(other.source);
+		}
+
+		public int hashCode() {
+			return Objects.hash(source, Integer.valueOf(width),
+					Integer.valueOf(height));
+		}
+	}
+
+	private static class Entry {
+		final Image image;
+		int serial;
+
+		Entry(Image image) {
+			this.image = image;
+		}
+	}
+
+	private static class Request {
+		Future<?> future;
+		int serial;
+	}
+
+	private final Loader loader;
+
+	private final ExecutorService executor;
+
+	private final LinkedHashMap<Key, Entry> thumbnails = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	private final Set<Image> images = Collections
+			.newSetFromMap(new IdentityHashMap<>());
+
+	private final Map<Key, Request> pending = new HashMap<>();
+
+	private final Set<Key> failed = new HashSet<>();
+
+	private long pixelBudget = PIXEL_BUDGET_DEFAULT;
+
+	private long pixels;
+
+	private int paintSerial;
+
+	private Image placeholder;
+
+	private Gallery gallery;
+
+	private boolean disposed;
+
+	/**
+	 * Creates a cache with the default loader and a thread per processor, at
+	 * most 4.
+	 */
+	public ThumbnailCache() {
+		this(null, Math.max(1,
+				Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+	}
+
+	/**
+	 * @param loader
+	 *            the loader, null for the default loader
+	 * @param threads
+	 *            number of background threads
+	 */
+	public ThumbnailCache(Loader loader, int threads) {
+		this.loader = loader != null ? loader : ThumbnailCache::loadDefault;
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "Gallery thumbnails"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		};
+		executor = Executors.newFixedThreadPool(threads, factory);
+	}
+
+	/**
+	 * Called by {@link Gallery#setThumbnailCache(ThumbnailCache)}.
+	 */
+	void setGallery(Gallery gallery) {
+		this.gallery = gallery;
+	}
+
+	/**
+	 * @return the maximum number of pixels of all thumbnails
+	 */
+	public long getPixelBudget() {
+		return pixelBudget;
+	}
+
+	/**
+	 * Sets the maximum number of pixels of all thumbnails. The thumbnails of
+	 * the last paint are always kept, even if they exceed the budget.
+	 *
+	 * @param pixelBudget
+	 */
+	public void setPixelBudget(long pixelBudget) {
+		this.pixelBudget = pixelBudget;
+		evict();
+	}
+
+	/**
+	 * @return the image drawn until a thumbnail is ready, may be null
+	 */
+	public Image getPlaceholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Sets the image drawn until a thumbnail is ready. The image is not
+	 * disposed by the cache.
+	 *
+	 * @param placeholder
+	 *            the image or null to draw nothing
+	 */
+	public void setPlaceholder(Image placeholder) {
+		this.placeholder = placeholder;
+	}
+
+	/**
+	 * @param item
+	 * @return the source of the thumbnail of the item, null if it has none
+	 */
+	protected Object getSource(GalleryItem item) {
+		Object source = item.getData(SOURCE);
+		return source != null ? source : item.getImage();
+	}
+
+	/**
+	 * @param image
+	 * @return true if the image is a thumbnail of this cache
+	 */
+	public boolean isThumbnail(Image image) {
+		return images.contains(image);
+	}
+
+	/**
+	 * Returns the thumbnail of the item which fits in maxWidth x maxHeight.
+	 * If it is not ready, it is loaded in the background and the gallery is
+	 * redrawn when it is.
+	 *
+	 * @param item
+	 * @param maxWidth
+	 * @param maxHeight
+	 * @return the thumbnail, or null if it is not ready
+	 */
+	public Image getThumbnail(GalleryItem item, int maxWidth, int maxHeight) {
+		Object source = getSource(item);
+		if (source == null || maxWidth <= 0 || maxHeight <= 0 || disposed)
+			return null;
+
+		Key key = new Key(source, maxWidth, maxHeight);
+		Entry entry = thumbnails.get(key);
+		if (entry != null) {
+			entry.serial = paintSerial;
+			return entry.image;
+		}
+		if (failed.contains(key))
+			return null;
+
+		Request request = pending.get(key);
+		if (request == null) {
+			request = new Request();
+			// Images are read in the user interface thread
+			Object input = source instanceof Image
+					? ((Image) source).getImageData()
+					: source;
+			Display display = item.getDisplay();
+			Request submitted = request;
+			request.future = executor.submit(() -> {
+				ImageData data = null;
+				try {
+					data = loader.load(input, maxWidth, maxHeight);
+				} catch (Exception e) {
+					// Marked as failed below
+				}
+				ImageData result = data;
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> loaded(key, submitted, result));
+				}
+			});
+			pending.put(key, request);
+		}
+		request.serial = paintSerial;
+		return null;
+	}
+
+	private void loaded(Key key, Request request, ImageData data) {
+		if (pending.get(key) == request)
+			pending.remove(key);
+		if (disposed)
+			return;
+		if (data == null) {
+			failed.add(key);
+			return;
+		}
+		Image image = new Image(gallery.getDisplay(), data);
+		Entry entry = new Entry(image);
+		entry.serial = paintSerial;
+		Entry old = thumbnails.put(key, entry);
+		if (old != null)
+			remove(old);
+		images.add(image);
+		pixels += (long) data.width * data.height;
+		evict();
+		if (gallery != null && !gallery.isDisposed())
+			gallery.redraw();
+	}
+
+	private void remove(Entry entry) {
+		Rectangle bounds = entry.image.getBounds();
+		pixels -= (long) bounds.width * bounds.height;
+		images.remove(entry.image);
+		entry.image.dispose();
+	}
+
+	private void evict() {
+		Iterator<Entry> i = thumbnails.values().iterator();
+		while (pixels > pixelBudget && i.hasNext()) {
+			Entry entry = i.next();
+			// Keep what is on screen
+			if (entry.serial == paintSerial)
+				continue;
+			i.remove();
+			remove(entry);
+		}
+	}
+
+	/**
+	 * Called by the gallery before it paints the items. The thumbnails asked
+	 * for until {@link #endPaint(boolean)} are kept over the pixel budget.
+	 */
+	protected void beginPaint() {
+		paintSerial++;
+	}
+
+	/**
+	 * Called by the gallery after it painted the items.
+	 *
+	 * @param complete
+	 *            true if all visible items were painted, the requests for
+	 *            other items are cancelled then
+	 */
+	protected void endPaint(boolean complete) {
+		if (!complete)
+			return;
+		Iterator<Request> i = pending.values().iterator();
+		while (i.hasNext()) {
+			Request request = i.next();
+			if (request.serial != paintSerial) {
+				request.future.cancel(false);
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all thumbnails, e.g. after the sources changed.
+	 */
+	public void clear() {
+		for (Request request : pending.values())
+			request.future.cancel(false);
+		pending.clear();
+		for (Entry entry : thumbnails.values())
+			remove(entry);
+		thumbnails.clear();
+		failed.clear();
+	}
+
+	/**
+	 * Stops the background threads and disposes all thumbnails. Called when
+	 * the gallery is disposed.
+	 */
+	public void dispose() {
+		clear();
+		disposed = true;
+		executor.shutdownNow();
+	}
+
+	/**
+	 * The default loader.
+	 */
+	private static ImageData loadDefault(Object source, int maxWidth,
+			int maxHeight) throws Exception {
+		ImageData data;
+		if (source instanceof ImageData) {
+			data = (ImageData) source;
+		} else if (source instanceof URL) {
+			try (InputStream in = ((URL) source).openStream()) {
+				data = new ImageLoader().load(in)[0];
+			}
+		} else if (source instanceof Path) {
+			data = new ImageLoader().load(source.toString())[0];
+		} else if (source instanceof File) {
+			data = new ImageLoader().load(((File) source).getPath())[0];
+		} else if (source instanceof String) {
+			data = new ImageLoader().load((String) source)[0];
+		} else {
+			throw new IllegalArgumentException(
+					"Unsupported thumbnail source " + source); //$NON-NLS-1$
+		}
+		Point size = RendererHelper.getBestSize(data.width, data.height,
+				maxWidth, maxHeight);
+		return scale(data, Math.max(1, size.x), Math.max(1, size.y));
+	}
+
+	/**
+	 * Scales the image data. Images are shrunk with a box filter, which
+	 * averages all source pixels of a target pixel, and enlarged like
+	 * {@link ImageData#scaledTo(int, int)}.
+	 *
+	 * @param data
+	 * @param width
+	 * @param height
+	 * @return the scaled image data
+	 */
+	public static ImageData scale(ImageData data, int width, int height) {
+		if (width == data.width && height == data.height)
+			return data;
+		if (width > data.width || height > data.height
+				|| data.maskData != null) {
+			return data.scaledTo(width, height);
+		}
+
+		PaletteData palette = data.palette;
+		int[] reds = null, greens = null, blues = null;
+		if (!palette.isDirect) {
+			RGB[] colors = palette.getRGBs();
+			reds = new int[colors.length];
+			greens = new int[colors.length];
+			blues = new int[colors.length];
+			for (int i = 0; i < colors.length; i++) {
+				reds[i] = colors[i].red;
+				greens[i] = colors[i].green;
+				blues[i] = colors[i].blue;
+			}
+		}
+		boolean hasAlpha = data.alphaData != null || data.alpha != -1
+				|| data.transparentPixel != -1;
+
+		ImageData result = new ImageData(width, height, 24,
+				new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		if (hasAlpha)
+			result.alphaData = new byte[width * height];
+
+		int[] row = new int[data.width];
+		byte[] alphaRow = new byte[data.width];
+		int[] column = new int[data.width];
+		for (int x = 0; x < data.width; x++)
+			column[x] = (int) ((long) x * width / data.width);
+		long[] r = new long[width], g = new long[width], b = new long[width],
+				a = new long[width];
+		int[] count = new int[width];
+		int[] target = new int[width];
+
+		int y = 0;
+		for (int ty = 0; ty < height; ty++) {
+			int end = (int) ((long) (ty + 1) * data.height / height);
+			for (; y < end; y++) {
+				data.getPixels(0, y, data.width, row, 0);
+				if (data.alphaData != null)
+					data.getAlphas(0, y, data.width, alphaRow, 0);
+				for (int x = 0; x < data.width; x++) {
+					int pixel = row[x];
+					int red, green, blue;
+					if (palette.isDirect) {
+						red = shift(pixel & palette.redMask, palette.redShift);
+						green = shift(pixel & palette.greenMask,
+								palette.greenShift);
+						blue = shift(pixel & palette.blueMask,
+								palette.blueShift);
+					} else {
+						red = reds[pixel];
+						green = greens[pixel];
+						blue = blues[pixel];
+					}
+					int alpha = 255;
+					if (data.alphaData != null)
+						alpha = alphaRow[x] & 0xFF;
+					else if (data.alpha != -1)
+						alpha = data.alpha;
+					if (pixel == data.transparentPixel)
+						alpha = 0;
+					// Weight the colors with their alpha
+					int tx = column[x];
+					r[tx] += red * alpha;
+					g[tx] += green * alpha;
+					b[tx] += blue * alpha;
+					a[tx] += alpha;
+					count[tx]++;
+				}
+			}
+			for (int tx = 0; tx < width; tx++) {
+				long weight = Math.max(1, a[tx]);
+				target[tx] = (int) (r[tx] / weight) << 16
+						| (int) (g[tx] / weight) << 8 | (int) (b[tx] / weight);
+				if (hasAlpha)
+					result.alphaData[ty * width + tx] = (byte) (a[tx]
+							/ Math.max(1, count[tx]));
+				r[tx] = g[tx] = b[tx] = a[tx] = 0;
+				count[tx] = 0;
+			}
+			result.setPixels(0, ty, width, target, 0);
+		}
+		return result;
+	}
+
+	private static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope.snippets;
+
+import java.util.Arrays;
+
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.Oscilloscope;
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.OscilloscopeDispatcher;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * This snippet measures how long the scope takes to draw a frame. It drives a
+ * number of channels at a fixed sample rate and prints the mean, 99th
+ * percentile and maximum frame time every second.
+ * <p/>
+ * Arguments: number of channels (default 8), samples per second per channel
+ * (default 1000) and frames per second (default 50).
+ *
+ */
+public class MultiScope_FrameTime {
+
+	protected static Shell shell;
+
+	private static int channels = 8;
+	private static int sampleRate = 1000;
+	private static int frameRate = 50;
+
+	/**
+	 * Launch the application.
+	 *
+	 * @param args
+	 */
+	public static void main(String[] args) {
+
+		if (args.length > 0) {
+			channels = Integer.parseInt(args[0]);
+		}
+		if (args.length > 1) {
+			sampleRate = Integer.parseInt(args[1]);
+		}
+		if (args.length > 2) {
+			frameRate = Integer.parseInt(args[2]);
+		}
+
+		Display display = Display.getDefault();
+		createContents();
+		shell.open();
+		shell.layout();
+		while (!shell.isDisposed()) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+	}
+
+	/**
+	 * Create contents of the window.
+	 */
+	protected static void createContents() {
+		shell = new Shell();
+		shell.setSize(1200, 600);
+		shell.setText("Nebula Oscilloscope");
+		shell.setLayout(new FillLayout());
+
+		final int samplesPerFrame = Math.max(1, sampleRate / frameRate);
+		final int[] values = new int[samplesPerFrame];
+		final double[] phase = new double[channels];
+
+		OscilloscopeDispatcher dsp = new OscilloscopeDispatcher() {
+
+			private final long[] frameTimes = new long[frameRate];
+			private int frames;
+			private long start;
+
+			@Override
+			public void hookBeforeDraw(Oscilloscope oscilloscope, int counter) {
+				super.hookBeforeDraw(oscilloscope, counter);
+				for (int c = 0; c < oscilloscope.getChannels(); c++) {
+					for (int i = 0; i < values.length; i++) {
+						phase[c] += 2 * Math.PI * (c + 1) / sampleRate;
+						values[i] = (int) (Math.sin(phase[c]) * 40);
+					}
+					oscilloscope.setValues(c, values);
+				}
+				start = System.nanoTime();
+			}
+
+			@Override
+			public void hookAfterDraw(Oscilloscope oscilloscope, int counter) {
+				// Paint now instead of when the event loop gets to it
+				oscilloscope.update();
+				frameTimes[frames++] = System.nanoTime() - start;
+				if (frames == frameTimes.length) {
+					frames = 0;
+					report();
+				}
+			}
+
+			private void report() {
+				long[] sorted = frameTimes.clone();
+				Arrays.sort(sorted);
+				long sum = 0;
+				for (long time : sorted) {
+					sum += time;
+				}
+				String text = String.format("%d channels, %d samples/s: mean %.3f ms, p99 %.3f ms, max %.3f ms", channels,
+						sampleRate, sum / 1e6 / sorted.length, sorted[(sorted.length * 99) / 100] / 1e6,
+						sorted[sorted.length - 1] / 1e6);
+				System.out.println(text);
+				shell.setText(text);
+			}
+
+			@Override
+			public int getDelayLoop() {
+				// Every frame of the clock
+				return 1;
+			}
+
+			@Override
+			public boolean getFade() {
+				return false;
+			}
+
+			@Override
+			public boolean isPercentage() {
+				return false;
+			}
+
+			@Override
+			public boolean isTailSizeMax() {
+				return true;
+			}
+
+			@Override
+			public int getPulse() {
+				// Keep the base offsets set below
+				return NO_PULSE;
+			}
+		};
+
+		Oscilloscope scope = new Oscilloscope(channels, dsp, shell, SWT.NONE);
+		scope.getDispatcher(0).dispatch();
+		scope.getDispatcher(0).getFrameClock().setFramesPerSecond(frameRate);
+		for (int c = 0; c < channels; c++) {
+			scope.setProgression(c, samplesPerFrame);
+			scope.setBaseOffset(c, 90 - (180 * c) / Math.max(1, channels - 1));
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.Oscilloscope;
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.Oscilloscope.IntegerFiFoCircularStack;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the ring indexed tail and the line buffers of the multichannel
+ * {@link Oscilloscope} against a plain list of the tail values. The tail and
+ * the lines are not visible outside of the scope, so they are read by
+ * reflection.
+ */
+public class MultichannelTailTest {
+
+	private static final int WIDTH = 100;
+
+	private Shell shell;
+	private Oscilloscope scope;
+	private Object data;
+	private Method calculate;
+
+	/** The values of the tail before the next one, oldest first */
+	private List<Integer> expectedTail;
+
+	@Before
+	public void setUp() throws Exception {
+		shell = new Shell(Display.getDefault());
+		scope = new Oscilloscope(1, shell, SWT.NONE);
+		scope.setSize(WIDTH, 60);
+
+		Field chan = Oscilloscope.class.getDeclaredField("chan");
+		chan.setAccessible(true);
+		data = ((Object[]) chan.get(scope))[0];
+		calculate = Oscilloscope.class.getDeclaredMethod("calculate", int.class);
+		calculate.setAccessible(true);
+
+		setTailSize(20);
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	private Object get(String name) throws ReflectiveOperationException {
+		Field field = data.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(data);
+	}
+
+	private int getInt(String name) throws ReflectiveOperationException {
+		return ((Integer) get(name)).intValue();
+	}
+
+	private void setTailSize(int size) {
+		int oldSize = expectedTail == null ? 0 : expectedTail.size();
+		scope.setTailSize(0, size);
+		// the newest values are kept
+		List<Integer> tail = new ArrayList<>();
+		for (int i = 0; i < size - Math.min(size, oldSize); i++) {
+			tail.add(0);
+		}
+		if (expectedTail != null) {
+			tail.addAll(expectedTail.subList(oldSize - Math.min(size, oldSize), oldSize));
+		}
+		expectedTail = tail;
+	}
+
+	/**
+	 * Computes the next frame with the given value, and checks the lines.
+	 */
+	private void step(int value) throws ReflectiveOperationException {
+		((IntegerFiFoCircularStack) get("stack")).push(value);
+		try {
+			calculate.invoke(scope, 0);
+		} catch (InvocationTargetException e) {
+			throw new AssertionError(e.getCause());
+		}
+		// the stack is popped negated
+		expectedTail.add(-value);
+		assertLines();
+		expectedTail.remove(0);
+	}
+
+	/**
+	 * Checks the lines against the expected tail, which holds the values of
+	 * the last frame.
+	 */
+	private void assertLines() throws ReflectiveOperationException {
+		int tailSize = scope.getTailSize(0);
+		assertEquals(tailSize + 1, expectedTail.size());
+		int cursor = getInt("cursor");
+		int base = scope.getBase(0);
+		int split = Math.max(0, Math.min(tailSize, tailSize - cursor));
+
+		List<Integer> line1 = new ArrayList<>();
+		List<Integer> line2 = new ArrayList<>();
+		for (int i = 0; i <= tailSize; i++) {
+			int x = cursor - tailSize - 1 + i;
+			int y = base + expectedTail.get(i);
+			if (i <= split && split > 0) {
+				line1.add(x + WIDTH);
+				line1.add(y);
+			}
+			if (i >= split && split < tailSize) {
+				line2.add(x);
+				line2.add(y);
+			}
+		}
+		String message = "cursor " + cursor;
+		assertEquals(message, line1.size() / 2, getInt("line1Count"));
+		assertEquals(message, line2.size() / 2, getInt("line2Count"));
+		assertLine(message, line1, (int[]) get("line1"));
+		assertLine(message, line2, (int[]) get("line2"));
+	}
+
+	private static void assertLine(String message, List<Integer> expected, int[] line) {
+		assertEquals(message, 2 * (line.length / 2), line.length);
+		int[] points = new int[line.length];
+		for (int i = 0; i < points.length; i++) {
+			// the unused end repeats the last point
+			int index = expected.isEmpty() ? -1 : Math.min(i, expected.size() - 2 + i % 2);
+			points[i] = index < 0 ? line[i] : expected.get(index);
+		}
+		assertArrayEquals(message, points, line);
+	}
+
+	private static int value(int n) {
+		return n % 37 - 18;
+	}
+
+	@Test
+	public void tailWrapsAroundRing() throws ReflectiveOperationException {
+		int heads = 0;
+		int lastHead = getInt("tailHead");
+		// the ring wraps several times, and the cursor wraps around the width
+		for (int n = 0; n < 3 * WIDTH; n++) {
+			step(value(n));
+			int head = getInt("tailHead");
+			if (head < lastHead) {
+				heads++;
+			}
+			lastHead = head;
+		}
+		assertTrue(heads > 10);
+	}
+
+	@Test
+	public void linesAfterWrap() throws ReflectiveOperationException {
+		// move the cursor just past the left border, after the ring wrapped
+		int steps = 0;
+		while (getInt("cursor") != 5 || steps < 3 * 21) {
+			step(value(steps++));
+		}
+		// both lines are drawn, joined at the border
+		int[] line1 = (int[]) get("line1");
+		int[] line2 = (int[]) get("line2");
+		int n1 = getInt("line1Count");
+		int n2 = getInt("line2Count");
+		assertEquals(20 - 5 + 1, n1);
+		assertEquals(5 + 1, n2);
+		assertEquals(WIDTH - 1, line1[2 * n1 - 2]);
+		assertEquals(-1, line2[0]);
+		assertEquals(line1[2 * n1 - 1], line2[1]);
+		assertEquals(4, line2[2 * n2 - 2]);
+	}
+
+	@Test
+	public void growTail() throws ReflectiveOperationException {
+		for (int n = 0; n < 50; n++) {
+			step(value(n));
+		}
+		setTailSize(40);
+		assertEquals(41, ((int[]) get("tail")).length);
+		for (int n = 50; n < 50 + 2 * WIDTH; n++) {
+			step(value(n));
+		}
+	}
+
+	@Test
+	public void shrinkTail() throws ReflectiveOperationException {
+		for (int n = 0; n < 50; n++) {
+			step(value(n));
+		}
+		setTailSize(7);
+		assertEquals(8, ((int[]) get("tail")).length);
+		for (int n = 50; n < 50 + 2 * WIDTH; n++) {
+			step(value(n));
+		}
+		setTailSize(30);
+		for (int n = 0; n < 40; n++) {
+			step(value(n));
+		}
+	}
+
+}
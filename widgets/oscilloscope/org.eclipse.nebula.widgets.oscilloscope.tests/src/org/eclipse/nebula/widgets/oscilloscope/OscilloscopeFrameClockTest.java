@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.Oscilloscope;
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.OscilloscopeDispatcher;
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.OscilloscopeFrameClock;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Drives the frames of the {@link OscilloscopeFrameClock} by hand instead of
+ * its timer, so the frames do not depend on the event loop.
+ */
+public class OscilloscopeFrameClockTest {
+
+	/**
+	 * Counts the redraws.
+	 */
+	private static class CountingScope extends Oscilloscope {
+		int redraws;
+
+		CountingScope(Composite parent) {
+			super(1, parent, SWT.NONE);
+		}
+
+		@Override
+		public void redraw() {
+			redraws++;
+			super.redraw();
+		}
+	}
+
+	/**
+	 * Counts its frames and does not touch the scope otherwise.
+	 */
+	private static class CountingDispatcher extends OscilloscopeDispatcher {
+		private final int delayLoop;
+		int frames;
+
+		CountingDispatcher(Oscilloscope scope, int delayLoop) {
+			super(0, scope);
+			this.delayLoop = delayLoop;
+		}
+
+		@Override
+		public int getDelayLoop() {
+			return delayLoop;
+		}
+
+		@Override
+		public int getPulse() {
+			return NO_PULSE;
+		}
+
+		@Override
+		public void init() {
+		}
+
+		@Override
+		public void hookBeforeDraw(Oscilloscope oscilloscope, int counter) {
+			frames++;
+		}
+	}
+
+	private Shell shell;
+	private CountingScope scope;
+	private OscilloscopeFrameClock clock;
+	private final List<OscilloscopeDispatcher> started = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		shell = new Shell(Display.getDefault());
+		shell.setSize(300, 200);
+		scope = new CountingScope(shell);
+		scope.setBounds(0, 0, 200, 100);
+		shell.open();
+		clock = OscilloscopeFrameClock.getDefault(shell.getDisplay());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (OscilloscopeDispatcher dispatcher : started) {
+			dispatcher.stop();
+		}
+		frame();
+		shell.dispose();
+	}
+
+	private CountingDispatcher start(int delayLoop) {
+		CountingDispatcher dispatcher = new CountingDispatcher(scope, delayLoop);
+		dispatcher.dispatch();
+		started.add(dispatcher);
+		return dispatcher;
+	}
+
+	private void frame() throws ReflectiveOperationException {
+		Method frame = OscilloscopeFrameClock.class.getDeclaredMethod("frame");
+		frame.setAccessible(true);
+		try {
+			frame.invoke(clock);
+		} catch (InvocationTargetException e) {
+			throw new AssertionError(e.getCause());
+		}
+	}
+
+	private List<?> getDispatchers() throws ReflectiveOperationException {
+		Field dispatchers = OscilloscopeFrameClock.class.getDeclaredField("dispatchers");
+		dispatchers.setAccessible(true);
+		return (List<?>) dispatchers.get(clock);
+	}
+
+	private static boolean isDue(OscilloscopeDispatcher dispatcher, long lastFrame, long now, int frameTime)
+			throws ReflectiveOperationException {
+		Field field = OscilloscopeDispatcher.class.getDeclaredField("lastFrame");
+		field.setAccessible(true);
+		field.setLong(dispatcher, lastFrame);
+		Method isDue = OscilloscopeDispatcher.class.getDeclaredMethod("isDue", long.class, int.class);
+		isDue.setAccessible(true);
+		return ((Boolean) isDue.invoke(dispatcher, now, frameTime)).booleanValue();
+	}
+
+	@Test
+	public void clockOfDisplay() {
+		assertSame(clock, OscilloscopeFrameClock.getDefault(shell.getDisplay()));
+		assertSame(clock, new CountingDispatcher(scope, 30).getFrameClock());
+		assertEquals(OscilloscopeFrameClock.FPS_DEFAULT, clock.getFramesPerSecond());
+	}
+
+	@Test
+	public void dueTiming() throws ReflectiveOperationException {
+		long ms = 1000000L;
+		CountingDispatcher dispatcher = new CountingDispatcher(scope, 100);
+		// due half a frame early, so it is not late by a whole frame
+		assertFalse(isDue(dispatcher, 0, 91 * ms, 16));
+		assertTrue(isDue(dispatcher, 0, 92 * ms, 16));
+		assertTrue(isDue(dispatcher, 0, 150 * ms, 16));
+		assertFalse(isDue(dispatcher, 40 * ms, 120 * ms, 16));
+
+		// every frame of the clock is used
+		CountingDispatcher fast = new CountingDispatcher(scope, 1);
+		assertTrue(isDue(fast, 0, 0, 16));
+		assertTrue(isDue(fast, 5 * ms, 5 * ms, 16));
+	}
+
+	@Test
+	public void dueFrames() throws ReflectiveOperationException {
+		CountingDispatcher fast = start(1);
+		CountingDispatcher slow = start(10000);
+
+		// the first frame is due right away
+		frame();
+		assertEquals(1, fast.frames);
+		assertEquals(1, slow.frames);
+
+		frame();
+		frame();
+		assertEquals(3, fast.frames);
+		assertEquals(1, slow.frames);
+	}
+
+	@Test
+	public void redrawOncePerFrame() throws ReflectiveOperationException {
+		CountingDispatcher first = start(1);
+		CountingDispatcher second = start(1);
+		scope.redraws = 0;
+
+		frame();
+		assertEquals(1, first.frames);
+		assertEquals(1, second.frames);
+		assertEquals(1, scope.redraws);
+
+		frame();
+		assertEquals(2, first.frames);
+		assertEquals(2, second.frames);
+		assertEquals(2, scope.redraws);
+	}
+
+	@Test
+	public void stoppedDispatcherRemoved() throws ReflectiveOperationException {
+		CountingDispatcher stopped = start(1);
+		CountingDispatcher running = start(1);
+		assertTrue(stopped.isRunning());
+		assertTrue(getDispatchers().contains(stopped));
+
+		stopped.stop();
+		// the dispatcher runs until the clock removed it
+		assertTrue(stopped.isRunning());
+		frame();
+		assertFalse(stopped.isRunning());
+		assertFalse(getDispatchers().contains(stopped));
+		assertEquals(0, stopped.frames);
+		assertEquals(1, running.frames);
+
+		// a stopped dispatcher can be started again
+		stopped.dispatch();
+		assertTrue(getDispatchers().contains(stopped));
+		frame();
+		assertEquals(1, stopped.frames);
+	}
+
+	@Test
+	public void disposedScopeRemoved() throws ReflectiveOperationException {
+		CountingDispatcher dispatcher = start(1);
+		scope.dispose();
+		frame();
+		assertFalse(dispatcher.isRunning());
+		assertFalse(getDispatchers().contains(dispatcher));
+	}
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.SampleRing;
+import org.eclipse.nebula.widgets.oscilloscope.multichannel.SampleRing.OverflowPolicy;
+import org.junit.Test;
+
+public class SampleRingTest {
+
+	@Test
+	public void drainInOrder() {
+		SampleRing ring = new SampleRing(5);
+		assertEquals(8, ring.getCapacity());
+		assertEquals(3, ring.offer(new int[] { 1, 2, 3 }, 0, 3));
+		ring.offer(4);
+
+		int[] target = new int[8];
+		assertEquals(2, ring.drain(target, 0, 2));
+		assertEquals(2, ring.drain(target, 2, 8));
+		assertArrayEquals(new int[] { 1, 2, 3, 4, 0, 0, 0, 0 }, target);
+		assertTrue(ring.isEmpty());
+		assertEquals(0, ring.getDroppedCount());
+	}
+
+	@Test
+	public void dropOldest() {
+		SampleRing ring = new SampleRing(4);
+		for (int i = 0; i < 10; i++) {
+			ring.offer(i);
+		}
+
+		int[] target = new int[4];
+		assertEquals(4, ring.drain(target, 0, 4));
+		assertArrayEquals(new int[] { 6, 7, 8, 9 }, target);
+		assertEquals(6, ring.getDroppedCount());
+	}
+
+	@Test
+	public void decimate() {
+		SampleRing ring = new SampleRing(8);
+		ring.setOverflowPolicy(OverflowPolicy.DECIMATE);
+		ring.offer(new int[] { 0, 1, 2, 3, 4, 5 }, 0, 6);
+		// 2 slots left for 6 values, every third one is kept
+		assertEquals(2, ring.offer(new int[] { 10, 11, 12, 13, 14, 15 }, 0, 6));
+		assertEquals(0, ring.offer(new int[] { 20 }, 0, 1));
+
+		int[] target = new int[8];
+		assertEquals(8, ring.drain(target, 0, 8));
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 10, 13 }, target);
+		assertEquals(5, ring.getDroppedCount());
+	}
+
+	@Test
+	public void tryOfferDoesNotBlock() {
+		SampleRing ring = new SampleRing(4);
+		ring.setOverflowPolicy(OverflowPolicy.BLOCK);
+		assertEquals(4, ring.tryOffer(new int[] { 1, 2, 3, 4, 5, 6 }, 0, 6));
+		assertEquals(2, ring.getDroppedCount());
+	}
+
+	@Test(timeout = 30000)
+	public void concurrentProducers() throws InterruptedException {
+		final int producers = 4;
+		final int perProducer = 200000;
+		final SampleRing ring = new SampleRing(256);
+		ring.setOverflowPolicy(OverflowPolicy.BLOCK);
+
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			threads[p] = new Thread(() -> {
+				int[] batch = new int[7];
+				for (int i = 0; i < perProducer; i += batch.length) {
+					int length = Math.min(batch.length, perProducer - i);
+					for (int j = 0; j < length; j++) {
+						batch[j] = producer << 24 | (i + j);
+					}
+					ring.offer(batch, 0, length);
+				}
+			});
+			threads[p].start();
+		}
+
+		// Every producer's values must arrive complete and in order
+		int[] next = new int[producers];
+		int[] target = new int[64];
+		int received = 0;
+		while (received < producers * perProducer) {
+			int count = ring.drain(target, 0, target.length);
+			for (int i = 0; i < count; i++) {
+				int producer = target[i] >>> 24;
+				assertEquals(next[producer]++, target[i] & 0xFFFFFF);
+			}
+			received += count;
+			if (count == 0) {
+				Thread.yield();
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, ring.getDroppedCount());
+		assertTrue(ring.isEmpty());
+	}
+}
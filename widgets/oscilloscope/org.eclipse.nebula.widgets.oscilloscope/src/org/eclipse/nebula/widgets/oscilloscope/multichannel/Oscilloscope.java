@@ -77,13 +77,31 @@ public class Oscilloscope extends Canvas {
 		private boolean percentage = false;
 		private int progression = PROGRESSION_DEFAULT;
 		private IntegerFiFoCircularStack stack;
+		/**
+		 * Takes the values from any thread until they are moved to the stack
+		 * in the user interface thread.
+		 */
+		private volatile SampleRing ring = new SampleRing(SampleRing.CAPACITY_DEFAULT);
+		private int[] drained;
 		private List<OscilloscopeStackAdapter> stackListeners;
 		private boolean steady;
 		/**
 		 * This contains the old or historical input and is used to paint the
-		 * tail of the graph.
+		 * tail of the graph. It is used as a ring, the oldest value is at
+		 * {@link #tailHead}.
 		 */
 		private int[] tail;
+		private int tailHead;
+		/**
+		 * The points of the part of the tail that wraps around the right
+		 * border and of the part from the left border up to the cursor. The
+		 * arrays are reused for every frame; the points after
+		 * {@link #line1Count} and {@link #line2Count} repeat the last point.
+		 */
+		private int[] line1;
+		private int[] line2;
+		private int line1Count;
+		private int line2Count;
 		private int tailFade = TAILFADE_PERCENTAGE;
 		private int tailSize;
 		private int width = DEFAULT_WIDTH;
@@ -334,6 +352,8 @@ public class Oscilloscope extends Canvas {
 	private int gridSquareSize;
 	private int gridLineWidth;
 	private Color gridBackground, gridForeground;
+
+	private final Thread uiThread = Thread.currentThread();
 	
 	/**
 	 * Creates a scope with one channel.
@@ -440,72 +460,125 @@ public class Oscilloscope extends Canvas {
 	}
 
 	/**
-	 * This method calculates the progression of the line.
-	 *
-	 * @return
+	 * This method calculates the progression of the line. The points are
+	 * stored in the line buffers of the channel.
 	 */
-	private Object[] calculate(int channel) {
+	private void calculate(int channel) {
 
-		int c = channel;
+		Data data = chan[channel];
+		int length = data.tail.length;
 
-		int[] line1 = null;
-		int[] line2 = null;
-		int splitPos = 0;
+		for (int progress = 0; progress < getProgression(channel); progress++) {
 
-		for (int progress = 0; progress < getProgression(c); progress++) {
-
-			if (chan[c].stack.isEmpty() && chan[c].stackListeners != null) {
-				notifyListeners(c);
+			if (data.stack.isEmpty()) {
+				fillStack(channel);
+			}
+			if (data.stack.isEmpty() && data.stackListeners != null) {
+				notifyListeners(channel);
+				fillStack(channel);
 			}
 
-			splitPos = chan[c].tailSize * 4;
-
-			if (!isSteady(c)) {
-				chan[c].cursor++;
+			if (!isSteady(channel)) {
+				data.cursor++;
 			}
-			if (chan[c].cursor >= chan[c].width) {
-				chan[c].cursor = 0;
+			if (data.cursor >= data.width) {
+				data.cursor = 0;
 			}
 
-			// Draw
-			int tailIndex = 1;
-			line1 = new int[chan[c].tailSize * 4];
-			line2 = new int[chan[c].tailSize * 4];
+			int head = data.tailHead + data.tailSize;
+			data.tail[head >= length ? head - length : head] = transform(channel, data.width, data.height,
+					data.stack.popNegate(0));
 
-			chan[c].tail[chan[c].tailSize] = transform(c, chan[c].width, chan[c].height, chan[c].stack.popNegate(0));
+			// Only the last progression is drawn
+			if (progress == getProgression(channel) - 1) {
+				calculateLines(channel);
+			}
 
-			for (int i = 0; i < chan[c].tailSize; i++) {
+			if (++data.tailHead == length) {
+				data.tailHead = 0;
+			}
+		}
+	}
 
-				int posx = chan[c].cursor - chan[c].tailSize + i;
-				int pos = i * 4;
-				if (posx < 0) {
-					posx += chan[c].width;
-					line1[pos] = posx - 1;
+	/**
+	 * Fills the line buffers from the tail. The tail value i is drawn at
+	 * <code>cursor - tailSize + i - 1</code>, the values left of the widget
+	 * wrap around to the right border.
+	 */
+	private void calculateLines(int channel) {
 
-					line1[pos + 1] = getBase(c) + (isSteady(c) ? 0 : chan[c].tail[tailIndex - 1]);
-					line1[pos + 2] = posx;
-					line1[pos + 3] = getBase(c) + (isSteady(c) ? 0 : chan[c].tail[tailIndex]);
-				}
+		Data data = chan[channel];
+		int capacity = (data.tailSize + 1) * 2;
+		if (data.line1 == null || data.line1.length != capacity) {
+			data.line1 = new int[capacity];
+			data.line2 = new int[capacity];
+		}
 
-				else {
-					if (splitPos == chan[c].tailSize * 4) {
-						splitPos = pos;
-					}
-					line2[pos] = posx - 1;
-					line2[pos + 1] = getBase(c) + chan[c].tail[tailIndex - 1];
-					line2[pos + 2] = posx;
-					line2[pos + 3] = (getBase(c) + chan[c].tail[tailIndex]);
-				}
-				chan[c].tail[tailIndex - 1] = chan[c].tail[tailIndex++];
+		int base = getBase(channel);
+		boolean steady = isSteady(channel);
+		int length = data.tail.length;
+		int split = Math.max(0, Math.min(data.tailSize, data.tailSize - data.cursor));
+		int x = data.cursor - data.tailSize - 1;
+		int t = data.tailHead;
+
+		int p1 = 0;
+		int p2 = 0;
+		for (int i = 0; i <= data.tailSize; i++) {
+			int value = data.tail[t];
+			if (++t == length) {
+				t = 0;
+			}
+			if (i <= split && split > 0) {
+				data.line1[p1++] = x + i + data.width;
+				data.line1[p1++] = base + (steady ? 0 : value);
+			}
+			if (i >= split && split < data.tailSize) {
+				data.line2[p2++] = x + i;
+				data.line2[p2++] = base + value;
 			}
 		}
+		data.line1Count = p1 / 2;
+		data.line2Count = p2 / 2;
+		fillPolyline(data.line1, p1);
+		fillPolyline(data.line2, p2);
+	}
 
-		int[] l1 = new int[splitPos];
-		System.arraycopy(line1, 0, l1, 0, l1.length);
-		int[] l2 = new int[(chan[c].tailSize * 4) - splitPos];
-		System.arraycopy(line2, splitPos, l2, 0, l2.length);
+	/**
+	 * Repeats the last point up to the end of the buffer so that the buffer
+	 * can be drawn as a whole.
+	 */
+	private static void fillPolyline(int[] line, int used) {
+		if (used < 2) {
+			return;
+		}
+		int x = line[used - 2];
+		int y = line[used - 1];
+		for (int i = used; i < line.length; i += 2) {
+			line[i] = x;
+			line[i + 1] = y;
+		}
+	}
 
-		return new Object[] { l1, l2 };
+	/**
+	 * Moves the values that were set since the last frame from the ring to the
+	 * stack, as many as fit into the stack.
+	 */
+	private void fillStack(int channel) {
+		Data data = chan[channel];
+		if (data.stack == null) {
+			return;
+		}
+		int free = data.stack.getCapacity() - data.stack.getLoad();
+		if (free <= 0 || data.ring.isEmpty()) {
+			return;
+		}
+		if (data.drained == null || data.drained.length != data.stack.getCapacity()) {
+			data.drained = new int[data.stack.getCapacity()];
+		}
+		int count = data.ring.drain(data.drained, 0, free);
+		for (int i = 0; i < count; i++) {
+			data.stack.push(data.drained[i]);
+		}
 	}
 
 	private void calculateBase(int channel) {
@@ -714,14 +787,17 @@ public class Oscilloscope extends Canvas {
 		for (int c = 0; c < chan.length; c++) {
 
 			if (chan[c].tailSize <= 0) {
+				fillStack(c);
 				chan[c].stack.popNegate(0);
 				continue;
 			}
 
 			// Go calculate the line
-			Object[] result = calculate(c);
-			int[] l1 = (int[]) result[0];
-			int[] l2 = (int[]) result[1];
+			calculate(c);
+			int[] l1 = chan[c].line1;
+			int[] l2 = chan[c].line2;
+			int n1 = chan[c].line1Count;
+			int n2 = chan[c].line2Count;
 
 			// Draw it
 			GC gc = e.gc;
@@ -735,28 +811,32 @@ public class Oscilloscope extends Canvas {
 				gc.setAlpha(0);
 				double fade = 0;
 				double fadeOutStep = (double) 125 / (double) ((getTailSize(c) * (getTailFade(c)) / 100));
-				for (int i = 0; i < l1.length - 4;) {
+				for (int i = 0; i < n1 - 2; i++) {
 					fade += (fadeOutStep / 2);
 					setAlpha(gc, fade);
-					gc.drawLine(l1[i], l1[i + 1], l1[i + 2], l1[i + 3]);
-					i += 2;
+					gc.drawLine(l1[i * 2], l1[i * 2 + 1], l1[i * 2 + 2], l1[i * 2 + 3]);
+					fade += (fadeOutStep / 2);
 				}
 
-				for (int i = 0; i < l2.length - 4;) {
+				for (int i = 0; i < n2 - 2; i++) {
 					fade += (fadeOutStep / 2);
 					setAlpha(gc, fade);
-					gc.drawLine(l2[i], l2[i + 1], l2[i + 2], l2[i + 3]);
-					i += 2;
+					gc.drawLine(l2[i * 2], l2[i * 2 + 1], l2[i * 2 + 2], l2[i * 2 + 3]);
+					fade += (fadeOutStep / 2);
 				}
 
 			} else {
-				gc.drawPolyline(l1);
-				gc.drawPolyline(l2);
+				if (n1 > 0) {
+					gc.drawPolyline(l1);
+				}
+				if (n2 > 0) {
+					gc.drawPolyline(l2);
+				}
 			}
 
 			// Connects the head with the tail
-			if (isConnect(c) && !isFade(c) && chan[c].originalTailSize == TAILSIZE_MAX && l1.length > 0 && l2.length > 0) {
-				gc.drawLine(l2[l2.length - 2], l2[l2.length - 1], l1[0], l1[1]);
+			if (isConnect(c) && !isFade(c) && chan[c].originalTailSize == TAILSIZE_MAX && n1 > 0 && n2 > 0) {
+				gc.drawLine(l2[n2 * 2 - 2], l2[n2 * 2 - 1], l1[0], l1[1]);
 			}
 		}
 	}
@@ -1032,18 +1112,13 @@ public class Oscilloscope extends Canvas {
 		// Transform the old tail. This is we want to see sort of the same form
 		// after resize.
 		int[] oldTail = chan[channel].tail;
-		if (oldTail == null) {
-			chan[channel].tail = new int[chan[channel].tailSize + 1];
-		} else {
-			chan[channel].tail = new int[chan[channel].tailSize + 1];
-			if (chan[channel].tail.length >= oldTail.length) {
-				for (int i = 0; i < oldTail.length; i++) {
-					chan[channel].tail[chan[channel].tail.length - 1 - i] = oldTail[oldTail.length - 1 - i];
-				}
-			} else {
-				for (int i = 0; i < chan[channel].tail.length; i++) {
-					chan[channel].tail[chan[channel].tail.length - 1 - i] = oldTail[oldTail.length - 1 - i];
-				}
+		int oldHead = chan[channel].tailHead;
+		chan[channel].tail = new int[chan[channel].tailSize + 1];
+		chan[channel].tailHead = 0;
+		if (oldTail != null) {
+			int count = Math.min(chan[channel].tail.length, oldTail.length);
+			for (int i = 0; i < count; i++) {
+				chan[channel].tail[chan[channel].tail.length - 1 - i] = oldTail[(oldHead + oldTail.length - 1 - i) % oldTail.length];
 			}
 		}
 	}
@@ -1056,6 +1131,10 @@ public class Oscilloscope extends Canvas {
 	 * If you resize the widget, the old stack will be copied into a new stack
 	 * with the new capacity.
 	 * <p/>
+	 * The values are first put into a ring without locking and moved to the
+	 * stack when the scope is drawn. If the ring is full, the overflow policy
+	 * decides what happens with the value.
+	 * <p/>
 	 * This method can be called outside of the UI thread.
 	 *
 	 * @param channel
@@ -1064,11 +1143,14 @@ public class Oscilloscope extends Canvas {
 	 *
 	 * @see #isPercentage(int)
 	 * @see #setBaseOffset(int, int)
+	 * @see #setOverflowPolicy(int, SampleRing.OverflowPolicy)
 	 */
 	public void setValue(int channel, int value) {
 		if (width > 0) {
-			if (chan[channel].stack.capacity > 0) {
-				chan[channel].stack.push(value);
+			if (Thread.currentThread() == uiThread && getOverflowPolicy(channel) == SampleRing.OverflowPolicy.BLOCK) {
+				chan[channel].ring.tryOffer(new int[] { value }, 0, 1);
+			} else {
+				chan[channel].ring.offer(value);
 			}
 		}
 	}
@@ -1084,12 +1166,92 @@ public class Oscilloscope extends Canvas {
 	 *
 	 * @see #setValue(int, int)
 	 */
-	public synchronized void setValues(int channel, int[] values) {
-		if (width > 0) {
-			for (int value : values) {
-				setValue(channel, value);
-			}
+	public void setValues(int channel, int[] values) {
+		setValues(channel, values, 0, values.length);
+	}
+
+	/**
+	 * Sets a range of values that will be drawn. See
+	 * {@link #setValue(int, int)} for details.
+	 * <p/>
+	 * This method can be called outside of the UI thread. With the overflow
+	 * policy {@link SampleRing.OverflowPolicy#BLOCK} it waits until the values
+	 * fit, unless it is called in the UI thread.
+	 *
+	 * @param channel
+	 * @param values
+	 * @param offset
+	 *            of the first value in values
+	 * @param length
+	 *            number of values
+	 * @return the number of values that were accepted
+	 *
+	 * @see #setValue(int, int)
+	 */
+	public int setValues(int channel, int[] values, int offset, int length) {
+		if (width <= 0) {
+			return 0;
+		}
+		if (Thread.currentThread() == uiThread) {
+			return chan[channel].ring.tryOffer(values, offset, length);
 		}
+		return chan[channel].ring.offer(values, offset, length);
+	}
+
+	/**
+	 * Sets what happens with new values if the producers are faster than the
+	 * scope. The default is {@link SampleRing.OverflowPolicy#DROP_OLDEST}.
+	 * <p/>
+	 * This method can be called outside of the UI thread.
+	 *
+	 * @param channel
+	 * @param policy
+	 * @see #getDroppedSamples(int)
+	 */
+	public void setOverflowPolicy(int channel, SampleRing.OverflowPolicy policy) {
+		chan[channel].ring.setOverflowPolicy(policy);
+	}
+
+	/**
+	 * @param channel
+	 * @return the overflow policy of the channel
+	 * @see #setOverflowPolicy(int, SampleRing.OverflowPolicy)
+	 */
+	public SampleRing.OverflowPolicy getOverflowPolicy(int channel) {
+		return chan[channel].ring.getOverflowPolicy();
+	}
+
+	/**
+	 * Returns the number of values of the channel that were overwritten,
+	 * decimated or dropped because the scope could not keep up. This method
+	 * can be called outside of the UI thread.
+	 *
+	 * @param channel
+	 * @return the number of lost values
+	 */
+	public long getDroppedSamples(int channel) {
+		return chan[channel].ring.getDroppedCount();
+	}
+
+	/**
+	 * Sets the capacity of the ring that holds the values until the scope
+	 * takes them, see {@link SampleRing#CAPACITY_DEFAULT}. The values that are
+	 * waiting are moved to the new ring. Values that other threads set while
+	 * the ring is replaced may be lost.
+	 *
+	 * @param channel
+	 * @param capacity
+	 *            is rounded up to a power of two
+	 */
+	public void setSampleBufferSize(int channel, int capacity) {
+		checkWidget();
+		SampleRing old = chan[channel].ring;
+		SampleRing ring = new SampleRing(capacity);
+		ring.setOverflowPolicy(old.getOverflowPolicy());
+		chan[channel].ring = ring;
+		int[] values = new int[old.getCapacity()];
+		int count = old.drain(values, 0, values.length);
+		ring.tryOffer(values, 0, count);
 	}
 
 	private void tailSizeCheck(int size) {
@@ -173,6 +173,10 @@ public class OscilloscopeDispatcher {
 
 	private boolean isRunning;
 
+	private int pulse;
+
+	private long lastFrame;
+
 	private Color activeForegroundColor = Display.getDefault().getSystemColor(SWT.COLOR_GREEN);
 	private Color inactiveForegroundColor = Display.getDefault().getSystemColor(SWT.COLOR_RED);
 	
@@ -213,16 +217,16 @@ public class OscilloscopeDispatcher {
 	}
 
 	/**
-	 * This method will get the animation going. It will create a runnable that
-	 * will be dispatched to the user interface thread. The runnable increments
-	 * a counter that leads to the {@link #getPulse()} value and if this is
-	 * reached then the counter is reset. The counter is passed to the hook
-	 * methods so that they can prepare for the next pulse.
+	 * This method will get the animation going. It will add the dispatcher to
+	 * the {@link OscilloscopeFrameClock} of the display. On every frame that is
+	 * due the clock increments a counter that leads to the {@link #getPulse()}
+	 * value and if this is reached then the counter is reset. The counter is
+	 * passed to the hook methods so that they can prepare for the next pulse.
 	 * <p/>
-	 * After the hook methods are called, the runnable is placed in the user
-	 * interface thread with a timer of {@link #getDelayLoop()} milliseconds.
-	 * However, if the delay loop is set to 1, it will dispatch using
-	 * {@link Display#asyncExec(Runnable)} for maximum speed.
+	 * A frame is due every {@link #getDelayLoop()} milliseconds, rounded to
+	 * the frame rate of the clock. If the delay loop is set to 1, every frame
+	 * of the clock is used for maximum speed. The scope is redrawn once per
+	 * frame, also if several dispatchers are driving it.
 	 * <p/>
 	 * This method is not meant to be overridden, override {@link #init()}
 	 * {@link #hookBeforeDraw(Oscilloscope, int)},
@@ -242,40 +246,65 @@ public class OscilloscopeDispatcher {
 
 		init();
 
-		Runnable runnable = new Runnable() {
+		// The first frame is due right away
+		lastFrame = System.nanoTime() - getDelayLoop() * 1000000L;
+		getOscilloscope().getDisplay().syncExec(() -> {
+			if (!getOscilloscope().isDisposed()) {
+				getFrameClock().add(this);
+			}
+		});
 
-			private int pulse;
+	}
 
-			public void run() {
-				if (getOscilloscope().isDisposed())
-					return;
+	/**
+	 * Returns the clock that drives this dispatcher. This method is called in
+	 * the user interface thread.
+	 *
+	 * @return the frame clock of the display of the oscilloscope
+	 * @see OscilloscopeFrameClock#setFramesPerSecond(int)
+	 */
+	public OscilloscopeFrameClock getFrameClock() {
+		return OscilloscopeFrameClock.getDefault(getOscilloscope().getDisplay());
+	}
 
-				hookBeforeDraw(getOscilloscope(), this.pulse);
-				getOscilloscope().redraw();
-				hookAfterDraw(getOscilloscope(), this.pulse);
-				this.pulse++;
+	boolean isStopRequested() {
+		return stop;
+	}
 
-				if (this.pulse >= getPulse()) {
-					if (getPulse() != OscilloscopeDispatcher.NO_PULSE) {
-						hookPulse(getOscilloscope(), this.pulse);
-					}
-					this.pulse = 0;
-				}
+	void stopped() {
+		isRunning = false;
+	}
 
-				if (!stop)
-					if (getDelayLoop() > 1) {
-						getOscilloscope().getDisplay().timerExec(getDelayLoop(), this);
-					} else {
-						getOscilloscope().getDisplay().asyncExec(this);
-					}
-				else {
-					isRunning = false;
-				}
-			}
-		};
+	/**
+	 * @return true if at least the delay loop minus half a frame has passed
+	 *         since the last frame
+	 */
+	boolean isDue(long now, int frameTime) {
+		return getDelayLoop() <= 1 || (now - lastFrame) / 1000000 >= getDelayLoop() - frameTime / 2;
+	}
+
+	/**
+	 * Called by the frame clock for every frame that is due.
+	 *
+	 * @param redraw
+	 *            false if the scope has already been redrawn in this frame
+	 */
+	void frame(long now, boolean redraw) {
+		lastFrame = now;
 
-		getOscilloscope().getDisplay().syncExec(runnable);
+		hookBeforeDraw(getOscilloscope(), this.pulse);
+		if (redraw) {
+			getOscilloscope().redraw();
+		}
+		hookAfterDraw(getOscilloscope(), this.pulse);
+		this.pulse++;
 
+		if (this.pulse >= getPulse()) {
+			if (getPulse() != OscilloscopeDispatcher.NO_PULSE) {
+				hookPulse(getOscilloscope(), this.pulse);
+			}
+			this.pulse = 0;
+		}
 	}
 
 	@Override
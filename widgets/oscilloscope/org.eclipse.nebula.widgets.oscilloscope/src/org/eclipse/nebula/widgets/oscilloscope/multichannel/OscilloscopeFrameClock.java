@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope.multichannel;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * The frame clock drives all running {@link OscilloscopeDispatcher}s of a
+ * display with a single timer.
+ * <p/>
+ * On every frame the clock calls the hooks of the dispatchers that are due
+ * according to their {@link OscilloscopeDispatcher#getDelayLoop()} and
+ * redraws every scope at most once, even if several dispatchers drive the
+ * same scope. Scopes that cannot be seen, because they or their shell are
+ * hidden or minimized or they are scrolled out of view, skip the frame.
+ * <p/>
+ * The clock runs in the user interface thread. It is created with the first
+ * dispatcher that is started and stops when no dispatcher is running.
+ *
+ * @see #getDefault(Display)
+ */
+public class OscilloscopeFrameClock {
+
+	/**
+	 * The default number of frames per second.
+	 */
+	public static final int FPS_DEFAULT = 60;
+
+	private static final String KEY = OscilloscopeFrameClock.class.getName();
+
+	private final Display display;
+
+	private final List<OscilloscopeDispatcher> dispatchers = new ArrayList<>();
+
+	private final Map<Oscilloscope, Boolean> redrawn = new IdentityHashMap<>();
+
+	private int framesPerSecond = FPS_DEFAULT;
+
+	private boolean scheduled;
+
+	private final Runnable frame = this::frame;
+
+	private OscilloscopeFrameClock(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Returns the frame clock of the display. This method must be called in
+	 * the user interface thread.
+	 *
+	 * @param display
+	 * @return the frame clock of the display, never null
+	 */
+	public static OscilloscopeFrameClock getDefault(Display display) {
+		OscilloscopeFrameClock clock = (OscilloscopeFrameClock) display.getData(KEY);
+		if (clock == null) {
+			clock = new OscilloscopeFrameClock(display);
+			display.setData(KEY, clock);
+		}
+		return clock;
+	}
+
+	/**
+	 * @return the number of frames per second
+	 */
+	public int getFramesPerSecond() {
+		return framesPerSecond;
+	}
+
+	/**
+	 * Sets the number of frames per second. A dispatcher with a
+	 * {@link OscilloscopeDispatcher#getDelayLoop()} longer than a frame is
+	 * only called on the frames that are due. The default is
+	 * {@link #FPS_DEFAULT}.
+	 *
+	 * @param framesPerSecond
+	 *            between 1 and 1000
+	 */
+	public void setFramesPerSecond(int framesPerSecond) {
+		if (framesPerSecond < 1 || framesPerSecond > 1000) {
+			throw new IllegalArgumentException("Frames per second must be between 1 and 1000");
+		}
+		this.framesPerSecond = framesPerSecond;
+	}
+
+	/**
+	 * Adds the dispatcher to the clock. It is called on the next frame.
+	 */
+	void add(OscilloscopeDispatcher dispatcher) {
+		if (!dispatchers.contains(dispatcher)) {
+			dispatchers.add(dispatcher);
+		}
+		if (!scheduled) {
+			scheduled = true;
+			display.timerExec(getFrameTime(), frame);
+		}
+	}
+
+	/**
+	 * Removes the dispatcher from the clock.
+	 */
+	void remove(OscilloscopeDispatcher dispatcher) {
+		dispatchers.remove(dispatcher);
+	}
+
+	private int getFrameTime() {
+		return Math.max(1, 1000 / framesPerSecond);
+	}
+
+	private void frame() {
+		long now = System.nanoTime();
+		int frameTime = getFrameTime();
+
+		// Dispatchers may stop themselves or start others in their hooks
+		OscilloscopeDispatcher[] current = dispatchers.toArray(new OscilloscopeDispatcher[dispatchers.size()]);
+		for (OscilloscopeDispatcher dispatcher : current) {
+			Oscilloscope scope = dispatcher.getOscilloscope();
+			if (dispatcher.isStopRequested() || scope == null || scope.isDisposed()) {
+				dispatchers.remove(dispatcher);
+				dispatcher.stopped();
+				continue;
+			}
+			if (!dispatcher.isDue(now, frameTime) || !isShowing(scope)) {
+				continue;
+			}
+			dispatcher.frame(now, !redrawn.containsKey(scope));
+			redrawn.put(scope, Boolean.TRUE);
+		}
+		redrawn.clear();
+
+		if (dispatchers.isEmpty() || display.isDisposed()) {
+			scheduled = false;
+		} else {
+			// Keep the frame rate if the hooks took some of the frame time
+			int elapsed = (int) ((System.nanoTime() - now) / 1000000);
+			display.timerExec(Math.max(1, frameTime - elapsed), frame);
+		}
+	}
+
+	/**
+	 * @return false if the control is hidden, its shell is minimized or it is
+	 *         outside the visible area of its parents
+	 */
+	static boolean isShowing(Control control) {
+		if (!control.isVisible()) {
+			return false;
+		}
+		Shell shell = control.getShell();
+		if (shell.getMinimized()) {
+			return false;
+		}
+		Point size = control.getSize();
+		if (size.x <= 0 || size.y <= 0) {
+			return false;
+		}
+		Rectangle visible = control.getDisplay().map(control, null, 0, 0, size.x, size.y);
+		for (Composite parent = control.getParent(); parent != null; parent = parent.getParent()) {
+			Rectangle area = parent.getClientArea();
+			visible = visible.intersection(control.getDisplay().map(parent, null, area));
+			if (visible.isEmpty()) {
+				return false;
+			}
+			if (parent == shell) {
+				break;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.oscilloscope.multichannel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring of int samples that any number of threads can fill without
+ * locking and that a single thread, the user interface thread of the scope,
+ * drains.
+ * <p/>
+ * Every slot holds the value together with the low bits of its position in
+ * one long, so a value is published with a single atomic write and the
+ * consumer can tell a value that is not written yet from one that has been
+ * overwritten.
+ * <p/>
+ * What happens if the producers are faster than the consumer is decided by
+ * the {@link OverflowPolicy}. All samples that are lost are counted, see
+ * {@link #getDroppedCount()}.
+ *
+ * @see Oscilloscope#setOverflowPolicy(int, OverflowPolicy)
+ */
+public class SampleRing {
+
+	/**
+	 * What to do with new samples if the ring is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The new samples overwrite the oldest samples that have not been
+		 * drained yet.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Only every n-th sample of a batch is kept so that it fits into the
+		 * free space. A batch is dropped if there is no space at all.
+		 */
+		DECIMATE,
+
+		/**
+		 * The producer waits until there is space. Must not be used if the
+		 * consumer thread produces samples itself.
+		 */
+		BLOCK
+	}
+
+	/**
+	 * The default capacity of a ring.
+	 */
+	public static final int CAPACITY_DEFAULT = 8192;
+
+	private static final long WAIT_NANOS = 100000;
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicLongArray slots;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile long head;
+	private volatile OverflowPolicy policy = OverflowPolicy.DROP_OLDEST;
+
+	/**
+	 * Creates a ring with at least the given capacity, the capacity is rounded
+	 * up to a power of two.
+	 *
+	 * @param capacity
+	 *            must be greater than 1
+	 */
+	public SampleRing(int capacity) {
+		if (capacity <= 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Ring capacity must be > 1 and <= 2^30");
+		}
+		this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+		mask = this.capacity - 1;
+		slots = new AtomicLongArray(this.capacity);
+		// Mark all slots as written one round before the first position
+		for (int i = 0; i < this.capacity; i++) {
+			slots.set(i, pack(i - this.capacity, 0));
+		}
+	}
+
+	private static long pack(long position, int value) {
+		return ((long) stamp(position) << 32) | (value & 0xFFFFFFFFL);
+	}
+
+	private static int stamp(long position) {
+		return (int) position;
+	}
+
+	/**
+	 * @return the capacity, a power of two
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the overflow policy, the default is
+	 *         {@link OverflowPolicy#DROP_OLDEST}
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Sets what happens with new samples if the ring is full. This method can
+	 * be called from any thread.
+	 *
+	 * @param policy
+	 */
+	public void setOverflowPolicy(OverflowPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("Overflow policy must not be null");
+		}
+		this.policy = policy;
+	}
+
+	/**
+	 * @return the number of samples that were overwritten, decimated or
+	 *         dropped since the ring was created
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return the number of samples that are waiting to be drained, may be
+	 *         outdated as soon as it is returned
+	 */
+	public int size() {
+		long size = tail.get() - head;
+		return (int) Math.max(0, Math.min(capacity, size));
+	}
+
+	/**
+	 * @return true if no samples are waiting to be drained
+	 */
+	public boolean isEmpty() {
+		return tail.get() == head;
+	}
+
+	/**
+	 * Adds a sample according to the overflow policy.
+	 *
+	 * @param value
+	 * @return true if the sample was added, false if it was dropped
+	 */
+	public boolean offer(int value) {
+		if (policy == OverflowPolicy.DROP_OLDEST) {
+			write(tail.getAndIncrement(), value);
+			return true;
+		}
+		return offer(new int[] { value }, 0, 1, true) == 1;
+	}
+
+	/**
+	 * Adds the samples according to the overflow policy.
+	 *
+	 * @param values
+	 * @param offset
+	 *            of the first sample in values
+	 * @param length
+	 *            number of samples
+	 * @return the number of samples that were added
+	 */
+	public int offer(int[] values, int offset, int length) {
+		return offer(values, offset, length, true);
+	}
+
+	/**
+	 * Adds the samples like {@link #offer(int[], int, int)}, but drops the
+	 * samples that do not fit instead of waiting if the policy is
+	 * {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param values
+	 * @param offset
+	 *            of the first sample in values
+	 * @param length
+	 *            number of samples
+	 * @return the number of samples that were added
+	 */
+	public int tryOffer(int[] values, int offset, int length) {
+		return offer(values, offset, length, false);
+	}
+
+	private int offer(int[] values, int offset, int length, boolean mayBlock) {
+		if (offset < 0 || length < 0 || offset + length > values.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		switch (policy) {
+		case DECIMATE:
+			return offerDecimated(values, offset, length);
+		case BLOCK:
+			return offerBlocking(values, offset, length, mayBlock);
+		default:
+			publish(tail.getAndAdd(length), values, offset, length, 1);
+			return length;
+		}
+	}
+
+	private int offerDecimated(int[] values, int offset, int length) {
+		while (true) {
+			long position = tail.get();
+			int free = (int) (capacity - (position - head));
+			if (free <= 0) {
+				dropped.addAndGet(length);
+				return 0;
+			}
+			int step = (length + free - 1) / free;
+			int count = (length + step - 1) / step;
+			if (tail.compareAndSet(position, position + count)) {
+				publish(position, values, offset, count, step);
+				dropped.addAndGet(length - count);
+				return count;
+			}
+		}
+	}
+
+	private int offerBlocking(int[] values, int offset, int length, boolean mayBlock) {
+		int added = 0;
+		while (added < length) {
+			long position = tail.get();
+			int free = (int) (capacity - (position - head));
+			if (free <= 0) {
+				if (!mayBlock) {
+					dropped.addAndGet(length - added);
+					return added;
+				}
+				LockSupport.parkNanos(WAIT_NANOS);
+				continue;
+			}
+			int count = Math.min(free, length - added);
+			if (tail.compareAndSet(position, position + count)) {
+				publish(position, values, offset + added, count, 1);
+				added += count;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Writes count values, taking every step-th value, to the claimed
+	 * positions.
+	 */
+	private void publish(long position, int[] values, int offset, int count, int step) {
+		for (int i = 0; i < count; i++) {
+			write(position + i, values[offset + i * step]);
+		}
+	}
+
+	/**
+	 * Writes the value unless the slot already holds a newer position. The
+	 * value is then lost, it is counted when the consumer passes its
+	 * position.
+	 */
+	private void write(long position, int value) {
+		int slot = (int) position & mask;
+		long next = pack(position, value);
+		while (true) {
+			long current = slots.get(slot);
+			if (stamp(position) - (int) (current >>> 32) < 0 || slots.compareAndSet(slot, current, next)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Moves the waiting samples, oldest first, into the target. Stops at a
+	 * sample that has been claimed by a producer but is not written yet. Must
+	 * only be called by one thread.
+	 *
+	 * @param target
+	 * @param offset
+	 *            where the first sample is stored
+	 * @param max
+	 *            maximum number of samples to drain
+	 * @return the number of samples stored in target
+	 */
+	public int drain(int[] target, int offset, int max) {
+		long h = head;
+		long end = tail.get();
+		if (end - h > capacity) {
+			// Overwritten by producers that are a full ring ahead
+			dropped.addAndGet(end - capacity - h);
+			h = end - capacity;
+		}
+		int count = 0;
+		while (h < end && count < max) {
+			long current = slots.get((int) h & mask);
+			int age = (int) (current >>> 32) - stamp(h);
+			if (age < 0) {
+				break;
+			}
+			if (age == 0) {
+				target[offset + count++] = (int) current;
+			} else {
+				dropped.incrementAndGet();
+			}
+			h++;
+		}
+		head = h;
+		return count;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2006 Matthew Hall and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import org.eclipse.nebula.paperclips.core.internal.util.ResourcePool;
+import org.eclipse.nebula.paperclips.core.internal.util.Util;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+
+class BackgroundPiece implements PrintPiece {
+	private final PrintPiece target;
+	private final Device device;
+	private final RGB background;
+
+	BackgroundPiece(PrintPiece target, RGB background, Device device) {
+		Util.notNull(target, background, device);
+		this.target = target;
+		this.device = device;
+		this.background = background;
+	}
+
+	public Point getSize() {
+		return target.getSize();
+	}
+
+	public void paint(GC gc, int x, int y) {
+		paintBackground(gc, x, y);
+		target.paint(gc, x, y);
+	}
+
+	PrintPiece getTarget() {
+		return target;
+	}
+
+	void paintBackground(GC gc, int x, int y) {
+		Color oldBackground = gc.getBackground();
+
+		gc.setBackground(ResourcePool.forDevice(device).getColor(background));
+		Point size = getSize();
+		gc.fillRectangle(x, y, size.x, size.y);
+
+		gc.setBackground(oldBackground);
+	}
+
+	public void dispose() {
+		target.dispose();
+	}
+}
\ No newline at end of file
@@ -123,4 +123,8 @@ public class CompositePiece implements PrintPiece {
 		for (int i = 0; i < entries.length; i++)
 			entries[i].dispose();
 	}
+
+	CompositeEntry[] getEntries() {
+		return entries;
+	}
 }
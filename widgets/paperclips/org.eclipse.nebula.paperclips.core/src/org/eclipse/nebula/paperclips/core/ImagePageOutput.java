@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.eclipse.nebula.paperclips.core.internal.util.Util;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Transform;
+
+/**
+ * A page output which writes each page as a PNG image at a chosen resolution.
+ * <p>
+ * Pages are rendered on the thread that lays out the pages, as SWT graphics
+ * are bound to it. Encoding the rendered pixels is independent of SWT
+ * resources, and may optionally be done on a background thread so that the
+ * next page is laid out and rendered meanwhile.
+ *
+ * @see PaperClips#export(PrintJob, Device, Point, PageOutput)
+ */
+public class ImagePageOutput implements PageOutput {
+	/**
+	 * Opens the stream that a page image is written to.
+	 */
+	public interface StreamProvider {
+		/**
+		 * Returns a new stream for the page image. The stream is closed by the
+		 * page output.
+		 *
+		 * @param pageIndex
+		 *            the zero-based index of the page.
+		 * @return a new stream for the page image.
+		 * @throws IOException
+		 *             if the stream cannot be opened.
+		 */
+		public OutputStream openStream(int pageIndex) throws IOException;
+	}
+
+	private static class EncodeTask {
+		final int pageIndex;
+		final ImageData data;
+
+		EncodeTask(int pageIndex, ImageData data) {
+			this.pageIndex = pageIndex;
+			this.data = data;
+		}
+	}
+
+	// Marks the end of the queue for the encoder thread.
+	private static final EncodeTask END = new EncodeTask(-1, null);
+
+	private final StreamProvider streams;
+	private final int dpi;
+
+	private boolean backgroundEncoding = false;
+	private int queueSize = 2;
+
+	private Device device;
+	private Point imageSize;
+	private float scaleX;
+	private float scaleY;
+
+	private BlockingQueue<EncodeTask> queue;
+	private Thread encoder;
+	private volatile IOException encoderError;
+
+	/**
+	 * Constructs a page output which writes the page images to the given
+	 * streams.
+	 *
+	 * @param streams
+	 *            provides a stream for each page image.
+	 * @param dpi
+	 *            the resolution of the page images, in dots per inch.
+	 */
+	public ImagePageOutput(StreamProvider streams, int dpi) {
+		Util.notNull(streams);
+		if (dpi < 1)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Resolution must be at least 1 dpi"); //$NON-NLS-1$
+		this.streams = streams;
+		this.dpi = dpi;
+	}
+
+	/**
+	 * Constructs a page output which writes the page images as files to the
+	 * given directory. The files are named after the prefix and the one-based
+	 * page number, e.g. <code>page-1.png</code> for the prefix
+	 * <code>"page-"</code>.
+	 *
+	 * @param directory
+	 *            the directory to write the files to.
+	 * @param prefix
+	 *            the file name prefix.
+	 * @param dpi
+	 *            the resolution of the page images, in dots per inch.
+	 */
+	public ImagePageOutput(final File directory, final String prefix, int dpi) {
+		this(new StreamProvider() {
+			public OutputStream openStream(int pageIndex) throws IOException {
+				File file = new File(directory, prefix + (pageIndex + 1)
+						+ ".png"); //$NON-NLS-1$
+				return new BufferedOutputStream(new FileOutputStream(file));
+			}
+		}, dpi);
+		Util.notNull(directory, prefix);
+	}
+
+	/**
+	 * Returns the resolution of the page images, in dots per inch.
+	 *
+	 * @return the resolution of the page images, in dots per inch.
+	 */
+	public int getDPI() {
+		return dpi;
+	}
+
+	/**
+	 * Returns whether page images are encoded on a background thread.
+	 *
+	 * @return whether page images are encoded on a background thread.
+	 */
+	public boolean isBackgroundEncoding() {
+		return backgroundEncoding;
+	}
+
+	/**
+	 * Sets whether page images are encoded on a background thread. The
+	 * rendered pixels of up to {@link #getQueueSize()} pages wait for the
+	 * encoder, after which writing a page blocks until the encoder catches up.
+	 * Errors of the encoder are thrown from the next call to
+	 * {@link #writePage(int, PrintPiece)} or {@link #endDocument()}. Must be
+	 * set before the export starts.
+	 *
+	 * @param backgroundEncoding
+	 *            whether to encode page images on a background thread.
+	 */
+	public void setBackgroundEncoding(boolean backgroundEncoding) {
+		this.backgroundEncoding = backgroundEncoding;
+	}
+
+	/**
+	 * Returns the number of rendered pages that may wait for the background
+	 * encoder.
+	 *
+	 * @return the number of rendered pages that may wait for the background
+	 *         encoder.
+	 */
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	/**
+	 * Sets the number of rendered pages that may wait for the background
+	 * encoder. Must be set before the export starts.
+	 *
+	 * @param queueSize
+	 *            the number of rendered pages that may wait for the background
+	 *            encoder, at least 1.
+	 */
+	public void setQueueSize(int queueSize) {
+		if (queueSize < 1)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Queue size must be at least 1"); //$NON-NLS-1$
+		this.queueSize = queueSize;
+	}
+
+	public void startDocument(Device device, Point paperSize)
+			throws IOException {
+		Point deviceDpi = device.getDPI();
+		this.device = device;
+		this.scaleX = (float) dpi / deviceDpi.x;
+		this.scaleY = (float) dpi / deviceDpi.y;
+		this.imageSize = new Point(Math.max(1, Math.round(paperSize.x * scaleX)),
+				Math.max(1, Math.round(paperSize.y * scaleY)));
+		this.encoderError = null;
+
+		if (backgroundEncoding) {
+			final BlockingQueue<EncodeTask> tasks = new ArrayBlockingQueue<>(
+					queueSize);
+			queue = tasks;
+			encoder = new Thread(new Runnable() {
+				public void run() {
+					encodeQueue(tasks);
+				}
+			}, "PaperClips page encoder"); //$NON-NLS-1$
+			encoder.setDaemon(true);
+			encoder.start();
+		}
+	}
+
+	public void writePage(int pageIndex, PrintPiece page) throws IOException {
+		checkEncoder();
+		ImageData data = render(page);
+		if (encoder == null) {
+			encode(pageIndex, data);
+			return;
+		}
+		try {
+			queue.put(new EncodeTask(pageIndex, data));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing page " //$NON-NLS-1$
+					+ (pageIndex + 1), e);
+		}
+	}
+
+	public void endDocument() throws IOException {
+		Thread thread = encoder;
+		encoder = null;
+		if (thread != null) {
+			try {
+				// Drop the pages still waiting if the encoder failed.
+				if (encoderError != null)
+					queue.clear();
+				queue.put(END);
+				thread.join();
+			} catch (InterruptedException e) {
+				// Stop the encoder and wait until it no longer uses the queue.
+				// It ends at the END mark if it is not waiting to be
+				// interrupted, e.g. while it drains the queue after an error.
+				queue.clear();
+				queue.offer(END);
+				thread.interrupt();
+				joinUninterruptibly(thread);
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while encoding pages", e); //$NON-NLS-1$
+			} finally {
+				queue = null;
+			}
+		}
+		device = null;
+		checkEncoder();
+	}
+
+	private static void joinUninterruptibly(Thread thread) {
+		while (true) {
+			try {
+				thread.join();
+				return;
+			} catch (InterruptedException e) {
+				// The interrupt flag is restored by the caller
+			}
+		}
+	}
+
+	private void checkEncoder() throws IOException {
+		IOException error = encoderError;
+		if (error != null) {
+			encoderError = null;
+			throw new IOException(error.getMessage(), error);
+		}
+	}
+
+	private ImageData render(PrintPiece page) {
+		Image image = new Image(device, imageSize.x, imageSize.y);
+		GC gc = new GC(image);
+		Transform transform = null;
+		try {
+			gc.setAdvanced(true);
+			gc.setAntialias(SWT.ON);
+			gc.setTextAntialias(SWT.ON);
+			gc.setBackground(device.getSystemColor(SWT.COLOR_WHITE));
+			gc.fillRectangle(0, 0, imageSize.x, imageSize.y);
+			if (scaleX != 1 || scaleY != 1) {
+				transform = new Transform(device);
+				transform.scale(scaleX, scaleY);
+				gc.setTransform(transform);
+			}
+			page.paint(gc, 0, 0);
+			return image.getImageData();
+		} finally {
+			gc.dispose();
+			if (transform != null)
+				transform.dispose();
+			image.dispose();
+		}
+	}
+
+	private void encode(int pageIndex, ImageData data) throws IOException {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] { data };
+		OutputStream out = streams.openStream(pageIndex);
+		try {
+			loader.save(out, SWT.IMAGE_PNG);
+		} finally {
+			out.close();
+		}
+	}
+
+	private void encodeQueue(BlockingQueue<EncodeTask> tasks) {
+		try {
+			for (EncodeTask task = tasks.take(); task != END; task = tasks
+					.take()) {
+				if (encoderError == null)
+					encode(task.pageIndex, task.data);
+			}
+		} catch (InterruptedException e) {
+			encoderError = new IOException("Page encoder was interrupted", e); //$NON-NLS-1$
+		} catch (IOException e) {
+			encoderError = e;
+			drainQueue(tasks);
+		} catch (RuntimeException e) {
+			encoderError = new IOException(e.getMessage(), e);
+			drainQueue(tasks);
+		}
+	}
+
+	// Keeps taking pages after a failure, so the layout thread is not blocked
+	// until it notices the error.
+	private static void drainQueue(BlockingQueue<EncodeTask> tasks) {
+		try {
+			while (tasks.take() != END) {
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Base64;
+
+import org.eclipse.nebula.paperclips.core.border.internal.BorderPiece;
+import org.eclipse.nebula.paperclips.core.internal.util.ResourcePool;
+import org.eclipse.nebula.paperclips.core.internal.util.Util;
+import org.eclipse.nebula.paperclips.core.text.TextStyle;
+import org.eclipse.nebula.paperclips.core.text.internal.TextMeasureCache;
+import org.eclipse.nebula.paperclips.core.text.internal.TextPiece;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * A page output which writes a simple line-based page description, one record
+ * per line. Each page is written as soon as it is laid out, so documents of
+ * any length are written with the memory footprint of a single page.
+ * <p>
+ * Text is written as vector records. This includes text inside composite
+ * pieces, such as series, columns, grid cells and page decorations, and inside
+ * borders and backgrounds, whose decoration is embedded as an image. Any other
+ * content is embedded as PNG images, including the text inside scaled,
+ * rotated or split (big) prints, which the records cannot transform.
+ * Coordinates and sizes are in pixels of the layout device, whose resolution
+ * is given in the document record. The records are:
+ * <ul>
+ * <li><code>PaperClips-PageDescription 1</code> - the format header.
+ * <li><code>document <i>width height dpiX dpiY</i></code> - the paper size.
+ * <li><code>page <i>number</i></code> - starts a page, numbered from 1.
+ * <li><code>text <i>x y width ascent font height style foreground
+ * background decoration "text"</i></code> - a line of text at the given
+ * top-left position. The font style is a combination of the letters
+ * <code>b</code> and <code>i</code>, the colors are <code>#rrggbb</code>, the
+ * background may be <code>-</code> for transparent, and the decoration is a
+ * combination of the letters <code>u</code> (underline) and <code>s</code>
+ * (strikeout). Any of the letter sets is <code>-</code> when empty. The font
+ * name and text are quoted, with backslash escapes for <code>"</code>,
+ * <code>\</code> and line breaks.
+ * <li><code>image <i>x y width height base64</i></code> - a PNG image with an
+ * alpha channel, transparent where nothing was painted.
+ * <li><code>endpage</code> - ends the page.
+ * <li><code>end</code> - ends the document.
+ * </ul>
+ * The writer is not closed by this output.
+ *
+ * @see PaperClips#export(PrintJob, Device, Point, PageOutput)
+ */
+public class PageDescriptionOutput implements PageOutput {
+	private static final String HEADER = "PaperClips-PageDescription 1"; //$NON-NLS-1$
+	private static final String NEWLINE = "\n"; //$NON-NLS-1$
+
+	private final Writer out;
+
+	private Device device;
+	private ResourcePool resources;
+	private Image measureImage;
+	private GC gc;
+
+	/**
+	 * Constructs a page description output which writes to the given writer.
+	 *
+	 * @param out
+	 *            the writer.
+	 */
+	public PageDescriptionOutput(Writer out) {
+		Util.notNull(out);
+		this.out = out;
+	}
+
+	public void startDocument(Device device, Point paperSize)
+			throws IOException {
+		this.device = device;
+		this.resources = ResourcePool.forDevice(device);
+		this.measureImage = new Image(device, 1, 1);
+		this.gc = new GC(measureImage);
+
+		Point dpi = device.getDPI();
+		out.write(HEADER);
+		out.write(NEWLINE);
+		out.write("document " + paperSize.x + " " + paperSize.y + " " + dpi.x //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ " " + dpi.y); //$NON-NLS-1$
+		out.write(NEWLINE);
+	}
+
+	public void writePage(int pageIndex, PrintPiece page) throws IOException {
+		out.write("page " + (pageIndex + 1)); //$NON-NLS-1$
+		out.write(NEWLINE);
+		writePiece(page, 0, 0);
+		out.write("endpage"); //$NON-NLS-1$
+		out.write(NEWLINE);
+		out.flush();
+	}
+
+	public void endDocument() throws IOException {
+		if (gc != null) {
+			gc.dispose();
+			measureImage.dispose();
+			gc = null;
+			measureImage = null;
+			device = null;
+			resources = null;
+			out.write("end"); //$NON-NLS-1$
+			out.write(NEWLINE);
+			out.flush();
+		}
+	}
+
+	private void writePiece(PrintPiece piece, int x, int y) throws IOException {
+		if (piece instanceof CompositePiece) {
+			CompositeEntry[] entries = ((CompositePiece) piece).getEntries();
+			for (int i = 0; i < entries.length; i++) {
+				CompositeEntry entry = entries[i];
+				writePiece(entry.piece, x + entry.offset.x, y + entry.offset.y);
+			}
+		} else if (piece instanceof TextPiece) {
+			writeText((TextPiece) piece, x, y);
+		} else if (piece instanceof BorderPiece) {
+			final BorderPiece border = (BorderPiece) piece;
+			writeImage(new DecorationPiece(border.getSize()) {
+				public void paint(GC gc, int x, int y) {
+					border.paintBorder(gc, x, y);
+				}
+			}, x, y);
+			Point offset = border.getTargetOffset();
+			writePiece(border.getTarget(), x + offset.x, y + offset.y);
+		} else if (piece instanceof BackgroundPiece) {
+			final BackgroundPiece background = (BackgroundPiece) piece;
+			writeImage(new DecorationPiece(background.getSize()) {
+				public void paint(GC gc, int x, int y) {
+					background.paintBackground(gc, x, y);
+				}
+			}, x, y);
+			writePiece(background.getTarget(), x, y);
+		} else {
+			writeImage(piece, x, y);
+		}
+	}
+
+	/**
+	 * Paints the decoration of a wrapper piece without the wrapped piece.
+	 */
+	private static abstract class DecorationPiece implements PrintPiece {
+		private final Point size;
+
+		DecorationPiece(Point size) {
+			this.size = size;
+		}
+
+		public Point getSize() {
+			return new Point(size.x, size.y);
+		}
+
+		public void dispose() {
+		}
+	}
+
+	private void writeText(TextPiece piece, int x, int y) throws IOException {
+		TextStyle style = piece.getStyle();
+		Font font = resources.getFont(style.getFontData());
+		if (font == null)
+			font = device.getSystemFont();
+		gc.setFont(font);
+		FontMetrics fm = gc.getFontMetrics();
+		int lineHeight = fm.getHeight();
+		TextMeasureCache measures = TextMeasureCache.forFont(gc);
+		FontData fontData = font.getFontData()[0];
+
+		String attributes = " " + piece.getAscent() + " " //$NON-NLS-1$ //$NON-NLS-2$
+				+ quote(fontData.getName()) + " " + fontData.getHeight() + " " //$NON-NLS-1$ //$NON-NLS-2$
+				+ fontStyle(fontData.getStyle()) + " " //$NON-NLS-1$
+				+ color(style.getForeground(), "#000000") + " " //$NON-NLS-1$ //$NON-NLS-2$
+				+ color(style.getBackground(), "-") + " " //$NON-NLS-1$ //$NON-NLS-2$
+				+ decoration(style) + " "; //$NON-NLS-1$
+
+		int width = piece.getSize().x;
+		int align = style.getAlignment();
+		String[] lines = piece.getLines();
+		for (int i = 0; i < lines.length; i++) {
+			int lineWidth = measures.getWidth(gc, lines[i]);
+			int offset = 0;
+			if (align == SWT.CENTER)
+				offset = (width - lineWidth) / 2;
+			else if (align == SWT.RIGHT)
+				offset = width - lineWidth;
+			out.write("text " + (x + offset) + " " + (y + lineHeight * i) + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ lineWidth + attributes + quote(lines[i]));
+			out.write(NEWLINE);
+		}
+	}
+
+	private void writeImage(PrintPiece piece, int x, int y) throws IOException {
+		Point size = piece.getSize();
+		if (size.x <= 0 || size.y <= 0)
+			return;
+
+		// The difference of the piece painted on white and on black gives the
+		// alpha of each pixel, so painted white stays white.
+		ImageData data = extractAlpha(render(piece, size, SWT.COLOR_WHITE),
+				render(piece, size, SWT.COLOR_BLACK));
+		if (data == null)
+			return;
+
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] { data };
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		loader.save(bytes, SWT.IMAGE_PNG);
+		out.write("image " + x + " " + y + " " + size.x + " " + size.y + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+				+ Base64.getEncoder().encodeToString(bytes.toByteArray()));
+		out.write(NEWLINE);
+	}
+
+	private ImageData render(PrintPiece piece, Point size, int background) {
+		Image image = new Image(device, size.x, size.y);
+		GC imageGC = new GC(image);
+		try {
+			imageGC.setBackground(device.getSystemColor(background));
+			imageGC.fillRectangle(0, 0, size.x, size.y);
+			piece.paint(imageGC, 0, 0);
+			return image.getImageData();
+		} finally {
+			imageGC.dispose();
+			image.dispose();
+		}
+	}
+
+	/**
+	 * Returns the pixels of a piece with their alpha, from the piece painted
+	 * on white and on black, or null if the piece painted nothing. Pieces
+	 * such as empty prints and cell padding paint nothing.
+	 */
+	private static ImageData extractAlpha(ImageData onWhite, ImageData onBlack) {
+		int width = onWhite.width;
+		int height = onWhite.height;
+		ImageData result = new ImageData(width, height, 24,
+				new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		result.alphaData = new byte[width * height];
+
+		int[] white = new int[width];
+		int[] black = new int[width];
+		int[] pixels = new int[width];
+		boolean blank = true;
+		for (int y = 0; y < height; y++) {
+			onWhite.getPixels(0, y, width, white, 0);
+			onBlack.getPixels(0, y, width, black, 0);
+			for (int x = 0; x < width; x++) {
+				int w = rgb(onWhite.palette, white[x]);
+				int b = rgb(onBlack.palette, black[x]);
+				// A channel changes with the background by 255 - alpha
+				int alpha = 0;
+				for (int shift = 0; shift < 24; shift += 8) {
+					int difference = ((w >> shift) & 0xFF)
+							- ((b >> shift) & 0xFF);
+					alpha = Math.max(alpha, 255 - Math.max(0, difference));
+				}
+				int pixel = 0;
+				if (alpha > 0) {
+					blank = false;
+					// On black, a channel is its color times alpha
+					for (int shift = 0; shift < 24; shift += 8) {
+						int color = (((b >> shift) & 0xFF) * 255 + alpha / 2)
+								/ alpha;
+						pixel |= Math.min(255, color) << shift;
+					}
+				}
+				pixels[x] = pixel;
+				result.alphaData[y * width + x] = (byte) alpha;
+			}
+			result.setPixels(0, y, width, pixels, 0);
+		}
+		return blank ? null : result;
+	}
+
+	private static int rgb(PaletteData palette, int pixel) {
+		if (!palette.isDirect) {
+			RGB rgb = palette.getRGB(pixel);
+			return rgb.red << 16 | rgb.green << 8 | rgb.blue;
+		}
+		return shift(pixel & palette.redMask, palette.redShift) << 16
+				| shift(pixel & palette.greenMask, palette.greenShift) << 8
+				| shift(pixel & palette.blueMask, palette.blueShift);
+	}
+
+	private static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+
+	private static String fontStyle(int style) {
+		String result = ""; //$NON-NLS-1$
+		if ((style & SWT.BOLD) != 0)
+			result += "b"; //$NON-NLS-1$
+		if ((style & SWT.ITALIC) != 0)
+			result += "i"; //$NON-NLS-1$
+		return result.isEmpty() ? "-" : result; //$NON-NLS-1$
+	}
+
+	private static String decoration(TextStyle style) {
+		String result = ""; //$NON-NLS-1$
+		if (style.getUnderline())
+			result += "u"; //$NON-NLS-1$
+		if (style.getStrikeout())
+			result += "s"; //$NON-NLS-1$
+		return result.isEmpty() ? "-" : result; //$NON-NLS-1$
+	}
+
+	private static String color(RGB rgb, String defaultValue) {
+		if (rgb == null)
+			return defaultValue;
+		return String.format("#%02x%02x%02x", //$NON-NLS-1$
+				Integer.valueOf(rgb.red), Integer.valueOf(rgb.green),
+				Integer.valueOf(rgb.blue));
+	}
+
+	private static String quote(String text) {
+		StringBuilder result = new StringBuilder(text.length() + 2);
+		result.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\')
+				result.append('\\').append(c);
+			else if (c == '\n')
+				result.append("\\n"); //$NON-NLS-1$
+			else if (c == '\r')
+				result.append("\\r"); //$NON-NLS-1$
+			else
+				result.append(c);
+		}
+		return result.append('"').toString();
+	}
+}
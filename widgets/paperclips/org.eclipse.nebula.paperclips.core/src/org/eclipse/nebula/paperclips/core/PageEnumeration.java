@@ -13,6 +13,7 @@
  */
 package org.eclipse.nebula.paperclips.core;
 
+import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
@@ -38,6 +39,7 @@ public class PageEnumeration {
 	private Rectangle paperBounds;
 
 	private boolean hasNext;
+	private int pageCount = 0;
 
 	PageEnumeration(PrintJob job, Printer printer, GC gc) {
 		// Rotate the document (and margins with it) depending on print job
@@ -45,10 +47,26 @@ public class PageEnumeration {
 		job = applyOrientation(job, printer);
 		Margins margins = job.getMargins();
 
-		marginBounds = PaperClips.getMarginBounds(margins, printer);
-		paperBounds = PaperClips.getPaperBounds(printer);
+		init(job, printer, gc, PaperClips.getPaperBounds(printer),
+				PaperClips.getMarginBounds(margins, printer));
+	}
+
+	/**
+	 * Constructs an enumeration which lays out pages on a device other than a
+	 * printer, using the given paper and margin bounds in device pixels. The
+	 * print job orientation is not applied.
+	 */
+	PageEnumeration(PrintJob job, Device device, GC gc, Rectangle paperBounds,
+			Rectangle marginBounds) {
+		init(job, device, gc, paperBounds, marginBounds);
+	}
 
-		document = job.getDocument().iterator(printer, gc);
+	private void init(PrintJob job, Device device, GC gc,
+			Rectangle paperBounds, Rectangle marginBounds) {
+		this.marginBounds = marginBounds;
+		this.paperBounds = paperBounds;
+
+		document = job.getDocument().iterator(device, gc);
 		hasNext = document.hasNext();
 	}
 
@@ -70,18 +88,47 @@ public class PageEnumeration {
 		if (!hasNext)
 			return null;
 
+		final boolean debug = PaperClips.debug;
+		long start = debug ? System.nanoTime() : 0;
 		PrintPiece page = PaperClips.next(document, marginBounds.width,
 				marginBounds.height);
+		pageCount++;
+		if (debug)
+			System.out.println("PaperClips layout: page " + pageCount //$NON-NLS-1$
+					+ " laid out in " + (System.nanoTime() - start) / 1000000 //$NON-NLS-1$
+					+ " ms"); //$NON-NLS-1$
 		hasNext = notNull(page) && notDebugPiece(page) && document.hasNext();
 		PrintPiece result = page == null ? null : createPagePiece(page);
-		if (!hasNext) {
+		if (!hasNext)
 			document = null;
-			marginBounds = null;
-			paperBounds = null;
-		}
 		return result;
 	}
 
+	/**
+	 * Returns the size of the pages in device pixels.
+	 */
+	Point getPaperSize() {
+		return new Point(paperBounds.width, paperBounds.height);
+	}
+
+	/**
+	 * Returns a copy of the layout state before the next page, or null if no
+	 * pages remain.
+	 */
+	PrintIterator checkpoint() {
+		return hasNext ? document.copy() : null;
+	}
+
+	/**
+	 * Lays out the page that follows the given checkpoint again. The
+	 * checkpoint itself is not modified and can be used repeatedly.
+	 */
+	PrintPiece nextPage(PrintIterator checkpoint) {
+		PrintPiece page = PaperClips.next(checkpoint.copy(),
+				marginBounds.width, marginBounds.height);
+		return page == null ? null : createPagePiece(page);
+	}
+
 	private PrintPiece createPagePiece(PrintPiece page) {
 		Point offset = new Point(marginBounds.x - paperBounds.x, marginBounds.y
 				- paperBounds.y);
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.IOException;
+
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * A backend that receives the pages of a print job as they are laid out, for
+ * output other than a printer.
+ *
+ * @see PaperClips#export(PrintJob, Device, Point, PageOutput)
+ * @see ImagePageOutput
+ * @see PageDescriptionOutput
+ */
+public interface PageOutput {
+	/**
+	 * Called before the first page.
+	 *
+	 * @param device
+	 *            the device that the pages are laid out on.
+	 * @param paperSize
+	 *            the size of the paper in device pixels.
+	 * @throws IOException
+	 *             if the output fails.
+	 */
+	public void startDocument(Device device, Point paperSize)
+			throws IOException;
+
+	/**
+	 * Called for each page, in order, on the thread that lays out the pages.
+	 * The page is disposed after this method returns, so it must not be kept.
+	 *
+	 * @param pageIndex
+	 *            the zero-based index of the page.
+	 * @param page
+	 *            the page, with margins applied. It should be painted at 0, 0.
+	 * @throws IOException
+	 *             if the output fails.
+	 */
+	public void writePage(int pageIndex, PrintPiece page) throws IOException;
+
+	/**
+	 * Called after the last page, also if the export failed. Releases the
+	 * resources of this output.
+	 *
+	 * @throws IOException
+	 *             if the output fails.
+	 */
+	public void endDocument() throws IOException;
+}
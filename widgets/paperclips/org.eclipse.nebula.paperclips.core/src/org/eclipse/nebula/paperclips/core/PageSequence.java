@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.printing.Printer;
+
+/**
+ * The pages of a print job on a printer device, laid out on demand and with
+ * random access. The pages are the same as those of a {@link PageEnumeration},
+ * so the page orientation and page margins have already been applied.
+ * <p>
+ * Only a limited number of pages is kept in memory. Before a page is laid out,
+ * the sequence keeps a copy of the layout state at the start of the page (a
+ * checkpoint). When more pages are retained than the limit allows, the least
+ * recently used pages are disposed and released, and laid out again from their
+ * checkpoint when they are requested the next time. This gives random access
+ * to all pages of a large document at a bounded memory footprint.
+ * <p>
+ * The printer device and GC must not be disposed while the sequence is in use,
+ * as they are needed to lay out pages again.
+ *
+ * @see PaperClips#getPageSequence(PrintJob, Printer, GC, int)
+ * @see PaperClips#getPageSequence(PrintJob, Device, GC, Point, int)
+ */
+public class PageSequence {
+	/**
+	 * Retained page limit which keeps all pages in memory. No checkpoints are
+	 * kept with this limit.
+	 */
+	public static final int RETAIN_ALL = Integer.MAX_VALUE;
+
+	private final PageEnumeration enumeration;
+	private final List<PrintIterator> checkpoints = new ArrayList<>();
+	private final List<PrintPiece> pages = new ArrayList<>();
+	// Indices of the pages in memory, least recently used first.
+	private final Set<Integer> retained = new LinkedHashSet<>();
+	private int retainedPageLimit;
+
+	PageSequence(PrintJob job, Printer printer, GC gc, int retainedPageLimit) {
+		this(new PageEnumeration(job, printer, gc), retainedPageLimit);
+	}
+
+	PageSequence(PageEnumeration enumeration, int retainedPageLimit) {
+		this.enumeration = enumeration;
+		this.retainedPageLimit = checkLimit(retainedPageLimit);
+	}
+
+	private static int checkLimit(int retainedPageLimit) {
+		if (retainedPageLimit < 1)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Retained page limit must be at least 1"); //$NON-NLS-1$
+		return retainedPageLimit;
+	}
+
+	/**
+	 * Returns the maximum number of pages kept in memory.
+	 *
+	 * @return the maximum number of pages kept in memory.
+	 */
+	public int getRetainedPageLimit() {
+		return retainedPageLimit;
+	}
+
+	/**
+	 * Sets the maximum number of pages kept in memory. Pages that were laid
+	 * out while the limit was {@link #RETAIN_ALL} have no checkpoint and are
+	 * never released.
+	 *
+	 * @param retainedPageLimit
+	 *            the maximum number of pages kept in memory, at least 1.
+	 */
+	public void setRetainedPageLimit(int retainedPageLimit) {
+		this.retainedPageLimit = checkLimit(retainedPageLimit);
+		releasePages();
+	}
+
+	/**
+	 * Returns the number of pages laid out so far. This is the total page count
+	 * once {@link #isComplete()} returns true.
+	 *
+	 * @return the number of pages laid out so far.
+	 */
+	public int getPageCount() {
+		return pages.size();
+	}
+
+	/**
+	 * Returns whether all pages have been laid out.
+	 *
+	 * @return whether all pages have been laid out.
+	 */
+	public boolean isComplete() {
+		return !enumeration.hasNext();
+	}
+
+	/**
+	 * Lays out pages until the given number of pages is known, or until all
+	 * pages are laid out.
+	 *
+	 * @param count
+	 *            the number of pages to lay out.
+	 */
+	public void fetchPages(int count) {
+		while (pages.size() < count && enumeration.hasNext()) {
+			PrintIterator checkpoint = retainedPageLimit == RETAIN_ALL ? null
+					: enumeration.checkpoint();
+			PrintPiece page = enumeration.nextPage();
+			if (page != null) {
+				checkpoints.add(checkpoint);
+				pages.add(page);
+				retain(pages.size() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Returns the page at the given index, laying out pages as needed. The
+	 * returned page belongs to this sequence, it can be disposed but it must
+	 * not be kept after more than {@link #getRetainedPageLimit()} other pages
+	 * have been requested.
+	 *
+	 * @param index
+	 *            the zero-based page index.
+	 * @return the page at the given index.
+	 * @throws IndexOutOfBoundsException
+	 *             if the document has no page at the given index.
+	 */
+	public PrintPiece getPage(int index) {
+		fetchPages(index + 1);
+		if (index < 0 || index >= pages.size())
+			throw new IndexOutOfBoundsException("Page index " + index //$NON-NLS-1$
+					+ ", page count " + pages.size()); //$NON-NLS-1$
+
+		PrintPiece page = pages.get(index);
+		if (page == null) {
+			page = enumeration.nextPage(checkpoints.get(index));
+			if (page == null)
+				PaperClips.error("Unable to layout page " + (index + 1)); //$NON-NLS-1$
+			pages.set(index, page);
+		}
+		retain(index);
+		return page;
+	}
+
+	private void retain(int index) {
+		Integer key = Integer.valueOf(index);
+		retained.remove(key);
+		retained.add(key);
+		releasePages();
+	}
+
+	private void releasePages() {
+		Iterator<Integer> it = retained.iterator();
+		while (retained.size() > retainedPageLimit && it.hasNext()) {
+			int index = it.next().intValue();
+			if (checkpoints.get(index) == null)
+				continue;
+			pages.set(index, null).dispose();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Disposes the pages in memory and releases all checkpoints. The sequence
+	 * must not be used afterwards.
+	 */
+	public void dispose() {
+		for (int i = 0; i < pages.size(); i++) {
+			PrintPiece page = pages.get(i);
+			if (page != null)
+				page.dispose();
+		}
+		pages.clear();
+		checkpoints.clear();
+		retained.clear();
+	}
+}
@@ -13,13 +13,16 @@
  */
 package org.eclipse.nebula.paperclips.core;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.nebula.paperclips.core.internal.util.PaperClipsUtil;
 import org.eclipse.nebula.paperclips.core.internal.util.Util;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.printing.Printer;
@@ -328,6 +331,10 @@ public class PaperClips {
 	 * not offset by the trim. This behavior is helpful for screen display, and
 	 * is already compensated for in the {@link #print(PrintJob, Printer)}
 	 * method.
+	 * <p>
+	 * All pages are laid out and kept in memory. For large documents,
+	 * {@link #getPageSequence(PrintJob, Printer, GC, int)} lays out pages on
+	 * demand and keeps only a limited number of them in memory.
 	 * 
 	 * @param printer
 	 *            the printing device.
@@ -446,6 +453,141 @@ public class PaperClips {
 		return new PageEnumeration(printJob, printer, gc);
 	}
 
+	/**
+	 * Returns a {@link PageSequence} for the passed in PrintJob on the given
+	 * Printer, using the given GC. The sequence lays out pages on demand and
+	 * keeps at most the given number of pages in memory, pages that were
+	 * released are laid out again when needed. The Printer and GC must not be
+	 * disposed while the sequence is in use.
+	 * 
+	 * @param printJob
+	 *            the print job
+	 * @param printer
+	 *            the Printer device, which must not be disposed while the
+	 *            PageSequence is in use.
+	 * @param gc
+	 *            the GC, which must not be disposed while the PageSequence is
+	 *            in use.
+	 * @param retainedPageLimit
+	 *            the maximum number of pages kept in memory, or
+	 *            {@link PageSequence#RETAIN_ALL}.
+	 * @return a {@link PageSequence} for the passed in PrintJob.
+	 */
+	public static PageSequence getPageSequence(PrintJob printJob,
+			Printer printer, GC gc, int retainedPageLimit) {
+		return new PageSequence(printJob, printer, gc, retainedPageLimit);
+	}
+
+	/**
+	 * Returns a {@link PageSequence} for the passed in PrintJob laid out on
+	 * the given device, usually the Display. The pages have the given paper
+	 * size and the margins of the print job, as with
+	 * {@link #export(PrintJob, Device, Point, PageOutput)}. The GC must not be
+	 * disposed while the sequence is in use.
+	 * 
+	 * @param printJob
+	 *            the print job
+	 * @param device
+	 *            the device to lay out the pages on.
+	 * @param gc
+	 *            a GC on the device, which must not be disposed while the
+	 *            PageSequence is in use.
+	 * @param paperSize
+	 *            the paper size in points (1/72 inch).
+	 * @param retainedPageLimit
+	 *            the maximum number of pages kept in memory, or
+	 *            {@link PageSequence#RETAIN_ALL}.
+	 * @return a {@link PageSequence} for the passed in PrintJob.
+	 */
+	public static PageSequence getPageSequence(PrintJob printJob,
+			Device device, GC gc, Point paperSize, int retainedPageLimit) {
+		Util.notNull(printJob, device, gc);
+		Util.notNull(paperSize);
+		return new PageSequence(
+				createPageEnumeration(printJob, device, gc, paperSize),
+				retainedPageLimit);
+	}
+
+	private static PageEnumeration createPageEnumeration(PrintJob printJob,
+			Device device, GC gc, Point paperSize) {
+		Point dpi = device.getDPI();
+		int width = paperSize.x * dpi.x / 72;
+		int height = paperSize.y * dpi.y / 72;
+		int orientation = printJob.getOrientation();
+		if ((orientation == ORIENTATION_LANDSCAPE && width < height)
+				|| (orientation == ORIENTATION_PORTRAIT && height < width)) {
+			width = paperSize.y * dpi.x / 72;
+			height = paperSize.x * dpi.y / 72;
+		}
+
+		Margins margins = printJob.getMargins();
+		int left = margins.left * dpi.x / 72;
+		int top = margins.top * dpi.y / 72;
+		Rectangle paperBounds = new Rectangle(0, 0, width, height);
+		Rectangle marginBounds = new Rectangle(left, top,
+				width - left - margins.right * dpi.x / 72,
+				height - top - margins.bottom * dpi.y / 72);
+		return new PageEnumeration(printJob, device, gc, paperBounds,
+				marginBounds);
+	}
+
+	/**
+	 * Lays out the print job on the given device, and passes each page to the
+	 * output as soon as it is laid out. No printer is needed, the device is
+	 * usually the Display. The pages have the given paper size and the margins
+	 * of the print job, and are not limited by the minimum margins of any
+	 * printer. Width and height of the paper are swapped if the orientation of
+	 * the print job requires it.
+	 * 
+	 * @param printJob
+	 *            the print job.
+	 * @param device
+	 *            the device to lay out the pages on.
+	 * @param paperSize
+	 *            the paper size in points (1/72 inch), e.g. 612 x 792 for US
+	 *            Letter.
+	 * @param output
+	 *            the output to pass the pages to.
+	 * @throws IOException
+	 *             if the output fails.
+	 */
+	public static void export(PrintJob printJob, Device device,
+			Point paperSize, PageOutput output) throws IOException {
+		Util.notNull(printJob, device, output);
+		Util.notNull(paperSize);
+
+		// Measurements need a GC, an image keeps it off the screen
+		Image image = new Image(device, 1, 1);
+		GC gc = new GC(image);
+		try {
+			gc.setAdvanced(true);
+			PageEnumeration pages = createPageEnumeration(printJob, device, gc,
+					paperSize);
+			output.startDocument(device, pages.getPaperSize());
+			for (int pageIndex = 0; pages.hasNext(); pageIndex++) {
+				PrintPiece page = pages.nextPage();
+				if (page == null)
+					error("Unable to layout page " + (pageIndex + 1)); //$NON-NLS-1$
+				try {
+					output.writePage(pageIndex, page);
+				} finally {
+					page.dispose();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			try {
+				output.endDocument();
+			} catch (IOException | RuntimeException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		} finally {
+			gc.dispose();
+			image.dispose();
+		}
+		output.endDocument();
+	}
+
 	/**
 	 * Returns the bounding rectangle of the paper, including non-printable
 	 * margins.
@@ -50,10 +50,43 @@ public class BorderPiece implements PrintPiece {
 	}
 
 	public void paint(GC gc, int x, int y) {
-		border.paint(gc, x, y, size.x, size.y, topOpen, bottomOpen);
+		paintBorder(gc, x, y);
 		target.paint(gc, x + border.getLeft(), y + border.getTop(topOpen));
 	}
 
+	/**
+	 * Paints the border without the piece inside it.
+	 *
+	 * @param gc
+	 *            the graphics context.
+	 * @param x
+	 *            the x coordinate of the top left corner of this piece.
+	 * @param y
+	 *            the y coordinate of the top left corner of this piece.
+	 */
+	public void paintBorder(GC gc, int x, int y) {
+		border.paint(gc, x, y, size.x, size.y, topOpen, bottomOpen);
+	}
+
+	/**
+	 * Returns the piece inside the border.
+	 *
+	 * @return the piece inside the border.
+	 */
+	public PrintPiece getTarget() {
+		return target;
+	}
+
+	/**
+	 * Returns the offset of the piece inside the border from the top left
+	 * corner of this piece.
+	 *
+	 * @return the offset of the piece inside the border.
+	 */
+	public Point getTargetOffset() {
+		return new Point(border.getLeft(), border.getTop(topOpen));
+	}
+
 	public void dispose() {
 		border.dispose();
 		target.dispose();
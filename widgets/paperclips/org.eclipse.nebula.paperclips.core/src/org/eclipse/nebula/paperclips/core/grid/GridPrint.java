@@ -129,6 +129,9 @@ public final class GridPrint implements Print {
 
 	boolean cellClippingEnabled = true;
 
+	/** Number of body rows sampled for column sizes, 0 for all rows. */
+	int columnSizeSampling = 0;
+
 	/**
 	 * Two-dimension list of all footer cells. Each element of this list
 	 * represents a row in the footer. Each element of a row represents a
@@ -217,6 +220,7 @@ public final class GridPrint implements Print {
 		result = prime * result + ((body == null) ? 0 : body.hashCode());
 		result = prime * result + bodyCol;
 		result = prime * result + (cellClippingEnabled ? 1231 : 1237);
+		result = prime * result + columnSizeSampling;
 		result = prime * result + GridPrint.hashCode(columnGroups);
 		result = prime * result + ((columns == null) ? 0 : columns.hashCode());
 		result = prime * result + ((footer == null) ? 0 : footer.hashCode());
@@ -268,6 +272,8 @@ public final class GridPrint implements Print {
 			return false;
 		if (cellClippingEnabled != other.cellClippingEnabled)
 			return false;
+		if (columnSizeSampling != other.columnSizeSampling)
+			return false;
 		if (!Util.equal(columnGroups, other.columnGroups))
 			return false;
 		if (columns == null) {
@@ -786,6 +792,41 @@ public final class GridPrint implements Print {
 		this.cellClippingEnabled = cellClippingEnabled;
 	}
 
+	/**
+	 * Returns the number of body rows that are measured to compute the column
+	 * sizes, or 0 if all body rows are measured. Defaults to 0.
+	 *
+	 * @return the number of body rows that are measured to compute the column
+	 *         sizes, or 0 if all body rows are measured.
+	 */
+	public int getColumnSizeSampling() {
+		return columnSizeSampling;
+	}
+
+	/**
+	 * Sets the number of body rows that are measured to compute the column
+	 * sizes. If the grid has more body rows, the rows measured are spread
+	 * evenly over the body. Header and footer rows are always measured.
+	 * <p>
+	 * Sampling speeds up the layout of grids with many rows of similar
+	 * content. Cells in rows that were not measured may be wider than their
+	 * column, in which case their content is wrapped or cut off. The minimum
+	 * and preferred heights of the grid, which include the tallest body row,
+	 * are computed from the measured rows as well, so they are approximate
+	 * too: a taller row that was not measured is only found when the grid is
+	 * laid out on a page.
+	 *
+	 * @param rows
+	 *            the number of body rows to measure, or 0 to measure all body
+	 *            rows.
+	 */
+	public void setColumnSizeSampling(int rows) {
+		if (rows < 0)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Column size sampling must not be negative"); //$NON-NLS-1$
+		this.columnSizeSampling = rows;
+	}
+
 	/**
 	 * Adds the Print to the grid footer, with the default alignment and a
 	 * colspan of 1.
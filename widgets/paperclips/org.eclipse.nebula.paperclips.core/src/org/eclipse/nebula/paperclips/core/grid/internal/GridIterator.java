@@ -47,7 +47,7 @@ public class GridIterator implements PrintIterator {
 	final GridLookPainter look;
 
 	final GridCellIterator[][] header;
-	final GridCellIterator[][] body;
+	final GridCellIterator[][] body; // never modified, shared by copies
 	final GridCellIterator[][] footer;
 
 	final boolean cellClippingEnabled;
@@ -65,12 +65,18 @@ public class GridIterator implements PrintIterator {
 	// current row.
 	private boolean rowStarted;
 
+	// The remaining cells of the current row if it is split across pages,
+	// otherwise null.
+	private GridCellIterator[] rowRemainder;
+
 	/**
 	 * @param grid
 	 * @param device
 	 * @param gc
 	 */
 	public GridIterator(GridPrint grid, Device device, GC gc) {
+		final boolean debug = PaperClips.getDebug();
+		long start = debug ? System.nanoTime() : 0;
 		this.device = device;
 		this.dpi = device.getDPI();
 		this.columns = new GridColumn[grid.getColumns().length];
@@ -88,17 +94,106 @@ public class GridIterator implements PrintIterator {
 
 		this.look = grid.getLook().getPainter(device, gc);
 
-		this.minimumColSizes = computeColumnSizes(PrintSizeStrategy.MINIMUM);
-		this.preferredColSizes = computeColumnSizes(
+		long measureStart = debug ? System.nanoTime() : 0;
+		CellSizes sizes = new CellSizes(
+				sampleRows(body, grid.getColumnSizeSampling()), header,
+				footer);
+
+		long sizeStart = debug ? System.nanoTime() : 0;
+		this.minimumColSizes = computeColumnSizes(sizes,
+				PrintSizeStrategy.MINIMUM);
+		this.preferredColSizes = computeColumnSizes(sizes,
 				PrintSizeStrategy.PREFERRED);
 
-		this.minimumSize = computeSize(PrintSizeStrategy.MINIMUM,
+		this.minimumSize = computeSize(sizes, PrintSizeStrategy.MINIMUM,
 				minimumColSizes);
-		this.preferredSize = computeSize(PrintSizeStrategy.PREFERRED,
+		this.preferredSize = computeSize(sizes, PrintSizeStrategy.PREFERRED,
 				preferredColSizes);
 
 		row = 0;
 		rowStarted = false;
+
+		if (debug) {
+			long end = System.nanoTime();
+			System.out.println("GridPrint layout: " + body.length //$NON-NLS-1$
+					+ " body rows, " + sizes.bodyRowCount //$NON-NLS-1$
+					+ " measured, cells created in " //$NON-NLS-1$
+					+ millis(start, measureStart) + " ms, measured in " //$NON-NLS-1$
+					+ millis(measureStart, sizeStart)
+					+ " ms, columns sized in " + millis(sizeStart, end) //$NON-NLS-1$
+					+ " ms"); //$NON-NLS-1$
+		}
+	}
+
+	private static long millis(long startNanos, long endNanos) {
+		return (endNanos - startNanos) / 1000000;
+	}
+
+	/**
+	 * Returns the given number of rows, spread evenly over the rows, or all
+	 * rows if sampleSize is 0 or not less than the row count.
+	 */
+	private static GridCellIterator[][] sampleRows(GridCellIterator[][] rows,
+			int sampleSize) {
+		if (sampleSize <= 0 || sampleSize >= rows.length)
+			return rows;
+		GridCellIterator[][] result = new GridCellIterator[sampleSize][];
+		for (int i = 0; i < sampleSize; i++)
+			result[i] = rows[(int) ((long) i * rows.length / sampleSize)];
+		return result;
+	}
+
+	/**
+	 * The minimum and preferred sizes of the cells that the column sizes are
+	 * computed from: the (sampled) body rows, then the header rows and then
+	 * the footer rows. Each cell is measured once for all computations. Only
+	 * the results are kept by the iterator, so copies share them.
+	 */
+	private static class CellSizes {
+		final GridCellIterator[][] rows;
+		final int bodyRowCount;
+		final int headerRowCount;
+		final Point[][] minimum;
+		final Point[][] preferred;
+
+		CellSizes(GridCellIterator[][] body, GridCellIterator[][] header,
+				GridCellIterator[][] footer) {
+			this.bodyRowCount = body.length;
+			this.headerRowCount = header.length;
+			this.rows = new GridCellIterator[body.length + header.length
+					+ footer.length][];
+			System.arraycopy(body, 0, rows, 0, body.length);
+			System.arraycopy(header, 0, rows, body.length, header.length);
+			System.arraycopy(footer, 0, rows, body.length + header.length,
+					footer.length);
+
+			this.minimum = new Point[rows.length][];
+			this.preferred = new Point[rows.length][];
+			for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
+				GridCellIterator[] row = rows[rowIndex];
+				minimum[rowIndex] = new Point[row.length];
+				preferred[rowIndex] = new Point[row.length];
+				for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
+					PrintIterator target = row[cellIndex].getTarget();
+					minimum[rowIndex][cellIndex] = target.minimumSize();
+					preferred[rowIndex][cellIndex] = target.preferredSize();
+				}
+			}
+		}
+
+		Point get(PrintSizeStrategy strategy, int rowIndex, int cellIndex) {
+			return strategy == PrintSizeStrategy.MINIMUM
+					? minimum[rowIndex][cellIndex]
+					: preferred[rowIndex][cellIndex];
+		}
+
+		int headerRow(int headerRowIndex) {
+			return bodyRowCount + headerRowIndex;
+		}
+
+		int footerRow(int footerRowIndex) {
+			return bodyRowCount + headerRowCount + footerRowIndex;
+		}
 	}
 
 	private static GridCellIterator[][] createGridCellIterators(
@@ -129,8 +224,7 @@ public class GridIterator implements PrintIterator {
 
 		this.header = that.header; // never directly modified, clone not
 		// necessary
-		this.body = cloneRows(that.body, that.row); // Only need to deep copy
-		// the unconsumed rows.
+		this.body = that.body;
 		this.footer = that.footer; // never directly modified, clone not
 		// necessary
 
@@ -146,30 +240,22 @@ public class GridIterator implements PrintIterator {
 
 		this.row = that.row;
 		this.rowStarted = that.rowStarted;
-	}
-
-	private static GridCellIterator[][] cloneRows(GridCellIterator[][] rows,
-			int firstRow) {
-		GridCellIterator[][] result = rows.clone();
-		// Cloning the outer array is all that's necessary. The inner arrays
-		// (rows) are cloned every time a row
-		// is laid out, so all we have to do is make sure different
-		// GridIterators have distinct outer arrays.
-		// for ( int i = firstRow; i < result.length; i++ )
-		// result[i] = cloneRow( result[i] );
-		return result;
+		// Rows are cloned every time they are laid out, so the remainder can
+		// be shared. Copies are constant in time and memory this way, which
+		// keeps page checkpoints cheap.
+		this.rowRemainder = that.rowRemainder;
 	}
 
 	/**
 	 * Compute the size of a column, respecting the constraints of the
 	 * GridColumn.
 	 */
-	private int computeCellWidth(GridCellIterator entry, GridColumn col,
-			PrintSizeStrategy strategy) {
+	private int computeCellWidth(CellSizes sizes, int rowIndex,
+			int cellIndex, GridColumn col, PrintSizeStrategy strategy) {
 		if (col.size == SWT.DEFAULT)
-			return strategy.computeSize(entry.getTarget()).x;
+			return sizes.get(strategy, rowIndex, cellIndex).x;
 		if (col.size == GridPrint.PREFERRED)
-			return entry.getTarget().preferredSize().x;
+			return sizes.preferred[rowIndex][cellIndex].x;
 		return Math.round(col.size * device.getDPI().x / 72f);
 	}
 
@@ -209,17 +295,17 @@ public class GridIterator implements PrintIterator {
 		return false;
 	}
 
-	private int[] computeColumnSizes(PrintSizeStrategy strategy) {
+	private int[] computeColumnSizes(CellSizes sizes,
+			PrintSizeStrategy strategy) {
 		final int[] result = new int[columns.length];
-		final GridCellIterator[][] rows = aggregateHeaderBodyAndFooterCells();
 
 		calculateExplicitlySizedColumnWidths(result);
 
-		calculateColumnWidthsForCellsSpanningOneColumn(result, rows, strategy);
+		calculateColumnWidthsForCellsSpanningOneColumn(result, sizes, strategy);
 
 		applyColumnGrouping(result);
 
-		calculateColumnWidthsForCellsSpanningMultipleColumns(result, rows,
+		calculateColumnWidthsForCellsSpanningMultipleColumns(result, sizes,
 				strategy);
 
 		applyColumnGrouping(result);
@@ -227,30 +313,13 @@ public class GridIterator implements PrintIterator {
 		return result;
 	}
 
-	private GridCellIterator[][] aggregateHeaderBodyAndFooterCells() {
-		GridCellIterator[][] rows = new GridCellIterator[body.length
-				+ header.length + footer.length][];
-
-		int offset = 0;
-
-		System.arraycopy(body, 0, rows, offset, body.length);
-		offset += body.length;
-
-		System.arraycopy(header, 0, rows, offset, header.length);
-		offset += header.length;
-
-		System.arraycopy(footer, 0, rows, offset, footer.length);
-
-		return rows;
-	}
-
 	private void calculateColumnWidthsForCellsSpanningMultipleColumns(
-			final int[] colSizes, final GridCellIterator[][] rows,
+			final int[] colSizes, final CellSizes sizes,
 			final PrintSizeStrategy strategy) {
 		int horizontalSpacing = look.getMargins().getHorizontalSpacing();
 
-		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
-			GridCellIterator[] row = rows[rowIndex];
+		for (int rowIndex = 0; rowIndex < sizes.rows.length; rowIndex++) {
+			GridCellIterator[] row = sizes.rows[rowIndex];
 			int columnIndex = 0;
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
 				GridCellIterator entry = row[cellIndex];
@@ -261,8 +330,8 @@ public class GridIterator implements PrintIterator {
 
 					// Subtract column spacing so the weighted distribution of
 					// extra width stays proportional.
-					int minimumWidth = strategy.computeSize(entry.getTarget()).x
-							- horizontalSpacing * (colspan - 1);
+					int minimumWidth = sizes.get(strategy, rowIndex,
+							cellIndex).x - horizontalSpacing * (colspan - 1);
 
 					if (currentWidth < minimumWidth) {
 						int extraWidth = minimumWidth - currentWidth;
@@ -317,17 +386,17 @@ public class GridIterator implements PrintIterator {
 	}
 
 	private void calculateColumnWidthsForCellsSpanningOneColumn(int[] colSizes,
-			GridCellIterator[][] rows, PrintSizeStrategy strategy) {
-		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
-			GridCellIterator[] row = rows[rowIndex];
+			CellSizes sizes, PrintSizeStrategy strategy) {
+		for (int rowIndex = 0; rowIndex < sizes.rows.length; rowIndex++) {
+			GridCellIterator[] row = sizes.rows[rowIndex];
 			int col = 0;
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
 				GridCellIterator entry = row[cellIndex];
 
 				// ignore explicitly sized cols
 				if (entry.getColspan() == 1 && !isExplicitSize(columns[col])) {
-					colSizes[col] = Math.max(colSizes[col],
-							computeCellWidth(entry, columns[col], strategy));
+					colSizes[col] = Math.max(colSizes[col], computeCellWidth(
+							sizes, rowIndex, cellIndex, columns[col], strategy));
 				}
 				col += entry.getColspan();
 			}
@@ -443,7 +512,8 @@ public class GridIterator implements PrintIterator {
 		return result;
 	}
 
-	private Point computeSize(PrintSizeStrategy strategy, int[] colSizes) {
+	private Point computeSize(CellSizes sizes, PrintSizeStrategy strategy,
+			int[] colSizes) {
 		final GridMargins margins = look.getMargins();
 
 		int width = computeMarginWidth() + PaperClipsUtil.sum(colSizes);
@@ -456,15 +526,15 @@ public class GridIterator implements PrintIterator {
 		// the total content height.
 
 		if (header.length > 0)
-			height += computeHeaderHeight(margins, strategy);
+			height += computeHeaderHeight(margins, sizes, strategy);
 		else
 			height += Math.max(margins.getBodyTop(false, true),
 					margins.getBodyTop(false, false));
 
-		height += computeMaxBodyRowHeight(strategy);
+		height += computeMaxBodyRowHeight(sizes, strategy);
 
 		if (footer.length > 0)
-			height += computeFooterHeight(strategy, margins);
+			height += computeFooterHeight(sizes, strategy, margins);
 		else
 			height += Math.max(margins.getBodyBottom(false, false),
 					margins.getBodyBottom(false, true));
@@ -473,7 +543,7 @@ public class GridIterator implements PrintIterator {
 	}
 
 	private int computeHeaderHeight(final GridMargins margins,
-			PrintSizeStrategy strategy) {
+			CellSizes sizes, PrintSizeStrategy strategy) {
 		int headerHeight = margins.getHeaderTop()
 				+ margins.getHeaderVerticalSpacing() * (header.length - 1)
 				+ Math.max(margins.getBodyTop(true, true),
@@ -482,32 +552,31 @@ public class GridIterator implements PrintIterator {
 			GridCellIterator[] row = header[rowIndex];
 			int rowHeight = 0;
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
 				// Find tallest cell in row.
-				rowHeight = Math.max(rowHeight,
-						strategy.computeSize(entry.getTarget()).y);
+				rowHeight = Math.max(rowHeight, sizes.get(strategy,
+						sizes.headerRow(rowIndex), cellIndex).y);
 			}
 			headerHeight += rowHeight;
 		}
 		return headerHeight;
 	}
 
-	private int computeMaxBodyRowHeight(PrintSizeStrategy strategy) {
+	private int computeMaxBodyRowHeight(CellSizes sizes,
+			PrintSizeStrategy strategy) {
 		int maxBodyRowHeight = 0;
-		for (int rowIndex = 0; rowIndex < body.length; rowIndex++) {
-			GridCellIterator[] row = body[rowIndex];
+		for (int rowIndex = 0; rowIndex < sizes.bodyRowCount; rowIndex++) {
+			GridCellIterator[] row = sizes.rows[rowIndex];
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
 				// Find the greatest height of all cells' calculated sizes.
 				maxBodyRowHeight = Math.max(maxBodyRowHeight,
-						strategy.computeSize(entry.getTarget()).y);
+						sizes.get(strategy, rowIndex, cellIndex).y);
 			}
 		}
 		return maxBodyRowHeight;
 	}
 
-	private int computeFooterHeight(PrintSizeStrategy strategy,
-			final GridMargins margins) {
+	private int computeFooterHeight(CellSizes sizes,
+			PrintSizeStrategy strategy, final GridMargins margins) {
 		int footerHeight = Math.max(margins.getBodyBottom(true, false),
 				margins.getBodyBottom(true, true))
 				+ margins.getFooterVerticalSpacing() * (footer.length - 1)
@@ -516,10 +585,9 @@ public class GridIterator implements PrintIterator {
 			GridCellIterator[] row = footer[rowIndex];
 			int rowHeight = 0;
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
 				// Find tallest cell in row.
-				rowHeight = Math.max(rowHeight,
-						strategy.computeSize(entry.getTarget()).y);
+				rowHeight = Math.max(rowHeight, sizes.get(strategy,
+						sizes.footerRow(rowIndex), cellIndex).y);
 			}
 			footerHeight += rowHeight;
 		}
@@ -962,14 +1030,14 @@ public class GridIterator implements PrintIterator {
 		int y = 0;
 		List<CompositeEntry> entries = new ArrayList<>();
 		while (hasNext()) {
-			GridCellIterator[] thisRow = cloneRow(body[row]);
+			GridCellIterator[] thisRow = cloneRow(currentRow());
 			PrintPiece rowPiece = nextRow(thisRow, colSizes,
 					height - y - bodyBottomSpacingClosed, rowStarted);
 			boolean hasNext = hasNext(thisRow);
 
 			if ((cellClippingEnabled || entries.isEmpty())
 					&& (rowPiece == null || hasNext)) {
-				thisRow = cloneRow(body[row]);
+				thisRow = cloneRow(currentRow());
 				rowPiece = nextRow(thisRow, colSizes,
 						height - y - bodyBottomSpacingOpen, true);
 				hasNext = true;
@@ -979,7 +1047,7 @@ public class GridIterator implements PrintIterator {
 				break;
 
 			entries.add(new CompositeEntry(rowPiece, new Point(0, y)));
-			body[row] = thisRow;
+			rowRemainder = thisRow;
 
 			final int[] rowColSpans = new int[thisRow.length];
 			for (int cellIndex = 0; cellIndex < rowColSpans.length; cellIndex++)
@@ -995,6 +1063,7 @@ public class GridIterator implements PrintIterator {
 
 			y += rowHeight + rowSpacing;
 			row++;
+			rowRemainder = null;
 		}
 
 		if (entries.isEmpty())
@@ -1003,6 +1072,10 @@ public class GridIterator implements PrintIterator {
 		return new CompositePiece(entries);
 	}
 
+	private GridCellIterator[] currentRow() {
+		return rowRemainder == null ? body[row] : rowRemainder;
+	}
+
 	private static GridCellIterator[] cloneRow(GridCellIterator[] row) {
 		GridCellIterator[] result = row.clone();
 		for (int i = 0; i < result.length; i++)
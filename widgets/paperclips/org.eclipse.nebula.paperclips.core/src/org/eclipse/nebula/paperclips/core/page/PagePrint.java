@@ -314,16 +314,21 @@ public class PagePrint implements Print {
 class PageIterator implements PrintIterator {
 	class PageNumberer {
 		int pageCount = 0;
+		// The highest page count of this numberer and all its copies, so that
+		// a page laid out again from a copy reports the final page count.
+		int[] maxPageCount = new int[1];
 
 		synchronized PageNumber next() {
-			return new InnerPageNumber();
+			PageNumber result = new InnerPageNumber();
+			maxPageCount[0] = Math.max(maxPageCount[0], pageCount);
+			return result;
 		}
 
 		class InnerPageNumber implements PageNumber {
 			final int pageNumber = pageCount++; // POST-increment
 
 			public int getPageCount() {
-				return pageCount;
+				return Math.max(pageCount, maxPageCount[0]);
 			}
 
 			public int getPageNumber() {
@@ -334,6 +339,7 @@ class PageIterator implements PrintIterator {
 		PageNumberer copy() {
 			PageNumberer result = new PageNumberer();
 			result.pageCount = this.pageCount;
+			result.maxPageCount = this.maxPageCount;
 			return result;
 		}
 	}
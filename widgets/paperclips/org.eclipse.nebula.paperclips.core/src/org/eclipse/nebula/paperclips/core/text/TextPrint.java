@@ -22,6 +22,7 @@ import org.eclipse.nebula.paperclips.core.PrintIterator;
 import org.eclipse.nebula.paperclips.core.PrintPiece;
 import org.eclipse.nebula.paperclips.core.internal.util.ResourcePool;
 import org.eclipse.nebula.paperclips.core.internal.util.Util;
+import org.eclipse.nebula.paperclips.core.text.internal.TextMeasureCache;
 import org.eclipse.nebula.paperclips.core.text.internal.TextPiece;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Device;
@@ -355,8 +356,12 @@ class TextIterator implements PrintIterator {
 	final String[] lines;
 	final TextStyle style;
 	final boolean wordSplitting;
-	final Point minimumSize;
-	final Point preferredSize;
+	// Measured on first use, rows of a grid may never be measured
+	Point minimumSize;
+	Point preferredSize;
+	// Looked up on first use if the style has a font, otherwise the font of
+	// the GC is used and may change between calls
+	TextMeasureCache measures;
 
 	int row;
 	int col;
@@ -369,8 +374,6 @@ class TextIterator implements PrintIterator {
 		this.lines = print.text.split("(\r)?\n"); //$NON-NLS-1$
 		this.style = print.style;
 		this.wordSplitting = print.wordSplitting;
-		this.minimumSize = maxExtent(text.split("\\s")); //$NON-NLS-1$
-		this.preferredSize = maxExtent(lines);
 
 		this.row = 0;
 		this.col = 0;
@@ -386,6 +389,7 @@ class TextIterator implements PrintIterator {
 		this.wordSplitting = that.wordSplitting;
 		this.minimumSize = that.minimumSize;
 		this.preferredSize = that.preferredSize;
+		this.measures = that.measures;
 
 		this.row = that.row;
 		this.col = that.col;
@@ -444,7 +448,7 @@ class TextIterator implements PrintIterator {
 			String line = lines[row].substring(col);
 
 			// Find out how much text will fit on one line.
-			int charCount = findLineBreak(gc, line, width);
+			int charCount = findLineBreak(line, width);
 
 			// If none of the text could fit in the current line, terminate this
 			// iteration.
@@ -480,10 +484,14 @@ class TextIterator implements PrintIterator {
 	}
 
 	public Point minimumSize() {
+		if (minimumSize == null)
+			minimumSize = maxExtent(text.split("\\s")); //$NON-NLS-1$
 		return new Point(minimumSize.x, minimumSize.y);
 	}
 
 	public Point preferredSize() {
+		if (preferredSize == null)
+			preferredSize = maxExtent(lines);
 		return new Point(preferredSize.x, preferredSize.y);
 	}
 
@@ -493,11 +501,12 @@ class TextIterator implements PrintIterator {
 			initGC();
 
 			FontMetrics fm = gc.getFontMetrics();
+			TextMeasureCache measures = getMeasureCache();
 			int maxWidth = 0;
 
 			for (int i = 0; i < text.length; i++) {
 				String textPiece = text[i];
-				maxWidth = Math.max(maxWidth, gc.stringExtent(textPiece).x);
+				maxWidth = Math.max(maxWidth, measures.getWidth(gc, textPiece));
 			}
 
 			return new Point(maxWidth, fm.getHeight());
@@ -506,38 +515,19 @@ class TextIterator implements PrintIterator {
 		}
 	}
 
-	private int findLineBreak(GC gc, String text, int width) {
-		// Offsets within the string
-		int loIndex = 0;
-		int hiIndex = text.length();
-
-		// Pixel width of entire string
-		int pixelWidth = gc.stringExtent(text).x;
-
-		// Does the whole string fit?
-		if (pixelWidth <= width)
-			// I'll take it
-			return hiIndex;
-
-		// Do a binary search to find the maximum characters that will fit
-		// within the given width.
-		while (loIndex < hiIndex) {
-			int midIndex = (loIndex + hiIndex + 1) / 2;
-			int midWidth = gc.stringExtent(text.substring(0, midIndex)).x;
-
-			if (midWidth < width)
-				// don't add 1, the next character could make it too big
-				loIndex = midIndex;
-			else if (midWidth > width)
-				// subtract 1, we already know midIndex makes it too big
-				hiIndex = midIndex - 1;
-			else {
-				// perfect fit
-				loIndex = hiIndex = midIndex;
-			}
-		}
+	private TextMeasureCache getMeasureCache() {
+		if (measures != null)
+			return measures;
+		TextMeasureCache result = TextMeasureCache.forFont(gc);
+		if (style.getFontData() != null)
+			measures = result;
+		return result;
+	}
 
-		return findWordBreak(text, loIndex);
+	private int findLineBreak(String text, int width) {
+		// Maximum characters that will fit within the given width.
+		int maxLength = getMeasureCache().findBreak(gc, text, width);
+		return findWordBreak(text, maxLength);
 	}
 
 	int findWordBreak(String text, int maxLength) {
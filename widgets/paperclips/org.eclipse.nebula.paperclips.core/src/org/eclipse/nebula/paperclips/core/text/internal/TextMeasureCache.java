@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.nebula.paperclips.core.text.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.nebula.paperclips.core.internal.util.Util;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.GC;
+
+/**
+ * Caches text measurements for one font on a graphics device: the advance
+ * width of each character, and the width of recently measured strings such as
+ * words and lines. All text iterators measuring with the same font share one
+ * cache, so the same text is not measured again while a document is laid out.
+ * <p>
+ * Text is measured differently by an advanced GC, and with text antialiasing
+ * on or off, so GCs in different rendering modes do not share a cache. The
+ * methods take the GC to measure with, which must have the font and the
+ * rendering modes of this cache set.
+ */
+public class TextMeasureCache {
+	// Keyed by font data rather than font, like the fonts of ResourcePool: a
+	// Font references its device, which would keep the device keys alive,
+	// and a disposed font must not share a cache with a font created later.
+	private static final Map<Device, Map<Key, TextMeasureCache>> devices = new WeakHashMap<>();
+
+	// Strings longer than this are measured without memoizing the result.
+	private static final int MAX_MEMO_LENGTH = 256;
+	private static final int MAX_MEMO_SIZE = 4096;
+
+	private static final class Key {
+		private final FontData fontData;
+		private final boolean advanced;
+		private final int antialias;
+		private final int textAntialias;
+
+		Key(FontData fontData, GC gc) {
+			this.fontData = fontData;
+			this.advanced = gc.getAdvanced();
+			this.antialias = gc.getAntialias();
+			this.textAntialias = gc.getTextAntialias();
+		}
+
+		@Override
+		public int hashCode() {
+			int result = fontData.hashCode();
+			result = 31 * result + (advanced ? 1 : 0);
+			result = 31 * result + antialias;
+			result = 31 * result + textAntialias;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key that = (Key) obj;
+			return fontData.equals(that.fontData) && advanced == that.advanced
+					&& antialias == that.antialias
+					&& textAntialias == that.textAntialias;
+		}
+	}
+
+	/**
+	 * Returns the measurement cache for the current font of the given GC in
+	 * the current rendering modes of the GC.
+	 *
+	 * @param gc
+	 *            the GC to measure with.
+	 * @return the measurement cache for the font and rendering modes of the
+	 *         GC.
+	 */
+	public synchronized static TextMeasureCache forFont(GC gc) {
+		Util.notNull(gc);
+		Device device = gc.getDevice();
+		Map<Key, TextMeasureCache> fonts = devices.get(device);
+		if (fonts == null) {
+			fonts = new HashMap<>();
+			devices.put(device, fonts);
+		}
+		Key key = new Key(gc.getFont().getFontData()[0], gc);
+		TextMeasureCache cache = fonts.get(key);
+		if (cache == null) {
+			cache = new TextMeasureCache();
+			fonts.put(key, cache);
+		}
+		return cache;
+	}
+
+	// Advance widths of the Latin-1 characters, -1 if not measured yet.
+	private final int[] latinAdvances = new int[256];
+	private final Map<Character, Integer> advances = new HashMap<>();
+	private final Map<String, Integer> widths = new LinkedHashMap<String, Integer>(
+			64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+			return size() > MAX_MEMO_SIZE;
+		}
+	};
+
+	private TextMeasureCache() {
+		for (int i = 0; i < latinAdvances.length; i++)
+			latinAdvances[i] = -1;
+	}
+
+	/**
+	 * Returns the advance width of the character.
+	 *
+	 * @param gc
+	 *            the GC to measure with.
+	 * @param c
+	 *            the character.
+	 * @return the advance width of the character.
+	 */
+	public synchronized int getAdvance(GC gc, char c) {
+		if (c < latinAdvances.length) {
+			int advance = latinAdvances[c];
+			if (advance < 0)
+				advance = latinAdvances[c] = gc.getAdvanceWidth(c);
+			return advance;
+		}
+		Integer advance = advances.get(Character.valueOf(c));
+		if (advance == null) {
+			advance = Integer.valueOf(gc.getAdvanceWidth(c));
+			advances.put(Character.valueOf(c), advance);
+		}
+		return advance.intValue();
+	}
+
+	/**
+	 * Returns the width of the string, as returned by
+	 * {@link GC#stringExtent(String)}.
+	 *
+	 * @param gc
+	 *            the GC to measure with.
+	 * @param text
+	 *            the string.
+	 * @return the width of the string.
+	 */
+	public synchronized int getWidth(GC gc, String text) {
+		if (text.length() > MAX_MEMO_LENGTH)
+			return gc.stringExtent(text).x;
+		Integer width = widths.get(text);
+		if (width == null) {
+			width = Integer.valueOf(gc.stringExtent(text).x);
+			widths.put(text, width);
+		}
+		return width.intValue();
+	}
+
+	/**
+	 * Returns the number of leading characters of the text that fit in the
+	 * given width. The break is first estimated from the sum of the advance
+	 * widths, then checked against the measured width of the text, which may
+	 * differ because of kerning. The prefixes measured for this check are not
+	 * memoized, as they are rarely measured again.
+	 *
+	 * @param gc
+	 *            the GC to measure with.
+	 * @param text
+	 *            the text.
+	 * @param width
+	 *            the available width.
+	 * @return the number of leading characters that fit in the given width.
+	 */
+	public int findBreak(GC gc, String text, int width) {
+		int length = text.length();
+		if (getWidth(gc, text) <= width)
+			return length;
+
+		int count = 0;
+		int x = 0;
+		while (count < length) {
+			x += getAdvance(gc, text.charAt(count));
+			if (x > width)
+				break;
+			count++;
+		}
+
+		while (count > 0 && gc.stringExtent(text.substring(0, count)).x > width)
+			count--;
+		while (count + 1 < length
+				&& gc.stringExtent(text.substring(0, count + 1)).x <= width)
+			count++;
+		return count;
+	}
+}
@@ -52,6 +52,14 @@ public class TextPiece implements TextPrintPiece {
 		return ascent;
 	}
 
+	public String[] getLines() {
+		return lines.clone();
+	}
+
+	public TextStyle getStyle() {
+		return style;
+	}
+
 	public void paint(final GC gc, final int x, final int y) {
 		Font oldFont = gc.getFont();
 		Color oldForeground = gc.getForeground();
@@ -71,10 +79,12 @@ public class TextPiece implements TextPrintPiece {
 			int lineThickness = Math.max(1, fm.getDescent() / 3);
 			int strikeoutOffset = fm.getLeading() + fm.getAscent() / 2;
 			int underlineOffset = ascent + lineThickness;
+			// Measured in the rendering modes of the GC painted on
+			TextMeasureCache measures = TextMeasureCache.forFont(gc);
 
 			for (int i = 0; i < lines.length; i++) {
 				String line = lines[i];
-				int lineWidth = gc.stringExtent(line).x;
+				int lineWidth = measures.getWidth(gc, line);
 				int offset = getHorzAlignmentOffset(align, lineWidth, width);
 
 				gc.drawString(lines[i], x + offset, y + lineHeight * i,
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.nebula.paperclips.core.text.TextPrint;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+public class ExportTest extends TestCase {
+	private Display display;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		display = Display.getDefault();
+	}
+
+	static String lines(int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 1; i <= count; i++) {
+			if (i > 1)
+				text.append('\n');
+			text.append("Line ").append(i);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Records the calls of the export.
+	 */
+	static class RecordingOutput implements PageOutput {
+		final List<String> calls = new ArrayList<>();
+		Point paperSize;
+		int failingPage = -1;
+
+		public void startDocument(Device device, Point paperSize)
+				throws IOException {
+			this.paperSize = paperSize;
+			calls.add("start");
+		}
+
+		public void writePage(int pageIndex, PrintPiece page)
+				throws IOException {
+			assertNotNull(page);
+			calls.add("page " + pageIndex);
+			if (pageIndex == failingPage)
+				throw new IOException("page " + pageIndex);
+		}
+
+		public void endDocument() throws IOException {
+			calls.add("end");
+		}
+	}
+
+	public void testExport() throws IOException {
+		RecordingOutput output = new RecordingOutput();
+		PrintJob job = new PrintJob("test", new TextPrint(lines(100)))
+				.setMargins(10);
+		PaperClips.export(job, display, new Point(200, 300), output);
+
+		Point dpi = display.getDPI();
+		assertEquals(new Point(200 * dpi.x / 72, 300 * dpi.y / 72),
+				output.paperSize);
+		assertTrue(output.calls.size() > 4);
+		assertEquals("start", output.calls.get(0));
+		for (int i = 1; i < output.calls.size() - 1; i++)
+			assertEquals("page " + (i - 1), output.calls.get(i));
+		assertEquals("end", output.calls.get(output.calls.size() - 1));
+	}
+
+	public void testExportOrientation() throws IOException {
+		RecordingOutput output = new RecordingOutput();
+		PrintJob job = new PrintJob("test", new TextPrint("text"))
+				.setOrientation(PaperClips.ORIENTATION_LANDSCAPE);
+		PaperClips.export(job, display, new Point(200, 300), output);
+
+		Point dpi = display.getDPI();
+		assertEquals(new Point(300 * dpi.x / 72, 200 * dpi.y / 72),
+				output.paperSize);
+	}
+
+	public void testExportEndsDocumentOnFailure() {
+		RecordingOutput output = new RecordingOutput();
+		output.failingPage = 1;
+		PrintJob job = new PrintJob("test", new TextPrint(lines(100)))
+				.setMargins(10);
+		try {
+			PaperClips.export(job, display, new Point(200, 300), output);
+			fail();
+		} catch (IOException expected) {
+			assertEquals("page 1", expected.getMessage());
+		}
+		assertEquals("[start, page 0, page 1, end]", output.calls.toString());
+	}
+
+	public void testExport_invalidArguments() throws IOException {
+		PrintJob job = new PrintJob("test", new TextPrint("text"));
+		Point paperSize = new Point(200, 300);
+		RecordingOutput output = new RecordingOutput();
+		try {
+			PaperClips.export(null, display, paperSize, output);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			PaperClips.export(job, null, paperSize, output);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			PaperClips.export(job, display, null, output);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			PaperClips.export(job, display, paperSize, null);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		assertTrue(output.calls.isEmpty());
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.nebula.paperclips.core.internal.util.SWTUtil;
+import org.eclipse.nebula.paperclips.core.text.TextPrint;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+@SuppressWarnings("restriction")
+public class ImagePageOutputTest extends TestCase {
+	private static final Point PAPER_SIZE = new Point(200, 300);
+
+	/**
+	 * Keeps the page images in memory.
+	 */
+	static class Streams implements ImagePageOutput.StreamProvider {
+		final List<ByteArrayOutputStream> pages = new ArrayList<>();
+		int failingPage = -1;
+
+		public OutputStream openStream(int pageIndex) throws IOException {
+			assertEquals(pages.size(), pageIndex);
+			if (pageIndex == failingPage)
+				throw new IOException("page " + pageIndex);
+			ByteArrayOutputStream page = new ByteArrayOutputStream();
+			pages.add(page);
+			return page;
+		}
+
+		ImageData getImage(int pageIndex) {
+			byte[] bytes = pages.get(pageIndex).toByteArray();
+			return new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+		}
+	}
+
+	private static void export(ImagePageOutput output) throws IOException {
+		PrintJob job = new PrintJob("test", new TextPrint(ExportTest
+				.lines(100))).setMargins(10);
+		PaperClips.export(job, Display.getDefault(), PAPER_SIZE, output);
+	}
+
+	public void testWritesPages() throws IOException {
+		Streams streams = new Streams();
+		export(new ImagePageOutput(streams, 72));
+
+		assertTrue(streams.pages.size() > 1);
+		for (int i = 0; i < streams.pages.size(); i++) {
+			// 72 dpi images have the paper size in points
+			ImageData image = streams.getImage(i);
+			assertEquals(PAPER_SIZE.x, image.width, 1);
+			assertEquals(PAPER_SIZE.y, image.height, 1);
+		}
+	}
+
+	public void testResolution() throws IOException {
+		Streams streams = new Streams();
+		export(new ImagePageOutput(streams, 144));
+
+		ImageData image = streams.getImage(0);
+		assertEquals(2 * PAPER_SIZE.x, image.width, 2);
+		assertEquals(2 * PAPER_SIZE.y, image.height, 2);
+	}
+
+	public void testBackgroundEncoding() throws IOException {
+		Streams expected = new Streams();
+		export(new ImagePageOutput(expected, 72));
+
+		Streams streams = new Streams();
+		ImagePageOutput output = new ImagePageOutput(streams, 72);
+		output.setBackgroundEncoding(true);
+		output.setQueueSize(1);
+		export(output);
+
+		assertEquals(expected.pages.size(), streams.pages.size());
+		for (int i = 0; i < streams.pages.size(); i++)
+			assertTrue(SWTUtil.equal(expected.getImage(i),
+					streams.getImage(i)));
+	}
+
+	public void testEncoderError() {
+		Streams streams = new Streams();
+		streams.failingPage = 1;
+		ImagePageOutput output = new ImagePageOutput(streams, 72);
+		output.setBackgroundEncoding(true);
+		try {
+			export(output);
+			fail();
+		} catch (IOException expected) {
+			assertEquals("page 1", expected.getMessage());
+		}
+		assertEquals(1, streams.pages.size());
+	}
+
+	public void testInterruptedEndDocument() throws Exception {
+		final CountDownLatch encoding = new CountDownLatch(1);
+		final Thread[] encoder = new Thread[1];
+		Streams streams = new Streams() {
+			public OutputStream openStream(int pageIndex) throws IOException {
+				encoder[0] = Thread.currentThread();
+				encoding.countDown();
+				try {
+					// Until the encoder is interrupted
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					throw new IOException("interrupted", e);
+				}
+				return super.openStream(pageIndex);
+			}
+		};
+		PrintPiece page = new PrintPiece() {
+			public Point getSize() {
+				return PAPER_SIZE;
+			}
+
+			public void paint(GC gc, int x, int y) {
+			}
+
+			public void dispose() {
+			}
+		};
+		ImagePageOutput output = new ImagePageOutput(streams, 72);
+		output.setBackgroundEncoding(true);
+		output.startDocument(Display.getDefault(), PAPER_SIZE);
+		output.writePage(0, page);
+		output.writePage(1, page);
+		encoding.await();
+
+		Thread.currentThread().interrupt();
+		try {
+			output.endDocument();
+			fail();
+		} catch (IOException expected) {
+			assertEquals("Interrupted while encoding pages", expected
+					.getMessage());
+		}
+		// The interrupt is kept, and the encoder has ended
+		assertTrue(Thread.interrupted());
+		assertFalse(encoder[0].isAlive());
+		assertEquals(0, streams.pages.size());
+	}
+
+	public void testInvalidArguments() {
+		Streams streams = new Streams();
+		try {
+			new ImagePageOutput(streams, 0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		ImagePageOutput output = new ImagePageOutput(streams, 72);
+		try {
+			output.setQueueSize(0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		assertEquals(72, output.getDPI());
+		assertEquals(2, output.getQueueSize());
+		assertFalse(output.isBackgroundEncoding());
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.eclipse.nebula.paperclips.core.border.BorderPrint;
+import org.eclipse.nebula.paperclips.core.border.LineBorder;
+import org.eclipse.nebula.paperclips.core.text.TextPrint;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+public class PageDescriptionOutputTest extends TestCase {
+	private static final Point PAPER_SIZE = new Point(200, 300);
+
+	private List<String> export(Print document) throws IOException {
+		StringWriter out = new StringWriter();
+		PrintJob job = new PrintJob("test", document).setMargins(10);
+		PaperClips.export(job, Display.getDefault(), PAPER_SIZE,
+				new PageDescriptionOutput(out));
+		List<String> records = new ArrayList<>();
+		for (String record : out.toString().split("\n"))
+			records.add(record);
+		return records;
+	}
+
+	private static List<String> records(List<String> records, String type) {
+		List<String> result = new ArrayList<>();
+		for (String record : records)
+			if (record.startsWith(type + " "))
+				result.add(record);
+		return result;
+	}
+
+	private static ImageData decodeImage(String record) {
+		String base64 = record.substring(record.lastIndexOf(' ') + 1);
+		byte[] bytes = Base64.getDecoder().decode(base64);
+		return new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+	}
+
+	public void testDocument() throws IOException {
+		List<String> records = export(new TextPrint(ExportTest.lines(100)));
+
+		assertEquals("PaperClips-PageDescription 1", records.get(0));
+		assertTrue(records.get(1).startsWith("document "));
+		assertEquals("page 1", records.get(2));
+		assertEquals("end", records.get(records.size() - 1));
+		assertEquals("endpage", records.get(records.size() - 2));
+		int pages = records(records, "page").size();
+		assertTrue(pages > 1);
+		int endPages = 0;
+		for (String record : records)
+			if (record.equals("endpage"))
+				endPages++;
+		assertEquals(pages, endPages);
+		assertEquals(100, records(records, "text").size());
+		assertTrue(records(records, "image").isEmpty());
+	}
+
+	public void testText() throws IOException {
+		List<String> records = export(new TextPrint("Say \"hello\\"));
+
+		List<String> text = records(records, "text");
+		assertEquals(1, text.size());
+		assertTrue(text.get(0), text.get(0).endsWith(" \"Say \\\"hello\\\\\""));
+	}
+
+	public void testTextInsideWrappers() throws IOException {
+		Print document = new BorderPrint(new BackgroundPrint(
+				new TextPrint("wrapped"), new RGB(255, 255, 0)),
+				new LineBorder());
+		List<String> records = export(document);
+
+		// The border and the background are images, the text is a record
+		List<String> text = records(records, "text");
+		assertEquals(1, text.size());
+		assertTrue(text.get(0).endsWith(" \"wrapped\""));
+		List<String> images = records(records, "image");
+		assertEquals(2, images.size());
+		// The text comes after its background
+		assertTrue(records.indexOf(images.get(1)) < records
+				.indexOf(text.get(0)));
+	}
+
+	public void testImageTransparency() throws IOException {
+		// A white background on an empty print, and an empty print
+		Print document = new BackgroundPrint(new EmptyPrint(20, 20),
+				new RGB(255, 255, 255));
+		List<String> records = export(document);
+
+		List<String> images = records(records, "image");
+		assertEquals(1, images.size());
+		ImageData image = decodeImage(images.get(0));
+		// Painted white is opaque
+		assertEquals(255, image.getAlpha(image.width / 2, image.height / 2));
+		assertEquals(new RGB(255, 255, 255), image.palette
+				.getRGB(image.getPixel(image.width / 2, image.height / 2)));
+
+		assertTrue(records(export(new EmptyPrint(20, 20)), "image").isEmpty());
+	}
+
+	public void testPartialTransparency() throws IOException {
+		// The inside of a border is left transparent
+		Print document = new BorderPrint(new EmptyPrint(40, 40),
+				new LineBorder());
+		List<String> records = export(document);
+
+		List<String> images = records(records, "image");
+		assertEquals(1, images.size());
+		ImageData image = decodeImage(images.get(0));
+		assertEquals(255, image.getAlpha(0, 0));
+		assertEquals(new RGB(0, 0, 0), image.palette.getRGB(image
+				.getPixel(0, 0)));
+		assertEquals(0, image.getAlpha(image.width / 2, image.height / 2));
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.nebula.paperclips.core.grid.GridPrint;
+import org.eclipse.nebula.paperclips.core.internal.util.SWTUtil;
+import org.eclipse.nebula.paperclips.core.page.PageDecoration;
+import org.eclipse.nebula.paperclips.core.page.PageNumber;
+import org.eclipse.nebula.paperclips.core.page.PagePrint;
+import org.eclipse.nebula.paperclips.core.text.TextPrint;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+@SuppressWarnings("restriction")
+public class PageSequenceTest extends TestCase {
+	private static final Point PAPER_SIZE = new Point(200, 200);
+
+	private Display display;
+	private Image image;
+	private GC gc;
+	private final List<PageSequence> sequences = new ArrayList<>();
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		display = Display.getDefault();
+		image = new Image(display, 1, 1);
+		gc = new GC(image);
+	}
+
+	protected void tearDown() throws Exception {
+		for (PageSequence sequence : sequences)
+			sequence.dispose();
+		gc.dispose();
+		image.dispose();
+		super.tearDown();
+	}
+
+	private PageSequence createSequence(Print document, int limit) {
+		PrintJob job = new PrintJob("test", document).setMargins(10);
+		PageSequence sequence = PaperClips.getPageSequence(job, display, gc,
+				PAPER_SIZE, limit);
+		sequences.add(sequence);
+		return sequence;
+	}
+
+	private static String lines(int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 1; i <= count; i++)
+			text.append("Line ").append(i).append('\n');
+		return text.toString();
+	}
+
+	private ImageData paint(PrintPiece page) {
+		Point size = page.getSize();
+		Image pageImage = new Image(display, size.x, size.y);
+		GC pageGC = new GC(pageImage);
+		try {
+			pageGC.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+			pageGC.fillRectangle(0, 0, size.x, size.y);
+			page.paint(pageGC, 0, 0);
+			return pageImage.getImageData();
+		} finally {
+			pageGC.dispose();
+			pageImage.dispose();
+		}
+	}
+
+	/**
+	 * Requests the pages in the given order from a sequence which keeps only
+	 * one page, and compares them with the pages of a sequence which keeps all
+	 * pages.
+	 */
+	private void assertSamePages(Print document, int[] order) {
+		PageSequence expected = createSequence(document,
+				PageSequence.RETAIN_ALL);
+		expected.fetchPages(Integer.MAX_VALUE);
+		assertTrue(expected.isComplete());
+		int count = expected.getPageCount();
+		assertTrue("only " + count + " pages", count >= 3);
+
+		PageSequence sequence = createSequence(document, 1);
+		for (int i = 0; i < order.length; i++) {
+			int index = order[i] < 0 ? count + order[i] : order[i];
+			assertTrue("page " + index, SWTUtil.equal(
+					paint(expected.getPage(index)),
+					paint(sequence.getPage(index))));
+		}
+		assertEquals(count, sequence.getPageCount());
+		assertTrue(sequence.isComplete());
+	}
+
+	public void testLayoutOnDemand() {
+		PageSequence sequence = createSequence(new TextPrint(lines(100)), 1);
+		assertEquals(0, sequence.getPageCount());
+		sequence.getPage(1);
+		assertEquals(2, sequence.getPageCount());
+		assertFalse(sequence.isComplete());
+	}
+
+	public void testRandomAccessFromCheckpoint() {
+		// The last page first, then pages laid out again from checkpoints
+		assertSamePages(new TextPrint(lines(100)),
+				new int[] { -1, 0, 2, 1, 0, -1 });
+	}
+
+	public void testGridRowRemainder() {
+		// The first row is split across several pages
+		GridPrint grid = new GridPrint("d:g");
+		grid.add(new TextPrint(lines(100)));
+		grid.add(new TextPrint("Last row"));
+		assertSamePages(grid, new int[] { -1, 1, 2, 0, 1 });
+	}
+
+	public void testPageCountOfPagesLaidOutAgain() {
+		final List<PageNumber> pageNumbers = new ArrayList<>();
+		PageDecoration footer = new PageDecoration() {
+			public Print createPrint(PageNumber pageNumber) {
+				pageNumbers.add(pageNumber);
+				return new TextPrint("Page " + (pageNumber.getPageNumber() + 1));
+			}
+		};
+		PageSequence sequence = createSequence(
+				new PagePrint(new TextPrint(lines(100)), footer), 1);
+		sequence.fetchPages(Integer.MAX_VALUE);
+		int count = sequence.getPageCount();
+		assertTrue(count >= 3);
+
+		// The first page was released, and is laid out from its checkpoint
+		pageNumbers.clear();
+		sequence.getPage(0);
+		assertFalse(pageNumbers.isEmpty());
+		PageNumber pageNumber = pageNumbers.get(pageNumbers.size() - 1);
+		assertEquals(0, pageNumber.getPageNumber());
+		assertEquals(count, pageNumber.getPageCount());
+	}
+
+	public void testRetainAllKeepsPages() {
+		PageSequence sequence = createSequence(new TextPrint(lines(100)),
+				PageSequence.RETAIN_ALL);
+		PrintPiece first = sequence.getPage(0);
+		sequence.fetchPages(Integer.MAX_VALUE);
+		assertSame(first, sequence.getPage(0));
+	}
+
+	public void testIndexOutOfBounds() {
+		PageSequence sequence = createSequence(new TextPrint(lines(100)), 1);
+		try {
+			sequence.getPage(-1);
+			fail();
+		} catch (IndexOutOfBoundsException expected) {
+		}
+		sequence.fetchPages(Integer.MAX_VALUE);
+		try {
+			sequence.getPage(sequence.getPageCount());
+			fail();
+		} catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	public void testRetainedPageLimit() {
+		try {
+			createSequence(new TextPrint("text"), 0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		PageSequence sequence = createSequence(new TextPrint("text"), 2);
+		assertEquals(2, sequence.getRetainedPageLimit());
+		sequence.setRetainedPageLimit(PageSequence.RETAIN_ALL);
+		assertEquals(PageSequence.RETAIN_ALL, sequence.getRetainedPageLimit());
+	}
+}
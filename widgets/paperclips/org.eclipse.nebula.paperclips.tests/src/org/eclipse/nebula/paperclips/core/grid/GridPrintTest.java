@@ -13,10 +13,19 @@
  */
 package org.eclipse.nebula.paperclips.core.grid;
 
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.nebula.paperclips.core.Print;
+import org.eclipse.nebula.paperclips.core.PrintIterator;
+import org.eclipse.nebula.paperclips.core.PrintPiece;
 import org.eclipse.nebula.paperclips.core.PrintStub;
 import org.eclipse.nebula.paperclips.core.internal.util.Util;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
 
 import junit.framework.TestCase;
 
@@ -68,6 +77,11 @@ public class GridPrintTest extends TestCase {
 		g2.setCellClippingEnabled(false);
 		assertEquals(g1, g2);
 
+		g1.setColumnSizeSampling(100);
+		assertFalse(g1.equals(g2));
+		g2.setColumnSizeSampling(100);
+		assertEquals(g1, g2);
+
 		g1.setColumnGroups(new int[][] { { 0, 1 } });
 		assertFalse(g1.equals(g2));
 		g2.setColumnGroups(new int[][] { { 0, 1 } });
@@ -89,6 +103,91 @@ public class GridPrintTest extends TestCase {
 		assertEquals(g1, g2);
 	}
 
+	public void testColumnSizeSampling_invalidArguments() {
+		try {
+			new GridPrint().setColumnSizeSampling(-1);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testColumnSizeSampling() {
+		Set<Integer> measured = new TreeSet<>();
+		GridPrint sampled = new GridPrint("p");
+		sampled.addHeader(new SizedPrint(100, 30, measured));
+		for (int i = 0; i < 10; i++)
+			sampled.add(new SizedPrint(i, 10 * (i + 1), measured));
+		sampled.setColumnSizeSampling(2);
+		assertEquals(2, sampled.getColumnSizeSampling());
+
+		// The sampled rows are spread over the body
+		GridPrint expected = new GridPrint("p");
+		expected.addHeader(new SizedPrint(100, 30, null));
+		expected.add(new SizedPrint(0, 10, null));
+		expected.add(new SizedPrint(5, 60, null));
+
+		Display display = Display.getDefault();
+		Image image = new Image(display, 1, 1);
+		GC gc = new GC(image);
+		try {
+			Point size = sampled.iterator(display, gc).preferredSize();
+			assertEquals(expected.iterator(display, gc).preferredSize().x,
+					size.x);
+			assertEquals("[0, 5, 100]", measured.toString());
+
+			// All rows are measured without sampling
+			measured.clear();
+			sampled.setColumnSizeSampling(0);
+			assertTrue(sampled.iterator(display, gc).preferredSize().x > size.x);
+			assertEquals(11, measured.size());
+		} finally {
+			gc.dispose();
+			image.dispose();
+		}
+	}
+
+	/**
+	 * A print of the given width which records the ids of the prints that are
+	 * measured.
+	 */
+	static class SizedPrint implements Print {
+		final int id;
+		final int width;
+		final Set<Integer> measured;
+
+		SizedPrint(int id, int width, Set<Integer> measured) {
+			this.id = id;
+			this.width = width;
+			this.measured = measured;
+		}
+
+		public PrintIterator iterator(Device device, GC gc) {
+			return new PrintIterator() {
+				public boolean hasNext() {
+					return true;
+				}
+
+				public PrintPiece next(int width, int height) {
+					return null;
+				}
+
+				public Point minimumSize() {
+					return preferredSize();
+				}
+
+				public Point preferredSize() {
+					if (measured != null)
+						measured.add(Integer.valueOf(id));
+					return new Point(width, 10);
+				}
+
+				public PrintIterator copy() {
+					return this;
+				}
+			};
+		}
+	}
+
 	static class GridLookStub implements GridLook {
 		@Override
 		public boolean equals(Object obj) {
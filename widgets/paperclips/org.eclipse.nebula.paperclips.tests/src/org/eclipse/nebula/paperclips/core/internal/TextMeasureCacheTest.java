@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.core.internal;
+
+import org.eclipse.nebula.paperclips.core.text.internal.TextMeasureCache;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+@SuppressWarnings("restriction")
+public class TextMeasureCacheTest extends TestCase {
+	private static final String[] TEXTS = {
+			"The quick brown fox jumps over the lazy dog",
+			"AVAWAY To Ty Te Yo LT ff fi",
+			"\u00c4\u00d6\u00dc \u0101\u010d\u0113 \u2194 \u2713 text", "",
+			" ", "x" };
+
+	private Display display;
+	private Image image;
+	private GC gc;
+	private Font font;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		display = Display.getDefault();
+		image = new Image(display, 1, 1);
+		gc = new GC(image);
+		font = new Font(display, "Sans", 10, SWT.NORMAL);
+		gc.setFont(font);
+	}
+
+	protected void tearDown() throws Exception {
+		gc.dispose();
+		image.dispose();
+		font.dispose();
+		super.tearDown();
+	}
+
+	/**
+	 * The binary search TextIterator used before the cache: the longest prefix
+	 * whose measured width fits.
+	 */
+	private int findBreakUncached(String text, int width) {
+		int loIndex = 0;
+		int hiIndex = text.length();
+		if (gc.stringExtent(text).x <= width)
+			return hiIndex;
+		while (loIndex < hiIndex) {
+			int midIndex = (loIndex + hiIndex + 1) / 2;
+			int midWidth = gc.stringExtent(text.substring(0, midIndex)).x;
+			if (midWidth < width)
+				loIndex = midIndex;
+			else if (midWidth > width)
+				hiIndex = midIndex - 1;
+			else
+				loIndex = hiIndex = midIndex;
+		}
+		return loIndex;
+	}
+
+	private void assertSameBreaks(TextMeasureCache cache, String text) {
+		int textWidth = gc.stringExtent(text).x;
+		for (int width = 0; width <= textWidth + 2; width++) {
+			int expected = findBreakUncached(text, width);
+			assertEquals(text + " in " + width, expected,
+					cache.findBreak(gc, text, width));
+			// Again with the widths memoized
+			assertEquals(text + " in " + width, expected,
+					cache.findBreak(gc, text, width));
+		}
+	}
+
+	public void testFindBreakMatchesUncached() {
+		TextMeasureCache cache = TextMeasureCache.forFont(gc);
+		for (int i = 0; i < TEXTS.length; i++)
+			assertSameBreaks(cache, TEXTS[i]);
+	}
+
+	public void testFindBreakOfLongText() {
+		// Longer than the strings whose widths are memoized
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 400)
+			text.append(TEXTS[0]).append(' ');
+		TextMeasureCache cache = TextMeasureCache.forFont(gc);
+		String string = text.toString();
+		for (int width = 0; width < 2000; width += 7)
+			assertEquals(findBreakUncached(string, width),
+					cache.findBreak(gc, string, width));
+	}
+
+	public void testGetWidth() {
+		TextMeasureCache cache = TextMeasureCache.forFont(gc);
+		for (int i = 0; i < TEXTS.length; i++) {
+			assertEquals(gc.stringExtent(TEXTS[i]).x,
+					cache.getWidth(gc, TEXTS[i]));
+			assertEquals(gc.stringExtent(TEXTS[i]).x,
+					cache.getWidth(gc, TEXTS[i]));
+		}
+		assertEquals(gc.getAdvanceWidth('W'), cache.getAdvance(gc, 'W'));
+		assertEquals(gc.getAdvanceWidth('\u2194'),
+				cache.getAdvance(gc, '\u2194'));
+	}
+
+	public void testForFont() {
+		TextMeasureCache cache = TextMeasureCache.forFont(gc);
+		assertSame(cache, TextMeasureCache.forFont(gc));
+
+		// Fonts with the same font data share the cache
+		Font same = new Font(display, font.getFontData());
+		Font larger = new Font(display, "Sans", 20, SWT.NORMAL);
+		try {
+			gc.setFont(same);
+			assertSame(cache, TextMeasureCache.forFont(gc));
+			gc.setFont(larger);
+			assertNotSame(cache, TextMeasureCache.forFont(gc));
+		} finally {
+			gc.setFont(font);
+			same.dispose();
+			larger.dispose();
+		}
+	}
+
+	public void testForFontInRenderingModes() {
+		TextMeasureCache cache = TextMeasureCache.forFont(gc);
+
+		// An advanced GC, like the one of the print preview, measures text
+		// differently
+		gc.setAdvanced(true);
+		TextMeasureCache advanced = TextMeasureCache.forFont(gc);
+		assertNotSame(cache, advanced);
+		gc.setTextAntialias(SWT.OFF);
+		TextMeasureCache aliased = TextMeasureCache.forFont(gc);
+		assertNotSame(advanced, aliased);
+		for (int i = 0; i < TEXTS.length; i++)
+			assertEquals(gc.stringExtent(TEXTS[i]).x,
+					aliased.getWidth(gc, TEXTS[i]));
+
+		gc.setTextAntialias(SWT.DEFAULT);
+		assertSame(advanced, TextMeasureCache.forFont(gc));
+		gc.setAdvanced(false);
+		assertSame(cache, TextMeasureCache.forFont(gc));
+	}
+}
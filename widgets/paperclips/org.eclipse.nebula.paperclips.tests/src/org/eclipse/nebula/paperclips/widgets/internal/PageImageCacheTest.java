@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.widgets.internal;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.TestCase;
+
+@SuppressWarnings("restriction")
+public class PageImageCacheTest extends TestCase {
+	private PageImageCache cache;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		// Room for two 10x10 pages
+		cache = new PageImageCache(200);
+	}
+
+	protected void tearDown() throws Exception {
+		cache.clear();
+		super.tearDown();
+	}
+
+	private Image put(int page, int width, int height) {
+		Image image = new Image(Display.getDefault(), width, height);
+		cache.put(page, width, height, false, image);
+		return image;
+	}
+
+	public void testGet() {
+		Image image = put(0, 10, 10);
+		assertSame(image, cache.get(0, 10, 10, false));
+		assertNull(cache.get(0, 10, 10, true));
+		assertNull(cache.get(0, 20, 20, false));
+		assertNull(cache.get(1, 10, 10, false));
+		assertTrue(cache.contains(0, 10, 10, false));
+		assertFalse(cache.contains(0, 10, 10, true));
+		assertEquals(100, cache.getPixels());
+	}
+
+	public void testEvictsLeastRecentlyUsed() {
+		Image page0 = put(0, 10, 10);
+		Image page1 = put(1, 10, 10);
+		// Page 1 becomes the least recently used page
+		cache.get(0, 10, 10, false);
+		Image page2 = put(2, 10, 10);
+
+		assertTrue(page1.isDisposed());
+		assertFalse(cache.contains(1, 10, 10, false));
+		assertFalse(page0.isDisposed());
+		assertFalse(page2.isDisposed());
+		assertEquals(200, cache.getPixels());
+	}
+
+	public void testContainsDoesNotMarkAsUsed() {
+		Image page0 = put(0, 10, 10);
+		Image page1 = put(1, 10, 10);
+		cache.contains(0, 10, 10, false);
+		put(2, 10, 10);
+
+		assertTrue(page0.isDisposed());
+		assertFalse(page1.isDisposed());
+	}
+
+	public void testKeepsLastImageOverBudget() {
+		Image page0 = put(0, 10, 10);
+		Image page1 = put(1, 20, 20);
+
+		assertTrue(page0.isDisposed());
+		assertFalse(page1.isDisposed());
+		assertSame(page1, cache.get(1, 20, 20, false));
+		assertEquals(400, cache.getPixels());
+	}
+
+	public void testSetBudget() {
+		Image page0 = put(0, 10, 10);
+		Image page1 = put(1, 10, 10);
+		assertEquals(200, cache.getBudget());
+
+		cache.setBudget(100);
+		assertEquals(100, cache.getBudget());
+		assertTrue(page0.isDisposed());
+		assertFalse(page1.isDisposed());
+		assertEquals(100, cache.getPixels());
+	}
+
+	public void testReplace() {
+		Image old = put(0, 10, 10);
+		Image image = put(0, 10, 10);
+
+		assertTrue(old.isDisposed());
+		assertSame(image, cache.get(0, 10, 10, false));
+		assertEquals(100, cache.getPixels());
+	}
+
+	public void testGetAny() {
+		assertNull(cache.getAny(0, false));
+		Image small = put(0, 5, 5);
+		Image large = put(0, 10, 10);
+		put(1, 5, 5);
+
+		assertSame(large, cache.getAny(0, false));
+		assertNull(cache.getAny(0, true));
+		assertFalse(small.isDisposed());
+	}
+
+	public void testClear() {
+		Image page0 = put(0, 10, 10);
+		Image page1 = put(1, 10, 10);
+		cache.clear();
+
+		assertTrue(page0.isDisposed());
+		assertTrue(page1.isDisposed());
+		assertNull(cache.get(0, 10, 10, false));
+		assertEquals(0, cache.getPixels());
+	}
+}
@@ -13,13 +13,11 @@
  */
 package org.eclipse.nebula.paperclips.widgets;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.eclipse.nebula.paperclips.core.PageEnumeration;
+import org.eclipse.nebula.paperclips.core.PageSequence;
 import org.eclipse.nebula.paperclips.core.PaperClips;
 import org.eclipse.nebula.paperclips.core.PrintJob;
 import org.eclipse.nebula.paperclips.core.PrintPiece;
+import org.eclipse.nebula.paperclips.widgets.internal.PageImageCache;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
@@ -49,6 +47,14 @@ import org.eclipse.swt.widgets.Event;
 public class PrintPreview extends Canvas {
 	private static final int ALL_PAGES = -1;
 
+	// Default pixel budget of the page image cache, about 64 MB at 32 bpp.
+	private static final int PAGE_CACHE_SIZE_DEFAULT = 16 * 1024 * 1024;
+	// Placeholders are rendered at a quarter of the page width and height.
+	private static final int PLACEHOLDER_DIVISOR = 4;
+	// Pages up to this many pixels are rendered directly, without placeholder.
+	private static final int PLACEHOLDER_THRESHOLD = 256 * 256;
+	private static final int RENDER_DELAY = 10;
+
 	private PrintJob printJob = null;
 	private PrinterData printerData = PaperClips.getDefaultPrinterData();
 	private int pageIndex = 0;
@@ -58,16 +64,21 @@ public class PrintPreview extends Canvas {
 	private int horizontalPageCount = 1;
 	private int verticalPageCount = 1;
 	private boolean lazy = false;
+	private boolean streaming = false;
 
 	// The bounds of the paper on the printer device.
 	private Point paperSize = null;
 	private Printer printer = null;
 	private GC gc = null;
 
-	private PageEnumeration pageEnumeration = null;
-	private List<PrintPiece> pages = null;
+	private PageSequence pages = null;
 	private Point pageDisplaySize = null;
 	private Point[] pageDisplayLocations = null;
+	private boolean pagesRotated = false;
+
+	private final PageImageCache pageCache = new PageImageCache(
+			PAGE_CACHE_SIZE_DEFAULT);
+	private boolean renderScheduled = false;
 
 	// Margins and page spacing include paper boilerplate.
 	private Rectangle margins = new Rectangle(10, 10, 10, 10);
@@ -179,7 +190,7 @@ public class PrintPreview extends Canvas {
 	public int getPageCount() {
 		checkWidget();
 		fetchPages(lazy ? horizontalPageCount * verticalPageCount : ALL_PAGES);
-		return pages == null ? 0 : pages.size();
+		return pages == null ? 0 : pages.getPageCount();
 	}
 
 	/**
@@ -190,7 +201,7 @@ public class PrintPreview extends Canvas {
 	public boolean isPageLayoutComplete() {
 		checkWidget();
 		fetchPages(horizontalPageCount * verticalPageCount);
-		return pageEnumeration == null || !pageEnumeration.hasNext();
+		return pages == null || pages.isComplete();
 	}
 
 	/**
@@ -361,6 +372,46 @@ public class PrintPreview extends Canvas {
 		this.lazy = lazy;
 	}
 
+	/**
+	 * Returns whether the preview keeps only the pages around the visible
+	 * pages in memory.
+	 * <p>
+	 * <b>NOTE:</b> This API is experimental and subject to change.
+	 *
+	 * @return whether the preview keeps only the pages around the visible
+	 *         pages in memory.
+	 */
+	// TODO finalize experimental API
+	public boolean isStreamingPageLayout() {
+		checkWidget();
+		return streaming;
+	}
+
+	/**
+	 * Sets whether the preview keeps only the pages around the visible pages
+	 * in memory. Other pages are released after they are laid out, and laid
+	 * out again from a checkpoint when they are displayed. This bounds the
+	 * memory used for large documents, at the cost of laying out pages again
+	 * when moving through the document. Changing this setting lays out the
+	 * document again.
+	 * <p>
+	 * <b>NOTE:</b> This API is experimental and subject to change.
+	 *
+	 * @param streaming
+	 *            whether the preview keeps only the pages around the visible
+	 *            pages in memory.
+	 * @see PageSequence
+	 */
+	// TODO finalize experimental API
+	public void setStreamingPageLayout(boolean streaming) {
+		checkWidget();
+		if (this.streaming == streaming)
+			return;
+		this.streaming = streaming;
+		disposePages();
+		redraw();
+	}
+
 	/**
 	 * Begins lazy loading in the background, invoking the callback runnable
 	 * periodically as pages are laid out.
@@ -382,7 +433,7 @@ public class PrintPreview extends Canvas {
 				if (isDisposed())
 					return;
 				if (!isPageLayoutComplete() && pages != null) {
-					fetchPages(pages.size() + 1);
+					fetchPages(pages.getPageCount() + 1);
 					if (!isPageLayoutComplete()) {
 						getDisplay().timerExec(DELAY, this);
 					}
@@ -392,6 +443,44 @@ public class PrintPreview extends Canvas {
 		});
 	}
 
+	/**
+	 * Returns the maximum number of pixels of rendered pages that are kept in
+	 * memory.
+	 * <p>
+	 * <b>NOTE:</b> This API is experimental and subject to change.
+	 *
+	 * @return the maximum number of pixels of rendered pages that are kept in
+	 *         memory.
+	 */
+	// TODO finalize experimental API
+	public int getPageCacheSize() {
+		checkWidget();
+		return (int) pageCache.getBudget();
+	}
+
+	/**
+	 * Sets the maximum number of pixels of rendered pages that are kept in
+	 * memory. Rendered pages are reused until the page size changes, and the
+	 * least recently displayed pages are discarded first. Pages next to the
+	 * visible pages are rendered in advance while the cache has room for them.
+	 * If the visible pages do not fit into the cache, nothing is cached and the
+	 * damaged part of each page is rendered on every paint. The default is 16
+	 * megapixels.
+	 * <p>
+	 * <b>NOTE:</b> This API is experimental and subject to change.
+	 *
+	 * @param pixels
+	 *            the maximum number of pixels of rendered pages that are kept
+	 *            in memory.
+	 */
+	// TODO finalize experimental API
+	public void setPageCacheSize(int pixels) {
+		checkWidget();
+		if (pixels < 0)
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		pageCache.setBudget(pixels);
+	}
+
 	private void invalidatePageDisplayBounds() {
 		pageDisplaySize = null;
 		pageDisplayLocations = null;
@@ -412,17 +501,18 @@ public class PrintPreview extends Canvas {
 
 		if (printer == null || paperSize == null || pages == null
 				|| pageDisplaySize == null || pageDisplayLocations == null
-				|| pageIndex < 0 || pageIndex >= pages.size())
+				|| pageIndex < 0 || pageIndex >= pages.getPageCount())
 			return;
 
 		int count = Math.min(verticalPageCount * horizontalPageCount,
-				pages.size() - pageIndex);
+				pages.getPageCount() - pageIndex);
 		for (int i = 0; i < count; i++) {
-			paintPage(event, pages.get(pageIndex + i), pageDisplayLocations[i]);
+			paintPage(event, pageIndex + i, pageDisplayLocations[i]);
 		}
+		scheduleRender();
 	}
 
-	private void paintPage(Event event, PrintPiece page, Point location) {
+	private void paintPage(Event event, int index, Point location) {
 		// Check whether any "paper" is in the dirty region
 		Rectangle rectangle = new Rectangle(location.x, location.y,
 				pageDisplaySize.x, pageDisplaySize.y);
@@ -432,43 +522,142 @@ public class PrintPreview extends Canvas {
 		if (dirtyPaperBounds.width == 0 || dirtyPaperBounds.height == 0)
 			return;
 
+		int width = pageDisplaySize.x;
+		int height = pageDisplaySize.y;
+		if (!isVisiblePagesCacheable()) {
+			// Caching would evict one visible page for the next on every
+			// paint, render only the dirty part of the page instead.
+			Image image = renderPage(index, width, height,
+					dirtyPaperBounds.x - location.x,
+					dirtyPaperBounds.y - location.y, dirtyPaperBounds.width,
+					dirtyPaperBounds.height);
+			try {
+				event.gc.drawImage(image, dirtyPaperBounds.x,
+						dirtyPaperBounds.y);
+			} finally {
+				image.dispose();
+			}
+			return;
+		}
+
+		Image image = pageCache.get(index, width, height, pagesRotated);
+		if (image == null
+				&& (long) width * height <= PLACEHOLDER_THRESHOLD) {
+			image = cachePage(index, width, height);
+		}
+		if (image != null) {
+			event.gc.drawImage(image, location.x, location.y);
+			return;
+		}
+
+		// Stretch the page rendered at another size, or at low resolution,
+		// until the page is rendered at this size in the background.
+		image = pageCache.getAny(index, pagesRotated);
+		if (image == null) {
+			image = cachePage(index, Math.max(1, width / PLACEHOLDER_DIVISOR),
+					Math.max(1, height / PLACEHOLDER_DIVISOR));
+		}
+		Rectangle bounds = image.getBounds();
+		event.gc.drawImage(image, 0, 0, bounds.width, bounds.height,
+				location.x, location.y, width, height);
+	}
+
+	private boolean isVisiblePagesCacheable() {
+		return (long) pageDisplaySize.x * pageDisplaySize.y * verticalPageCount
+				* horizontalPageCount <= pageCache.getBudget();
+	}
+
+	private Image cachePage(int index, int width, int height) {
+		Image image = renderPage(index, width, height, 0, 0, width, height);
+		pageCache.put(index, width, height, pagesRotated, image);
+		return image;
+	}
+
+	/**
+	 * Renders the given area of the page displayed at the given size.
+	 */
+	private Image renderPage(int index, int width, int height, int x, int y,
+			int areaWidth, int areaHeight) {
+		PrintPiece page = pages.getPage(index);
+		if (pagesRotated)
+			page = new RotateClockwisePrintPiece(printer, page);
 		Image printerImage = null;
 		GC printerGC = null;
 		Transform printerTransform = null;
-		Image displayImage = null;
 
 		try {
-			printerImage = new Image(printer, dirtyPaperBounds.width,
-					dirtyPaperBounds.height);
+			printerImage = new Image(printer, areaWidth, areaHeight);
 			printerGC = new GC(printerImage);
 			configureAntialiasing(printerGC);
 			printerTransform = new Transform(printer);
 
 			printerGC.getTransform(printerTransform);
-			printerTransform.translate(rectangle.x - dirtyPaperBounds.x,
-					rectangle.y - dirtyPaperBounds.y);
-			printerTransform.scale(
-					(float) rectangle.width / (float) paperSize.x,
-					(float) rectangle.height / (float) paperSize.y);
+			printerTransform.translate(-x, -y);
+			printerTransform.scale((float) width / (float) paperSize.x,
+					(float) height / (float) paperSize.y);
 			printerGC.setTransform(printerTransform);
 			page.paint(printerGC, 0, 0);
 
-			displayImage = new Image(event.display,
-					printerImage.getImageData());
-			event.gc.drawImage(displayImage, dirtyPaperBounds.x,
-					dirtyPaperBounds.y);
+			return new Image(getDisplay(), printerImage.getImageData());
 		} finally {
-			disposeResources(printerImage, printerGC, printerTransform,
-					displayImage, page);
+			disposeResources(printerImage, printerGC, printerTransform, page);
+		}
+	}
+
+	private void scheduleRender() {
+		if (renderScheduled)
+			return;
+		renderScheduled = true;
+		getDisplay().timerExec(RENDER_DELAY, () -> {
+			renderScheduled = false;
+			if (!isDisposed() && renderNextPage())
+				scheduleRender();
+		});
+	}
+
+	/**
+	 * Renders the next page that is not cached at the current page size:
+	 * first the visible pages, then the next and then the previous screen of
+	 * pages. Returns whether a page was rendered.
+	 */
+	private boolean renderNextPage() {
+		if (printer == null || paperSize == null || pages == null
+				|| pageDisplaySize == null || pageDisplayLocations == null)
+			return false;
+
+		int width = pageDisplaySize.x;
+		int height = pageDisplaySize.y;
+		if (width <= 0 || height <= 0 || !isVisiblePagesCacheable())
+			return false;
+
+		int count = verticalPageCount * horizontalPageCount;
+		for (int i = 0; i < 3 * count; i++) {
+			int index = i < 2 * count ? pageIndex + i
+					: pageIndex + 2 * count - i - 1;
+			if (index < 0 || index >= pages.getPageCount()
+					|| pageCache.contains(index, width, height, pagesRotated))
+				continue;
+
+			boolean visible = i < count;
+			// Don't evict visible pages to make room for neighbours
+			if (!visible && pageCache.getPixels()
+					+ (long) width * height > pageCache.getBudget())
+				return false;
+
+			cachePage(index, width, height);
+			if (visible) {
+				Point location = pageDisplayLocations[i];
+				redraw(location.x, location.y, width, height, false);
+			}
+			return true;
 		}
+		return false;
 	}
 
 	private void disposeResources(Image printerImage, GC printerGC,
-			Transform printerTransform, Image displayImage, PrintPiece page) {
+			Transform printerTransform, PrintPiece page) {
 		if (printerImage != null)
 			printerImage.dispose();
-		if (displayImage != null)
-			displayImage.dispose();
 		if (printerGC != null)
 			printerGC.dispose();
 		if (printerTransform != null)
@@ -525,26 +714,22 @@ public class PrintPreview extends Canvas {
 	private void fetchPages(int endIndex) {
 		if (getPrintJob() == null || getPrinter() == null)
 			return;
-		if (pageEnumeration == null) {
+		if (pages == null) {
 			if (getGC() == null)
 				return;
-			pageEnumeration = PaperClips.getPageEnumeration(printJob, printer,
-					gc);
+			pages = PaperClips.getPageSequence(printJob, printer, gc,
+					PageSequence.RETAIN_ALL);
+			pagesRotated = orientationRequiresRotate();
 		}
-		if (pages == null)
-			pages = new ArrayList<>();
-		boolean doRotate = orientationRequiresRotate();
-		boolean allPages = endIndex == ALL_PAGES || !lazy;
-		while (pageEnumeration.hasNext()
-				&& (allPages || pages.size() < endIndex)) {
-			PrintPiece page = pageEnumeration.nextPage();
-			if (page != null) {
-				if (doRotate)
-					page = new RotateClockwisePrintPiece(printer, page);
-				pages.add(page);
-			}
+		if (streaming) {
+			// The visible pages and the screens before and after them
+			pages.setRetainedPageLimit(
+					3 * horizontalPageCount * verticalPageCount);
 		}
-		if (!pageEnumeration.hasNext())
+		pages.fetchPages(endIndex == ALL_PAGES || !lazy ? Integer.MAX_VALUE
+				: endIndex);
+		// Released pages are laid out again with the GC
+		if (pages.isComplete() && !streaming)
 			disposeGC();
 	}
 
@@ -741,10 +926,9 @@ public class PrintPreview extends Canvas {
 
 	private void disposePages() {
 		if (pages != null) {
-			pageEnumeration = null;
-			for (int i = 0; i < pages.size(); i++)
-				pages.get(i).dispose();
+			pages.dispose();
 			pages = null;
+			pageCache.clear();
 			paperSize = null;
 			invalidatePageDisplayBounds();
 		}
@@ -770,6 +954,7 @@ public class PrintPreview extends Canvas {
 	private void disposeResources() {
 		disposePages();
 		disposePrinter();
+		pageCache.clear();
 	}
 
 	@Override
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.nebula.paperclips.widgets.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * Keeps rendered pages of a print preview as display images. Images are keyed
+ * by page index, size and orientation, and the least recently used images are
+ * disposed once the cached images hold more pixels than the budget allows.
+ * <p>
+ * This class is not thread safe, it is only used on the user interface thread.
+ * <p>
+ * <b>NOTE:</b> This class is internal to the print preview and may change
+ * without notice.
+ */
+public class PageImageCache {
+	private static class Key {
+		final int page;
+		final int width;
+		final int height;
+		final boolean rotated;
+
+		Key(int page, int width, int height, boolean rotated) {
+			this.page = page;
+			this.width = width;
+			this.height = height;
+			this.rotated = rotated;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key that = (Key) obj;
+			return page == that.page && width == that.width
+					&& height == that.height && rotated == that.rotated;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = page;
+			result = 31 * result + width;
+			result = 31 * result + height;
+			return 31 * result + (rotated ? 1 : 0);
+		}
+	}
+
+	// Access ordered, the eldest entry is the least recently used one.
+	private final Map<Key, Image> images = new LinkedHashMap<>(16, 0.75f,
+			true);
+	private long pixels = 0;
+	private long budget;
+
+	public PageImageCache(long budget) {
+		this.budget = budget;
+	}
+
+	public long getBudget() {
+		return budget;
+	}
+
+	public void setBudget(long budget) {
+		this.budget = budget;
+		evict();
+	}
+
+	public long getPixels() {
+		return pixels;
+	}
+
+	/**
+	 * Returns the image of the page at the given size, and marks it as
+	 * recently used.
+	 */
+	public Image get(int page, int width, int height, boolean rotated) {
+		return images.get(new Key(page, width, height, rotated));
+	}
+
+	/**
+	 * Returns whether the image of the page at the given size is cached,
+	 * without marking it as recently used.
+	 */
+	public boolean contains(int page, int width, int height,
+			boolean rotated) {
+		return images.containsKey(new Key(page, width, height, rotated));
+	}
+
+	/**
+	 * Returns the largest cached image of the page at any size, or null. Used
+	 * as a placeholder while the page is rendered at the size needed.
+	 */
+	public Image getAny(int page, boolean rotated) {
+		Image result = null;
+		long resultPixels = 0;
+		for (Map.Entry<Key, Image> entry : images.entrySet()) {
+			Key key = entry.getKey();
+			long keyPixels = (long) key.width * key.height;
+			if (key.page == page && key.rotated == rotated
+					&& keyPixels > resultPixels) {
+				result = entry.getValue();
+				resultPixels = keyPixels;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the image, which is disposed by the cache when evicted or cleared.
+	 * The image that is put last is never evicted, even if it exceeds the
+	 * budget on its own.
+	 */
+	public void put(int page, int width, int height, boolean rotated,
+			Image image) {
+		Key key = new Key(page, width, height, rotated);
+		Image old = images.remove(key);
+		if (old != null) {
+			pixels -= (long) width * height;
+			old.dispose();
+		}
+		images.put(key, image);
+		pixels += (long) width * height;
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, Image>> it = images.entrySet().iterator();
+		while (pixels > budget && images.size() > 1 && it.hasNext()) {
+			Map.Entry<Key, Image> entry = it.next();
+			Key key = entry.getKey();
+			pixels -= (long) key.width * key.height;
+			entry.getValue().dispose();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Disposes all cached images.
+	 */
+	public void clear() {
+		for (Image image : images.values())
+			image.dispose();
+		images.clear();
+		pixels = 0;
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.visualization.widgets.datadefinition.ByteArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.ColorMap;
+import org.eclipse.nebula.visualization.widgets.datadefinition.ColorMap.PredefinedColorMap;
+import org.eclipse.nebula.visualization.widgets.datadefinition.DoubleArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.FloatArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.IPrimaryArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.IntArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.LongArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.ShortArrayWrapper;
+import org.eclipse.swt.graphics.ImageData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maps random data of every array wrapper type to the colors of an image, like
+ * the intensity graph does for every new data array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorMapBenchmark {
+
+	public enum WrapperType {
+		BYTE, SHORT, INT, LONG, FLOAT, DOUBLE
+	}
+
+	@Param
+	public WrapperType wrapperType;
+
+	@Param({ "512", "2048" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private ColorMap colorMap;
+	private IPrimaryArrayWrapper data;
+	private ImageData imageData;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Random random = new Random(1);
+		final int length = size * size;
+		switch (wrapperType) {
+		case BYTE:
+			final byte[] bytes = new byte[length];
+			random.nextBytes(bytes);
+			data = new ByteArrayWrapper(bytes);
+			break;
+		case SHORT:
+			final short[] shorts = new short[length];
+			for (int i = 0; i < length; i++)
+				shorts[i] = (short) random.nextInt();
+			data = new ShortArrayWrapper(shorts);
+			break;
+		case INT:
+			data = new IntArrayWrapper(random.ints(length).toArray());
+			break;
+		case LONG:
+			data = new LongArrayWrapper(random.longs(length).toArray());
+			break;
+		case FLOAT:
+			final float[] floats = new float[length];
+			for (int i = 0; i < length; i++)
+				floats[i] = random.nextFloat();
+			data = new FloatArrayWrapper(floats);
+			break;
+		default:
+			data = new DoubleArrayWrapper(random.doubles(length).toArray());
+		}
+		colorMap = new ColorMap(PredefinedColorMap.JET, true, true);
+		colorMap.setParallelRendering(parallel);
+		imageData = new ImageData(size, size, 24, colorMap.getPalette());
+	}
+
+	@Benchmark
+	public ImageData drawImage() {
+		return colorMap.drawImage(data, size, size, 1, 0, imageData, false);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.ISample;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.Sample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Appends samples to a {@link CircularBufferDataProvider}, alone, from
+ * several threads, and from several threads while another thread reads all
+ * samples like a trace painting them.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataProviderAppendBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int bufferSize;
+
+	private CircularBufferDataProvider provider;
+	private final ISample sample = new Sample(1, 2);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		provider = new CircularBufferDataProvider(true);
+		provider.setBufferSize(bufferSize);
+		for (int i = 0; i < bufferSize; i++)
+			provider.addSample(sample);
+		provider.addDataProviderListener(p -> {
+			// a trace only schedules a repaint
+		});
+	}
+
+	@Benchmark
+	@Group("single")
+	public void append() {
+		provider.addSample(sample);
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(4)
+	public void appendContended() {
+		provider.addSample(sample);
+	}
+
+	@Benchmark
+	@Group("contendedWithReader")
+	@GroupThreads(3)
+	public void appendWhileRead() {
+		provider.addSample(sample);
+	}
+
+	@Benchmark
+	@Group("contendedWithReader")
+	@GroupThreads(1)
+	public void read(Blackhole blackhole) {
+		synchronized (provider) {
+			final int size = provider.getSize();
+			for (int i = 0; i < size; i++)
+				blackhole.consume(provider.getSample(i).getYValue());
+		}
+	}
+
+	/**
+	 * Same as {@link #appendContended()}, but every thread appends to its own
+	 * data provider, as the baseline without contention.
+	 */
+	@State(Scope.Thread)
+	public static class OwnProvider {
+		CircularBufferDataProvider provider;
+
+		@Setup(Level.Trial)
+		public void setUp(DataProviderAppendBenchmark benchmark) {
+			provider = new CircularBufferDataProvider(true);
+			provider.setBufferSize(benchmark.bufferSize);
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void appendUncontended(OwnProvider own) {
+		own.provider.addSample(sample);
+	}
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.AbstractDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.PrimitiveCircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.Sample;
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculates the data range of a full data provider, once while it does not
+ * change and once after every appended sample like an auto scaled axis of a
+ * streaming trace does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataRangeBenchmark {
+
+	public enum Provider {
+		CIRCULAR_BUFFER, PRIMITIVE_CIRCULAR_BUFFER
+	}
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	@Param
+	public Provider provider;
+
+	@Param({ "false", "true" })
+	public boolean positiveOnly;
+
+	private AbstractDataProvider dataProvider;
+	private CircularBufferDataProvider circularBuffer;
+	private PrimitiveCircularBufferDataProvider primitiveCircularBuffer;
+	private final double[] value = new double[1];
+	private long count;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if (provider == Provider.CIRCULAR_BUFFER) {
+			circularBuffer = new CircularBufferDataProvider(true);
+			circularBuffer.setBufferSize(size);
+			dataProvider = circularBuffer;
+		} else {
+			primitiveCircularBuffer = new PrimitiveCircularBufferDataProvider(true, size, 0);
+			dataProvider = primitiveCircularBuffer;
+		}
+		for (count = 0; count < size; count++)
+			append();
+	}
+
+	private void append() {
+		final double y = Math.sin(count * 0.001) * 100;
+		if (circularBuffer != null) {
+			circularBuffer.addSample(new Sample(count, y));
+		} else {
+			value[0] = y;
+			primitiveCircularBuffer.append(value, 0, 1);
+		}
+	}
+
+	@Benchmark
+	public Range getDataRange() {
+		return dataProvider.getDataRange(positiveOnly, false);
+	}
+
+	@Benchmark
+	public Range appendAndGetDataRange() {
+		append();
+		count++;
+		return dataProvider.getDataRange(positiveOnly, false);
+	}
+
+}
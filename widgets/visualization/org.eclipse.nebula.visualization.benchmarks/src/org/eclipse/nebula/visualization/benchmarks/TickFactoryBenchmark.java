@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.LinearScale;
+import org.eclipse.nebula.visualization.xygraph.linearscale.Tick;
+import org.eclipse.nebula.visualization.xygraph.linearscale.TickFactory;
+import org.eclipse.nebula.visualization.xygraph.linearscale.TickFactory.TickFormatting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generates the ticks of an axis range, as done whenever an axis is laid out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickFactoryBenchmark {
+
+	@Param({ "autoMode", "roundAndChopMode", "useExponent", "useSIunits" })
+	public TickFormatting formatting;
+
+	@Param({ "10", "50" })
+	public int maxTicks;
+
+	private TickFactory tickFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		tickFactory = new TickFactory(formatting, new LinearScale());
+	}
+
+	@Benchmark
+	public List<Tick> smallRange() {
+		return tickFactory.generateTicks(-0.00123, 0.00456, maxTicks, false, true);
+	}
+
+	@Benchmark
+	public List<Tick> largeRange() {
+		return tickFactory.generateTicks(12345.6, 9876543.2, maxTicks, false, true);
+	}
+
+	@Benchmark
+	public List<Tick> logRange() {
+		return tickFactory.generateLogTicks(0.001, 1e6, maxTicks, false, true);
+	}
+
+	@Benchmark
+	public List<Tick> indexBased() {
+		return tickFactory.generateIndexBasedTicks(0, 4095, maxTicks);
+	}
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.Sample;
+import org.eclipse.nebula.visualization.xygraph.figures.Trace;
+import org.eclipse.nebula.visualization.xygraph.figures.Trace.TraceType;
+import org.eclipse.nebula.visualization.xygraph.figures.XYGraph;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Paints a trace of a sine wave onto an offscreen image.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracePaintBenchmark {
+
+	private static final int WIDTH = 1600;
+	private static final int HEIGHT = 900;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int sampleCount;
+
+	@Param({ "SOLID_LINE", "POINT", "BAR", "AREA", "STEP_HORIZONTALLY" })
+	public TraceType traceType;
+
+	private Image image;
+	private GC gc;
+	private SWTGraphics graphics;
+	private Trace trace;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Display display = Display.getDefault();
+		image = new Image(display, WIDTH, HEIGHT);
+		gc = new GC(image);
+		graphics = new SWTGraphics(gc);
+
+		final CircularBufferDataProvider provider = new CircularBufferDataProvider(true);
+		provider.setBufferSize(sampleCount);
+		for (int i = 0; i < sampleCount; i++)
+			provider.addSample(new Sample(i, Math.sin(i * 20 * Math.PI / sampleCount)));
+
+		final XYGraph xyGraph = new XYGraph();
+		xyGraph.setBounds(new Rectangle(0, 0, WIDTH, HEIGHT));
+		trace = new Trace("Sine", xyGraph.getPrimaryXAxis(), xyGraph.getPrimaryYAxis(), provider);
+		trace.setTraceType(traceType);
+		xyGraph.addTrace(trace);
+		xyGraph.getPrimaryXAxis().setRange(0, sampleCount);
+		xyGraph.getPrimaryYAxis().setRange(-1.1, 1.1);
+		xyGraph.validate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		graphics.dispose();
+		gc.dispose();
+		image.dispose();
+	}
+
+	@Benchmark
+	public void paint() {
+		trace.paint(graphics);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.widgets.datadefinition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Random;
+
+import org.eclipse.nebula.visualization.widgets.datadefinition.ColorMap.PredefinedColorMap;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Test;
+
+/**
+ * Compares images written directly into 24 bit image data with images set
+ * pixel by pixel into 32 bit image data.
+ */
+public class ColorMapTest {
+
+	private static final int WIDTH = 640;
+	private static final int HEIGHT = 480;
+
+	private static void assertSameImage(IPrimaryArrayWrapper data, int unsignedBits, double max, double min,
+			boolean shrink) {
+		ColorMap colorMap = new ColorMap(PredefinedColorMap.JET, true, true);
+		int width = shrink ? WIDTH / 3 : WIDTH;
+		int height = shrink ? HEIGHT / 3 : HEIGHT;
+		ImageData direct = colorMap.drawImage(data, unsignedBits, WIDTH, HEIGHT, max, min,
+				new ImageData(width, height, 24, colorMap.getPalette()), shrink);
+		ImageData reference = colorMap.drawImage(data, unsignedBits, WIDTH, HEIGHT, max, min,
+				new ImageData(width, height, 32, colorMap.getPalette()), shrink);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals("pixel " + x + "," + y, reference.getPixel(x, y), direct.getPixel(x, y));
+			}
+		}
+	}
+
+	/**
+	 * @return indexes into the color table, in the middle between two colors so
+	 *         they are not affected by rounding
+	 */
+	private static int[] indexes(long seed) {
+		Random random = new Random(seed);
+		int[] indexes = new int[WIDTH * HEIGHT];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = random.nextInt(300) - 20;
+		}
+		return indexes;
+	}
+
+	@Test
+	public void testDouble() {
+		int[] indexes = indexes(1);
+		double[] data = new double[indexes.length];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = -10 + (indexes[i] + 0.5) * 30 / 255.0;
+		}
+		assertSameImage(new DoubleArrayWrapper(data), 0, 20, -10, false);
+		assertSameImage(new DoubleArrayWrapper(data), 0, 20, -10, true);
+	}
+
+	@Test
+	public void testFloatIntLong() {
+		int[] indexes = indexes(2);
+		float[] floats = new float[indexes.length];
+		long[] longs = new long[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			floats[i] = indexes[i] + 0.5f;
+			longs[i] = 2 * indexes[i] + 1;
+		}
+		assertSameImage(new FloatArrayWrapper(floats), 0, 255, 0, false);
+		assertSameImage(new IntArrayWrapper(indexes), 0, 255.5, -0.5, true);
+		assertSameImage(new LongArrayWrapper(longs), 0, 510, 0, false);
+	}
+
+	@Test
+	public void testByteAndShort() {
+		Random random = new Random(3);
+		byte[] bytes = new byte[WIDTH * HEIGHT];
+		short[] shorts = new short[WIDTH * HEIGHT];
+		random.nextBytes(bytes);
+		for (int i = 0; i < shorts.length; i++) {
+			shorts[i] = (short) random.nextInt();
+		}
+		assertSameImage(new ByteArrayWrapper(bytes), 0, 100, -100, false);
+		assertSameImage(new ByteArrayWrapper(bytes), 8, 255, 0, true);
+		assertSameImage(new ShortArrayWrapper(shorts), 0, 30000, -30000, false);
+		assertSameImage(new ShortArrayWrapper(shorts), 16, 65535, 0, false);
+	}
+
+	@Test
+	public void testVersion() {
+		ColorMap colorMap = new ColorMap(PredefinedColorMap.GrayScale, true, true);
+		int version = colorMap.getVersion();
+		assertEquals(version, colorMap.getVersion());
+		RGB[] colors = colorMap.getColorsLookupTable();
+		colorMap.setInterpolate(false);
+		assertNotEquals(version, colorMap.getVersion());
+		assertNotEquals(colors[128], colorMap.getColorsLookupTable()[128]);
+
+		// changes of the map itself are noticed as well
+		version = colorMap.getVersion();
+		colorMap.getMap().put(0.5, new RGB(255, 0, 0));
+		assertNotEquals(version, colorMap.getVersion());
+		assertEquals(new RGB(255, 0, 0), colorMap.getColorsLookupTable()[128]);
+	}
+}
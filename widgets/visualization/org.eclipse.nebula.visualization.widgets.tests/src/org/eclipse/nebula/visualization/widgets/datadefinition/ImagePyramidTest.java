@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.widgets.datadefinition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.nebula.visualization.widgets.datadefinition.ImagePyramid.Pooling;
+import org.junit.Test;
+
+/**
+ * Compares the pooled values of the pyramid levels with values pooled from
+ * the source data, and checks which source values are read to build the
+ * levels and which tiles are cached.
+ */
+public class ImagePyramidTest {
+
+	private static final int WIDTH = 700;
+	private static final int HEIGHT = 530;
+
+	private static double[] createData() {
+		Random random = new Random(11);
+		double[] data = new double[WIDTH * HEIGHT];
+		for (int i = 0; i < data.length; i++)
+			data[i] = random.nextDouble() * 1000;
+		data[17] = Double.NaN;
+		return data;
+	}
+
+	private static double pool(double[] data, int level, int x, int y, Pooling pooling) {
+		double result = Double.NaN;
+		int count = 0;
+		for (int sy = y << level; sy < Math.min(HEIGHT, (y + 1) << level); sy++) {
+			for (int sx = x << level; sx < Math.min(WIDTH, (x + 1) << level); sx++) {
+				double value = data[sy * WIDTH + sx];
+				if (Double.isNaN(value))
+					continue;
+				if (count++ == 0)
+					result = value;
+				else if (pooling == Pooling.MAX)
+					result = Math.max(result, value);
+				else
+					result += value;
+			}
+		}
+		return pooling == Pooling.MAX || count == 0 ? result : result / count;
+	}
+
+	private static void assertPooled(Pooling pooling) {
+		double[] data = createData();
+		ImagePyramid pyramid = new ImagePyramid(new DoubleArrayWrapper(data), WIDTH, HEIGHT, 0, pooling, 4);
+		assertEquals(3, pyramid.getLevelCount());
+		for (int level = 0; level < pyramid.getLevelCount(); level++) {
+			assertEquals((WIDTH + (1 << level) - 1) >> level, pyramid.getLevelWidth(level));
+			assertEquals((HEIGHT + (1 << level) - 1) >> level, pyramid.getLevelHeight(level));
+			for (int y = 0; y < pyramid.getLevelHeight(level); y++)
+				for (int x = 0; x < pyramid.getLevelWidth(level); x++)
+					assertEquals(pool(data, level, x, y, pooling), pyramid.getValue(level, x, y), 1e-3);
+		}
+		assertTrue(Double.isNaN(pyramid.getValue(0, WIDTH, 0)));
+	}
+
+	@Test
+	public void testMeanPooling() {
+		assertPooled(Pooling.MEAN);
+	}
+
+	@Test
+	public void testMaxPooling() {
+		assertPooled(Pooling.MAX);
+	}
+
+	@Test
+	public void testUnsignedData() {
+		byte[] data = new byte[] { -1, 1, -128, 127 };
+		ImagePyramid pyramid = new ImagePyramid(new ByteArrayWrapper(data), 2, 2, 8, Pooling.MAX, 4);
+		assertEquals(255, pyramid.getValue(0, 0, 0), 0);
+		assertEquals(128, pyramid.getValue(0, 0, 1), 0);
+		assertEquals(1, pyramid.getLevelCount());
+	}
+
+	@Test
+	public void testSourceValuesAreNotRounded() {
+		double[] data = new double[] { 0.1, 1e300, Math.PI, -0.0 };
+		ImagePyramid pyramid = new ImagePyramid(new DoubleArrayWrapper(data), 2, 2, 0, Pooling.MEAN, 4);
+		for (int i = 0; i < data.length; i++)
+			assertEquals(data[i], pyramid.getValue(0, i % 2, i / 2), 0);
+	}
+
+	/**
+	 * Counts the source values read by the pyramid.
+	 */
+	private static class CountingArrayWrapper extends DoubleArrayWrapper {
+		private int reads;
+
+		CountingArrayWrapper(double[] data) {
+			super(data);
+		}
+
+		@Override
+		public double get(int i) {
+			reads++;
+			return super.get(i);
+		}
+	}
+
+	@Test
+	public void testLevelsAreBuiltFromTheLevelBelow() {
+		int width = 2048, height = 1024;
+		Random random = new Random(12);
+		double[] data = new double[width * height];
+		for (int i = 0; i < data.length; i++)
+			data[i] = random.nextInt(1000);
+		CountingArrayWrapper source = new CountingArrayWrapper(data);
+		ImagePyramid pyramid = new ImagePyramid(source, width, height, 0, Pooling.MEAN, 16);
+		assertEquals(4, pyramid.getLevelCount());
+		// the top level from scratch reads every source value once and only
+		// caches the requested tile
+		pyramid.getTile(3, 0, 0);
+		assertEquals(data.length, source.reads);
+		assertEquals(1, pyramid.getCachedTileCount());
+
+		// after the level below is cached, the top level reads no source value
+		pyramid.clear();
+		source.reads = 0;
+		for (int y = 0; y < pyramid.getTileRows(2); y++)
+			for (int x = 0; x < pyramid.getTileColumns(2); x++)
+				pyramid.getTile(2, x, y);
+		assertEquals(data.length, source.reads);
+		pyramid.getTile(3, 0, 0);
+		assertEquals(data.length, source.reads);
+
+		// means of means are weighed like means of the source
+		for (int y = 0; y < pyramid.getLevelHeight(3); y += 7)
+			for (int x = 0; x < pyramid.getLevelWidth(3); x += 5) {
+				double sum = 0;
+				for (int sy = y * 8; sy < y * 8 + 8; sy++)
+					for (int sx = x * 8; sx < x * 8 + 8; sx++)
+						sum += data[sy * width + sx];
+				assertEquals(sum / 64, pyramid.getValue(3, x, y), 1e-3);
+			}
+	}
+
+	@Test
+	public void testEviction() {
+		CountingArrayWrapper source = new CountingArrayWrapper(new double[1024 * 256]);
+		ImagePyramid pyramid = new ImagePyramid(source, 1024, 256, 0, Pooling.MAX, 2);
+		float[] first = pyramid.getTile(0, 0, 0);
+		pyramid.getTile(0, 1, 0);
+		// the first tile is used again, the second is the least recently used
+		assertSame(first, pyramid.getTile(0, 0, 0));
+		pyramid.getTile(0, 2, 0);
+		assertEquals(2, pyramid.getCachedTileCount());
+		int reads = source.reads;
+		assertSame(first, pyramid.getTile(0, 0, 0));
+		assertEquals(reads, source.reads);
+		pyramid.getTile(0, 1, 0);
+		assertEquals(reads + 256 * 256, source.reads);
+
+		// a smaller cache drops the least recently used tiles
+		pyramid.setMaxTiles(1);
+		assertEquals(1, pyramid.getCachedTileCount());
+		assertEquals(1, pyramid.getMaxTiles());
+		reads = source.reads;
+		pyramid.getTile(0, 1, 0);
+		assertEquals(reads, source.reads);
+	}
+
+	@Test
+	public void testLevelForZoom() {
+		ImagePyramid pyramid = new ImagePyramid(new DoubleArrayWrapper(new double[4096 * 4096]), 4096, 4096, 0,
+				Pooling.MEAN, 4);
+		assertEquals(5, pyramid.getLevelCount());
+		assertEquals(0, pyramid.getLevel(0.5));
+		assertEquals(0, pyramid.getLevel(1.9));
+		assertEquals(1, pyramid.getLevel(2));
+		assertEquals(3, pyramid.getLevel(10));
+		assertEquals(4, pyramid.getLevel(100));
+	}
+}
@@ -27,6 +27,10 @@ public class ByteArrayWrapper implements IPrimaryArrayWrapper {
 	public void setData(byte[] data) {
 		this.data = data;
 	}
+
+	public byte[] getData() {
+		return data;
+	}
 	
 	public double get(int i) {
 		return data[i];
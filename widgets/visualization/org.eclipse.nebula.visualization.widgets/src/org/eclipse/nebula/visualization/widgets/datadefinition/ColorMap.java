@@ -89,6 +89,11 @@ public class ColorMap {
 	private PaletteData palette = new PaletteData(0xff, 0xff00, 0xff0000);
 	private double colorMapMin;
 	private double colorMapMax;
+	private boolean parallelRendering = true;
+	/** Incremented whenever the colors change */
+	private int version;
+	/** Hash code of the map the lookup tables were calculated from */
+	private int mapHashCode;
 	
 	public ColorMap() {
 		colorMap = new LinkedHashMap<Double, RGB>();
@@ -105,7 +110,8 @@ public class ColorMap {
 	
 	
 	/**
-	 * @return the map which back up the ColorMap 
+	 * @return the map which back up the ColorMap. Changes of the map are
+	 * noticed the next time an image is drawn.
 	 */
 	public LinkedHashMap<Double, RGB> getMap() {
 		return colorMap;
@@ -118,7 +124,7 @@ public class ColorMap {
 	public void setColorMap(LinkedHashMap<Double, RGB> colorMap) {
 		this.colorMap = colorMap;
 		this.predefinedColorMap = PredefinedColorMap.None;
-		colorsLookupTable = null;
+		colorsChanged();
 	}
 
 	/**
@@ -126,7 +132,7 @@ public class ColorMap {
 	 */
 	public void setAutoScale(boolean autoScale) {
 		this.autoScale = autoScale;
-		colorsLookupTable = null;		
+		colorsChanged();
 	}
 
 
@@ -143,6 +149,7 @@ public class ColorMap {
 	 */
 	public void setInterpolate(boolean interpolate) {
 		this.interpolate = interpolate;
+		colorsChanged();
 	}
 
 
@@ -161,7 +168,25 @@ public class ColorMap {
 		this.predefinedColorMap = predefinedColorMap;
 		if(predefinedColorMap != PredefinedColorMap.None)
 			colorMap = predefinedColorMap.getMap();
+		colorsChanged();
+	}
+
+	private void colorsChanged() {
 		colorsLookupTable = null;
+		version++;
+	}
+
+	/**
+	 * @return a number which changes whenever the colors of the map change,
+	 * including changes of the map returned by {@link #getMap()}. Allows to
+	 * find out whether images drawn before are still valid.
+	 */
+	public int getVersion() {
+		if(colorMap != null && colorMap.hashCode() != mapHashCode){
+			mapHashCode = colorMap.hashCode();
+			colorsChanged();
+		}
+		return version;
 	}
 
 
@@ -171,6 +196,21 @@ public class ColorMap {
 	public PredefinedColorMap getPredefinedColorMap() {
 		return predefinedColorMap;
 	}
+
+	/**
+	 * @param parallelRendering true to render large images with several threads
+	 * of the common fork-join pool. The default is true.
+	 */
+	public void setParallelRendering(boolean parallelRendering) {
+		this.parallelRendering = parallelRendering;
+	}
+
+	/**
+	 * @return true if large images are rendered with several threads
+	 */
+	public boolean isParallelRendering() {
+		return parallelRendering;
+	}
 	
 	@Override
 	public String toString() {
@@ -194,16 +234,49 @@ public class ColorMap {
 	 */
 	public ImageData drawImage(IPrimaryArrayWrapper dataArray, 
 			int dataWidth, int dataHeight, double max, double min, ImageData imageData, boolean shrink){
+		return drawImage(dataArray, 0, dataWidth, dataHeight, max, min, imageData, shrink);
+	}
+
+	/**Calculate the image data from source data based on the color map.
+	 * 24 bit image data is written directly, which is much faster than setting it pixel by pixel.
+	 * @param dataArray the source data
+	 * @param unsignedBits if greater than 0, negative values in dataArray are read as unsigned values of this many bits.
+	 * @param dataWidth number of columns of dataArray; This will be the width of image data.
+	 * @param dataHeight number of rows of dataArray; This will be the height of image data.
+	 * @param max the upper limit of the data in dataArray
+	 * @param min the lower limit of the data in dataArray
+	 * @param imageData the imageData to be filled. null if a new instance should be created.
+	 * @param shrink true if area size of image data is smaller than dataWidth*dataHeight.
+	 * @return the image data. null if dataWidth or dataHeight is less than 1.
+	 */
+	public ImageData drawImage(IPrimaryArrayWrapper dataArray, final int unsignedBits,
+			int dataWidth, int dataHeight, double max, double min, ImageData imageData, boolean shrink){
 		if(dataWidth <1 || dataHeight < 1 || dataWidth *dataHeight > dataArray.getSize()|| dataWidth * dataHeight < 0)
 			return null;
 		if(imageData == null)
 			imageData = new ImageData(dataWidth,dataHeight, 24, palette);	
-		if(colorsLookupTable == null)
-			getColorsLookupTable();
+		getColorsLookupTable();
 		
 		if(!autoScale){
 			min = colorMapMin;
 			max = colorMapMax;
+		}
+		if(ColorMapRasterizer.rasterize(dataArray, unsignedBits, dataWidth, dataHeight, max, min,
+				pixelLookupTable, imageData, shrink, parallelRendering))
+			return imageData;
+		if(unsignedBits > 0){
+			final IPrimaryArrayWrapper signedArray = dataArray;
+			final double offset = Math.pow(2, unsignedBits);
+			dataArray = new IPrimaryArrayWrapper() {
+				public double get(int i) {
+					double value = signedArray.get(i);
+					return value < 0 ? value + offset : value;
+				}
+
+				public int getSize() {
+					return signedArray.getSize();
+				}
+			};
 		}
 			if(shrink){				
 				int height = imageData.height;
@@ -300,6 +373,7 @@ public class ColorMap {
 	 * @return the colorsLookupTable a array of 256 colors corresponding to the value from min to max
 	 */
 	public RGB[] getColorsLookupTable() {
+		getVersion();
 		if(colorsLookupTable == null){
 			//convert map to array to simplify the calculation
 			ColorTuple[] colorTupleArray = new ColorTuple[colorMap.size()];
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.widgets.datadefinition;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * Renders source data through a color map straight into the scanlines of 24
+ * bit {@link ImageData}, with a loop specialised for each array wrapper type.
+ * Byte and short data are mapped through a table of pixels for every possible
+ * value, other types through a precomputed scale factor instead of a division
+ * per pixel. Large images are
+ * rendered row-parallel on the common fork-join pool.
+ */
+final class ColorMapRasterizer {
+
+	/** Minimum number of pixels to render in parallel */
+	static final int PARALLEL_THRESHOLD = 1 << 18;
+
+	/** Rows rendered by one fork-join task at least */
+	private static final int MIN_ROWS_PER_TASK = 16;
+
+	/**
+	 * Renders the source values at the given offsets of one image row.
+	 */
+	private interface RowPainter {
+		/**
+		 * @param rowOffset
+		 *            index of the first source value of the row
+		 * @param columns
+		 *            offset of the source value of each pixel from rowOffset
+		 * @param dst
+		 *            image data
+		 * @param dstOffset
+		 *            index of the first byte of the row in dst
+		 */
+		void paint(int rowOffset, int[] columns, byte[] dst, int dstOffset);
+	}
+
+	private ColorMapRasterizer() {
+	}
+
+	/**
+	 * Render the source data. Same as the pixel by pixel loops in
+	 * {@link ColorMap#drawImage(IPrimaryArrayWrapper, int, int, double, double, ImageData, boolean)}
+	 * except that values of types other than byte and short may be rounded to
+	 * the neighbouring color when they are right at the boundary between two
+	 * colors.
+	 *
+	 * @param unsignedBits
+	 *            if greater than 0, negative values are read as unsigned
+	 *            values of this many bits
+	 * @param pixels
+	 *            256 pixels of the color map from min to max
+	 * @return false if the image data is not 24 bit or smaller than the
+	 *         source, nothing was rendered
+	 */
+	static boolean rasterize(IPrimaryArrayWrapper dataArray, int unsignedBits, int dataWidth, int dataHeight,
+			double max, double min, int[] pixels, ImageData imageData, boolean shrink, boolean parallel) {
+		// 24 bit image data always stores the most significant byte first
+		if (imageData.depth != 24)
+			return false;
+		final int width = shrink ? imageData.width : dataWidth;
+		final int height = shrink ? imageData.height : dataHeight;
+		if (imageData.width < width || imageData.height < height)
+			return false;
+
+		// Offset of the source value of every column and row, using the same
+		// 16.16 fixed point nearest neighbor scaling as ColorMap.drawImage
+		final int[] columns = new int[width];
+		final int[] rows = new int[height];
+		if (shrink) {
+			final int xRatio = ((dataWidth << 16) / width) + 1;
+			final int yRatio = ((dataHeight << 16) / height) + 1;
+			for (int j = 0; j < width; j++)
+				columns[j] = (j * xRatio) >> 16;
+			for (int i = 0; i < height; i++)
+				rows[i] = ((i * yRatio) >> 16) * dataWidth;
+		} else {
+			for (int j = 0; j < width; j++)
+				columns[j] = j;
+			for (int i = 0; i < height; i++)
+				rows[i] = i * dataWidth;
+		}
+
+		final RowPainter painter = createPainter(dataArray, unsignedBits, max, min, pixels, width * height);
+		final byte[] dst = imageData.data;
+		final int bytesPerLine = imageData.bytesPerLine;
+		if (parallel && width * height >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+			ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					paintRows(0, height);
+				}
+
+				private void paintRows(int from, int to) {
+					if (to - from <= MIN_ROWS_PER_TASK) {
+						for (int i = from; i < to; i++)
+							painter.paint(rows[i], columns, dst, i * bytesPerLine);
+						return;
+					}
+					final int middle = (from + to) >>> 1;
+					invokeAll(new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected void compute() {
+							paintRows(from, middle);
+						}
+					}, new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected void compute() {
+							paintRows(middle, to);
+						}
+					});
+				}
+			});
+		} else {
+			for (int i = 0; i < height; i++)
+				painter.paint(rows[i], columns, dst, i * bytesPerLine);
+		}
+		return true;
+	}
+
+	private static int index(double value, double min, double scale) {
+		final int index = (int) ((value - min) * scale);
+		return index < 0 ? 0 : index > 255 ? 255 : index;
+	}
+
+	/**
+	 * Same as the pixel by pixel loops, used to fill tables.
+	 */
+	private static int exactIndex(double value, double min, double max) {
+		final int index = (int) ((value - min) / (max - min) * 255);
+		return index < 0 ? 0 : index > 255 ? 255 : index;
+	}
+
+	private static double unsigned(double value, double offset) {
+		return value < 0 ? value + offset : value;
+	}
+
+	/**
+	 * @param count
+	 *            number of pixels to render, decides whether a table of all
+	 *            short values pays off
+	 */
+	private static RowPainter createPainter(IPrimaryArrayWrapper dataArray, int unsignedBits, double max,
+			double min, int[] pixels, int count) {
+		final double scale = 255 / (max - min);
+		final boolean unsigned = unsignedBits > 0;
+		final double offset = unsigned ? Math.pow(2, unsignedBits) : 0;
+
+		if (dataArray instanceof ByteArrayWrapper) {
+			final byte[] data = ((ByteArrayWrapper) dataArray).getData();
+			final int[] table = new int[256];
+			for (int v = Byte.MIN_VALUE; v <= Byte.MAX_VALUE; v++)
+				table[v & 0xff] = pixels[exactIndex(unsigned ? unsigned(v, offset) : v, min, max)];
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					final int pixel = table[data[rowOffset + column] & 0xff];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		if (dataArray instanceof ShortArrayWrapper && count >= 1 << 16) {
+			final short[] data = ((ShortArrayWrapper) dataArray).getData();
+			final int[] table = new int[1 << 16];
+			for (int v = Short.MIN_VALUE; v <= Short.MAX_VALUE; v++)
+				table[v & 0xffff] = pixels[exactIndex(unsigned ? unsigned(v, offset) : v, min, max)];
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					final int pixel = table[data[rowOffset + column] & 0xffff];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		if (dataArray instanceof DoubleArrayWrapper) {
+			final double[] data = ((DoubleArrayWrapper) dataArray).data;
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					double value = data[rowOffset + column];
+					if (unsigned)
+						value = unsigned(value, offset);
+					final int pixel = pixels[index(value, min, scale)];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		if (dataArray instanceof FloatArrayWrapper) {
+			final float[] data = ((FloatArrayWrapper) dataArray).getData();
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					double value = data[rowOffset + column];
+					if (unsigned)
+						value = unsigned(value, offset);
+					final int pixel = pixels[index(value, min, scale)];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		if (dataArray instanceof IntArrayWrapper) {
+			final int[] data = ((IntArrayWrapper) dataArray).getData();
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					double value = data[rowOffset + column];
+					if (unsigned)
+						value = unsigned(value, offset);
+					final int pixel = pixels[index(value, min, scale)];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		if (dataArray instanceof LongArrayWrapper) {
+			final long[] data = ((LongArrayWrapper) dataArray).getData();
+			return (rowOffset, columns, dst, o) -> {
+				for (int column : columns) {
+					double value = data[rowOffset + column];
+					if (unsigned)
+						value = unsigned(value, offset);
+					final int pixel = pixels[index(value, min, scale)];
+					dst[o++] = (byte) (pixel >> 16);
+					dst[o++] = (byte) (pixel >> 8);
+					dst[o++] = (byte) pixel;
+				}
+			};
+		}
+		// Any other wrapper, including short data too small for a table
+		return (rowOffset, columns, dst, o) -> {
+			for (int column : columns) {
+				double value = dataArray.get(rowOffset + column);
+				if (unsigned)
+					value = unsigned(value, offset);
+				final int pixel = pixels[index(value, min, scale)];
+				dst[o++] = (byte) (pixel >> 16);
+				dst[o++] = (byte) (pixel >> 8);
+				dst[o++] = (byte) pixel;
+			}
+		};
+	}
+
+}
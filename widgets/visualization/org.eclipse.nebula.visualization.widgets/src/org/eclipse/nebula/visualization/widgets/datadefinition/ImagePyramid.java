@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.widgets.datadefinition;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multi-resolution view on a two dimensional source array. Level 0 is the
+ * source itself, each value of level n pools a block of 2<sup>n</sup> x
+ * 2<sup>n</sup> source values by their mean or maximum.
+ * <p>
+ * The levels are split into square tiles of {@value #TILE_SIZE} values, which
+ * are computed when they are first requested and kept in a least recently used
+ * cache. Level 1 tiles are pooled from the source, the tiles of every higher
+ * level from the four tiles of the level below, which are taken from the cache
+ * or computed without being cached. Zooming out therefore visits every source
+ * value of the view once, and only visits the cached tiles of the level below
+ * after zooming out by one level. NaN values are ignored by the pooling,
+ * values outside of the source are NaN.
+ * <p>
+ * Tile values are stored in single precision to keep more tiles in memory,
+ * which rounds them to about 7 significant digits, far below the resolution of
+ * a color map. {@link #getValue(int, int, int)} reads the source values of
+ * level 0 without rounding. Tiles of {@link Pooling#MEAN} levels also store
+ * the number of source values pooled into each value, so means of higher
+ * levels weigh the values below by their count like means of the source.
+ * <p>
+ * The pyramid does not notice changes of the source; create a new one or call
+ * {@link #clear()} when the data changed.
+ */
+public class ImagePyramid {
+
+	/**
+	 * How the source values of a block are pooled into one value.
+	 */
+	public enum Pooling {
+		MEAN, MAX
+	}
+
+	/** Number of columns and rows of a tile */
+	public static final int TILE_SIZE = 256;
+
+	private static final int TILE_SHIFT = 8;
+
+	/**
+	 * Values of a tile and, for {@link Pooling#MEAN} levels above 0, the
+	 * number of source values pooled into each value.
+	 */
+	private static final class Tile {
+		final float[] values;
+		final int[] counts;
+
+		Tile(float[] values, int[] counts) {
+			this.values = values;
+			this.counts = counts;
+		}
+	}
+
+	private final IPrimaryArrayWrapper source;
+	private final int width;
+	private final int height;
+	private final double unsignedOffset;
+	private final Pooling pooling;
+	private final int levelCount;
+	private final Map<Long, Tile> tiles;
+	private int maxTiles;
+
+	/** Number of values and their sum or maximum per cell while pooling */
+	private int[] counts;
+	private double[] pooled;
+
+	/**
+	 * @param source
+	 *            the source data, row by row
+	 * @param width
+	 *            number of columns of the source
+	 * @param height
+	 *            number of rows of the source
+	 * @param unsignedBits
+	 *            if greater than 0, negative source values are read as unsigned
+	 *            values of this many bits
+	 * @param pooling
+	 *            how blocks of source values are pooled
+	 * @param maxTiles
+	 *            number of tiles to keep in the cache
+	 */
+	public ImagePyramid(IPrimaryArrayWrapper source, int width, int height, int unsignedBits, Pooling pooling,
+			int maxTiles) {
+		if (width < 1 || height < 1 || (long) width * height > source.getSize())
+			throw new IllegalArgumentException("Size of the source is less than width*height.");
+		this.source = source;
+		this.width = width;
+		this.height = height;
+		this.unsignedOffset = unsignedBits > 0 ? Math.pow(2, unsignedBits) : 0;
+		this.pooling = pooling;
+		this.maxTiles = maxTiles;
+		int levels = 1;
+		while (Math.max(width, height) > TILE_SIZE << (levels - 1))
+			levels++;
+		levelCount = levels;
+		tiles = new LinkedHashMap<Long, Tile>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+				return size() > ImagePyramid.this.maxTiles;
+			}
+		};
+	}
+
+	/**
+	 * @return number of levels; the last level fits in one tile
+	 */
+	public int getLevelCount() {
+		return levelCount;
+	}
+
+	/**
+	 * @return number of columns of the level
+	 */
+	public int getLevelWidth(int level) {
+		return (int) (((long) width + (1 << level) - 1) >> level);
+	}
+
+	/**
+	 * @return number of rows of the level
+	 */
+	public int getLevelHeight(int level) {
+		return (int) (((long) height + (1 << level) - 1) >> level);
+	}
+
+	/**
+	 * @return number of tile columns of the level
+	 */
+	public int getTileColumns(int level) {
+		return (getLevelWidth(level) + TILE_SIZE - 1) >> TILE_SHIFT;
+	}
+
+	/**
+	 * @return number of tile rows of the level
+	 */
+	public int getTileRows(int level) {
+		return (getLevelHeight(level) + TILE_SIZE - 1) >> TILE_SHIFT;
+	}
+
+	public Pooling getPooling() {
+		return pooling;
+	}
+
+	/**
+	 * The finest level at which one value covers at least the given number of
+	 * source values in each direction, i.e. the level to draw when that many
+	 * source values fall on one pixel.
+	 *
+	 * @param sourceValuesPerPixel
+	 *            number of source values per pixel in the direction with less
+	 *            values per pixel
+	 * @return the level
+	 */
+	public int getLevel(double sourceValuesPerPixel) {
+		int level = 0;
+		while (level < levelCount - 1 && (2 << level) <= sourceValuesPerPixel)
+			level++;
+		return level;
+	}
+
+	/**
+	 * Set the number of tiles to keep in the cache, dropping the least
+	 * recently used tiles if there are more. It should be at least the number
+	 * of tiles in view, so they are not computed again on every paint.
+	 *
+	 * @param maxTiles
+	 *            number of tiles to keep in the cache
+	 */
+	public synchronized void setMaxTiles(int maxTiles) {
+		this.maxTiles = maxTiles;
+		final Iterator<Long> eldest = tiles.keySet().iterator();
+		while (tiles.size() > maxTiles) {
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * @return number of tiles to keep in the cache
+	 */
+	public synchronized int getMaxTiles() {
+		return maxTiles;
+	}
+
+	/**
+	 * @return number of tiles in the cache
+	 */
+	public synchronized int getCachedTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * Drop all cached tiles.
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+	}
+
+	/**
+	 * Get the values of a tile, computing them if they are not cached.
+	 *
+	 * @param level
+	 *            the level
+	 * @param tileX
+	 *            column of the tile, its first value is in column tileX *
+	 *            {@value #TILE_SIZE} of the level
+	 * @param tileY
+	 *            row of the tile
+	 * @return {@value #TILE_SIZE} rows of {@value #TILE_SIZE} values, in
+	 *         single precision. Must not be modified.
+	 */
+	public synchronized float[] getTile(int level, int tileX, int tileY) {
+		final Long key = key(level, tileX, tileY);
+		Tile tile = tiles.get(key);
+		if (tile == null) {
+			tile = computeTile(level, tileX, tileY);
+			tiles.put(key, tile);
+		}
+		return tile.values;
+	}
+
+	private static Long key(int level, int tileX, int tileY) {
+		return ((long) level << 48) | ((long) tileY << 24) | tileX;
+	}
+
+	/**
+	 * @return the value of a level, NaN if it is outside of the source or all
+	 *         source values it covers are NaN
+	 */
+	public double getValue(int level, int x, int y) {
+		if (x < 0 || y < 0 || x >= getLevelWidth(level) || y >= getLevelHeight(level))
+			return Double.NaN;
+		if (level == 0)
+			return read(y * width + x);
+		final float[] tile = getTile(level, x >> TILE_SHIFT, y >> TILE_SHIFT);
+		return tile[((y & (TILE_SIZE - 1)) << TILE_SHIFT) | (x & (TILE_SIZE - 1))];
+	}
+
+	private double read(int index) {
+		final double value = source.get(index);
+		return value < 0 && unsignedOffset > 0 ? value + unsignedOffset : value;
+	}
+
+	private Tile computeTile(int level, int tileX, int tileY) {
+		if (level == 0)
+			return copySource(tileX, tileY);
+		// Pool into the cells of the tile, child tiles are computed before as
+		// they use the same cells
+		final Tile[] children = level == 1 ? null : getChildren(level - 1, tileX, tileY);
+		if (counts == null) {
+			counts = new int[TILE_SIZE * TILE_SIZE];
+			pooled = new double[TILE_SIZE * TILE_SIZE];
+		}
+		Arrays.fill(counts, 0);
+		if (level == 1)
+			poolSource(tileX, tileY);
+		else
+			for (int quadrant = 0; quadrant < 4; quadrant++)
+				if (children[quadrant] != null)
+					poolChild(children[quadrant], quadrant);
+		final boolean max = pooling == Pooling.MAX;
+		final float[] values = new float[TILE_SIZE * TILE_SIZE];
+		Arrays.fill(values, Float.NaN);
+		for (int cell = 0; cell < values.length; cell++) {
+			if (counts[cell] > 0)
+				values[cell] = (float) (max ? pooled[cell] : pooled[cell] / counts[cell]);
+		}
+		return new Tile(values, max ? null : counts.clone());
+	}
+
+	private Tile copySource(int tileX, int tileY) {
+		final float[] values = new float[TILE_SIZE * TILE_SIZE];
+		Arrays.fill(values, Float.NaN);
+		final int x0 = tileX << TILE_SHIFT;
+		final int y0 = tileY << TILE_SHIFT;
+		final int x1 = Math.min(width, x0 + TILE_SIZE);
+		final int y1 = Math.min(height, y0 + TILE_SIZE);
+		for (int y = y0; y < y1; y++) {
+			final int row = (y - y0) << TILE_SHIFT;
+			for (int x = x0; x < x1; x++)
+				values[row + x - x0] = (float) read(y * width + x);
+		}
+		return new Tile(values, null);
+	}
+
+	/**
+	 * @return the four tiles of the level below covered by a tile, from the
+	 *         cache or computed without caching them, null outside of the
+	 *         level
+	 */
+	private Tile[] getChildren(int level, int tileX, int tileY) {
+		final Tile[] children = new Tile[4];
+		final int columns = getTileColumns(level);
+		final int rows = getTileRows(level);
+		for (int quadrant = 0; quadrant < 4; quadrant++) {
+			final int x = 2 * tileX + (quadrant & 1);
+			final int y = 2 * tileY + (quadrant >> 1);
+			if (x >= columns || y >= rows)
+				continue;
+			Tile child = tiles.get(key(level, x, y));
+			if (child == null)
+				child = computeTile(level, x, y);
+			children[quadrant] = child;
+		}
+		return children;
+	}
+
+	private void poolSource(int tileX, int tileY) {
+		final int x0 = tileX << (TILE_SHIFT + 1);
+		final int y0 = tileY << (TILE_SHIFT + 1);
+		final int x1 = (int) Math.min(width, (long) (tileX + 1) << (TILE_SHIFT + 1));
+		final int y1 = (int) Math.min(height, (long) (tileY + 1) << (TILE_SHIFT + 1));
+		final boolean max = pooling == Pooling.MAX;
+		for (int y = y0; y < y1; y++) {
+			final int row = ((y - y0) >> 1) << TILE_SHIFT;
+			final int offset = y * width;
+			for (int x = x0; x < x1; x++) {
+				final double value = read(offset + x);
+				if (Double.isNaN(value))
+					continue;
+				final int cell = row + ((x - x0) >> 1);
+				if (counts[cell]++ == 0)
+					pooled[cell] = value;
+				else if (max)
+					pooled[cell] = Math.max(pooled[cell], value);
+				else
+					pooled[cell] += value;
+			}
+		}
+	}
+
+	/**
+	 * Pool the values of a child tile into a quarter of the cells, the mean
+	 * of each child value weighed by its count.
+	 */
+	private void poolChild(Tile child, int quadrant) {
+		final boolean max = pooling == Pooling.MAX;
+		final int half = TILE_SIZE / 2;
+		final int cellX0 = (quadrant & 1) * half;
+		final int cellY0 = (quadrant >> 1) * half;
+		for (int y = 0; y < TILE_SIZE; y++) {
+			final int childRow = y << TILE_SHIFT;
+			final int row = (cellY0 + (y >> 1)) << TILE_SHIFT;
+			for (int x = 0; x < TILE_SIZE; x++) {
+				final float value = child.values[childRow + x];
+				if (Float.isNaN(value))
+					continue;
+				final int cell = row + cellX0 + (x >> 1);
+				if (max) {
+					if (counts[cell]++ == 0 || value > pooled[cell])
+						pooled[cell] = value;
+				} else {
+					final int count = child.counts[childRow + x];
+					pooled[cell] = counts[cell] == 0 ? (double) value * count : pooled[cell] + (double) value * count;
+					counts[cell] += count;
+				}
+			}
+		}
+	}
+
+}
@@ -27,6 +27,10 @@ public class IntArrayWrapper implements IPrimaryArrayWrapper {
 	public void setData(int[] data) {
 		this.data = data;
 	}
+
+	public int[] getData() {
+		return data;
+	}
 	
 	public double get(int i) {
 		return data[i];
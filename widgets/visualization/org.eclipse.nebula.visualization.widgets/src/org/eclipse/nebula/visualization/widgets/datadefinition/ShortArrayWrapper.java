@@ -27,6 +27,10 @@ public class ShortArrayWrapper implements IPrimaryArrayWrapper {
 	public void setData(short[] data) {
 		this.data = data;
 	}
+
+	public short[] getData() {
+		return data;
+	}
 	
 	public double get(int i) {
 		return data[i];
@@ -14,6 +14,8 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -40,6 +42,8 @@ import org.eclipse.nebula.visualization.widgets.datadefinition.ColorMap;
 import org.eclipse.nebula.visualization.widgets.datadefinition.DoubleArrayWrapper;
 import org.eclipse.nebula.visualization.widgets.datadefinition.FloatArrayWrapper;
 import org.eclipse.nebula.visualization.widgets.datadefinition.IPrimaryArrayWrapper;
+import org.eclipse.nebula.visualization.widgets.datadefinition.ImagePyramid;
+import org.eclipse.nebula.visualization.widgets.datadefinition.ImagePyramid.Pooling;
 import org.eclipse.nebula.visualization.widgets.datadefinition.IntArrayWrapper;
 import org.eclipse.nebula.visualization.widgets.datadefinition.LongArrayWrapper;
 import org.eclipse.nebula.visualization.widgets.datadefinition.ShortArrayWrapper;
@@ -390,6 +394,27 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 		}
 		
 		
+		/**Same as cropDataArray() for data which is not in RGB mode, but reads the values
+		 * from the data array instead of copying them.
+		 */
+		private IPrimaryArrayWrapper cropDataView(final int left, int right, final int top, int bottom){
+			if(left == 0 && right == 0 && top == 0 && bottom == 0)
+				return dataArray;
+			final IPrimaryArrayWrapper source = dataArray;
+			final int sourceWidth = dataWidth;
+			final int width = dataWidth - left - right;
+			final int size = width * (dataHeight - top - bottom);
+			return new IPrimaryArrayWrapper() {
+				public double get(int i) {
+					return source.get((top + i / width) * sourceWidth + left + i % width);
+				}
+
+				public int getSize() {
+					return size;
+				}
+			};
+		}
+
 		/**Get data index location on cropped data array from geometry location.
 		 * @param x x much be inside graph area.
 		 * @param y y much be inside graph area
@@ -423,6 +448,11 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 			if(dataArray == null)
 				return;
 			Rectangle clientArea = getClientArea();
+			if(isTiledRenderingUsed()){
+				if(paintTiles(graphics, clientArea))
+					paintOverlay(graphics);
+				return;
+			}
 			//draw image if data is dirty or bufferedImage has not been created yet
 			if(dataDirty || bufferedImage == null){
 				dataDirty = false;
@@ -432,28 +462,15 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 				}
 				if(clientArea.width <0 || clientArea.height <0)
 					return;
-				if(dataWidth == 0 || dataHeight == 0 || (!isInRGBMode() && dataArray.getSize() < dataWidth * dataHeight)
-						|| (isInRGBMode() && dataArray.getSize() < 3*dataWidth * dataHeight)){
-					graphics.drawRectangle(new Rectangle(
-							clientArea.x - (yAxis.isVisible()? 1:0),
-							clientArea.y, 
-							clientArea.width-(yAxis.isVisible()? 0:1), clientArea.height - (xAxis.isVisible()? 0:1)));
-					if(dataArray.getSize() ==0)
-						graphics.drawText("No data.", clientArea.getLocation());					
-					else if(!isInRGBMode() && dataArray.getSize() < dataWidth * dataHeight)
-						graphics.drawText("Size of input data is less than dataWidth*dataHeight!",
-								clientArea.getLocation());
-					else if(isInRGBMode() && dataArray.getSize() < 3*dataWidth * dataHeight)
-						graphics.drawText("Size of input data is less than 3*dataWidth*dataHeight!" + 
-								"\nPlease make sure the data is in RGB mode.",
-								clientArea.getLocation());
+				if(!checkDataSize(graphics, clientArea))
 					return;
-				}										
 
 				if(dataWidth - cropLeft - cropRight < 0 || dataHeight - cropTop - cropBottom < 0)
 					return;
 				
 				croppedDataArray = cropDataArray(cropLeft, cropRight, cropTop, cropBottom);
+				// the color map reads the unwrapped array faster
+				IPrimaryArrayWrapper signedCroppedDataArray = croppedDataArray;
 
 				if(unsignedBits > 0) {
 					croppedDataArray = new UnsignedPrimitiveArrayWrapper(croppedDataArray, unsignedBits);
@@ -491,7 +508,7 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 								clientArea.getLocation());
 					}
 				else
-					imageData = colorMap.drawImage(croppedDataArray,
+					imageData = colorMap.drawImage(signedCroppedDataArray, unsignedBits,
 								croppedDataWidth, croppedDataHeight,
 								max, min, bufferedImageData, shrink);		
 
@@ -501,7 +518,13 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 				
 			}
 			graphics.drawImage(bufferedImage, new Rectangle(bufferedImage.getBounds()), clientArea);		
-				
+			paintOverlay(graphics);
+		}
+
+		/**Draw the zoom rectangle and the children.
+		 * @param graphics
+		 */
+		private void paintOverlay(Graphics graphics) {
 			if(armed && end != null && start != null){
 				graphics.setLineStyle(SWTConstants.LINE_DOT);
 				graphics.setLineWidth(1);				
@@ -513,6 +536,94 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 			super.paintClientArea(graphics);
 
 		}
+
+		/**Draw a frame and a message instead of the image if the data array is too small.
+		 * @return true if the data array is large enough.
+		 */
+		private boolean checkDataSize(Graphics graphics, Rectangle clientArea) {
+			if(dataWidth == 0 || dataHeight == 0 || (!isInRGBMode() && dataArray.getSize() < dataWidth * dataHeight)
+					|| (isInRGBMode() && dataArray.getSize() < 3*dataWidth * dataHeight)){
+				graphics.drawRectangle(new Rectangle(
+						clientArea.x - (yAxis.isVisible()? 1:0),
+						clientArea.y, 
+						clientArea.width-(yAxis.isVisible()? 0:1), clientArea.height - (xAxis.isVisible()? 0:1)));
+				if(dataArray.getSize() ==0)
+					graphics.drawText("No data.", clientArea.getLocation());					
+				else if(!isInRGBMode() && dataArray.getSize() < dataWidth * dataHeight)
+					graphics.drawText("Size of input data is less than dataWidth*dataHeight!",
+							clientArea.getLocation());
+				else if(isInRGBMode() && dataArray.getSize() < 3*dataWidth * dataHeight)
+					graphics.drawText("Size of input data is less than 3*dataWidth*dataHeight!" + 
+							"\nPlease make sure the data is in RGB mode.",
+							clientArea.getLocation());
+				return false;
+			}
+			return true;
+		}
+
+		/**Draw the cropped data from the tiles of the pyramid level which matches the zoom.
+		 * Only tiles which are not cached yet are rendered.
+		 * @return false if nothing was drawn.
+		 */
+		private boolean paintTiles(Graphics graphics, Rectangle clientArea) {
+			if(bufferedImage != null){
+				bufferedImage.dispose();
+				bufferedImage = null;
+			}
+			if(clientArea.width <= 0 || clientArea.height <= 0 || !checkDataSize(graphics, clientArea)
+					|| croppedDataWidth <= 0 || croppedDataHeight <= 0)
+				return false;
+			ImagePyramid pyramid = getPyramid();
+			int level = pyramid.getLevel(Math.min(croppedDataWidth/(double)clientArea.width,
+					croppedDataHeight/(double)clientArea.height));
+			if(dataDirty || croppedDataArray == null || level != pyramidLevel){
+				dataDirty = false;
+				pyramidLevel = level;
+				croppedDataArray = cropDataView(cropLeft, cropRight, cropTop, cropBottom);
+				if(unsignedBits > 0)
+					croppedDataArray = new UnsignedPrimitiveArrayWrapper(croppedDataArray, unsignedBits);
+				fireProfileDataChanged(croppedDataArray, croppedDataWidth, croppedDataHeight);
+			}
+
+			// Number of source values covered by a tile in each direction
+			long tileSource = (long)ImagePyramid.TILE_SIZE << level;
+			int right = dataWidth - cropRight;
+			int bottom = dataHeight - cropBottom;
+			int firstTileX = (int)(cropLeft / tileSource);
+			int firstTileY = (int)(cropTop / tileSource);
+			int lastTileX = (int)((right - 1) / tileSource);
+			int lastTileY = (int)((bottom - 1) / tileSource);
+			ensureTileCacheSize(pyramid, (lastTileX - firstTileX + 1) * (lastTileY - firstTileY + 1));
+			if(colorMap.getVersion() != drawnColorMapVersion){
+				// the color map was modified in place
+				drawnColorMapVersion = colorMap.getVersion();
+				colorMapVersion++;
+				disposeTileImages();
+			}
+			graphics.pushState();
+			graphics.clipRect(clientArea);
+			for(int ty = firstTileY; ty <= lastTileY; ty++){
+				int y0 = getTileScreenY(clientArea, ty * tileSource);
+				int y1 = getTileScreenY(clientArea, (ty + 1) * tileSource);
+				for(int tx = firstTileX; tx <= lastTileX; tx++){
+					int x0 = getTileScreenX(clientArea, tx * tileSource);
+					int x1 = getTileScreenX(clientArea, (tx + 1) * tileSource);
+					Image image = getTileImage(pyramid, level, tx, ty);
+					graphics.drawImage(image, 0, 0, ImagePyramid.TILE_SIZE, ImagePyramid.TILE_SIZE,
+							x0, y0, x1 - x0, y1 - y0);
+				}
+			}
+			graphics.popState();
+			return true;
+		}
+
+		private int getTileScreenX(Rectangle clientArea, long sourceX) {
+			return clientArea.x + (int)Math.round((sourceX - cropLeft) * (double)clientArea.width / croppedDataWidth);
+		}
+
+		private int getTileScreenY(Rectangle clientArea, long sourceY) {
+			return clientArea.y + (int)Math.round((sourceY - cropTop) * (double)clientArea.height / croppedDataHeight);
+		}
 		
 		private synchronized void updateTextCursor(MouseEvent me) {
 			if(SWT.getPlatform().startsWith("rap")) //$NON-NLS-1$
@@ -715,6 +826,62 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 	private Boolean savedShowRamp;
 	
 	private boolean isSingleLineProfiling = false;
+
+	/**
+	 * Key of a rendered tile: pyramid level, tile column and row and the color map version it
+	 * was rendered with.
+	 */
+	private static final class TileKey {
+		private final int level, tileX, tileY, colorMapVersion;
+
+		TileKey(int level, int tileX, int tileY, int colorMapVersion) {
+			this.level = level;
+			this.tileX = tileX;
+			this.tileY = tileY;
+			this.colorMapVersion = colorMapVersion;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((level * 31 + tileX) * 31 + tileY) * 31 + colorMapVersion;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof TileKey))
+				return false;
+			TileKey other = (TileKey) obj;
+			return level == other.level && tileX == other.tileX && tileY == other.tileY
+					&& colorMapVersion == other.colorMapVersion;
+		}
+	}
+
+	/** Minimum number of pyramid tiles and rendered tiles to cache */
+	private static final int MIN_CACHED_TILES = 16;
+
+	private boolean tiledRendering = false;
+	private Pooling pyramidPooling = Pooling.MEAN;
+	private ImagePyramid pyramid;
+	/** Pyramid level the cropped data was last drawn from */
+	private int pyramidLevel;
+	/** Incremented whenever the colors of the image change */
+	private int colorMapVersion;
+	/** Version of the color map the cached tiles were rendered with */
+	private int drawnColorMapVersion;
+	/** Number of rendered tiles to cache, more than the tiles in view */
+	private int maxTileImages = MIN_CACHED_TILES;
+	private ImageData tileImageData;
+	private final Map<TileKey, Image> tileImages = new LinkedHashMap<TileKey, Image>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<TileKey, Image> eldest) {
+			if (size() <= maxTileImages)
+				return false;
+			eldest.getValue().dispose();
+			return true;
+		}
+	};
 	
 	private Color roiColor = ColorConstants.cyan;
 	
@@ -854,11 +1021,98 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 		return output;
 	}
 
+	/**Calculate the profiles of the cropped data from the means of a pyramid level,
+	 * which visits as many values as there are pixels on the screen.
+	 * @param xOutput receives the mean of every column of the cropped data
+	 * @param yOutput receives the mean of every row of the cropped data
+	 * @param level the pyramid level
+	 */
+	private void calculatePyramidProfileData(double[] xOutput, double[] yOutput, int level) {
+		int x0 = cropLeft >> level, x1 = (cropLeft + xOutput.length - 1) >> level;
+		int y0 = cropTop >> level, y1 = (cropTop + yOutput.length - 1) >> level;
+		double[] columnSums = new double[x1 - x0 + 1];
+		double[] rowSums = new double[y1 - y0 + 1];
+		for (int y = y0; y <= y1; y++) {
+			for (int x = x0; x <= x1; x++) {
+				double value = pyramid.getValue(level, x, y);
+				columnSums[x - x0] += value;
+				rowSums[y - y0] += value;
+			}
+		}
+		for (int i = 0; i < xOutput.length; i++)
+			xOutput[i] = columnSums[((cropLeft + i) >> level) - x0] / rowSums.length;
+		for (int i = 0; i < yOutput.length; i++)
+			yOutput[i] = rowSums[((cropTop + i) >> level) - y0] / columnSums.length;
+	}
+
+	private boolean isTiledRenderingUsed() {
+		return tiledRendering && !inRGBMode;
+	}
+
+	private ImagePyramid getPyramid() {
+		if (pyramid == null)
+			pyramid = new ImagePyramid(dataArray, dataWidth, dataHeight, unsignedBits, pyramidPooling,
+					maxTileImages);
+		return pyramid;
+	}
+
+	/**
+	 * Size the caches of the pyramid tiles and the rendered tiles so they hold the tiles in
+	 * view and half as many more, e.g. the tiles of the previous view after panning or
+	 * zooming. Tiles in view are then never evicted while painting.
+	 */
+	private void ensureTileCacheSize(ImagePyramid pyramid, int visibleTiles) {
+		int size = Math.max(MIN_CACHED_TILES, visibleTiles + visibleTiles / 2);
+		if (size != maxTileImages) {
+			maxTileImages = size;
+			Iterator<Image> eldest = tileImages.values().iterator();
+			while (tileImages.size() > size) {
+				eldest.next().dispose();
+				eldest.remove();
+			}
+		}
+		if (pyramid.getMaxTiles() != size)
+			pyramid.setMaxTiles(size);
+	}
+
+	private Image getTileImage(ImagePyramid pyramid, int level, int tileX, int tileY) {
+		TileKey key = new TileKey(level, tileX, tileY, colorMapVersion);
+		Image image = tileImages.get(key);
+		if (image == null) {
+			if (tileImageData == null)
+				tileImageData = new ImageData(ImagePyramid.TILE_SIZE, ImagePyramid.TILE_SIZE, 24,
+						colorMap.getPalette());
+			colorMap.drawImage(new FloatArrayWrapper(pyramid.getTile(level, tileX, tileY)),
+					ImagePyramid.TILE_SIZE, ImagePyramid.TILE_SIZE, max, min, tileImageData, false);
+			image = new Image(Display.getCurrent(), tileImageData);
+			tileImages.put(key, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Drop the pyramid and the rendered tiles after the data changed.
+	 */
+	private void invalidatePyramid() {
+		pyramid = null;
+		disposeTileImages();
+	}
+
+	/**
+	 * Dispose the rendered tiles, e.g. after the colors changed.
+	 */
+	private void disposeTileImages() {
+		for (Image image : tileImages.values())
+			image.dispose();
+		tileImages.clear();
+	}
+
 	public void dispose(){
 		if(bufferedImage != null){
 			bufferedImage.dispose();
 			bufferedImage = null;
 		}
+		disposeTileImages();
 	}
 	
 	/**Calculate the image data from source RGB data array [RGBRGBRGB...].
@@ -968,8 +1222,17 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 		if (profileListeners.size() <= 0)
 			return;
 
-		double[] xProfileData = calculateXProfileData(data, dw, dh);
-		double[] yProfileData = calculateYProfileData(data, dw, dh);
+		double[] xProfileData, yProfileData;
+		if (isTiledRenderingUsed() && pyramidLevel > 0 && pyramid != null
+				&& pyramid.getPooling() == Pooling.MEAN && !isSingleLineProfiling()) {
+			// zoomed out, the means of the pyramid level are good enough
+			xProfileData = new double[dw];
+			yProfileData = new double[dh];
+			calculatePyramidProfileData(xProfileData, yProfileData, pyramidLevel);
+		} else {
+			xProfileData = calculateXProfileData(data, dw, dh);
+			yProfileData = calculateYProfileData(data, dw, dh);
+		}
 		for (IProfileDataChangeLisenter lisenter : profileListeners)
 			lisenter.profileDataChanged(xProfileData, yProfileData,
 					xAxis.getRange(), yAxis.getRange());
@@ -1209,6 +1472,8 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 			return;
 		this.colorMap = colorMap;
 		colorMapRamp.setColorMap(colorMap);
+		colorMapVersion++;
+		disposeTileImages();
 		dataDirty = true;
 		repaint();
 	}
@@ -1379,6 +1644,7 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 	public synchronized final void setDataArray(IPrimaryArrayWrapper dataWrapper){
 		dataArray = dataWrapper;
 		croppedDataArray = null;
+		invalidatePyramid();
 		dataDirty = true;
 		graphArea.repaint();
 	}
@@ -1387,11 +1653,12 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 	 * @param dataHeight the dataHeight to set
 	 */
 	public final void setDataHeight(int dataHeight) {
-		if(dataHeight <0|| dataWidth * dataHeight > MAX_ARRAY_SIZE || dataWidth * dataHeight < 0)
+		if(dataHeight <0|| (!tiledRendering && dataWidth * dataHeight > MAX_ARRAY_SIZE) || dataWidth * dataHeight < 0)
 			throw new IllegalArgumentException();
 		if(this.dataHeight == dataHeight)
 			return;
 		this.dataHeight = dataHeight;
+		invalidatePyramid();
 		updateCroppedDataSize();
 		dataDirty = true;
 		repaint();
@@ -1402,11 +1669,12 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 	 * @param dataWidth the dataWidth to set
 	 */
 	public final void setDataWidth(int dataWidth) {
-		if(dataWidth < 0 || dataWidth * dataHeight > MAX_ARRAY_SIZE || dataWidth * dataHeight < 0)
+		if(dataWidth < 0 || (!tiledRendering && dataWidth * dataHeight > MAX_ARRAY_SIZE) || dataWidth * dataHeight < 0)
 			throw new IllegalArgumentException();
 		if(this.dataWidth == dataWidth)
 			return;
 		this.dataWidth = dataWidth;
+		invalidatePyramid();
 		updateCroppedDataSize();
 		dataDirty = true;
 		repaint();
@@ -1442,6 +1710,8 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 			return;
 		this.max = max;
 		colorMapRamp.setMax(max);
+		colorMapVersion++;
+		disposeTileImages();
 		dataDirty = true;
 		repaint();
 	}
@@ -1460,6 +1730,8 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 			return;
 		this.min = min;
 		colorMapRamp.setMin(min);
+		colorMapVersion++;
+		disposeTileImages();
 		dataDirty = true;
 		repaint();
 	}
@@ -1476,6 +1748,53 @@ public class IntensityGraphFigure extends Figure implements Introspectable {
 		if (bits > 1023)
 			throw new IllegalArgumentException("The value given is higher than 1023!");
 		this.unsignedBits = bits;
+		invalidatePyramid();
+	}
+
+	/**Draw the image from tiles of a multi-resolution pyramid of the data instead of rendering
+	 * the whole cropped data after every change. Only the tiles which were not drawn at the
+	 * current zoom level yet are rendered, so zooming and panning large images stays fast,
+	 * and the profiles are calculated from the pyramid when zoomed out.
+	 * Data larger than 10000000 values is accepted when tiled rendering is enabled before the
+	 * data size is set. It is not used in RGB mode.
+	 * @param tiledRendering true to enable tiled rendering. The default is false.
+	 */
+	public void setTiledRendering(boolean tiledRendering) {
+		if(this.tiledRendering == tiledRendering)
+			return;
+		this.tiledRendering = tiledRendering;
+		invalidatePyramid();
+		croppedDataArray = null;
+		dataDirty = true;
+		repaint();
+	}
+
+	/**
+	 * @return true if the image is drawn from tiles of a multi-resolution pyramid.
+	 */
+	public boolean isTiledRendering() {
+		return tiledRendering;
+	}
+
+	/**Set how the pyramid used by tiled rendering pools blocks of data values.
+	 * {@link Pooling#MAX} keeps single bright values visible when zoomed out,
+	 * {@link Pooling#MEAN} also allows to calculate the profiles from the pyramid.
+	 * @param pyramidPooling the pooling. The default is MEAN.
+	 */
+	public void setPyramidPooling(Pooling pyramidPooling) {
+		if(this.pyramidPooling == pyramidPooling)
+			return;
+		this.pyramidPooling = pyramidPooling;
+		invalidatePyramid();
+		dataDirty = true;
+		repaint();
+	}
+
+	/**
+	 * @return how the pyramid used by tiled rendering pools blocks of data values.
+	 */
+	public Pooling getPyramidPooling() {
+		return pyramidPooling;
 	}
 
 
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataProviderIOTest {
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("dataprovider", ".dat");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	private static PrimitiveCircularBufferDataProvider createProvider(int size) {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, size, 0);
+		double[] xs = new double[size];
+		double[] ys = new double[size];
+		for (int i = 0; i < size; i++) {
+			xs[i] = i * 0.5;
+			ys[i] = Math.sin(i);
+		}
+		provider.append(xs, ys, 0, size);
+		return provider;
+	}
+
+	@Test
+	public void testBinaryRoundTrip() throws IOException {
+		int size = 3 * DataProviderIO.CHUNK_SIZE + 17;
+		PrimitiveCircularBufferDataProvider provider = createProvider(size);
+		assertEquals(size, DataProviderIO.writeBinary(provider, file, true));
+		assertEquals(16L * size, Files.size(file));
+
+		PrimitiveCircularBufferDataProvider loaded = DataProviderIO.readBinary(file, true, true);
+		assertEquals(size, loaded.getSize());
+		for (int i = 0; i < size; i++) {
+			assertEquals(provider.getXValue(i), loaded.getXValue(i), 0);
+			assertEquals(provider.getYValue(i), loaded.getYValue(i), 0);
+		}
+	}
+
+	@Test
+	public void testReadOnDisplayThread() throws IOException {
+		int size = 2 * DataProviderIO.CHUNK_SIZE + 5;
+		DataProviderIO.writeBinary(createProvider(size), file, true);
+		Display display = Display.getCurrent();
+		boolean created = display == null;
+		if (created)
+			display = new Display();
+		try {
+			// the view is moved forward before the read returns, not when the
+			// event loop runs next
+			PrimitiveCircularBufferDataProvider loaded = DataProviderIO.readBinary(file, true, true);
+			assertEquals(size, loaded.getSize());
+			assertEquals(0.5 * (size - 1), loaded.getXValue(size - 1), 0);
+
+			PrimitiveCircularBufferDataProvider csv = new PrimitiveCircularBufferDataProvider(true, 10, 0);
+			DataProviderIO.readCSV(new BufferedReader(new StringReader("1,2\n3,4\n")), csv);
+			assertEquals(2, csv.getSize());
+			assertEquals(4, csv.getYValue(1), 0);
+		} finally {
+			if (created)
+				display.dispose();
+		}
+	}
+
+	@Test
+	public void testBinaryLittleEndianYOnly() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putDouble(1.5).putDouble(-2).putDouble(7);
+		Files.write(file, buffer.array());
+
+		PrimitiveCircularBufferDataProvider loaded = new PrimitiveCircularBufferDataProvider(true, 2, 0);
+		assertEquals(3, DataProviderIO.readBinary(file, false, loaded));
+		// The buffer keeps the last samples
+		assertEquals(2, loaded.getSize());
+		assertEquals(1, loaded.getXValue(0), 0);
+		assertEquals(-2, loaded.getYValue(0), 0);
+		assertEquals(2, loaded.getXValue(1), 0);
+		assertEquals(7, loaded.getYValue(1), 0);
+	}
+
+	@Test(expected = IOException.class)
+	public void testBinaryInvalidSize() throws IOException {
+		Files.write(file, new byte[12]);
+		DataProviderIO.readBinary(file, true, true);
+	}
+
+	@Test
+	public void testCSVRoundTripOfRange() throws IOException {
+		PrimitiveCircularBufferDataProvider provider = createProvider(100);
+		// Samples 20 to 40
+		assertEquals(21, DataProviderIO.writeCSV(provider, new Range(20, 10), file));
+
+		PrimitiveCircularBufferDataProvider loaded = new PrimitiveCircularBufferDataProvider(true, 100, 0);
+		assertEquals(21, DataProviderIO.readCSV(file, loaded));
+		assertEquals(21, loaded.getSize());
+		for (int i = 0; i < 21; i++) {
+			assertEquals(provider.getXValue(20 + i), loaded.getXValue(i), 0);
+			assertEquals(provider.getYValue(20 + i), loaded.getYValue(i), 0);
+		}
+	}
+
+	@Test
+	public void testCSVFormats() throws IOException {
+		String csv = "time;value\n# comment\n\n1;10\n2\t20\n 3  30 \n40\n";
+		PrimitiveCircularBufferDataProvider loaded = new PrimitiveCircularBufferDataProvider(true, 10, 0);
+		assertEquals(4, DataProviderIO.readCSV(new BufferedReader(new StringReader(csv)), loaded));
+		assertEquals(4, loaded.getSize());
+		assertEquals(3, loaded.getXValue(2), 0);
+		assertEquals(30, loaded.getYValue(2), 0);
+		assertEquals(4, loaded.getXValue(3), 0);
+		assertEquals(40, loaded.getYValue(3), 0);
+	}
+
+	@Test(expected = IOException.class)
+	public void testCSVInvalidNumber() throws IOException {
+		String csv = "1,10\n2,x\n";
+		DataProviderIO.readCSV(new BufferedReader(new StringReader(csv)),
+				new PrimitiveCircularBufferDataProvider(true, 10, 0));
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.junit.Test;
+
+/**
+ * Compares the incrementally maintained data ranges with a scan of all
+ * samples.
+ */
+public class DataRangeTest {
+
+	private static Range scan(IDataProvider provider, boolean positiveOnly, boolean isXAxis, int lowerBound) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = positiveOnly ? 0 : Double.NEGATIVE_INFINITY;
+		for (int i = lowerBound; i < provider.getSize(); i++) {
+			ISample dp = provider.getSample(i);
+			double value = isXAxis ? dp.getXValue() - dp.getXMinusError() : dp.getYValue() - dp.getYMinusError();
+			if ((!positiveOnly || value > 0) && min > value)
+				min = value;
+			value = isXAxis ? dp.getXValue() + dp.getXPlusError() : dp.getYValue() + dp.getYPlusError();
+			if (max < value)
+				max = value;
+		}
+		if (positiveOnly && max < min)
+			max = min;
+		return new Range(min, max);
+	}
+
+	private static void assertRanges(IDataProvider provider) {
+		for (boolean positiveOnly : new boolean[] { false, true }) {
+			assertEquals(scan(provider, positiveOnly, true, 0), provider.getXDataMinMax(positiveOnly));
+			assertEquals(scan(provider, positiveOnly, false, 0), provider.getYDataMinMax(positiveOnly));
+		}
+	}
+
+	@Test
+	public void testCircularBuffer() {
+		Random random = new Random(3);
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(false);
+		provider.setBufferSize(50);
+		for (int i = 0; i < 300; i++) {
+			double y = random.nextGaussian();
+			provider.addSample(new Sample(random.nextGaussian(), y, random.nextDouble(), random.nextDouble(), 0, 0));
+			assertRanges(provider);
+			if (i == 120)
+				provider.setBufferSize(20);
+			if (i == 200)
+				provider.clearTrace();
+		}
+	}
+
+	@Test
+	public void testClippedCircularBuffer() {
+		Random random = new Random(5);
+		ClippedCircularBufferDataProvider provider = new ClippedCircularBufferDataProvider(true, 100, 10);
+		for (int i = 0; i < 300; i++) {
+			provider.addSample(new Sample(i, random.nextGaussian()));
+			int size = provider.getSize();
+			int lowerBound = size > 10 ? size - 11 : 0;
+			assertEquals(scan(provider, false, false, lowerBound), provider.getYDataMinMax(false));
+			assertEquals(scan(provider, true, false, lowerBound), provider.getYDataMinMax(true));
+			// any other lower bound falls back to a scan
+			assertEquals(scan(provider, false, false, size / 2), provider.getDataRange(false, false, size / 2));
+		}
+	}
+
+	@Test
+	public void testPrimitiveCircularBuffer() {
+		Random random = new Random(9);
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 40, 13, true);
+		for (int i = 0; i < 200; i++) {
+			int len = 1 + random.nextInt(i % 50 == 0 ? 60 : 8);
+			double[] ys = new double[len], plus = new double[len], minus = new double[len];
+			for (int j = 0; j < len; j++) {
+				ys[j] = random.nextGaussian();
+				plus[j] = random.nextDouble();
+				minus[j] = random.nextDouble();
+			}
+			provider.append(null, ys, plus, minus, 0, len);
+			if (i % 3 == 0)
+				assertRanges(provider);
+			int lowerBound = random.nextInt(provider.getSize());
+			assertEquals(scan(provider, true, false, lowerBound), provider.getDataRange(true, false, lowerBound));
+			if (i == 150)
+				provider.clear();
+		}
+	}
+}
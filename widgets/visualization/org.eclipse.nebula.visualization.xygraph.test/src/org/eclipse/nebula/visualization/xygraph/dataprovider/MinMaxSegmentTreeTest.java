@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.junit.Test;
+
+public class MinMaxSegmentTreeTest {
+
+	private static Range scan(double[] low, double[] high, int from, int to, boolean positiveOnly) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = positiveOnly ? 0 : Double.NEGATIVE_INFINITY;
+		for (int i = from; i < to; i++) {
+			if ((!positiveOnly || low[i] > 0) && min > low[i])
+				min = low[i];
+			if (max < high[i])
+				max = high[i];
+		}
+		if (positiveOnly && max < min)
+			max = min;
+		return new Range(min, max);
+	}
+
+	private static double random(Random random) {
+		return random.nextInt(20) == 0 ? Double.NaN : random.nextGaussian();
+	}
+
+	@Test
+	public void testSetAndQuery() {
+		Random random = new Random(7);
+		for (int capacity : new int[] { 1, 2, 5, 64, 100 }) {
+			MinMaxSegmentTree tree = new MinMaxSegmentTree(capacity);
+			double[] low = new double[capacity], high = new double[capacity];
+			for (int i = 0; i < capacity; i++) {
+				low[i] = Double.NaN;
+				high[i] = Double.NaN;
+			}
+			for (int n = 0; n < 500; n++) {
+				int index = random.nextInt(capacity);
+				low[index] = random(random);
+				high[index] = Double.isNaN(low[index]) ? Double.NaN : low[index] + random.nextDouble();
+				if (n % 2 == 0) {
+					tree.set(index, low[index], high[index]);
+				} else {
+					tree.load(index, low[index], high[index]);
+					tree.rebuild();
+				}
+				int from = random.nextInt(capacity);
+				int to = from + 1 + random.nextInt(capacity - from);
+				assertEquals(scan(low, high, from, to, false), tree.getRange(from, to, false));
+				assertEquals(scan(low, high, from, to, true), tree.getRange(from, to, true));
+			}
+		}
+	}
+
+	@Test
+	public void testSlidingWindow() {
+		Random random = new Random(11);
+		double[] low = new double[1000], high = new double[1000];
+		SlidingWindowMinMax window = new SlidingWindowMinMax(37);
+		for (int i = 0; i < low.length; i++) {
+			low[i] = random(random);
+			high[i] = low[i] + 0.5;
+			window.add(low[i], high[i]);
+			int from = Math.max(0, i + 1 - 37);
+			assertEquals(scan(low, high, from, i + 1, false), window.getRange(false));
+			assertEquals(scan(low, high, from, i + 1, true), window.getRange(true));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testQueryOutOfBounds() {
+		new MinMaxSegmentTree(10).getRange(5, 11, false);
+	}
+}
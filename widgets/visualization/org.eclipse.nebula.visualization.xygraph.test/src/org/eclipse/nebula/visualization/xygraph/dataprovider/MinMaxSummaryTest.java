@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MinMaxSummaryTest {
+
+	private static CircularBufferDataProvider createProvider(int bufferSize, int samples, long seed) {
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(true);
+		provider.setBufferSize(bufferSize);
+		append(provider, 0, samples, seed);
+		return provider;
+	}
+
+	private static void append(CircularBufferDataProvider provider, int from, int samples, long seed) {
+		Random random = new Random(seed);
+		for (int i = from; i < from + samples; i++) {
+			provider.addSample(new Sample(i, random.nextGaussian()));
+		}
+	}
+
+	private static void assertMinMax(IDataProvider provider, MinMaxSummary summary, int from, int to) {
+		int min = -1, max = -1;
+		for (int i = from; i <= to; i++) {
+			double y = provider.getSample(i).getYValue();
+			if (Double.isNaN(y))
+				continue;
+			if (min < 0 || y < provider.getSample(min).getYValue())
+				min = i;
+			if (max < 0 || y > provider.getSample(max).getYValue())
+				max = i;
+		}
+		int[] result = new int[2];
+		summary.getMinMaxIndex(provider, from, to, result);
+		assertEquals("min of " + from + ".." + to, min, result[0]);
+		assertEquals("max of " + from + ".." + to, max, result[1]);
+	}
+
+	@Test
+	public void testRanges() {
+		CircularBufferDataProvider provider = createProvider(100000, 100000, 1);
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		assertEquals(99968, summary.getSummarisedSize());
+		assertMinMax(provider, summary, 0, 99999);
+		assertMinMax(provider, summary, 0, 0);
+		assertMinMax(provider, summary, 63, 64);
+		assertMinMax(provider, summary, 1, 4095);
+		assertMinMax(provider, summary, 4096, 8191);
+		Random random = new Random(2);
+		for (int i = 0; i < 200; i++) {
+			int a = random.nextInt(100000);
+			int b = random.nextInt(100000);
+			assertMinMax(provider, summary, Math.min(a, b), Math.max(a, b));
+		}
+	}
+
+	@Test
+	public void testAppend() {
+		CircularBufferDataProvider provider = createProvider(10000, 1000, 3);
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		append(provider, 1000, 5000, 4);
+		summary.update(provider);
+		assertEquals(5952, summary.getSummarisedSize());
+		assertMinMax(provider, summary, 0, 5999);
+		assertMinMax(provider, summary, 900, 1100);
+	}
+
+	@Test
+	public void testFullCircularBuffer() {
+		CircularBufferDataProvider provider = createProvider(1000, 1000, 5);
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		// oldest samples are dropped, all indexes shift
+		append(provider, 1000, 10, 6);
+		summary.update(provider);
+		assertMinMax(provider, summary, 0, 999);
+		assertMinMax(provider, summary, 10, 500);
+	}
+
+	@Test
+	public void testFullCircularBufferIncremental() {
+		CircularBufferDataProvider provider = createProvider(5000, 5000, 7);
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		Random random = new Random(8);
+		for (int n = 0; n < 300; n++) {
+			append(provider, 5000 + n * 37, 37, 9 + n);
+			summary.update(provider);
+			// blocks of dropped samples are discarded, the others are kept
+			long first = provider.getFirstSequence();
+			long blocks = (first + 5000) / MinMaxSummary.BLOCK_SIZE
+					- (first + MinMaxSummary.BLOCK_SIZE - 1) / MinMaxSummary.BLOCK_SIZE;
+			assertEquals(blocks * MinMaxSummary.BLOCK_SIZE, summary.getSummarisedSize());
+			int a = random.nextInt(5000);
+			int b = random.nextInt(5000);
+			assertMinMax(provider, summary, Math.min(a, b), Math.max(a, b));
+		}
+		assertMinMax(provider, summary, 0, 4999);
+		assertMinMax(provider, summary, 1, 4095);
+	}
+
+	@Test
+	public void testClearCircularBuffer() {
+		CircularBufferDataProvider provider = createProvider(1000, 1000, 10);
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		provider.clearTrace();
+		append(provider, 0, 500, 11);
+		summary.update(provider);
+		assertEquals(448, summary.getSummarisedSize());
+		assertMinMax(provider, summary, 0, 499);
+	}
+
+	@Test
+	public void testNaN() {
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(true);
+		provider.setBufferSize(200);
+		for (int i = 0; i < 200; i++) {
+			provider.addSample(new Sample(i, i < 128 ? Double.NaN : i));
+		}
+		MinMaxSummary summary = new MinMaxSummary();
+		summary.update(provider);
+		int[] result = new int[2];
+		summary.getMinMaxIndex(provider, 0, 127, result);
+		assertEquals(-1, result[0]);
+		assertEquals(-1, result[1]);
+		assertMinMax(provider, summary, 0, 199);
+	}
+
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.eclipse.swt.widgets.Display;
+import org.junit.Test;
+
+/**
+ * Unless noted otherwise, the data providers are created outside of a display
+ * thread, so the view follows every append.
+ */
+public class PrimitiveCircularBufferDataProviderTest {
+
+	private static double[] ramp(int from, int len) {
+		double[] values = new double[len];
+		for (int i = 0; i < len; i++) {
+			values[i] = from + i;
+		}
+		return values;
+	}
+
+	@Test
+	public void testAppendAndWrap() {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 10, 5);
+		AtomicInteger changes = new AtomicInteger();
+		provider.addDataProviderListener(p -> changes.incrementAndGet());
+
+		provider.append(ramp(0, 4), ramp(100, 4), 0, 4);
+		assertEquals(4, provider.getSize());
+		assertEquals(1, changes.get());
+		assertEquals(3, provider.getXValue(3), 0);
+		assertEquals(103, provider.getSample(3).getYValue(), 0);
+
+		for (int i = 0; i < 5; i++) {
+			provider.append(ramp(4 + 7 * i, 7), ramp(104 + 7 * i, 7), 0, 7);
+		}
+		assertEquals(10, provider.getSize());
+		assertEquals(6, changes.get());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(29 + i, provider.getXValue(i), 0);
+			assertEquals(129 + i, provider.getYValue(i), 0);
+		}
+		assertEquals(null, provider.getSample(10));
+	}
+
+	@Test
+	public void testAppendMoreThanBufferSize() {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 10, 0);
+		provider.append(ramp(0, 25), ramp(0, 25), 5, 20);
+		assertEquals(10, provider.getSize());
+		assertEquals(15, provider.getXValue(0), 0);
+		assertEquals(24, provider.getXValue(9), 0);
+	}
+
+	@Test
+	public void testAutoXAndClear() {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 8, 8);
+		provider.append(ramp(50, 3), 0, 3);
+		provider.append(ramp(53, 3), 0, 3);
+		assertEquals(6, provider.getSize());
+		for (int i = 0; i < 6; i++) {
+			assertEquals(i, provider.getXValue(i), 0);
+			assertEquals(50 + i, provider.getYValue(i), 0);
+		}
+		provider.clear();
+		assertEquals(0, provider.getSize());
+		assertEquals(null, provider.getXDataMinMax());
+
+		provider.append(ramp(0, 2), 0, 2);
+		assertEquals(2, provider.getSize());
+		assertEquals(0, provider.getXValue(0), 0);
+		assertEquals(1, provider.getXValue(1), 0);
+	}
+
+	@Test
+	public void testErrorsAndRange() {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 4, 0, true);
+		assertTrue(provider.hasErrors());
+		double[] plus = { 1, 1, 1, 1 };
+		double[] minus = { 2, 2, 2, 2 };
+		provider.append(null, new double[] { 3, -1, 7, 5 }, plus, minus, 0, 4);
+		ISample sample = provider.getSample(1);
+		assertEquals(1, sample.getYPlusError(), 0);
+		assertEquals(2, sample.getYMinusError(), 0);
+
+		assertEquals(new Range(-3, 8), provider.getYDataMinMax());
+		assertEquals(new Range(1, 8), provider.getYDataMinMax(true));
+		assertEquals(new Range(0, 3), provider.getXDataMinMax());
+
+		assertFalse(new PrimitiveCircularBufferDataProvider(true, 4, 0).hasErrors());
+	}
+
+	@Test
+	public void testOverrunCount() {
+		PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 4, 2);
+		provider.append(ramp(0, 4), ramp(0, 4), 0, 4);
+		provider.append(ramp(4, 2), ramp(4, 2), 0, 2);
+		assertEquals(0, provider.getOverrunCount());
+		// the view follows every append, so only its oldest samples are
+		// overwritten
+		provider.append(ramp(6, 4), ramp(6, 4), 0, 4);
+		assertEquals(2, provider.getOverrunCount());
+	}
+
+	@Test
+	public void testOverrunCountIsCappedByView() {
+		Display display = Display.getCurrent();
+		boolean created = display == null;
+		if (created)
+			display = new Display();
+		try {
+			// created on the display thread, the view moves forward when the
+			// event loop runs
+			PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(true, 4, 0);
+			provider.append(ramp(0, 4), ramp(0, 4), 0, 4);
+			provider.flush();
+			assertEquals(4, provider.getSize());
+			for (int i = 0; i < 3; i++) {
+				provider.append(ramp(4 + 4 * i, 4), ramp(4 + 4 * i, 4), 0, 4);
+			}
+			// the view held 4 samples, which cannot be lost more than once
+			assertEquals(4, provider.getOverrunCount());
+			provider.flush();
+			assertEquals(12, provider.getXValue(0), 0);
+			assertEquals(4, provider.getOverrunCount());
+		} finally {
+			if (created)
+				display.dispose();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testAppendOutOfBounds() {
+		new PrimitiveCircularBufferDataProvider(true, 4, 0).append(ramp(0, 3), ramp(0, 2), 0, 3);
+	}
+}
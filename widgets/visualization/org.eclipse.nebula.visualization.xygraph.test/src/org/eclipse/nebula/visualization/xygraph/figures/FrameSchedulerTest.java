@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.draw2d.LightweightSystem;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameSchedulerTest {
+
+	private Display display;
+	private Shell shell;
+	private XYGraph xyGraph;
+	private Trace trace;
+	private FrameScheduler scheduler;
+
+	@Before
+	public void setUp() {
+		display = Display.getDefault();
+		shell = new Shell(display);
+		shell.setSize(400, 300);
+		xyGraph = new XYGraph();
+		new LightweightSystem(shell).setContents(xyGraph);
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(true);
+		trace = new Trace("trace", xyGraph.getPrimaryXAxis(), xyGraph.getPrimaryYAxis(), provider);
+		xyGraph.addTrace(trace);
+		shell.open();
+		scheduler = xyGraph.getFrameScheduler();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	private void dispatchUntil(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+		final long end = System.currentTimeMillis() + timeoutMillis;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch())
+				Thread.sleep(1);
+		}
+	}
+
+	private void dispatchFor(long millis) throws InterruptedException {
+		dispatchUntil(() -> false, millis);
+	}
+
+	@Test
+	public void testDisabledByDefault() throws InterruptedException {
+		assertEquals(0, xyGraph.getMaxFrameRate());
+		assertFalse(scheduler.isEnabled());
+		trace.dataChanged(null);
+		dispatchFor(100);
+		assertEquals(0, scheduler.getFrameCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeFrameRate() {
+		xyGraph.setMaxFrameRate(-1);
+	}
+
+	@Test
+	public void testCoalescesChanges() throws InterruptedException {
+		xyGraph.setMaxFrameRate(20);
+		assertTrue(scheduler.isEnabled());
+		scheduler.resetStatistics();
+		for (int i = 0; i < 10; i++)
+			trace.dataChanged(null);
+		// frames only run from the event loop
+		assertEquals(0, scheduler.getFrameCount());
+		dispatchUntil(() -> scheduler.getFrameCount() > 0, 2000);
+		dispatchFor(200);
+		assertEquals(1, scheduler.getFrameCount());
+		assertEquals(9, scheduler.getDroppedUpdateCount());
+	}
+
+	@Test
+	public void testCoalescesChangesFromOtherThreads() throws InterruptedException {
+		xyGraph.setMaxFrameRate(20);
+		scheduler.resetStatistics();
+		Thread thread = new Thread(() -> {
+			for (int i = 0; i < 100; i++)
+				scheduler.traceChanged(trace);
+		});
+		thread.start();
+		thread.join();
+		dispatchUntil(() -> scheduler.getFrameCount() > 0, 2000);
+		dispatchFor(200);
+		assertEquals(1, scheduler.getFrameCount());
+		assertEquals(99, scheduler.getDroppedUpdateCount());
+	}
+
+	@Test
+	public void testFrameRateLimit() throws InterruptedException {
+		xyGraph.setMaxFrameRate(10);
+		scheduler.resetStatistics();
+		scheduler.traceChanged(trace);
+		dispatchUntil(() -> scheduler.getFrameCount() == 1, 2000);
+		// the first frame started at most its frame time before now
+		final long firstFrame = System.nanoTime() - scheduler.getLastFrameTime();
+		scheduler.traceChanged(trace);
+		dispatchUntil(() -> scheduler.getFrameCount() == 2, 2000);
+		assertEquals(2, scheduler.getFrameCount());
+		// the second frame waits for the 100 ms frame interval, timers have
+		// millisecond resolution
+		final long elapsed = System.nanoTime() - firstFrame;
+		assertTrue("frames " + elapsed / 1000000 + " ms apart", elapsed >= 98000000L);
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		xyGraph.setMaxFrameRate(20);
+		scheduler.resetStatistics();
+		scheduler.traceChanged(trace);
+		xyGraph.removeTrace(trace);
+		dispatchFor(200);
+		// the scheduled frame found no dirty trace
+		assertEquals(0, scheduler.getFrameCount());
+		// a later change schedules a new frame
+		xyGraph.addTrace(trace);
+		dispatchUntil(() -> scheduler.getFrameCount() > 0, 2000);
+		assertEquals(1, scheduler.getFrameCount());
+	}
+
+	@Test
+	public void testDisableWithPendingFrame() throws InterruptedException {
+		xyGraph.setMaxFrameRate(20);
+		scheduler.resetStatistics();
+		scheduler.traceChanged(trace);
+		xyGraph.setMaxFrameRate(0);
+		assertFalse(scheduler.isEnabled());
+		// the pending change is still shown
+		dispatchUntil(() -> scheduler.getFrameCount() > 0, 2000);
+		assertEquals(1, scheduler.getFrameCount());
+		trace.dataChanged(null);
+		dispatchFor(200);
+		assertEquals(1, scheduler.getFrameCount());
+	}
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.function.DoubleToIntFunction;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.ISample;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.Sample;
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.junit.Test;
+
+/**
+ * Compares the samples found by the locator with the closest sample among all
+ * visible samples.
+ */
+public class SampleLocatorTest {
+
+	private static final int SAMPLES = 20000;
+	private static final Range X_RANGE = new Range(100, 900);
+	private static final Range Y_RANGE = new Range(-50, 50);
+	private static final double NAN_Y = -50;
+	/** 800 x 400 pixels, Y axis pointing down */
+	private static final DoubleToIntFunction X_TO_PIXEL = x -> (int) Math.round(x - 100);
+	private static final DoubleToIntFunction Y_TO_PIXEL = y -> (int) Math.round((50 - y) * 4);
+
+	private static CircularBufferDataProvider createProvider(boolean chronological) {
+		Random random = new Random(3);
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(chronological);
+		provider.setBufferSize(SAMPLES);
+		for (int i = 0; i < SAMPLES; i++) {
+			double x = chronological ? i / 20.0 : random.nextDouble() * 1000;
+			double y = i % 97 == 0 ? Double.NaN : random.nextGaussian() * 30;
+			provider.addSample(new Sample(x, y));
+		}
+		return provider;
+	}
+
+	private static boolean isVisible(ISample sample) {
+		return X_RANGE.inRange(sample.getXValue())
+				&& (Double.isNaN(sample.getYValue()) || Y_RANGE.inRange(sample.getYValue()));
+	}
+
+	private static long distance(ISample sample, int x, int y) {
+		long dx = X_TO_PIXEL.applyAsInt(sample.getXValue()) - x;
+		long dy = Y_TO_PIXEL.applyAsInt(Double.isNaN(sample.getYValue()) ? NAN_Y : sample.getYValue()) - y;
+		return dx * dx + dy * dy;
+	}
+
+	private static void assertNearest(boolean chronological) {
+		CircularBufferDataProvider provider = createProvider(chronological);
+		SampleLocator locator = new SampleLocator();
+		locator.update(provider, X_RANGE, Y_RANGE, X_TO_PIXEL, Y_TO_PIXEL, NAN_Y, 1);
+		Random random = new Random(5);
+		for (int query = 0; query < 500; query++) {
+			// Also outside of the plot area
+			int x = random.nextInt(1000) - 100;
+			int y = random.nextInt(600) - 100;
+			long best = Long.MAX_VALUE;
+			for (int i = 0; i < provider.getSize(); i++) {
+				if (isVisible(provider.getSample(i)))
+					best = Math.min(best, distance(provider.getSample(i), x, y));
+			}
+			int found = locator.findNearest(x, y);
+			assertTrue(found >= 0);
+			assertTrue(isVisible(provider.getSample(found)));
+			assertEquals(best, distance(provider.getSample(found), x, y));
+		}
+	}
+
+	@Test
+	public void testNearestChronological() {
+		assertNearest(true);
+	}
+
+	@Test
+	public void testNearestInGrid() {
+		assertNearest(false);
+	}
+
+	@Test
+	public void testIndexOf() {
+		for (boolean chronological : new boolean[] { true, false }) {
+			CircularBufferDataProvider provider = createProvider(chronological);
+			SampleLocator locator = new SampleLocator();
+			locator.update(provider, X_RANGE, Y_RANGE, X_TO_PIXEL, Y_TO_PIXEL, NAN_Y, 1);
+			for (int i = 0; i < provider.getSize(); i += 7) {
+				ISample sample = provider.getSample(i);
+				int index = locator.indexOf(sample);
+				if (isVisible(sample))
+					assertEquals(sample, provider.getSample(index));
+				else
+					assertEquals(-1, index);
+			}
+			// Marker of a NaN value is found by its X value
+			ISample nan = provider.getSample(97 * 50);
+			assertTrue(Double.isNaN(nan.getYValue()));
+			ISample marker = new Sample(nan.getXValue(), NAN_Y, 0, 0, Double.NaN, 0);
+			assertEquals(isVisible(nan) ? 97 * 50 : -1, locator.indexOf(marker));
+		}
+	}
+
+	@Test
+	public void testCenter() {
+		CircularBufferDataProvider provider = createProvider(true);
+		SampleLocator locator = new SampleLocator();
+		locator.update(provider, X_RANGE, Y_RANGE, X_TO_PIXEL, Y_TO_PIXEL, NAN_Y, 1);
+		int center = locator.findCenter();
+		assertTrue(isVisible(provider.getSample(center)));
+		assertEquals(500, provider.getSample(center).getXValue(), 1);
+
+		locator.update(provider, new Range(2000, 3000), Y_RANGE, X_TO_PIXEL, Y_TO_PIXEL, NAN_Y, 2);
+		assertEquals(-1, locator.findCenter());
+		assertEquals(-1, locator.findNearest(0, 0));
+	}
+}
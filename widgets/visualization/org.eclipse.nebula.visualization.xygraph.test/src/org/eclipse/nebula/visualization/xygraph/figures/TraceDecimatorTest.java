@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.DoubleToIntFunction;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.CircularBufferDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.Sample;
+import org.eclipse.nebula.visualization.xygraph.figures.Trace.DecimationMode;
+import org.junit.Test;
+
+public class TraceDecimatorTest {
+
+	private static final int SAMPLES = 100000;
+	private static final int WIDTH = 100;
+
+	private static CircularBufferDataProvider createProvider() {
+		CircularBufferDataProvider provider = new CircularBufferDataProvider(true);
+		provider.setBufferSize(SAMPLES);
+		for (int i = 0; i < SAMPLES; i++) {
+			provider.addSample(new Sample(i, Math.sin(i / 100.0) * (i % 7)));
+		}
+		return provider;
+	}
+
+	private static final DoubleToIntFunction X_TO_PIXEL = x -> (int) (x * WIDTH / SAMPLES);
+
+	@Test
+	public void testM4KeepsExtremesOfEveryColumn() {
+		CircularBufferDataProvider provider = createProvider();
+		TraceDecimator decimator = new TraceDecimator();
+		int count = decimator.decimate(provider, DecimationMode.M4, 0, SAMPLES - 1, X_TO_PIXEL, WIDTH);
+		assertTrue(count <= 4 * WIDTH);
+		int[] indexes = decimator.getIndexes();
+		for (int n = 1; n < count; n++) {
+			assertTrue(indexes[n - 1] < indexes[n]);
+		}
+		int columnSize = SAMPLES / WIDTH;
+		for (int column = 0; column < WIDTH; column++) {
+			int first = column * columnSize, last = first + columnSize - 1;
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for (int i = first; i <= last; i++) {
+				min = Math.min(min, provider.getSample(i).getYValue());
+				max = Math.max(max, provider.getSample(i).getYValue());
+			}
+			double drawnMin = Double.POSITIVE_INFINITY, drawnMax = Double.NEGATIVE_INFINITY;
+			boolean hasFirst = false, hasLast = false;
+			for (int n = 0; n < count; n++) {
+				int i = indexes[n];
+				if (i >= first && i <= last) {
+					drawnMin = Math.min(drawnMin, provider.getSample(i).getYValue());
+					drawnMax = Math.max(drawnMax, provider.getSample(i).getYValue());
+					hasFirst |= i == first;
+					hasLast |= i == last;
+				}
+			}
+			assertEquals(min, drawnMin, 0);
+			assertEquals(max, drawnMax, 0);
+			assertTrue(hasFirst && hasLast);
+		}
+	}
+
+	@Test
+	public void testLTTB() {
+		CircularBufferDataProvider provider = createProvider();
+		TraceDecimator decimator = new TraceDecimator();
+		int count = decimator.decimate(provider, DecimationMode.LTTB, 0, SAMPLES - 1, X_TO_PIXEL, WIDTH);
+		assertEquals(2 * WIDTH, count);
+		int[] indexes = decimator.getIndexes();
+		assertEquals(0, indexes[0]);
+		assertEquals(SAMPLES - 1, indexes[count - 1]);
+		for (int n = 1; n < count; n++) {
+			assertTrue(indexes[n - 1] < indexes[n]);
+		}
+	}
+
+}
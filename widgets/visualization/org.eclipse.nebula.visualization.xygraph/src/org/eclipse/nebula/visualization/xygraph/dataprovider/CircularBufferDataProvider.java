@@ -17,6 +17,7 @@ package org.eclipse.nebula.visualization.xygraph.dataprovider;
 import java.util.Calendar;
 import java.util.Iterator;
 
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
 import org.eclipse.swt.widgets.Display;
 
 /**
@@ -75,6 +76,9 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 
 	private CircularBuffer<ISample> traceData;
 
+	/** Number of samples appended since the data provider was created */
+	private long appendedCount = 0;
+
 	private double currentXData;
 
 	private double currentYData;
@@ -108,6 +112,14 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 
 	private Runnable fireUpdate;
 
+	/**
+	 * Ranges of the samples in the range window, maintained as samples are
+	 * added once they were requested
+	 */
+	private final SlidingWindowMinMax xRange = new SlidingWindowMinMax(100);
+	private final SlidingWindowMinMax yRange = new SlidingWindowMinMax(100);
+	private boolean rangesValid = false;
+
 	public CircularBufferDataProvider(boolean chronological) {
 		super(chronological);
 		traceData = new CircularBuffer<ISample>(100);
@@ -149,7 +161,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 	public synchronized void addSample(ISample sample) {
 		if (traceData.size() == traceData.getBufferSize() && plotMode == PlotMode.N_STOP)
 			return;
-		traceData.add(sample);
+		addToBuffer(sample);
 		fireDataChange();
 	}
 
@@ -223,7 +235,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 	private void addDataPoint() {
 		double newXValue;
 		if (!concatenate_data)
-			traceData.clear();
+			clearBuffer();
 		if (chronological) {
 			if (xAxisDateEnabled) {
 				if (updateMode != UpdateMode.TRIGGER)
@@ -239,7 +251,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 		} else {
 			newXValue = currentXData;
 		}
-		traceData.add(new Sample(newXValue, currentYData));
+		addToBuffer(new Sample(newXValue, currentYData));
 		currentXDataChanged = false;
 		currentYDataChanged = false;
 		// currentYDataTimestampChanged = false;
@@ -303,7 +315,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 	 */
 	private void addDataArray() {
 		if (!concatenate_data)
-			traceData.clear();
+			clearBuffer();
 
 		if (chronological) {
 			double[] newXValueArray;
@@ -318,7 +330,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 				}
 			for (int i = 0; i < Math.min(traceData.getBufferSize(),
 					Math.min(newXValueArray.length, currentYDataArray.length)); i++) {
-				traceData.add(new Sample(newXValueArray[i], currentYDataArray[i]));
+				addToBuffer(new Sample(newXValueArray[i], currentYDataArray[i]));
 			}
 		} else {
 			// newXValueArray = currentXDataArray;
@@ -327,7 +339,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 			// just ignore the tail data.
 			for (int i = 0; i < Math.min(traceData.getBufferSize(),
 					Math.min(currentXDataArray.length, currentYDataArray.length)); i++) {
-				traceData.add(new Sample(currentXDataArray[i], currentYDataArray[i]));
+				addToBuffer(new Sample(currentXDataArray[i], currentYDataArray[i]));
 			}
 		}
 
@@ -341,7 +353,7 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 	 * Clear all data on in the data provider.
 	 */
 	public synchronized void clearTrace() {
-		traceData.clear();
+		clearBuffer();
 		currentXDataArray = new double[] {};
 		currentYDataArray = new double[] {};
 		currentXDataChanged = false;
@@ -361,6 +373,59 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 	 */
 	public synchronized void setBufferSize(int bufferSize) {
 		traceData.setBufferSize(bufferSize, false);
+		invalidateRanges();
+	}
+
+	private void addToBuffer(ISample sample) {
+		traceData.add(sample);
+		appendedCount++;
+		if (rangesValid)
+			addToRanges(sample);
+	}
+
+	private void addToRanges(ISample sample) {
+		xRange.add(sample.getXValue() - sample.getXMinusError(), sample.getXValue() + sample.getXPlusError());
+		yRange.add(sample.getYValue() - sample.getYMinusError(), sample.getYValue() + sample.getYPlusError());
+	}
+
+	private void clearBuffer() {
+		traceData.clear();
+		invalidateRanges();
+	}
+
+	/**
+	 * Recompute the data ranges from all samples the next time they are
+	 * requested, e.g. after the range window changed.
+	 */
+	protected synchronized void invalidateRanges() {
+		rangesValid = false;
+	}
+
+	/**
+	 * @return number of most recent samples whose data range is maintained
+	 *         incrementally. Requests for the range of all these samples are
+	 *         answered in constant time, other requests scan the samples.
+	 */
+	protected int getRangeWindow() {
+		return traceData.getBufferSize();
+	}
+
+	@Override
+	public synchronized Range getDataRange(final boolean positiveOnly, final boolean isXAxis, final int lowerBound) {
+		final int size = traceData.size();
+		if (size <= 0)
+			return null;
+		final int window = getRangeWindow();
+		if (size - lowerBound != Math.min(size, window))
+			return super.getDataRange(positiveOnly, isXAxis, lowerBound);
+		if (!rangesValid) {
+			xRange.setWindow(window);
+			yRange.setWindow(window);
+			rangesValid = true;
+			for (int i = Math.max(0, size - window); i < size; i++)
+				addToRanges(traceData.getElement(i));
+		}
+		return (isXAxis ? xRange : yRange).getRange(positiveOnly);
 	}
 
 	/**
@@ -413,6 +478,15 @@ public class CircularBufferDataProvider extends AbstractDataProvider {
 		return traceData.size();
 	}
 
+	/**
+	 * The buffer always keeps the most recently appended samples, so the
+	 * first sample is the one appended <code>getSize()</code> samples ago.
+	 */
+	@Override
+	public synchronized long getFirstSequence() {
+		return appendedCount - traceData.size();
+	}
+
 	/**
 	 * If xAxisDateEnable is true, you will need to use
 	 * {@link #setCurrentYData(double, long)} or
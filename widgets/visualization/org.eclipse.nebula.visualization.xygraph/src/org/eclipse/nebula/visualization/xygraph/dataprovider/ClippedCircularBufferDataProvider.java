@@ -33,12 +33,20 @@ public class ClippedCircularBufferDataProvider extends CircularBufferDataProvide
 		assert clippingWindow > 0;
 		assert clippingWindow <= getSize();
 		this.clippingWindow = clippingWindow;
+		invalidateRanges();
 	}
 
 	public int getClippingWindow() {
 		return clippingWindow;
 	}
 
+	@Override
+	protected int getRangeWindow() {
+		// getDataRange(boolean, boolean) covers the last clippingWindow + 1
+		// samples
+		return clippingWindow > 0 ? clippingWindow + 1 : super.getRangeWindow();
+	}
+
 	@Override
 	public Range getDataRange(final boolean positiveOnly, final boolean isXAxis) {
 		Range range = null;
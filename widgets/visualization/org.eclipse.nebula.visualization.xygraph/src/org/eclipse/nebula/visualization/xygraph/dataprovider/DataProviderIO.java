@@ -0,0 +1,429 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+
+/**
+ * Bulk import and export of the samples of data providers.
+ * <p>
+ * Two formats are supported:
+ * <ul>
+ * <li><b>Binary</b>: little-endian <code>double</code> values without a
+ * header, either interleaved X and Y values of every sample or Y values only.
+ * Files are read through a memory map, window by window.</li>
+ * <li><b>CSV</b>: one sample per line with the X and Y value, or only the Y
+ * value, separated by a comma, semicolon, tab or spaces. Empty lines, lines
+ * starting with <code>#</code> and a header line are skipped.</li>
+ * </ul>
+ * Samples are read in chunks of {@value #CHUNK_SIZE} into reused arrays and
+ * appended to a {@link PrimitiveCircularBufferDataProvider}, so no
+ * {@link ISample} objects are created and files larger than the memory can be
+ * streamed into the buffer, which then keeps the last samples. When called on
+ * the display thread, the samples are visible in the data provider as soon as
+ * a read method returns, see {@link PrimitiveCircularBufferDataProvider#flush()}.
+ * <p>
+ * Samples of a {@link PrimitiveCircularBufferDataProvider} are exported
+ * without creating {@link ISample} objects either. Exports synchronize on the
+ * data provider.
+ */
+public final class DataProviderIO {
+
+	/** Number of samples read or written at once */
+	public static final int CHUNK_SIZE = 8192;
+
+	/** Size of the part of a binary file that is mapped at once */
+	private static final long MAP_WINDOW = 64L << 20;
+
+	private DataProviderIO() {
+	}
+
+	/**
+	 * @return number of samples in a binary file
+	 * @throws IOException
+	 *             if the file size is not a multiple of the sample size
+	 */
+	public static long getBinarySampleCount(Path file, boolean withX) throws IOException {
+		final long sampleBytes = withX ? 16 : 8;
+		final long size = Files.size(file);
+		if (size % sampleBytes != 0)
+			throw new IOException("Size of " + file + " is not a multiple of " + sampleBytes + " bytes.");
+		return size / sampleBytes;
+	}
+
+	/**
+	 * Create a data provider large enough for all samples of a binary file and
+	 * load them.
+	 *
+	 * @param file
+	 *            the file
+	 * @param withX
+	 *            true if the file holds X and Y values, false for Y values
+	 *            only
+	 * @param chronological
+	 *            true if the X values are in ascending order
+	 * @return the data provider
+	 * @throws IOException
+	 *             if the file can not be read
+	 */
+	public static PrimitiveCircularBufferDataProvider readBinary(Path file, boolean withX, boolean chronological)
+			throws IOException {
+		final long count = getBinarySampleCount(file, withX);
+		if (count > Integer.MAX_VALUE - CHUNK_SIZE)
+			throw new IOException(file + " holds more samples than a data provider can.");
+		final PrimitiveCircularBufferDataProvider provider = new PrimitiveCircularBufferDataProvider(chronological,
+				(int) Math.max(1, count), CHUNK_SIZE);
+		readBinary(file, withX, provider);
+		return provider;
+	}
+
+	/**
+	 * Append all samples of a binary file to a data provider.
+	 *
+	 * @param file
+	 *            the file
+	 * @param withX
+	 *            true if the file holds X and Y values, false for Y values
+	 *            only, which continue from the last sample in steps of 1
+	 * @param provider
+	 *            the data provider
+	 * @return number of samples read
+	 * @throws IOException
+	 *             if the file can not be read
+	 */
+	public static long readBinary(Path file, boolean withX, PrimitiveCircularBufferDataProvider provider)
+			throws IOException {
+		final long count = getBinarySampleCount(file, withX);
+		final int columns = withX ? 2 : 1;
+		final long sampleBytes = 8L * columns;
+		final double[] values = new double[CHUNK_SIZE * columns];
+		final double[] xs = withX ? new double[CHUNK_SIZE] : null;
+		final double[] ys = withX ? new double[CHUNK_SIZE] : values;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long sample = 0;
+			while (sample < count) {
+				// Map whole samples only, so none is split between windows
+				final long windowSamples = Math.min(count - sample, MAP_WINDOW / sampleBytes);
+				final MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, sample * sampleBytes,
+						windowSamples * sampleBytes);
+				final DoubleBuffer doubles = map.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+				while (doubles.hasRemaining()) {
+					final int len = Math.min(CHUNK_SIZE, doubles.remaining() / columns);
+					doubles.get(values, 0, len * columns);
+					if (withX) {
+						for (int i = 0; i < len; i++) {
+							xs[i] = values[2 * i];
+							ys[i] = values[2 * i + 1];
+						}
+					}
+					provider.append(xs, ys, 0, len);
+				}
+				sample += windowSamples;
+			}
+		}
+		provider.flush();
+		return count;
+	}
+
+	/**
+	 * Append all samples of a CSV file to a data provider. Lines with one value
+	 * hold the Y value only, which continues from the last sample in steps of
+	 * 1.
+	 *
+	 * @param file
+	 *            the file
+	 * @param provider
+	 *            the data provider
+	 * @return number of samples read
+	 * @throws IOException
+	 *             if the file can not be read or a line can not be parsed
+	 */
+	public static long readCSV(Path file, PrimitiveCircularBufferDataProvider provider) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return readCSV(reader, provider);
+		}
+	}
+
+	/**
+	 * Append all samples read from CSV lines to a data provider.
+	 *
+	 * @see #readCSV(Path, PrimitiveCircularBufferDataProvider)
+	 */
+	public static long readCSV(BufferedReader reader, PrimitiveCircularBufferDataProvider provider)
+			throws IOException {
+		final double[] xs = new double[CHUNK_SIZE];
+		final double[] ys = new double[CHUNK_SIZE];
+		final double[] parsed = new double[2];
+		long count = 0;
+		int len = 0;
+		// Whether the chunk holds X values, it is appended when that changes
+		boolean withX = false;
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			final String trimmed = line.trim();
+			if (trimmed.isEmpty() || trimmed.charAt(0) == '#')
+				continue;
+			final int values;
+			try {
+				values = parseLine(trimmed, parsed);
+			} catch (NumberFormatException e) {
+				if (count == 0 && len == 0)
+					continue; // header
+				throw new IOException("Invalid number in line " + lineNumber + ": " + line, e);
+			}
+			if (len > 0 && withX != (values == 2)) {
+				provider.append(withX ? xs : null, ys, 0, len);
+				len = 0;
+			}
+			withX = values == 2;
+			if (withX) {
+				xs[len] = parsed[0];
+				ys[len++] = parsed[1];
+			} else {
+				ys[len++] = parsed[0];
+			}
+			count++;
+			if (len == CHUNK_SIZE) {
+				provider.append(withX ? xs : null, ys, 0, len);
+				len = 0;
+			}
+		}
+		if (len > 0)
+			provider.append(withX ? xs : null, ys, 0, len);
+		provider.flush();
+		return count;
+	}
+
+	/**
+	 * Parse the first one or two values of a line.
+	 *
+	 * @return number of values parsed
+	 */
+	private static int parseLine(String line, double[] result) {
+		int end = 0;
+		while (end < line.length() && !isSeparator(line.charAt(end)))
+			end++;
+		result[0] = Double.parseDouble(line.substring(0, end));
+		int start = end;
+		while (start < line.length() && isSeparator(line.charAt(start)))
+			start++;
+		if (start == line.length())
+			return 1;
+		end = start;
+		while (end < line.length() && !isSeparator(line.charAt(end)))
+			end++;
+		result[1] = Double.parseDouble(line.substring(start, end));
+		return 2;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == ',' || c == ';' || c == ' ' || c == '\t';
+	}
+
+	/**
+	 * Write all samples of a data provider to a binary file.
+	 *
+	 * @param provider
+	 *            the data provider
+	 * @param file
+	 *            the file, which is replaced
+	 * @param withX
+	 *            true to write X and Y values, false for Y values only
+	 * @return number of samples written
+	 * @throws IOException
+	 *             if the file can not be written
+	 */
+	public static int writeBinary(IDataProvider provider, Path file, boolean withX) throws IOException {
+		return writeBinary(provider, null, file, withX);
+	}
+
+	/**
+	 * Write the samples of a data provider within a X range, e.g. the range of
+	 * the X axis of a trace, to a binary file.
+	 *
+	 * @param provider
+	 *            the data provider
+	 * @param xRange
+	 *            the X range, or <code>null</code> for all samples
+	 * @param file
+	 *            the file, which is replaced
+	 * @param withX
+	 *            true to write X and Y values, false for Y values only
+	 * @return number of samples written
+	 * @throws IOException
+	 *             if the file can not be written
+	 */
+	public static int writeBinary(IDataProvider provider, Range xRange, Path file, boolean withX)
+			throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE * 16).order(ByteOrder.LITTLE_ENDIAN);
+		int written = 0;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			synchronized (provider) {
+				final SampleCursor cursor = new SampleCursor(provider, xRange);
+				while (cursor.next()) {
+					if (withX)
+						buffer.putDouble(cursor.x);
+					buffer.putDouble(cursor.y);
+					written++;
+					if (!buffer.hasRemaining())
+						flush(channel, buffer);
+				}
+			}
+			flush(channel, buffer);
+		}
+		return written;
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * Write all samples of a data provider to a CSV file with a header line
+	 * and the X and Y value of every sample.
+	 *
+	 * @param provider
+	 *            the data provider
+	 * @param file
+	 *            the file, which is replaced
+	 * @return number of samples written
+	 * @throws IOException
+	 *             if the file can not be written
+	 */
+	public static int writeCSV(IDataProvider provider, Path file) throws IOException {
+		return writeCSV(provider, null, file);
+	}
+
+	/**
+	 * Write the samples of a data provider within a X range, e.g. the range of
+	 * the X axis of a trace, to a CSV file with a header line and the X and Y
+	 * value of every sample.
+	 *
+	 * @param provider
+	 *            the data provider
+	 * @param xRange
+	 *            the X range, or <code>null</code> for all samples
+	 * @param file
+	 *            the file, which is replaced
+	 * @return number of samples written
+	 * @throws IOException
+	 *             if the file can not be written
+	 */
+	public static int writeCSV(IDataProvider provider, Range xRange, Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			return writeCSV(provider, xRange, writer);
+		}
+	}
+
+	/**
+	 * Write the samples of a data provider within a X range as CSV lines.
+	 *
+	 * @see #writeCSV(IDataProvider, Range, Path)
+	 */
+	public static int writeCSV(IDataProvider provider, Range xRange, BufferedWriter writer) throws IOException {
+		int written = 0;
+		writer.write("x,y");
+		writer.newLine();
+		synchronized (provider) {
+			final SampleCursor cursor = new SampleCursor(provider, xRange);
+			while (cursor.next()) {
+				writer.write(Double.toString(cursor.x));
+				writer.write(',');
+				writer.write(Double.toString(cursor.y));
+				writer.newLine();
+				written++;
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Iterates over the samples within a X range, using binary search to find
+	 * the first sample of chronological data providers.
+	 */
+	private static final class SampleCursor {
+		private final IDataProvider provider;
+		private final PrimitiveCircularBufferDataProvider primitive;
+		private final Range xRange;
+		private final boolean chronological;
+		private final int size;
+		private int index;
+		double x, y;
+
+		SampleCursor(IDataProvider provider, Range xRange) {
+			this.provider = provider;
+			this.primitive = provider instanceof PrimitiveCircularBufferDataProvider
+					? (PrimitiveCircularBufferDataProvider) provider
+					: null;
+			this.xRange = xRange;
+			this.size = provider.getSize();
+			this.chronological = xRange != null && provider.isChronological();
+			index = chronological ? firstIndex(Math.min(xRange.getLower(), xRange.getUpper())) : 0;
+		}
+
+		private double getX(int i) {
+			return primitive != null ? primitive.getXValue(i) : provider.getSample(i).getXValue();
+		}
+
+		private int firstIndex(double lower) {
+			int low = 0, high = size;
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+				if (getX(mid) < lower)
+					low = mid + 1;
+				else
+					high = mid;
+			}
+			return low;
+		}
+
+		boolean next() {
+			while (index < size) {
+				final int i = index++;
+				if (primitive != null) {
+					x = primitive.getXValue(i);
+					y = primitive.getYValue(i);
+				} else {
+					final ISample sample = provider.getSample(i);
+					x = sample.getXValue();
+					y = sample.getYValue();
+				}
+				if (xRange == null || xRange.inRange(x, true))
+					return true;
+				if (chronological && x > Math.max(xRange.getLower(), xRange.getUpper())) {
+					index = size;
+					return false;
+				}
+			}
+			return false;
+		}
+	}
+
+}
@@ -139,4 +139,20 @@ public interface IDataProvider {
 		return false;
 	}
 
+	/**
+	 * This method is optional to implement. Data providers which drop their
+	 * oldest samples as new samples are appended, like circular buffers,
+	 * should return the sequence number of the sample at index 0, that is the
+	 * number of samples that were appended before it. Sequence numbers must
+	 * never decrease, so samples appended after the data was cleared get
+	 * higher numbers than all samples before. This allows summaries of the
+	 * samples to follow them as their indexes shift instead of being rebuilt.
+	 *
+	 * @return sequence number of the sample at index 0, or -1 if not
+	 *         supported
+	 */
+	public default long getFirstSequence() {
+		return -1;
+	}
+
 }
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import java.util.Arrays;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+
+/**
+ * Range of the values of one axis over any index range of a data provider
+ * whose samples are accessed and modified by index.
+ * <p>
+ * Each index holds a low value (value minus error) and a high value (value
+ * plus error). The minimum, the minimum of the positive low values (for log
+ * axes) and the maximum are kept in a segment tree, so changing a value and
+ * querying the range of an index range both cost O(log n). NaN values are
+ * ignored.
+ */
+public class MinMaxSegmentTree {
+
+	private final int capacity;
+	/** Number of leaves, the leaf of index i is at node leaves + i */
+	private final int leaves;
+	private final double[] min;
+	private final double[] positiveMin;
+	private final double[] max;
+
+	/**
+	 * @param capacity
+	 *            number of indexes
+	 */
+	public MinMaxSegmentTree(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be greater than zero.");
+		this.capacity = capacity;
+		int count = 1;
+		while (count < capacity)
+			count <<= 1;
+		leaves = count;
+		min = new double[2 * leaves];
+		positiveMin = new double[2 * leaves];
+		max = new double[2 * leaves];
+		clear();
+	}
+
+	/**
+	 * @return number of indexes
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Remove the values of all indexes.
+	 */
+	public void clear() {
+		Arrays.fill(min, Double.POSITIVE_INFINITY);
+		Arrays.fill(positiveMin, Double.POSITIVE_INFINITY);
+		Arrays.fill(max, Double.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Set the values of an index.
+	 *
+	 * @param index
+	 *            the index, 0...<code>capacity-1</code>
+	 * @param low
+	 *            value minus error
+	 * @param high
+	 *            value plus error
+	 */
+	public void set(int index, double low, double high) {
+		int node = load(index, low, high);
+		while (node > 1) {
+			node >>= 1;
+			combine(node);
+		}
+	}
+
+	/**
+	 * Set the values of an index without updating the ranges that contain it.
+	 * Call {@link #rebuild()} after loading all changed indexes, which is
+	 * cheaper than {@link #set(int, double, double)} when most indexes change.
+	 *
+	 * @param index
+	 *            the index, 0...<code>capacity-1</code>
+	 * @param low
+	 *            value minus error
+	 * @param high
+	 *            value plus error
+	 * @return position of the leaf
+	 */
+	public int load(int index, double low, double high) {
+		if (index < 0 || index >= capacity)
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		final int node = leaves + index;
+		min[node] = Double.isNaN(low) ? Double.POSITIVE_INFINITY : low;
+		positiveMin[node] = low > 0 ? low : Double.POSITIVE_INFINITY;
+		max[node] = Double.isNaN(high) ? Double.NEGATIVE_INFINITY : high;
+		return node;
+	}
+
+	/**
+	 * Update all ranges after values were set by
+	 * {@link #load(int, double, double)}.
+	 */
+	public void rebuild() {
+		for (int node = leaves - 1; node >= 1; node--)
+			combine(node);
+	}
+
+	private void combine(int node) {
+		final int left = node << 1, right = left | 1;
+		min[node] = Math.min(min[left], min[right]);
+		positiveMin[node] = Math.min(positiveMin[left], positiveMin[right]);
+		max[node] = Math.max(max[left], max[right]);
+	}
+
+	/**
+	 * @param from
+	 *            first index, inclusive
+	 * @param to
+	 *            last index, exclusive
+	 * @param positiveOnly
+	 *            if only positive values are considered (for log scale mode)
+	 * @return the range, same as
+	 *         {@link AbstractDataProvider#getDataRange(boolean, boolean, int)}
+	 *         would return for the samples at the indexes
+	 */
+	public Range getRange(int from, int to, boolean positiveOnly) {
+		final double[] result = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		accumulate(from, to, positiveOnly, result);
+		return positiveOnly ? SlidingWindowMinMax.createRange(result[0], Math.max(0, result[1]), true)
+				: SlidingWindowMinMax.createRange(result[0], result[1], false);
+	}
+
+	/**
+	 * Merge the minimum and maximum of an index range into a result, e.g. to
+	 * combine the two parts of a wrapped circular buffer.
+	 *
+	 * @param from
+	 *            first index, inclusive
+	 * @param to
+	 *            last index, exclusive
+	 * @param positiveOnly
+	 *            if the minimum of the positive values is used
+	 * @param result
+	 *            minimum at 0 and maximum at 1, updated in place
+	 */
+	public void accumulate(int from, int to, boolean positiveOnly, double[] result) {
+		if (from < 0 || to > capacity || from > to)
+			throw new IndexOutOfBoundsException(from + ".." + to);
+		final double[] lows = positiveOnly ? positiveMin : min;
+		double lo = result[0], hi = result[1];
+		for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+			if ((l & 1) != 0) {
+				lo = Math.min(lo, lows[l]);
+				hi = Math.max(hi, max[l]);
+				l++;
+			}
+			if ((r & 1) != 0) {
+				r--;
+				lo = Math.min(lo, lows[r]);
+				hi = Math.max(hi, max[r]);
+			}
+		}
+		result[0] = lo;
+		result[1] = hi;
+	}
+
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+/**
+ * Multi-resolution summary of the minimum and maximum Y values of an
+ * {@link IDataProvider}. Level 0 holds the minimum and maximum sample of every
+ * complete block of {@value #BLOCK_SIZE} samples, each higher level summarises
+ * {@value #BLOCK_SIZE} blocks of the level below. The index of the minimum and
+ * maximum sample of any index range can then be found without visiting every
+ * sample of the range.
+ * <p>
+ * Blocks are numbered by the sequence numbers of their samples, see
+ * {@link IDataProvider#getFirstSequence()}, and kept in ring buffers on each
+ * level. {@link #update(IDataProvider)} drops the blocks whose samples were
+ * removed from the front of the provider, like the oldest samples of a full
+ * circular buffer, and only summarises the blocks that were completed since
+ * the last update. For providers which do not number their samples, the
+ * sequence number is the index and any modification other than appending
+ * (detected by comparing the first and the last summarised samples with the
+ * samples now stored at the same indexes) causes the summary to be rebuilt.
+ * Call {@link #invalidate()} if samples are modified in place.
+ * <p>
+ * NaN values are ignored. Callers have to synchronize on the data provider
+ * around {@link #update(IDataProvider)} and
+ * {@link #getMinMaxIndex(IDataProvider, int, int, int[])} like for any other
+ * sample access.
+ */
+public class MinMaxSummary {
+
+	private static final int BLOCK_SHIFT = 6;
+
+	/** Number of samples, or blocks of the level below, in one block */
+	public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+	private static final int MAX_LEVELS = 5;
+
+	/**
+	 * Sequence numbers of the minimum and maximum samples of each block, or -1
+	 * if all values of the block are NaN, indexed by the block number masked
+	 * with the ring size
+	 */
+	private final long[][] minSequence = new long[MAX_LEVELS][];
+	private final long[][] maxSequence = new long[MAX_LEVELS][];
+	private final double[][] minValue = new double[MAX_LEVELS][];
+	private final double[][] maxValue = new double[MAX_LEVELS][];
+	/** Number of the first summarised block on each level */
+	private final long[] blockStart = new long[MAX_LEVELS];
+	/** Number of the block after the last summarised block on each level */
+	private final long[] blockEnd = new long[MAX_LEVELS];
+
+	/** Sequence number of the first sample at the last update */
+	private long first;
+	private double firstX = Double.NaN;
+	private double firstY = Double.NaN;
+	private double lastX = Double.NaN;
+	private double lastY = Double.NaN;
+
+	public MinMaxSummary() {
+		for (int level = 0; level < MAX_LEVELS; level++) {
+			minSequence[level] = new long[16];
+			maxSequence[level] = new long[16];
+			minValue[level] = new double[16];
+			maxValue[level] = new double[16];
+		}
+	}
+
+	/**
+	 * Drop all summarised blocks. The next update rebuilds the summary.
+	 */
+	public void invalidate() {
+		for (int level = 0; level < MAX_LEVELS; level++) {
+			blockStart[level] = 0;
+			blockEnd[level] = 0;
+		}
+		first = 0;
+		firstX = Double.NaN;
+		firstY = Double.NaN;
+		lastX = Double.NaN;
+		lastY = Double.NaN;
+	}
+
+	/**
+	 * Bring the summary up to date with the data provider.
+	 *
+	 * @param provider
+	 *            the data provider
+	 */
+	public void update(IDataProvider provider) {
+		final int size = provider.getSize();
+		final long sequence = provider.getFirstSequence();
+		final long newFirst = Math.max(sequence, 0);
+		final long summarisedEnd = blockEnd[0] << BLOCK_SHIFT;
+		if (newFirst < first) {
+			invalidate();
+		} else if (summarisedEnd > blockStart[0] << BLOCK_SHIFT) {
+			final boolean changed;
+			if (summarisedEnd > newFirst + size)
+				changed = true;
+			else if (sequence < 0)
+				changed = !isUnchanged(provider.getSample(0), firstX, firstY)
+						|| !isUnchanged(provider.getSample((int) summarisedEnd - 1), lastX, lastY);
+			else
+				changed = summarisedEnd > newFirst
+						&& !isUnchanged(provider.getSample((int) (summarisedEnd - 1 - newFirst)), lastX, lastY);
+			if (changed)
+				invalidate();
+		}
+		first = newFirst;
+		final long end = newFirst + size;
+		for (int level = 0; level < MAX_LEVELS; level++) {
+			final int shift = BLOCK_SHIFT * (level + 1);
+			// blocks are only kept while all their samples are present
+			blockStart[level] = Math.max(blockStart[level], (newFirst + (1L << shift) - 1) >> shift);
+			blockEnd[level] = Math.max(blockEnd[level], blockStart[level]);
+			final long newEnd = end >> shift;
+			if (newEnd <= blockEnd[level])
+				continue;
+			ensureCapacity(level, newEnd - blockStart[level]);
+			for (long b = blockEnd[level]; b < newEnd; b++) {
+				if (level == 0)
+					summariseSamples(provider, b);
+				else
+					summariseBlocks(level, b);
+			}
+			blockEnd[level] = newEnd;
+		}
+		if (size > 0) {
+			final ISample firstSample = provider.getSample(0);
+			firstX = firstSample.getXValue();
+			firstY = firstSample.getYValue();
+		}
+		if (blockEnd[0] > blockStart[0]) {
+			final ISample last = provider.getSample((int) ((blockEnd[0] << BLOCK_SHIFT) - 1 - newFirst));
+			lastX = last.getXValue();
+			lastY = last.getYValue();
+		}
+	}
+
+	private static boolean isUnchanged(ISample sample, double x, double y) {
+		return sample != null && Double.compare(sample.getXValue(), x) == 0
+				&& Double.compare(sample.getYValue(), y) == 0;
+	}
+
+	/**
+	 * Make sure the ring of a level holds the given number of blocks, moving
+	 * the summarised blocks to their slots in a larger ring if necessary.
+	 */
+	private void ensureCapacity(int level, long blocks) {
+		final int length = minSequence[level].length;
+		if (blocks <= length)
+			return;
+		int capacity = length;
+		while (capacity < blocks)
+			capacity <<= 1;
+		final long[] newMinSequence = new long[capacity], newMaxSequence = new long[capacity];
+		final double[] newMinValue = new double[capacity], newMaxValue = new double[capacity];
+		for (long b = blockStart[level]; b < blockEnd[level]; b++) {
+			final int from = (int) (b & (length - 1));
+			final int to = (int) (b & (capacity - 1));
+			newMinSequence[to] = minSequence[level][from];
+			newMaxSequence[to] = maxSequence[level][from];
+			newMinValue[to] = minValue[level][from];
+			newMaxValue[to] = maxValue[level][from];
+		}
+		minSequence[level] = newMinSequence;
+		maxSequence[level] = newMaxSequence;
+		minValue[level] = newMinValue;
+		maxValue[level] = newMaxValue;
+	}
+
+	private void summariseSamples(IDataProvider provider, long block) {
+		long min = -1, max = -1;
+		double minY = Double.NaN, maxY = Double.NaN;
+		final long start = block << BLOCK_SHIFT;
+		for (long s = start; s < start + BLOCK_SIZE; s++) {
+			final ISample sample = provider.getSample((int) (s - first));
+			if (sample == null)
+				continue;
+			final double y = sample.getYValue();
+			if (Double.isNaN(y))
+				continue;
+			if (min < 0 || y < minY) {
+				min = s;
+				minY = y;
+			}
+			if (max < 0 || y > maxY) {
+				max = s;
+				maxY = y;
+			}
+		}
+		store(0, block, min, minY, max, maxY);
+	}
+
+	private void summariseBlocks(int level, long block) {
+		final long[] childMin = minSequence[level - 1], childMax = maxSequence[level - 1];
+		final double[] childMinY = minValue[level - 1], childMaxY = maxValue[level - 1];
+		final int mask = childMin.length - 1;
+		long min = -1, max = -1;
+		double minY = Double.NaN, maxY = Double.NaN;
+		final long start = block << BLOCK_SHIFT;
+		for (long b = start; b < start + BLOCK_SIZE; b++) {
+			final int c = (int) (b & mask);
+			if (childMin[c] < 0)
+				continue;
+			if (min < 0 || childMinY[c] < minY) {
+				min = childMin[c];
+				minY = childMinY[c];
+			}
+			if (max < 0 || childMaxY[c] > maxY) {
+				max = childMax[c];
+				maxY = childMaxY[c];
+			}
+		}
+		store(level, block, min, minY, max, maxY);
+	}
+
+	private void store(int level, long block, long min, double minY, long max, double maxY) {
+		final int slot = (int) (block & (minSequence[level].length - 1));
+		minSequence[level][slot] = min;
+		maxSequence[level][slot] = max;
+		minValue[level][slot] = minY;
+		maxValue[level][slot] = maxY;
+	}
+
+	/**
+	 * Find the samples with the minimum and maximum Y value in an index range.
+	 * Uses the largest summarised blocks that fit in the range and only visits
+	 * the samples at the range ends which are not covered by a block.
+	 *
+	 * @param provider
+	 *            the data provider, {@link #update(IDataProvider)} must have
+	 *            been called since it last changed
+	 * @param from
+	 *            first index of the range
+	 * @param to
+	 *            last index of the range, inclusive
+	 * @param result
+	 *            receives the index of the minimum at 0 and of the maximum at
+	 *            1, or -1 if all values in the range are NaN
+	 */
+	public void getMinMaxIndex(IDataProvider provider, int from, int to, int[] result) {
+		long min = -1, max = -1;
+		double minY = Double.NaN, maxY = Double.NaN;
+		final long last = first + to;
+		long s = first + from;
+		while (s <= last) {
+			int level = -1;
+			long block = 0;
+			for (int l = MAX_LEVELS - 1; l >= 0; l--) {
+				final int shift = BLOCK_SHIFT * (l + 1);
+				final long size = 1L << shift;
+				block = s >> shift;
+				if ((s & (size - 1)) == 0 && s + size - 1 <= last && block >= blockStart[l] && block < blockEnd[l]) {
+					level = l;
+					break;
+				}
+			}
+			if (level < 0) {
+				final ISample sample = provider.getSample((int) (s - first));
+				final double y = sample == null ? Double.NaN : sample.getYValue();
+				if (!Double.isNaN(y)) {
+					if (min < 0 || y < minY) {
+						min = s;
+						minY = y;
+					}
+					if (max < 0 || y > maxY) {
+						max = s;
+						maxY = y;
+					}
+				}
+				s++;
+			} else {
+				final int slot = (int) (block & (minSequence[level].length - 1));
+				if (minSequence[level][slot] >= 0) {
+					if (min < 0 || minValue[level][slot] < minY) {
+						min = minSequence[level][slot];
+						minY = minValue[level][slot];
+					}
+					if (max < 0 || maxValue[level][slot] > maxY) {
+						max = maxSequence[level][slot];
+						maxY = maxValue[level][slot];
+					}
+				}
+				s += 1L << (BLOCK_SHIFT * (level + 1));
+			}
+		}
+		result[0] = min < 0 ? -1 : (int) (min - first);
+		result[1] = max < 0 ? -1 : (int) (max - first);
+	}
+
+	/**
+	 * @return number of samples covered by the summary
+	 */
+	public int getSummarisedSize() {
+		return (int) ((blockEnd[0] - blockStart[0]) << BLOCK_SHIFT);
+	}
+
+}
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Circular buffer data provider for high rate streaming which stores the
+ * samples in parallel <code>double</code> arrays instead of {@link ISample}
+ * objects.
+ * <p>
+ * <b>Threading</b><br>
+ * Producers call one of the <code>append</code> methods from any thread. They
+ * only synchronize among themselves and never on the data provider, so they
+ * are not blocked while a trace paints. Readers do not see appended samples
+ * right away: they see a <i>view</i> of the buffer which is moved forward on
+ * the display thread, at most once per event loop iteration no matter how many
+ * samples were appended, right before the listeners are notified. The view
+ * therefore does not change while a trace paints.
+ * <p>
+ * The arrays hold <code>headroom</code> more samples than the buffer size, so
+ * producers can keep appending that many samples before they start to
+ * overwrite samples of the current view. If they do, the overwritten samples
+ * are counted by {@link #getOverrunCount()}; increase the headroom if that
+ * happens.
+ * <p>
+ * If the data provider is created outside of the display thread, the view is
+ * moved forward and the listeners are notified on the producer thread. Call
+ * {@link #flush()} to see appended samples right away on the display thread.
+ */
+public class PrimitiveCircularBufferDataProvider extends AbstractDataProvider {
+
+	private final int bufferSize;
+	private final int length;
+	private final double[] xData;
+	private final double[] yData;
+	private final double[] yPlusErrors;
+	private final double[] yMinusErrors;
+
+	private final Object writeLock = new Object();
+	/** Sequence number of the next sample to write, guarded by writeLock */
+	private long writeSequence;
+	/** Sequence number of the first sample after the last clear */
+	private volatile long clearSequence;
+	/** Sequence number after the last sample which is completely written */
+	private volatile long publishedSequence;
+
+	/** First and last sequence number (exclusive) of the current view */
+	private volatile long viewStart;
+	private volatile long viewEnd;
+
+	/**
+	 * Ranges of the samples by slot, up to date with the samples before
+	 * rangeSequence as far as they are still stored
+	 */
+	private final MinMaxSegmentTree xRange;
+	private final MinMaxSegmentTree yRange;
+	private long rangeSequence;
+	private final double[] rangeResult = new double[2];
+
+	private final AtomicLong overruns = new AtomicLong();
+	private final AtomicBoolean updatePending = new AtomicBoolean();
+	private final Display display;
+	private final Runnable updateView = this::updateView;
+
+	/**
+	 * Create a data provider without error information.
+	 *
+	 * @param chronological
+	 *            true if the X values are appended in ascending order
+	 * @param bufferSize
+	 *            number of samples to keep
+	 * @param headroom
+	 *            number of samples producers may append before the view is
+	 *            moved forward without overwriting it
+	 */
+	public PrimitiveCircularBufferDataProvider(boolean chronological, int bufferSize, int headroom) {
+		this(chronological, bufferSize, headroom, false);
+	}
+
+	/**
+	 * @param chronological
+	 *            true if the X values are appended in ascending order
+	 * @param bufferSize
+	 *            number of samples to keep
+	 * @param headroom
+	 *            number of samples producers may append before the view is
+	 *            moved forward without overwriting it
+	 * @param withErrors
+	 *            true to also store plus and minus errors of the Y values
+	 */
+	public PrimitiveCircularBufferDataProvider(boolean chronological, int bufferSize, int headroom,
+			boolean withErrors) {
+		super(chronological);
+		if (bufferSize <= 0)
+			throw new IllegalArgumentException("Buffer size must be greater than zero.");
+		if (headroom < 0)
+			throw new IllegalArgumentException("Headroom must not be negative.");
+		this.bufferSize = bufferSize;
+		this.length = bufferSize + headroom;
+		xData = new double[length];
+		yData = new double[length];
+		yPlusErrors = withErrors ? new double[length] : null;
+		yMinusErrors = withErrors ? new double[length] : null;
+		xRange = new MinMaxSegmentTree(length);
+		yRange = new MinMaxSegmentTree(length);
+		display = Display.getCurrent();
+	}
+
+	/**
+	 * Append samples with Y values only. The X values continue from the last
+	 * sample in steps of 1.
+	 *
+	 * @param ys
+	 *            Y values
+	 * @param off
+	 *            index of the first value to append
+	 * @param len
+	 *            number of values to append
+	 */
+	public void append(double[] ys, int off, int len) {
+		append(null, ys, null, null, off, len);
+	}
+
+	/**
+	 * Append samples.
+	 *
+	 * @param xs
+	 *            X values
+	 * @param ys
+	 *            Y values
+	 * @param off
+	 *            index of the first value to append in both arrays
+	 * @param len
+	 *            number of values to append
+	 */
+	public void append(double[] xs, double[] ys, int off, int len) {
+		append(xs, ys, null, null, off, len);
+	}
+
+	/**
+	 * Append samples with errors. The errors are ignored unless the data
+	 * provider was created to store them.
+	 *
+	 * @param xs
+	 *            X values, or <code>null</code> to continue from the last
+	 *            sample in steps of 1
+	 * @param ys
+	 *            Y values
+	 * @param yPlus
+	 *            plus errors of the Y values, or <code>null</code> for none
+	 * @param yMinus
+	 *            minus errors of the Y values, or <code>null</code> for none
+	 * @param off
+	 *            index of the first value to append in all arrays
+	 * @param len
+	 *            number of values to append
+	 */
+	public void append(double[] xs, double[] ys, double[] yPlus, double[] yMinus, int off, int len) {
+		if (off < 0 || len < 0 || off + len > ys.length || (xs != null && off + len > xs.length))
+			throw new IndexOutOfBoundsException();
+		if (len == 0)
+			return;
+		synchronized (writeLock) {
+			long sequence = writeSequence;
+			double x = Double.NaN;
+			if (xs == null)
+				x = sequence > clearSequence ? xData[slot(sequence - 1)] + 1 : 0;
+			// Samples that do not fit in the buffer would be dropped right away
+			if (len > bufferSize) {
+				x += len - bufferSize;
+				off += len - bufferSize;
+				len = bufferSize;
+			}
+			// Samples of the view in the slots written now, at most the
+			// samples of the view
+			final long start = viewStart, end = viewEnd;
+			final long overwritten = Math.min(end, sequence + len - length) - Math.max(start, sequence - length);
+			if (overwritten > 0)
+				overruns.addAndGet(overwritten);
+			for (int i = off; i < off + len; i++) {
+				final int slot = slot(sequence++);
+				xData[slot] = xs == null ? x++ : xs[i];
+				yData[slot] = ys[i];
+				if (yPlusErrors != null) {
+					yPlusErrors[slot] = yPlus == null ? 0 : yPlus[i];
+					yMinusErrors[slot] = yMinus == null ? 0 : yMinus[i];
+				}
+			}
+			writeSequence = sequence;
+			publishedSequence = sequence;
+		}
+		fireDataChange();
+	}
+
+	/**
+	 * Remove all samples.
+	 */
+	public void clear() {
+		synchronized (writeLock) {
+			clearSequence = writeSequence;
+		}
+		fireDataChange();
+	}
+
+	/**
+	 * Move the view forward to all samples appended so far and notify the
+	 * listeners right away if called on the display thread, e.g. after loading
+	 * samples, instead of the next time the event loop runs. On other threads
+	 * the view is moved forward as after any append.
+	 */
+	public void flush() {
+		if (display == null || Display.getCurrent() == display)
+			updateView();
+		else
+			fireDataChange();
+	}
+
+	private int slot(long sequence) {
+		return (int) (sequence % length);
+	}
+
+	/**
+	 * Move the view forward to the last completely written sample and notify
+	 * the listeners.
+	 */
+	private void updateView() {
+		updatePending.set(false);
+		synchronized (this) {
+			final long end = publishedSequence;
+			viewStart = Math.max(clearSequence, end - bufferSize);
+			viewEnd = Math.max(viewStart, end);
+		}
+		super.fireDataChange();
+	}
+
+	@Override
+	protected void fireDataChange() {
+		if (display == null) {
+			updateView();
+		} else if (updatePending.compareAndSet(false, true)) {
+			if (display.isDisposed())
+				return;
+			display.asyncExec(updateView);
+		}
+	}
+
+	@Override
+	public int getSize() {
+		return (int) (viewEnd - viewStart);
+	}
+
+	@Override
+	public long getFirstSequence() {
+		return viewStart;
+	}
+
+	@Override
+	public ISample getSample(int index) {
+		if (index < 0 || index >= getSize())
+			return null;
+		final int slot = slot(viewStart + index);
+		if (yPlusErrors == null)
+			return new Sample(xData[slot], yData[slot]);
+		return new Sample(xData[slot], yData[slot], yPlusErrors[slot], yMinusErrors[slot], 0, 0);
+	}
+
+	/**
+	 * Like {@link #getSample(int)}.getXValue() without creating a sample.
+	 *
+	 * @param index
+	 *            Sample index, 0...<code>getSize()-1</code>
+	 * @return the X value
+	 */
+	public double getXValue(int index) {
+		return xData[slot(viewStart + index)];
+	}
+
+	/**
+	 * Like {@link #getSample(int)}.getYValue() without creating a sample.
+	 *
+	 * @param index
+	 *            Sample index, 0...<code>getSize()-1</code>
+	 * @return the Y value
+	 */
+	public double getYValue(int index) {
+		return yData[slot(viewStart + index)];
+	}
+
+	/**
+	 * Returns the range of the samples from the segment trees, which are
+	 * brought up to date with the samples appended since the last call first.
+	 */
+	@Override
+	public synchronized Range getDataRange(final boolean positiveOnly, final boolean isXAxis, final int lowerBound) {
+		final int size = getSize();
+		if (size <= 0)
+			return null;
+		updateRanges();
+		final MinMaxSegmentTree tree = isXAxis ? xRange : yRange;
+		rangeResult[0] = Double.POSITIVE_INFINITY;
+		rangeResult[1] = Double.NEGATIVE_INFINITY;
+		final int from = slot(viewStart + lowerBound);
+		final int count = size - lowerBound;
+		if (from + count <= length) {
+			tree.accumulate(from, from + count, positiveOnly, rangeResult);
+		} else {
+			tree.accumulate(from, length, positiveOnly, rangeResult);
+			tree.accumulate(0, from + count - length, positiveOnly, rangeResult);
+		}
+		return positiveOnly ? SlidingWindowMinMax.createRange(rangeResult[0], Math.max(0, rangeResult[1]), true)
+				: SlidingWindowMinMax.createRange(rangeResult[0], rangeResult[1], false);
+	}
+
+	private void updateRanges() {
+		final long end = viewEnd;
+		final long start = Math.max(rangeSequence, end - length);
+		if (start >= end)
+			return;
+		// Loading many slots and rebuilding beats updating them one by one
+		final boolean rebuild = end - start > length / 16;
+		for (long sequence = start; sequence < end; sequence++) {
+			final int slot = slot(sequence);
+			final double x = xData[slot], y = yData[slot];
+			final double yLow = yMinusErrors == null ? y : y - yMinusErrors[slot];
+			final double yHigh = yPlusErrors == null ? y : y + yPlusErrors[slot];
+			if (rebuild) {
+				xRange.load(slot, x, x);
+				yRange.load(slot, yLow, yHigh);
+			} else {
+				xRange.set(slot, x, x);
+				yRange.set(slot, yLow, yHigh);
+			}
+		}
+		if (rebuild) {
+			xRange.rebuild();
+			yRange.rebuild();
+		}
+		rangeSequence = end;
+	}
+
+	@Override
+	public boolean hasErrors() {
+		return yPlusErrors != null;
+	}
+
+	/**
+	 * @return number of samples the buffer keeps
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * @return number of samples that were overwritten by producers while they
+	 *         were still part of the view
+	 */
+	public long getOverrunCount() {
+		return overruns.get();
+	}
+
+}
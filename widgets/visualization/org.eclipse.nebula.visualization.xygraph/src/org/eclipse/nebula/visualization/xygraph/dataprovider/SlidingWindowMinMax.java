@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.dataprovider;
+
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+
+/**
+ * Range of the values of one axis over the last <code>window</code> samples
+ * appended to a data provider, like a circular buffer.
+ * <p>
+ * Each sample contributes a low value (value minus error) to the minimum and a
+ * high value (value plus error) to the maximum. The minimum, the minimum of the
+ * positive low values (for log axes) and the maximum are kept in monotonic
+ * deques, so appending a sample costs amortised O(1) and the range is
+ * available in O(1). NaN values are ignored.
+ */
+public class SlidingWindowMinMax {
+
+	/**
+	 * Deque of sample sequence numbers and values in which the values are
+	 * monotonic from the first to the last element.
+	 */
+	private static class MonotonicDeque {
+		private long[] sequences = new long[16];
+		private double[] values = new double[16];
+		private int first;
+		private int size;
+
+		private int index(int i) {
+			return (first + i) & (values.length - 1);
+		}
+
+		/**
+		 * Append a value, dropping all values from the end which can no longer
+		 * be the extremum because the new value is at least as extreme.
+		 *
+		 * @param sign
+		 *            1 to keep the minimum first, -1 to keep the maximum first
+		 */
+		void push(long sequence, double value, int sign) {
+			while (size > 0 && sign * values[index(size - 1)] >= sign * value)
+				size--;
+			if (size == values.length)
+				grow();
+			final int i = index(size++);
+			sequences[i] = sequence;
+			values[i] = value;
+		}
+
+		void expire(long oldest) {
+			while (size > 0 && sequences[first] < oldest) {
+				first = (first + 1) & (values.length - 1);
+				size--;
+			}
+		}
+
+		private void grow() {
+			final long[] newSequences = new long[sequences.length * 2];
+			final double[] newValues = new double[values.length * 2];
+			for (int i = 0; i < size; i++) {
+				newSequences[i] = sequences[index(i)];
+				newValues[i] = values[index(i)];
+			}
+			sequences = newSequences;
+			values = newValues;
+			first = 0;
+		}
+
+		double peek(double empty) {
+			return size > 0 ? values[first] : empty;
+		}
+
+		void clear() {
+			first = 0;
+			size = 0;
+		}
+	}
+
+	private final MonotonicDeque min = new MonotonicDeque();
+	private final MonotonicDeque positiveMin = new MonotonicDeque();
+	private final MonotonicDeque max = new MonotonicDeque();
+	private int window;
+	private long sequence;
+
+	/**
+	 * @param window
+	 *            number of most recent samples to cover
+	 */
+	public SlidingWindowMinMax(int window) {
+		setWindow(window);
+	}
+
+	/**
+	 * Change the number of samples to cover. Samples appended before are not
+	 * covered any more, so the caller has to append the samples of the new
+	 * window again.
+	 *
+	 * @param window
+	 *            number of most recent samples to cover
+	 */
+	public void setWindow(int window) {
+		if (window <= 0)
+			throw new IllegalArgumentException("Window must be greater than zero.");
+		this.window = window;
+		clear();
+	}
+
+	/**
+	 * @return number of most recent samples covered
+	 */
+	public int getWindow() {
+		return window;
+	}
+
+	/**
+	 * Append the values of a sample, the oldest sample leaves the window if it
+	 * is full.
+	 *
+	 * @param low
+	 *            value minus error
+	 * @param high
+	 *            value plus error
+	 */
+	public void add(double low, double high) {
+		final long s = sequence++;
+		if (!Double.isNaN(low)) {
+			min.push(s, low, 1);
+			if (low > 0)
+				positiveMin.push(s, low, 1);
+		}
+		if (!Double.isNaN(high))
+			max.push(s, high, -1);
+		final long oldest = sequence - window;
+		min.expire(oldest);
+		positiveMin.expire(oldest);
+		max.expire(oldest);
+	}
+
+	/**
+	 * Remove all samples.
+	 */
+	public void clear() {
+		min.clear();
+		positiveMin.clear();
+		max.clear();
+	}
+
+	/**
+	 * @return the minimum low value, {@link Double#POSITIVE_INFINITY} if
+	 *         there is none
+	 */
+	public double getMin() {
+		return min.peek(Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * @return the minimum positive low value, {@link Double#POSITIVE_INFINITY}
+	 *         if there is none
+	 */
+	public double getPositiveMin() {
+		return positiveMin.peek(Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * @return the maximum high value, {@link Double#NEGATIVE_INFINITY} if there
+	 *         is none
+	 */
+	public double getMax() {
+		return max.peek(Double.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * @param positiveOnly
+	 *            if only positive values are considered (for log scale mode)
+	 * @return the range, same as
+	 *         {@link AbstractDataProvider#getDataRange(boolean, boolean, int)}
+	 *         would return for the samples in the window
+	 */
+	public Range getRange(boolean positiveOnly) {
+		return positiveOnly ? createRange(getPositiveMin(), Math.max(0, getMax()), true)
+				: createRange(getMin(), getMax(), false);
+	}
+
+	static Range createRange(double min, double max, boolean positiveOnly) {
+		// check that the max is greater than its respective minima.
+		if (positiveOnly && max < min)
+			max = min;
+		return new Range(min, max);
+	}
+
+}
@@ -420,8 +420,9 @@ public class Annotation extends Figure implements IAxisListener, IDataProviderLi
 	protected void updateToDefaultPosition() {
 		double oldX = xValue;
 		double oldY = yValue;
-		if (trace != null && trace.getHotSampleList().size() > 0) {
-			currentSnappedSample = trace.getHotSampleList().get(trace.getHotSampleList().size() / 2);
+		ISample centerSample = trace == null ? null : trace.getCenterSample();
+		if (centerSample != null) {
+			currentSnappedSample = centerSample;
 			currentPosition = new Point(xAxis.getValuePosition(currentSnappedSample.getXValue(), false),
 					yAxis.getValuePosition(currentSnappedSample.getYValue(), false));
 			xValue = currentSnappedSample.getXValue();
@@ -723,7 +724,7 @@ public class Annotation extends Figure implements IAxisListener, IDataProviderLi
 	 * @param keepLabelPosition
 	 */
 	public void setCurrentSnappedSample(ISample currentSnappedSample, boolean keepLabelPosition) {
-		if (!trace.getHotSampleList().contains(currentSnappedSample))
+		if (!trace.isSampleInPlotArea(currentSnappedSample))
 			updateToDefaultPosition();
 		else {
 			this.currentSnappedSample = currentSnappedSample;
@@ -759,7 +760,7 @@ public class Annotation extends Figure implements IAxisListener, IDataProviderLi
 		Display.getCurrent().asyncExec(new Runnable() {
 			@Override
 			public void run() {
-				if (trace.getHotSampleList().contains(currentSnappedSample)) {
+				if (trace.isSampleInPlotArea(currentSnappedSample)) {
 					double oldX = xValue;
 					double oldY = yValue;
 					if (yValue != currentSnappedSample.getYValue()) { // When
@@ -796,7 +797,7 @@ public class Annotation extends Figure implements IAxisListener, IDataProviderLi
 					currentPosition = new Point(xAxis.getValuePosition(xValue, false),
 							yAxis.getValuePosition(yValue, false));
 					fireAnnotationMoved(oldX, oldY, xValue, yValue);
-				} else if (trace.getHotSampleList().size() > 0) {
+				} else if (trace.getCenterSample() != null) {
 					updateToDefaultPosition();
 					pointerDragged = false;
 				}
@@ -967,18 +968,8 @@ public class Annotation extends Figure implements IAxisListener, IDataProviderLi
 						// xAxis.getPositionValue(me.getLocation().x, false);
 						// double tempY =
 						// yAxis.getPositionValue(me.getLocation().y, false);
-				ISample tempSample = null;
-				double minD = Double.POSITIVE_INFINITY;
-				double d;
-				for (ISample s : trace.getHotSampleList()) {
-					d = Math.sqrt(Math.pow(xAxis.getValuePosition(s.getXValue(), false) - mouseLocation.x, 2)
-							+ Math.pow(yAxis.getValuePosition(s.getYValue(), false) - mouseLocation.y, 2));
-					if (minD > d) {
-						minD = d;
-						tempSample = s;
-					}
-				}
-				if (tempSample != null && currentSnappedSample != tempSample)
+				ISample tempSample = trace.findNearestSample(mouseLocation);
+				if (tempSample != null && !tempSample.equals(currentSnappedSample))
 					setCurrentSnappedSample(tempSample, me.getState() == (SWT.BUTTON1 | SWT.CONTROL));
 				else if (tempSample == null) {
 					setCurrentPosition(mouseLocation, me.getState() == (SWT.BUTTON1 | SWT.CONTROL));
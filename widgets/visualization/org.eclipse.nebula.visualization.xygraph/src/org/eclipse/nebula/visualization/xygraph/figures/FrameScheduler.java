@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Coalesces data changes of the traces of an {@link XYGraph} into frames.
+ * <p>
+ * While enabled by a maximum frame rate greater than zero, a trace whose data
+ * changed only marks itself dirty, which may happen on any thread. At most
+ * once per frame interval, the display thread auto-scales the axes of all
+ * dirty traces once and repaints what changed. Data changes of a trace that
+ * is already dirty are merged into the pending frame and counted as dropped
+ * updates.
+ * <p>
+ * While disabled, which is the default, traces auto-scale and repaint on
+ * every data change.
+ */
+public class FrameScheduler {
+
+	private final XYGraph xyGraph;
+	private final Display display;
+	private volatile int maxFrameRate;
+
+	private final Set<Trace> dirtyTraces = new LinkedHashSet<>();
+	private final AtomicBoolean frameScheduled = new AtomicBoolean();
+	private final Runnable runFrame = this::runFrame;
+	private final Runnable scheduleFrame = this::scheduleFrame;
+	private long lastFrameStart;
+
+	private final AtomicLong droppedUpdates = new AtomicLong();
+	private volatile long frameCount;
+	private volatile long lastFrameTime;
+	private volatile long totalFrameTime;
+
+	/**
+	 * @param xyGraph
+	 *            the graph, which must be created on the display thread
+	 */
+	public FrameScheduler(XYGraph xyGraph) {
+		this.xyGraph = xyGraph;
+		display = Display.getCurrent();
+	}
+
+	/**
+	 * @param maxFrameRate
+	 *            maximum number of frames per second, 0 to auto-scale and
+	 *            repaint on every data change
+	 */
+	public void setMaxFrameRate(int maxFrameRate) {
+		if (maxFrameRate < 0)
+			throw new IllegalArgumentException("Frame rate must not be negative.");
+		this.maxFrameRate = maxFrameRate;
+	}
+
+	/**
+	 * @return maximum number of frames per second, 0 if disabled
+	 */
+	public int getMaxFrameRate() {
+		return maxFrameRate;
+	}
+
+	/**
+	 * @return true if data changes are coalesced into frames
+	 */
+	public boolean isEnabled() {
+		return maxFrameRate > 0 && display != null;
+	}
+
+	/**
+	 * Mark a trace dirty and schedule a frame if none is pending. May be
+	 * called on any thread.
+	 *
+	 * @param trace
+	 *            trace whose data changed
+	 */
+	public void traceChanged(Trace trace) {
+		synchronized (dirtyTraces) {
+			if (!dirtyTraces.add(trace))
+				droppedUpdates.incrementAndGet();
+		}
+		if (frameScheduled.compareAndSet(false, true)) {
+			if (display.isDisposed())
+				return;
+			if (Display.getCurrent() == display)
+				scheduleFrame();
+			else
+				display.asyncExec(scheduleFrame);
+		}
+	}
+
+	/**
+	 * Drop the pending data change of a trace, e.g. because it was removed
+	 * from the graph. A frame that is already scheduled still runs, but does
+	 * not touch the trace.
+	 *
+	 * @param trace
+	 *            trace which must not be updated anymore
+	 */
+	public void cancel(Trace trace) {
+		synchronized (dirtyTraces) {
+			dirtyTraces.remove(trace);
+		}
+	}
+
+	/**
+	 * Runs on the display thread, delays the frame until the frame interval
+	 * since the start of the last frame has passed.
+	 */
+	private void scheduleFrame() {
+		final int rate = maxFrameRate;
+		final long interval = rate > 0 ? 1000000000L / rate : 0;
+		final long delay = lastFrameStart + interval - System.nanoTime();
+		if (delay > 1000000)
+			display.timerExec((int) (delay / 1000000), runFrame);
+		else
+			display.asyncExec(runFrame);
+	}
+
+	private void runFrame() {
+		frameScheduled.set(false);
+		final long start = System.nanoTime();
+		lastFrameStart = start;
+		final List<Trace> traces;
+		synchronized (dirtyTraces) {
+			traces = new ArrayList<>(dirtyTraces);
+			dirtyTraces.clear();
+		}
+		if (traces.isEmpty())
+			return;
+		// Auto-scale every affected axis once. If an axis was repainted, its
+		// traces were repainted with it.
+		final Map<Axis, Boolean> repainted = new IdentityHashMap<>();
+		for (Trace trace : traces) {
+			for (Axis axis : new Axis[] { trace.getXAxis(), trace.getYAxis() }) {
+				if (!repainted.containsKey(axis))
+					repainted.put(axis, axis.performAutoScale(false));
+			}
+		}
+		for (Trace trace : traces) {
+			if (!repainted.get(trace.getXAxis()) && !repainted.get(trace.getYAxis()))
+				trace.repaint();
+		}
+		// Paint now so the frame time includes painting
+		final UpdateManager updateManager = xyGraph.getUpdateManager();
+		if (updateManager != null)
+			updateManager.performUpdate();
+		lastFrameTime = System.nanoTime() - start;
+		totalFrameTime += lastFrameTime;
+		frameCount++;
+	}
+
+	/**
+	 * @return number of frames run
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * @return nanoseconds spent auto-scaling and painting in the last frame
+	 */
+	public long getLastFrameTime() {
+		return lastFrameTime;
+	}
+
+	/**
+	 * @return average nanoseconds spent auto-scaling and painting per frame
+	 */
+	public long getAverageFrameTime() {
+		final long frames = frameCount;
+		return frames > 0 ? totalFrameTime / frames : 0;
+	}
+
+	/**
+	 * @return number of data changes that were merged into a pending frame
+	 */
+	public long getDroppedUpdateCount() {
+		return droppedUpdates.get();
+	}
+
+	/**
+	 * Reset the frame and dropped update counters.
+	 */
+	public void resetStatistics() {
+		droppedUpdates.set(0);
+		frameCount = 0;
+		lastFrameTime = 0;
+		totalFrameTime = 0;
+	}
+
+}
@@ -226,4 +226,13 @@ public interface IXYGraph extends IFigure {
 	public Axis getPrimaryYAxis();
 
 	Legend getLegend(Trace trace);
+
+	/**
+	 * @return the scheduler which coalesces data changes of the traces into
+	 *         frames, or null if traces auto-scale and repaint on every data
+	 *         change
+	 */
+	default FrameScheduler getFrameScheduler() {
+		return null;
+	}
 }
@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import java.util.Arrays;
+import java.util.function.DoubleToIntFunction;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.IDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.ISample;
+import org.eclipse.nebula.visualization.xygraph.linearscale.Range;
+
+/**
+ * Finds the visible samples of a trace near a pixel position without keeping a
+ * list of all visible samples.
+ * <p>
+ * A sample is visible if its X value is in the X range and its Y value is in
+ * the Y range. Samples with a NaN Y value are visible at the NaN marker
+ * position, the Y value given to {@link #update}. For chronological data
+ * providers the samples are found by binary search on the X values. For other
+ * data providers the visible samples are sorted into a grid of pixel cells,
+ * which is built on the first query after the data or the axes changed.
+ * <p>
+ * Callers have to synchronize on the data provider.
+ */
+class SampleLocator {
+
+	private static final int CELL_SHIFT = 4;
+
+	private IDataProvider provider;
+	private Range xRange;
+	private Range yRange;
+	private DoubleToIntFunction xToPixel;
+	private DoubleToIntFunction yToPixel;
+	private double nanY;
+
+	/** Serial number of the data and axes the grid was built for */
+	private long gridSerial = -1;
+	private IDataProvider gridProvider;
+	private int gridX, gridY, columns, rows;
+	/** Indexes of the samples by cell, cell c from cellStart[c] */
+	private int[] cellStart = new int[0];
+	private int[] cellIndexes = new int[0];
+	private int[] cellPixelX = new int[0];
+	private int[] cellPixelY = new int[0];
+
+	/**
+	 * Set the data provider and the current pixel mapping.
+	 *
+	 * @param serial
+	 *            number which changes whenever the data or the axes changed
+	 *            since the last update
+	 */
+	void update(IDataProvider provider, Range xRange, Range yRange, DoubleToIntFunction xToPixel,
+			DoubleToIntFunction yToPixel, double nanY, long serial) {
+		this.provider = provider;
+		this.xRange = xRange;
+		this.yRange = yRange;
+		this.xToPixel = xToPixel;
+		this.yToPixel = yToPixel;
+		this.nanY = nanY;
+		if (serial != gridSerial || provider != gridProvider) {
+			gridSerial = -1;
+			if (!provider.isChronological()) {
+				buildGrid();
+				gridSerial = serial;
+				gridProvider = provider;
+			}
+		}
+	}
+
+	private boolean isVisible(ISample sample) {
+		if (sample == null || !xRange.inRange(sample.getXValue()))
+			return false;
+		return Double.isNaN(sample.getYValue()) || yRange.inRange(sample.getYValue());
+	}
+
+	private int pixelX(ISample sample) {
+		return xToPixel.applyAsInt(sample.getXValue());
+	}
+
+	private int pixelY(ISample sample) {
+		final double y = sample.getYValue();
+		return yToPixel.applyAsInt(Double.isNaN(y) ? nanY : y);
+	}
+
+	/**
+	 * @return index of the visible sample closest to the pixel position, -1
+	 *         if no sample is visible
+	 */
+	int findNearest(int x, int y) {
+		return provider.isChronological() ? findNearestChronological(x, y) : findNearestInGrid(x, y);
+	}
+
+	/**
+	 * @return index of the sample in the middle of the visible samples, -1 if
+	 *         no sample is visible
+	 */
+	int findCenter() {
+		if (!provider.isChronological()) {
+			final int count = cellIndexes.length;
+			if (count == 0)
+				return -1;
+			// Middle by index like the samples are drawn
+			final int[] sorted = Arrays.copyOf(cellIndexes, count);
+			Arrays.sort(sorted);
+			return sorted[count / 2];
+		}
+		final int first = getFirstIndexInRange();
+		final int last = getLastIndexInRange();
+		if (first > last)
+			return -1;
+		final int middle = (first + last) >>> 1;
+		for (int d = 0; middle - d >= first || middle + d <= last; d++) {
+			if (middle + d <= last && isVisible(provider.getSample(middle + d)))
+				return middle + d;
+			if (middle - d >= first && isVisible(provider.getSample(middle - d)))
+				return middle - d;
+		}
+		return -1;
+	}
+
+	/**
+	 * Find a sample among the visible samples. A sample which only marks a
+	 * NaN value, i.e. has a NaN X plus error, is found by its X value.
+	 *
+	 * @return index of the sample, -1 if it is not visible
+	 */
+	int indexOf(ISample sample) {
+		if (sample == null)
+			return -1;
+		final boolean nanMarker = Double.isNaN(sample.getXPlusError());
+		if (provider.isChronological()) {
+			final int size = provider.getSize();
+			for (int i = lowerBound(sample.getXValue()); i < size; i++) {
+				final ISample candidate = provider.getSample(i);
+				if (candidate.getXValue() != sample.getXValue())
+					break;
+				if (matches(candidate, sample, nanMarker))
+					return isVisible(candidate) ? i : -1;
+			}
+			return -1;
+		}
+		if (columns == 0 || !xRange.inRange(sample.getXValue()))
+			return -1;
+		final int column = (xToPixel.applyAsInt(sample.getXValue()) - gridX) >> CELL_SHIFT;
+		final int row = ((nanMarker ? yToPixel.applyAsInt(nanY) : pixelY(sample)) - gridY) >> CELL_SHIFT;
+		if (column < 0 || column >= columns || row < 0 || row >= rows)
+			return -1;
+		final int cell = row * columns + column;
+		for (int n = cellStart[cell]; n < cellStart[cell + 1]; n++) {
+			if (matches(provider.getSample(cellIndexes[n]), sample, nanMarker))
+				return cellIndexes[n];
+		}
+		return -1;
+	}
+
+	private static boolean matches(ISample candidate, ISample sample, boolean nanMarker) {
+		if (candidate.equals(sample))
+			return true;
+		return nanMarker && Double.isNaN(candidate.getYValue()) && candidate.getXValue() == sample.getXValue();
+	}
+
+	/**
+	 * @return first index with a X value not less than x
+	 */
+	private int lowerBound(double x) {
+		int low = 0, high = provider.getSize();
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (provider.getSample(mid).getXValue() < x)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private int getFirstIndexInRange() {
+		return lowerBound(Math.min(xRange.getLower(), xRange.getUpper()));
+	}
+
+	private int getLastIndexInRange() {
+		final double max = Math.max(xRange.getLower(), xRange.getUpper());
+		int low = 0, high = provider.getSize();
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (provider.getSample(mid).getXValue() <= max)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low - 1;
+	}
+
+	private int findNearestChronological(int x, int y) {
+		final int first = getFirstIndexInRange();
+		final int last = getLastIndexInRange();
+		if (first > last)
+			return -1;
+		// Pixel positions grow with the index unless the axis is inverted
+		final int direction = pixelX(provider.getSample(last)) >= pixelX(provider.getSample(first)) ? 1 : -1;
+		int low = first, high = last;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (direction * (pixelX(provider.getSample(mid)) - x) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		// Walk away from the column of the position on both sides until the
+		// horizontal distance alone is larger than the closest sample so far
+		int nearest = -1;
+		long best = Long.MAX_VALUE;
+		for (int i = low; i <= last; i++) {
+			final ISample sample = provider.getSample(i);
+			final long dx = pixelX(sample) - x;
+			if (dx * dx > best)
+				break;
+			if (isVisible(sample)) {
+				final long dy = pixelY(sample) - y;
+				if (dx * dx + dy * dy < best) {
+					best = dx * dx + dy * dy;
+					nearest = i;
+				}
+			}
+		}
+		for (int i = low - 1; i >= first; i--) {
+			final ISample sample = provider.getSample(i);
+			final long dx = pixelX(sample) - x;
+			if (dx * dx > best)
+				break;
+			if (isVisible(sample)) {
+				final long dy = pixelY(sample) - y;
+				if (dx * dx + dy * dy < best) {
+					best = dx * dx + dy * dy;
+					nearest = i;
+				}
+			}
+		}
+		return nearest;
+	}
+
+	private void buildGrid() {
+		final int size = provider.getSize();
+		int count = 0;
+		int[] indexes = new int[Math.min(size, 1024)];
+		int[] xs = new int[indexes.length];
+		int[] ys = new int[indexes.length];
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			final ISample sample = provider.getSample(i);
+			if (!isVisible(sample))
+				continue;
+			if (count == indexes.length) {
+				indexes = Arrays.copyOf(indexes, count * 2);
+				xs = Arrays.copyOf(xs, count * 2);
+				ys = Arrays.copyOf(ys, count * 2);
+			}
+			indexes[count] = i;
+			xs[count] = pixelX(sample);
+			ys[count] = pixelY(sample);
+			minX = Math.min(minX, xs[count]);
+			maxX = Math.max(maxX, xs[count]);
+			minY = Math.min(minY, ys[count]);
+			maxY = Math.max(maxY, ys[count]);
+			count++;
+		}
+		if (count == 0) {
+			columns = rows = 0;
+			cellIndexes = new int[0];
+			return;
+		}
+		gridX = minX;
+		gridY = minY;
+		columns = ((maxX - minX) >> CELL_SHIFT) + 1;
+		rows = ((maxY - minY) >> CELL_SHIFT) + 1;
+		// Counting sort of the samples by cell
+		cellStart = new int[columns * rows + 1];
+		final int[] cells = new int[count];
+		for (int n = 0; n < count; n++) {
+			cells[n] = ((ys[n] - gridY) >> CELL_SHIFT) * columns + ((xs[n] - gridX) >> CELL_SHIFT);
+			cellStart[cells[n] + 1]++;
+		}
+		for (int c = 0; c < columns * rows; c++)
+			cellStart[c + 1] += cellStart[c];
+		cellIndexes = new int[count];
+		cellPixelX = new int[count];
+		cellPixelY = new int[count];
+		final int[] next = Arrays.copyOf(cellStart, columns * rows);
+		for (int n = 0; n < count; n++) {
+			final int slot = next[cells[n]]++;
+			cellIndexes[slot] = indexes[n];
+			cellPixelX[slot] = xs[n];
+			cellPixelY[slot] = ys[n];
+		}
+	}
+
+	private int findNearestInGrid(int x, int y) {
+		if (columns == 0)
+			return -1;
+		final int column = clamp((x - gridX) >> CELL_SHIFT, columns);
+		final int row = clamp((y - gridY) >> CELL_SHIFT, rows);
+		int nearest = -1;
+		long best = Long.MAX_VALUE;
+		// Search rings of cells around the position, samples in ring r are
+		// more than r - 1 cells away
+		for (int r = 0; r < Math.max(columns, rows); r++) {
+			final long bound = (long) (r - 1) << CELL_SHIFT;
+			if (nearest >= 0 && r > 0 && best <= bound * bound)
+				break;
+			for (int cy = Math.max(0, row - r); cy <= Math.min(rows - 1, row + r); cy++) {
+				final boolean edgeRow = cy == row - r || cy == row + r;
+				// Inner rows of the ring only have a cell on each side
+				final int step = edgeRow ? 1 : Math.max(1, 2 * r);
+				for (int cx = column - r; cx <= column + r; cx += step) {
+					if (cx < 0 || cx >= columns)
+						continue;
+					final int cell = cy * columns + cx;
+					for (int n = cellStart[cell]; n < cellStart[cell + 1]; n++) {
+						final long dx = cellPixelX[n] - x, dy = cellPixelY[n] - y;
+						final long d = dx * dx + dy * dy;
+						if (d < best || (d == best && cellIndexes[n] < nearest)) {
+							best = d;
+							nearest = cellIndexes[n];
+						}
+					}
+				}
+			}
+		}
+		return nearest;
+	}
+
+	private static int clamp(int value, int count) {
+		return Math.max(0, Math.min(count - 1, value));
+	}
+
+}
@@ -213,6 +213,38 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 		}
 	}
 
+	/**
+	 * How the samples of a chronological data provider are reduced before
+	 * drawing. Decimation only applies when there are considerably more
+	 * samples in the visible range than pixel columns, and never when error
+	 * bars are drawn or the data is not chronological.
+	 */
+	public enum DecimationMode {
+		/** Draw every sample */
+		EXACT,
+
+		/**
+		 * Draw the first, last, minimum and maximum sample of every pixel
+		 * column. Looks the same as {@link #EXACT} for lines.
+		 */
+		M4,
+
+		/**
+		 * Draw one sample out of each bucket chosen by the
+		 * Largest-Triangle-Three-Buckets algorithm, two buckets per pixel
+		 * column.
+		 */
+		LTTB;
+
+		public static String[] stringValues() {
+			String[] sv = new String[values().length];
+			int i = 0;
+			for (DecimationMode p : values())
+				sv[i++] = p.toString();
+			return sv;
+		}
+	}
+
 	/**
 	 * List of trace listeners
 	 * 
@@ -283,8 +315,19 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 
 	private List<ISample> hotSampleist;
 
+	private boolean hotSampleListEnabled = true;
+
+	private final SampleLocator sampleLocator = new SampleLocator();
+
+	/** Changes whenever the data or the axes changed */
+	private long locatorSerial;
+
 	private IPointStyleProvider fPointStyleProvider;
 
+	private DecimationMode decimationMode = DecimationMode.EXACT;
+
+	private TraceDecimator decimator;
+
 	/**
 	 * {@link #init(Axis, Axis, IDataProvider)} needs to be called if a trace is
 	 * created with this constructor
@@ -652,6 +695,20 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 					endIndex = traceDataProvider.getSize() - 1;
 				}
 
+				// Only visit the samples that make a difference at the current
+				// resolution
+				int sampleCount = endIndex - startIndex + 1;
+				int[] decimatedIndexes = null;
+				final int width = getBounds().width;
+				if (decimationMode != DecimationMode.EXACT && traceDataProvider.isChronological() && !errorBarEnabled
+						&& sampleCount > 4 * width) {
+					if (decimator == null)
+						decimator = new TraceDecimator();
+					sampleCount = decimator.decimate(traceDataProvider, decimationMode, startIndex, endIndex,
+							x -> xAxis.getValuePosition(x, false), width);
+					decimatedIndexes = decimator.getIndexes();
+				}
+
 				// Set of points which were already drawn
 				HashSet<Point> hsPoint = new HashSet<Point>();
 
@@ -667,7 +724,8 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 				Point minInRegion = null;
 				Point lastInRegion = null;
 
-				for (int i = startIndex; i <= endIndex; i++) {
+				for (int n = 0; n < sampleCount; n++) {
+					final int i = decimatedIndexes == null ? startIndex + n : decimatedIndexes[n];
 					ISample dp = traceDataProvider.getSample(i);
 					if (dp == null) {
 						continue;
@@ -684,13 +742,8 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 						graphics.setBackgroundColor(traceColor);
 						graphics.fillRectangle(markPos.x - MARKER_SIZE / 2, markPos.y - MARKER_SIZE / 2, MARKER_SIZE,
 								MARKER_SIZE);
-						Sample nanSample = new Sample(dp.getXValue(),
-								xAxis.getTickLabelSide() == LabelSide.Primary ? yAxis.getRange().getLower()
-										: yAxis.getRange().getUpper(),
-								dp.getYPlusError(), dp.getYMinusError(), Double.NaN, dp.getXMinusError(), dp.getInfo());
-						if (dp instanceof IMetaData)
-							nanSample.setData(((IMetaData) dp).getData());
-						hotSampleist.add(nanSample);
+						if (hotSampleListEnabled)
+							hotSampleist.add(createNaNSample(dp));
 					}
 					// Is data point in the plot area?
 					boolean dpInRange = dpInXRange && yAxis.getRange().inRange(dp.getYValue());
@@ -698,7 +751,8 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 					if (dpInRange) {
 						dpPos = new Point(xAxis.getValuePosition(dp.getXValue(), false),
 								yAxis.getValuePosition(dp.getYValue(), false));
-						hotSampleist.add(dp);
+						if (hotSampleListEnabled)
+							hotSampleist.add(dp);
 
 						// Do not draw points in the same place to improve
 						// performance
@@ -1291,6 +1345,31 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 		// traceDataProvider.addDataProviderListener(xAxis);
 		// traceDataProvider.addDataProviderListener(yAxis);
 		this.traceDataProvider = traceDataProvider;
+		if (decimator != null)
+			decimator.invalidate();
+		locatorSerial++;
+	}
+
+	/**
+	 * @param decimationMode
+	 *            how samples are reduced before drawing,
+	 *            {@link DecimationMode#EXACT} to draw every sample
+	 */
+	public void setDecimationMode(DecimationMode decimationMode) {
+		if (this.decimationMode == decimationMode)
+			return;
+		this.decimationMode = decimationMode;
+		if (decimator != null)
+			decimator.invalidate();
+		if (xyGraph != null)
+			xyGraph.repaint();
+	}
+
+	/**
+	 * @return how samples are reduced before drawing
+	 */
+	public DecimationMode getDecimationMode() {
+		return decimationMode;
 	}
 
 	/**
@@ -1498,6 +1577,12 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 	}
 
 	public void dataChanged(IDataProvider dataProvider) {
+		locatorSerial++;
+		final FrameScheduler frameScheduler = xyGraph == null ? null : xyGraph.getFrameScheduler();
+		if (frameScheduler != null && frameScheduler.isEnabled()) {
+			frameScheduler.traceChanged(this);
+			return;
+		}
 		// if the axis has been repainted, it will cause the trace to be
 		// repainted autoly,
 		// the trace doesn't have to be repainted again.
@@ -1587,11 +1672,12 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 	}
 
 	public void axisRevalidated(Axis axis) {
+		locatorSerial++;
 		repaint();
 	}
 
 	public void axisRangeChanged(Axis axis, Range old_range, Range new_range) {
-		// do nothing
+		locatorSerial++;
 	}
 
 	/**
@@ -1653,13 +1739,122 @@ public class Trace extends Figure implements IDataProviderListener, IAxisListene
 
 	/**
 	 * Hot Sample is the sample on the trace which has been drawn in plot area.
+	 * With a {@link DecimationMode} other than {@link DecimationMode#EXACT}
+	 * only the drawn samples are included.
 	 * 
-	 * @return the hotPointList
+	 * @return the hotPointList, empty if it is not enabled
+	 * @see #setHotSampleListEnabled(boolean)
 	 */
 	public List<ISample> getHotSampleList() {
 		return hotSampleist;
 	}
 
+	/**
+	 * The list of hot samples is filled on every paint. Annotations use
+	 * {@link #findNearestSample(Point)} instead, so it can be disabled to avoid
+	 * the cost for traces with many samples.
+	 * 
+	 * @param hotSampleListEnabled
+	 *            false to leave the list of hot samples empty. The default is
+	 *            true.
+	 */
+	public void setHotSampleListEnabled(boolean hotSampleListEnabled) {
+		this.hotSampleListEnabled = hotSampleListEnabled;
+		if (!hotSampleListEnabled)
+			hotSampleist.clear();
+	}
+
+	/**
+	 * @return true if the list of hot samples is filled on every paint
+	 */
+	public boolean isHotSampleListEnabled() {
+		return hotSampleListEnabled;
+	}
+
+	/**
+	 * Find the sample closest to a position among the samples which are in
+	 * the plot area, i.e. the samples of the hot sample list, without the list
+	 * being enabled.
+	 * 
+	 * @param location
+	 *            position in the coordinates of the plot area
+	 * @return the closest sample, a sample like in the hot sample list for
+	 *         NaN values, or <code>null</code> if no sample is in the plot
+	 *         area
+	 */
+	public ISample findNearestSample(Point location) {
+		if (traceDataProvider == null)
+			return null;
+		synchronized (traceDataProvider) {
+			updateSampleLocator();
+			return getLocatedSample(sampleLocator.findNearest(location.x, location.y));
+		}
+	}
+
+	/**
+	 * @return the sample in the middle of the samples in the plot area, or
+	 *         <code>null</code> if no sample is in the plot area
+	 */
+	public ISample getCenterSample() {
+		if (traceDataProvider == null)
+			return null;
+		synchronized (traceDataProvider) {
+			updateSampleLocator();
+			return getLocatedSample(sampleLocator.findCenter());
+		}
+	}
+
+	/**
+	 * Same as <code>getHotSampleList().contains(sample)</code> without the
+	 * list being enabled.
+	 * 
+	 * @param sample
+	 *            a sample of the data provider, or a sample returned for a NaN
+	 *            value
+	 * @return true if the sample is in the plot area
+	 */
+	public boolean isSampleInPlotArea(ISample sample) {
+		if (traceDataProvider == null || sample == null)
+			return false;
+		synchronized (traceDataProvider) {
+			updateSampleLocator();
+			return sampleLocator.indexOf(sample) >= 0;
+		}
+	}
+
+	private void updateSampleLocator() {
+		sampleLocator.update(traceDataProvider, xAxis.getRange(), yAxis.getRange(),
+				x -> xAxis.getValuePosition(x, false), y -> yAxis.getValuePosition(y, false), getNaNMarkerValue(),
+				locatorSerial);
+	}
+
+	private ISample getLocatedSample(int index) {
+		if (index < 0)
+			return null;
+		final ISample sample = traceDataProvider.getSample(index);
+		return Double.isNaN(sample.getYValue()) ? createNaNSample(sample) : sample;
+	}
+
+	/**
+	 * @return Y value at which NaN values are marked
+	 */
+	private double getNaNMarkerValue() {
+		return xAxis.getTickLabelSide() == LabelSide.Primary ? yAxis.getRange().getLower()
+				: yAxis.getRange().getUpper();
+	}
+
+	/**
+	 * @return sample at the NaN marker of a sample with a NaN value, with a
+	 *         NaN X plus error to tell it from real samples
+	 */
+	private ISample createNaNSample(ISample dp) {
+		Sample nanSample = new Sample(dp.getXValue(), getNaNMarkerValue(), dp.getYPlusError(), dp.getYMinusError(),
+				Double.NaN, dp.getXMinusError(), dp.getInfo());
+		if (dp instanceof IMetaData)
+			nanSample.setData(((IMetaData) dp).getData());
+		return nanSample;
+	}
+
 	/**
 	 * @return the baseLine
 	 */
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.nebula.visualization.xygraph.figures;
+
+import java.util.function.DoubleToIntFunction;
+
+import org.eclipse.nebula.visualization.xygraph.dataprovider.IDataProvider;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.ISample;
+import org.eclipse.nebula.visualization.xygraph.dataprovider.MinMaxSummary;
+import org.eclipse.nebula.visualization.xygraph.figures.Trace.DecimationMode;
+
+/**
+ * Selects the samples of a chronological data provider that are worth drawing
+ * at the current pixel resolution.
+ * <ul>
+ * <li>{@link DecimationMode#M4} keeps the first, last, minimum and maximum
+ * sample of every pixel column, which draws the same line as all samples
+ * would at the current resolution. Column boundaries are found by binary
+ * search on the X values and the minimum and maximum by a
+ * {@link MinMaxSummary}, so the cost depends on the number of pixel columns
+ * rather than on the number of samples.</li>
+ * <li>{@link DecimationMode#LTTB} keeps one sample per bucket using the
+ * Largest-Triangle-Three-Buckets algorithm, which preserves the visual shape
+ * with fewer points but visits every sample.</li>
+ * </ul>
+ * The result is a sorted array of sample indexes which is reused between
+ * paints.
+ */
+class TraceDecimator {
+
+	private final MinMaxSummary summary = new MinMaxSummary();
+	private final int[] minMax = new int[2];
+	private int[] indexes = new int[0];
+	private int count;
+
+	/**
+	 * @param provider
+	 *            chronological data provider, caller must synchronize on it
+	 * @param mode
+	 *            {@link DecimationMode#M4} or {@link DecimationMode#LTTB}
+	 * @param startIndex
+	 *            first index to draw
+	 * @param endIndex
+	 *            last index to draw, inclusive
+	 * @param xToPixel
+	 *            maps a X value to its pixel position
+	 * @param width
+	 *            width of the plot area in pixels
+	 * @return number of selected samples, available through
+	 *         {@link #getIndexes()}
+	 */
+	int decimate(IDataProvider provider, DecimationMode mode, int startIndex, int endIndex,
+			DoubleToIntFunction xToPixel, int width) {
+		count = 0;
+		if (mode == DecimationMode.LTTB)
+			decimateLTTB(provider, startIndex, endIndex, Math.max(3, 2 * width));
+		else
+			decimateM4(provider, startIndex, endIndex, xToPixel);
+		return count;
+	}
+
+	/**
+	 * @return selected sample indexes, only the first {@link #getCount()} are
+	 *         valid
+	 */
+	int[] getIndexes() {
+		return indexes;
+	}
+
+	int getCount() {
+		return count;
+	}
+
+	/**
+	 * Forget the cached min/max summary, e.g. when the data provider changed.
+	 */
+	void invalidate() {
+		summary.invalidate();
+	}
+
+	private void add(int index) {
+		if (count > 0 && indexes[count - 1] >= index)
+			return;
+		if (count == indexes.length) {
+			final int[] grown = new int[Math.max(64, indexes.length * 2)];
+			System.arraycopy(indexes, 0, grown, 0, count);
+			indexes = grown;
+		}
+		indexes[count++] = index;
+	}
+
+	private static int pixel(IDataProvider provider, int index, DoubleToIntFunction xToPixel) {
+		return xToPixel.applyAsInt(provider.getSample(index).getXValue());
+	}
+
+	private void decimateM4(IDataProvider provider, int startIndex, int endIndex, DoubleToIntFunction xToPixel) {
+		summary.update(provider);
+		// Pixel positions grow with the index unless the axis is inverted
+		final int direction = pixel(provider, endIndex, xToPixel) >= pixel(provider, startIndex, xToPixel) ? 1 : -1;
+		int first = startIndex;
+		while (first <= endIndex) {
+			final int column = pixel(provider, first, xToPixel);
+			// Binary search for the last sample in the same pixel column
+			int low = first, high = endIndex;
+			while (low < high) {
+				final int mid = (low + high + 1) >>> 1;
+				if (direction * (pixel(provider, mid, xToPixel) - column) <= 0)
+					low = mid;
+				else
+					high = mid - 1;
+			}
+			final int last = low;
+			add(first);
+			if (last - first > 1) {
+				summary.getMinMaxIndex(provider, first + 1, last - 1, minMax);
+				if (minMax[0] >= 0) {
+					add(Math.min(minMax[0], minMax[1]));
+					add(Math.max(minMax[0], minMax[1]));
+				}
+			}
+			add(last);
+			first = last + 1;
+		}
+	}
+
+	private void decimateLTTB(IDataProvider provider, int startIndex, int endIndex, int threshold) {
+		final int size = endIndex - startIndex + 1;
+		if (size <= threshold) {
+			for (int i = startIndex; i <= endIndex; i++)
+				add(i);
+			return;
+		}
+		// First and last sample are always kept, the rest is split into
+		// threshold - 2 buckets of which one sample each is kept
+		final double bucketSize = (double) (size - 2) / (threshold - 2);
+		int a = startIndex;
+		add(a);
+		for (int bucket = 0; bucket < threshold - 2; bucket++) {
+			final int bucketStart = startIndex + 1 + (int) (bucket * bucketSize);
+			final int bucketEnd = Math.min(startIndex + 1 + (int) ((bucket + 1) * bucketSize), endIndex);
+			// Average of the next bucket is the third point of the triangle
+			final int nextStart = bucketEnd;
+			final int nextEnd = Math.min(startIndex + 1 + (int) ((bucket + 2) * bucketSize), endIndex + 1);
+			double avgX = 0, avgY = 0;
+			int avgCount = 0;
+			for (int i = nextStart; i < nextEnd; i++) {
+				final ISample sample = provider.getSample(i);
+				if (!Double.isNaN(sample.getYValue())) {
+					avgX += sample.getXValue();
+					avgY += sample.getYValue();
+					avgCount++;
+				}
+			}
+			if (avgCount > 0) {
+				avgX /= avgCount;
+				avgY /= avgCount;
+			} else {
+				final ISample sample = provider.getSample(endIndex);
+				avgX = sample.getXValue();
+				avgY = sample.getYValue();
+			}
+			final ISample sampleA = provider.getSample(a);
+			final double ax = sampleA.getXValue(), ay = sampleA.getYValue();
+			int selected = bucketStart;
+			double maxArea = -1;
+			for (int i = bucketStart; i < bucketEnd; i++) {
+				final ISample sample = provider.getSample(i);
+				final double area = Math
+						.abs((ax - avgX) * (sample.getYValue() - ay) - (ax - sample.getXValue()) * (avgY - ay));
+				if (area > maxArea) {
+					maxArea = area;
+					selected = i;
+				}
+			}
+			add(selected);
+			a = selected;
+		}
+		add(endIndex);
+	}
+
+}
@@ -185,6 +185,8 @@ public class XYGraph extends Figure implements IXYGraph {
 
 	private ZoomType zoomType = ZoomType.NONE;
 
+	private final FrameScheduler frameScheduler;
+
 	/**
 	 * Constructor
 	 */
@@ -221,6 +223,7 @@ public class XYGraph extends Figure implements IXYGraph {
 		addAxis(primaryXAxis);
 
 		operationsManager = new OperationsManager();
+		frameScheduler = new FrameScheduler(this);
 	}
 
 	/**
@@ -516,6 +519,7 @@ public class XYGraph extends Figure implements IXYGraph {
 			// is deleted.
 		}
 		plotArea.removeTrace(trace);
+		frameScheduler.cancel(trace);
 		revalidate();
 		repaint();
 	}
@@ -674,6 +678,32 @@ public class XYGraph extends Figure implements IXYGraph {
 		return legendMap;
 	}
 
+	@Override
+	public FrameScheduler getFrameScheduler() {
+		return frameScheduler;
+	}
+
+	/**
+	 * Limit how often data changes of the traces are shown. Data changes are
+	 * collected from any thread and the axes are auto-scaled and the graph
+	 * repainted at most maxFrameRate times per second. Use 0, which is the
+	 * default, to auto-scale and repaint on every data change.
+	 *
+	 * @param maxFrameRate
+	 *            maximum number of frames per second
+	 */
+	public void setMaxFrameRate(int maxFrameRate) {
+		frameScheduler.setMaxFrameRate(maxFrameRate);
+	}
+
+	/**
+	 * @return maximum number of frames per second, 0 if traces auto-scale and
+	 *         repaint on every data change
+	 */
+	public int getMaxFrameRate() {
+		return frameScheduler.getMaxFrameRate();
+	}
+
 	/**
 	 * Perform forced autoscale to all axes.
 	 */
@@ -17,7 +17,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({DummyTest.class})
+@Suite.SuiteClasses({DummyTest.class, XViewerChangeSetTest.class, XViewerApplyChangesTest.class})
 public class AllXViewerTestSuite {
    // do nothing
 }
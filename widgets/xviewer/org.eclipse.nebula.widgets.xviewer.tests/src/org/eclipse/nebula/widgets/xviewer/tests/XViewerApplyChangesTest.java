@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Nebula - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.nebula.widgets.xviewer.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.nebula.widgets.xviewer.XViewer;
+import org.eclipse.nebula.widgets.xviewer.XViewerChangeSet;
+import org.eclipse.nebula.widgets.xviewer.XViewerFactory;
+import org.eclipse.nebula.widgets.xviewer.XViewerLabelProvider;
+import org.eclipse.nebula.widgets.xviewer.core.model.SortDataType;
+import org.eclipse.nebula.widgets.xviewer.core.model.XViewerAlign;
+import org.eclipse.nebula.widgets.xviewer.core.model.XViewerColumn;
+import org.eclipse.nebula.widgets.xviewer.util.XViewerDisplay;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Applies change sets to a viewer showing a list of strings.
+ */
+public class XViewerApplyChangesTest {
+
+   private static final XViewerColumn NAME_COL = new XViewerColumn("xviewer.tests.name", "Name", 100,
+      XViewerAlign.Left, true, SortDataType.String, false, null);
+
+   private static class TestFactory extends XViewerFactory {
+
+      public TestFactory() {
+         super("xviewer.tests");
+         registerColumns(NAME_COL);
+      }
+
+      @Override
+      public boolean isAdmin() {
+         return false;
+      }
+   }
+
+   private static class TestContentProvider implements ITreeContentProvider {
+
+      @Override
+      public Object[] getElements(Object inputElement) {
+         return ((Collection<?>) inputElement).toArray();
+      }
+
+      @Override
+      public Object[] getChildren(Object parentElement) {
+         return new Object[0];
+      }
+
+      @Override
+      public Object getParent(Object element) {
+         return null;
+      }
+
+      @Override
+      public boolean hasChildren(Object element) {
+         return false;
+      }
+   }
+
+   private static class TestLabelProvider extends XViewerLabelProvider {
+
+      public TestLabelProvider(XViewer viewer) {
+         super(viewer);
+      }
+
+      @Override
+      public Image getColumnImage(Object element, XViewerColumn xCol, int columnIndex) {
+         return null;
+      }
+
+      @Override
+      public String getColumnText(Object element, XViewerColumn xCol, int columnIndex) {
+         return element.toString();
+      }
+
+      @Override
+      public void dispose() {
+         // do nothing
+      }
+
+      @Override
+      public boolean isLabelProperty(Object element, String property) {
+         return false;
+      }
+
+      @Override
+      public void addListener(ILabelProviderListener listener) {
+         // do nothing
+      }
+
+      @Override
+      public void removeListener(ILabelProviderListener listener) {
+         // do nothing
+      }
+   }
+
+   private Display display;
+   private Shell shell;
+   private XViewer viewer;
+   private List<Object> input;
+
+   @Before
+   public void setUp() {
+      display = Display.getDefault();
+      XViewerDisplay.setStandaloneXViewer(true, display);
+      shell = new Shell(display);
+      viewer = new XViewer(shell, SWT.MULTI | SWT.BORDER, new TestFactory());
+      viewer.setContentProvider(new TestContentProvider());
+      viewer.setLabelProvider(new TestLabelProvider(viewer));
+      viewer.setForcePend(true);
+      input = new ArrayList<>(Arrays.asList("a", "b", "c"));
+      viewer.setInputXViewer(input);
+   }
+
+   @After
+   public void tearDown() {
+      viewer.dispose();
+      shell.dispose();
+   }
+
+   private void flush() {
+      while (display.readAndDispatch()) {
+         // run the queued flush
+      }
+   }
+
+   private List<String> getItems() {
+      List<String> items = new ArrayList<>();
+      for (TreeItem item : viewer.getTree().getItems()) {
+         items.add(String.valueOf(item.getData()));
+      }
+      Collections.sort(items);
+      return items;
+   }
+
+   @Test
+   public void testApplyChanges() {
+      assertEquals(Arrays.asList("a", "b", "c"), getItems());
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.add("d");
+      changeSet.remove("b");
+      changeSet.change("a");
+      viewer.applyChanges(changeSet);
+      flush();
+      assertEquals(Arrays.asList("a", "c", "d"), getItems());
+      assertEquals(Arrays.asList("a", "c", "d"), input);
+   }
+
+   @Test
+   public void testAddShownElement() {
+      viewer.applyAdded(Arrays.asList("c", "e"));
+      flush();
+      // c is updated in place and not added to the input twice
+      assertEquals(Arrays.asList("a", "b", "c", "e"), getItems());
+      assertEquals(Arrays.asList("a", "b", "c", "e"), input);
+   }
+
+   @Test
+   public void testRemoveThenAdd() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.remove("a");
+      changeSet.add("a");
+      viewer.applyChanges(changeSet);
+      flush();
+      assertEquals(Arrays.asList("a", "b", "c"), getItems());
+      assertEquals(3, input.size());
+   }
+
+   @Test
+   public void testChangesFromOtherThreadsAreCoalesced() throws InterruptedException {
+      Thread thread = new Thread(() -> {
+         viewer.applyAdded(Arrays.asList("d"));
+         viewer.applyRemoved(Arrays.asList("d", "a"));
+         viewer.applyAdded(Arrays.asList("e"));
+      });
+      thread.start();
+      thread.join();
+      flush();
+      assertEquals(Arrays.asList("b", "c", "e"), getItems());
+      assertEquals(Arrays.asList("b", "c", "e"), input);
+   }
+
+}
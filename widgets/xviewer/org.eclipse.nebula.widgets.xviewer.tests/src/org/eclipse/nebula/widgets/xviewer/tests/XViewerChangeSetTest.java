@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Nebula - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.nebula.widgets.xviewer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.eclipse.nebula.widgets.xviewer.XViewerChangeSet;
+import org.junit.Test;
+
+public class XViewerChangeSetTest {
+
+   private static void assertChanges(XViewerChangeSet changeSet, Collection<?> added, Collection<?> removed,
+      Collection<?> changed) {
+      assertEquals("added", added, Arrays.asList(changeSet.getAdded().toArray()));
+      assertEquals("removed", removed, Arrays.asList(changeSet.getRemoved().toArray()));
+      assertEquals("changed", changed, Arrays.asList(changeSet.getChanged().toArray()));
+   }
+
+   @Test
+   public void testSingleChanges() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      assertTrue(changeSet.isEmpty());
+      changeSet.add("a");
+      changeSet.remove("b");
+      changeSet.change("c");
+      assertChanges(changeSet, Arrays.asList("a"), Arrays.asList("b"), Arrays.asList("c"));
+      assertEquals(3, changeSet.size());
+      assertEquals(Arrays.asList("a", "c"), changeSet.getAddedAndChanged());
+   }
+
+   @Test
+   public void testAddThenRemoveIsDropped() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.add("a");
+      changeSet.remove("a");
+      assertTrue(changeSet.isEmpty());
+   }
+
+   @Test
+   public void testRemoveThenAddIsAdded() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.remove("a");
+      changeSet.add("a");
+      // reported as added so the viewer adds it if it is not shown, and updates it if it is
+      assertChanges(changeSet, Arrays.asList("a"), Collections.emptyList(), Collections.emptyList());
+   }
+
+   @Test
+   public void testRemoveAddRemoveIsRemoved() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.remove("a");
+      changeSet.add("a");
+      changeSet.remove("a");
+      assertChanges(changeSet, Collections.emptyList(), Arrays.asList("a"), Collections.emptyList());
+   }
+
+   @Test
+   public void testChangeThenRemoveIsRemoved() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.change("a");
+      changeSet.remove("a");
+      assertChanges(changeSet, Collections.emptyList(), Arrays.asList("a"), Collections.emptyList());
+   }
+
+   @Test
+   public void testChangeOfAddedOrRemovedIsIgnored() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.add("a");
+      changeSet.change("a");
+      changeSet.remove("b");
+      changeSet.change("b");
+      assertChanges(changeSet, Arrays.asList("a"), Arrays.asList("b"), Collections.emptyList());
+   }
+
+   @Test
+   public void testAddOfChangedIsIgnored() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.change("a");
+      changeSet.add("a");
+      assertChanges(changeSet, Collections.emptyList(), Collections.emptyList(), Arrays.asList("a"));
+   }
+
+   @Test
+   public void testMergeKeepsOrderOfRecording() {
+      XViewerChangeSet first = new XViewerChangeSet();
+      first.add("a");
+      first.change("b");
+      XViewerChangeSet second = new XViewerChangeSet();
+      second.remove("a");
+      second.remove("b");
+      second.add("c");
+      first.merge(second);
+      assertChanges(first, Arrays.asList("c"), Arrays.asList("b"), Collections.emptyList());
+   }
+
+   @Test
+   public void testMergeOfReaddedElement() {
+      XViewerChangeSet second = new XViewerChangeSet();
+      second.remove("a");
+      second.add("a");
+
+      XViewerChangeSet empty = new XViewerChangeSet();
+      empty.merge(second);
+      empty.remove("a");
+      // a existed before both change sets
+      assertChanges(empty, Collections.emptyList(), Arrays.asList("a"), Collections.emptyList());
+
+      XViewerChangeSet adding = new XViewerChangeSet();
+      adding.add("a");
+      adding.merge(second);
+      adding.remove("a");
+      // a did not exist before the first change set
+      assertTrue(adding.isEmpty());
+   }
+
+   @Test
+   public void testClear() {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.remove("a");
+      changeSet.add("a");
+      changeSet.change("b");
+      changeSet.clear();
+      assertTrue(changeSet.isEmpty());
+      changeSet.remove("a");
+      assertChanges(changeSet, Collections.emptyList(), Arrays.asList("a"), Collections.emptyList());
+   }
+}
@@ -19,9 +19,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -40,6 +42,8 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.jface.viewers.ViewerRow;
 import org.eclipse.jface.viewers.ViewerSorter;
 import org.eclipse.nebula.widgets.xviewer.action.TableCustomizationAction;
@@ -75,6 +79,7 @@ import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.part.ViewPart;
 
 /**
@@ -105,6 +110,9 @@ public class XViewer extends TreeViewer {
    private static final Map<Composite, Composite> parentToTopComposites = new HashMap<>();
    private boolean debugLoading = "true".equals(System.getProperty("DebugLoading"));
    private final Map<String, Long> preComputeElapsedTime = new HashMap<>();
+   private final Object pendingChangesLock = new Object();
+   private XViewerChangeSet pendingChanges = new XViewerChangeSet();
+   private boolean changesFlushScheduled = false;
 
    public XViewer(Composite parent, int style, IXViewerFactory xViewerFactory) {
       this(parent, style, xViewerFactory, false, false);
@@ -424,6 +432,261 @@ public class XViewer extends TreeViewer {
       }
    }
 
+   /**
+    * Queue added, removed and changed top level elements to be applied on the next UI tick. May be called from any
+    * thread; all change sets queued before the UI thread gets to run are coalesced and applied together. Only the
+    * affected elements are pre-computed, re-filtered and re-positioned, instead of the full pre-compute, sort and filter
+    * performed by refresh() or setInputXViewer(Object).
+    */
+   public void applyChanges(XViewerChangeSet changeSet) {
+      if (changeSet.isEmpty()) {
+         return;
+      }
+      synchronized (pendingChangesLock) {
+         pendingChanges.merge(changeSet);
+         if (!changesFlushScheduled) {
+            changesFlushScheduled = true;
+            Display.getDefault().asyncExec(this::flushChanges);
+         }
+      }
+   }
+
+   public void applyAdded(Collection<?> elements) {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.addAll(elements);
+      applyChanges(changeSet);
+   }
+
+   public void applyRemoved(Collection<?> elements) {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.removeAll(elements);
+      applyChanges(changeSet);
+   }
+
+   public void applyChanged(Collection<?> elements) {
+      XViewerChangeSet changeSet = new XViewerChangeSet();
+      changeSet.changeAll(elements);
+      applyChanges(changeSet);
+   }
+
+   /**
+    * Applies all queued changes. Only one flush is in flight at a time so change sets are applied in the order they were
+    * queued; changes queued while pre-computing are picked up by the next flush.
+    */
+   private void flushChanges() {
+      final XViewerChangeSet changeSet;
+      synchronized (pendingChangesLock) {
+         changeSet = pendingChanges;
+         pendingChanges = new XViewerChangeSet();
+      }
+      if (changeSet.isEmpty() || getTree() == null || getTree().isDisposed()) {
+         finishFlushChanges();
+         return;
+      }
+      final List<XViewerColumn> columns = getPreComputedColumns();
+      if (forcePend || columns.isEmpty()) {
+         applyPreComputed(changeSet, performPreCompute(changeSet, columns));
+         performChangeLoad(changeSet);
+         finishFlushChanges();
+      } else {
+         final Map<XViewerColumn, Map<Long, String>> computed = new HashMap<>();
+         Job job = new Job("Refreshing Changed Elements") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+               computed.putAll(performPreCompute(changeSet, columns));
+               return Status.OK_STATUS;
+            }
+
+         };
+         job.setSystem(false);
+         job.addJobChangeListener(new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+               Display.getDefault().asyncExec(() -> {
+                  if (getTree() != null && !getTree().isDisposed()) {
+                     applyPreComputed(changeSet, computed);
+                     performChangeLoad(changeSet);
+                  }
+                  finishFlushChanges();
+               });
+            }
+         });
+         job.schedule();
+      }
+   }
+
+   private void finishFlushChanges() {
+      synchronized (pendingChangesLock) {
+         if (pendingChanges.isEmpty() || getTree() == null || getTree().isDisposed()) {
+            changesFlushScheduled = false;
+         } else {
+            Display.getDefault().asyncExec(this::flushChanges);
+         }
+      }
+   }
+
+   private List<XViewerColumn> getPreComputedColumns() {
+      List<XViewerColumn> columns = new ArrayList<>();
+      for (XViewerColumn column : getCustomizeMgr().getCurrentVisibleTableColumns()) {
+         if (column instanceof IXViewerPreComputedColumn) {
+            columns.add(column);
+         }
+      }
+      return columns;
+   }
+
+   /**
+    * Compute pre-computed column values for added and changed elements only. Values are computed into new maps, one per
+    * column, so this can run in a background job while the UI thread reads the column maps to paint.
+    */
+   private Map<XViewerColumn, Map<Long, String>> performPreCompute(XViewerChangeSet changeSet,
+      List<XViewerColumn> columns) {
+      Map<XViewerColumn, Map<Long, String>> computed = new HashMap<>();
+      List<Object> toCompute = changeSet.getAddedAndChanged();
+      if (toCompute.isEmpty()) {
+         return computed;
+      }
+      for (XViewerColumn column : columns) {
+         Map<Long, String> values = new HashMap<>(toCompute.size());
+         try {
+            ((IXViewerPreComputedColumn) column).populateCachedValues(toCompute, values);
+         } catch (Exception ex) {
+            XViewerLog.log(Activator.class, Level.SEVERE,
+               String.format("Error performing pre-compute of changed elements for column %s", column), ex);
+         }
+         computed.put(column, values);
+      }
+      return computed;
+   }
+
+   /**
+    * Drop the values of removed and changed elements from the column maps and store the computed values. Must be called
+    * on the UI thread, which is the only thread reading and writing the column maps.
+    */
+   private void applyPreComputed(XViewerChangeSet changeSet, Map<XViewerColumn, Map<Long, String>> computed) {
+      for (XViewerColumn column : getPreComputedColumns()) {
+         IXViewerPreComputedColumn preComputedColumn = (IXViewerPreComputedColumn) column;
+         Map<Long, String> preComputedValueMap = column.getPreComputedValueMap();
+         if (preComputedValueMap == null) {
+            preComputedValueMap = new HashMap<Long, String>();
+            column.setPreComputedValueMap(preComputedValueMap);
+         }
+         for (Object obj : changeSet.getRemoved()) {
+            preComputedValueMap.remove(preComputedColumn.getKey(obj));
+         }
+         for (Object obj : changeSet.getChanged()) {
+            preComputedValueMap.remove(preComputedColumn.getKey(obj));
+         }
+         Map<Long, String> values = computed.get(column);
+         if (values != null) {
+            preComputedValueMap.putAll(values);
+         }
+      }
+   }
+
+   /**
+    * Apply change set to the tree. Removed elements are removed, added elements are filtered and inserted at their sorted
+    * position by binary search and changed elements are either updated in place or, if their filter membership or sort
+    * position changed, removed and re-inserted.
+    */
+   @SuppressWarnings("unchecked")
+   private void performChangeLoad(XViewerChangeSet changeSet) {
+      if (getTree() == null || getTree().isDisposed()) {
+         return;
+      }
+      Object input = getInput();
+      if (input instanceof Collection<?>) {
+         Collection<Object> inputObj = (Collection<Object>) input;
+         inputObj.removeAll(changeSet.getRemoved());
+         if (!changeSet.getAdded().isEmpty()) {
+            // one lookup per added element instead of a scan of a List input
+            Set<Object> inputSet = new HashSet<>(inputObj);
+            for (Object obj : changeSet.getAdded()) {
+               if (inputSet.add(obj)) {
+                  inputObj.add(obj);
+               }
+            }
+         }
+      }
+      getTree().setRedraw(false);
+      try {
+         if (!changeSet.getRemoved().isEmpty()) {
+            super.remove(changeSet.getRemoved().toArray());
+         }
+         List<Object> toAdd = new ArrayList<>();
+         List<Object> changed = new ArrayList<>(changeSet.getChanged());
+         for (Object obj : changeSet.getAdded()) {
+            // removed and added again in the same change set while still shown
+            if (findItem(obj) != null) {
+               changed.add(obj);
+            } else {
+               toAdd.add(obj);
+            }
+         }
+         List<Object> toUpdate = new ArrayList<>();
+         List<Object> toReinsert = new ArrayList<>();
+         for (Object obj : changed) {
+            if (isInPlace(input, obj)) {
+               toUpdate.add(obj);
+            } else {
+               toReinsert.add(obj);
+            }
+         }
+         if (!toUpdate.isEmpty()) {
+            update(toUpdate.toArray(), null);
+         }
+         if (!toReinsert.isEmpty()) {
+            super.remove(toReinsert.toArray());
+            super.add(input, toReinsert.toArray());
+         }
+         if (!toAdd.isEmpty()) {
+            super.add(input, toAdd.toArray());
+         }
+      } finally {
+         getTree().setRedraw(true);
+      }
+      updateStatusLabel();
+   }
+
+   /**
+    * @return true if element is shown, still passes all filters and is still between its sorted neighbors
+    */
+   private boolean isInPlace(Object input, Object element) {
+      Widget widget = findItem(element);
+      if (!(widget instanceof TreeItem)) {
+         return false;
+      }
+      for (ViewerFilter filter : getFilters()) {
+         if (!filter.select(this, input, element)) {
+            return false;
+         }
+      }
+      ViewerComparator comparator = getComparator();
+      if (comparator == null) {
+         return true;
+      }
+      TreeItem item = (TreeItem) widget;
+      if (item.getParentItem() != null) {
+         return true;
+      }
+      int index = getTree().indexOf(item);
+      if (index > 0) {
+         Object previous = getTree().getItem(index - 1).getData();
+         if (previous != null && comparator.compare(this, previous, element) > 0) {
+            return false;
+         }
+      }
+      if (index < getTree().getItemCount() - 1) {
+         Object next = getTree().getItem(index + 1).getData();
+         if (next != null && comparator.compare(this, element, next) > 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
    /**
     * Will be called when Alt-Left-Click is done within table cell
     *
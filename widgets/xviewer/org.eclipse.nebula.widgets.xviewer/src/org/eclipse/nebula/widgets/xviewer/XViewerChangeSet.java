@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Nebula.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Nebula - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.nebula.widgets.xviewer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set of top level elements that were added, removed or changed since the last time the XViewer was updated. Passed to
+ * XViewer.applyChanges(XViewerChangeSet) so only the affected elements are pre-computed, filtered and re-positioned
+ * instead of performing a full refresh.<br/>
+ * <br/>
+ * Changes are merged as they are recorded: an element that is added and then removed before the set is applied is
+ * dropped entirely. An element that is removed and then added again is reported as added, and is updated in place by
+ * the viewer if it is still shown; removing it once more reports it as removed again.
+ */
+public class XViewerChangeSet {
+
+   private final Set<Object> added = new LinkedHashSet<>();
+   private final Set<Object> removed = new LinkedHashSet<>();
+   private final Set<Object> changed = new LinkedHashSet<>();
+   // added elements that were removed first, so they existed before this change set
+   private final Set<Object> readded = new LinkedHashSet<>();
+
+   public void add(Object element) {
+      if (removed.remove(element)) {
+         readded.add(element);
+      }
+      if (!changed.contains(element)) {
+         added.add(element);
+      }
+   }
+
+   public void addAll(Collection<?> elements) {
+      for (Object element : elements) {
+         add(element);
+      }
+   }
+
+   public void remove(Object element) {
+      if (added.remove(element) && !readded.remove(element)) {
+         return;
+      }
+      changed.remove(element);
+      removed.add(element);
+   }
+
+   public void removeAll(Collection<?> elements) {
+      for (Object element : elements) {
+         remove(element);
+      }
+   }
+
+   public void change(Object element) {
+      if (!added.contains(element) && !removed.contains(element)) {
+         changed.add(element);
+      }
+   }
+
+   public void changeAll(Collection<?> elements) {
+      for (Object element : elements) {
+         change(element);
+      }
+   }
+
+   /**
+    * Merge all changes recorded in other into this set, in the order they were recorded.
+    */
+   public void merge(XViewerChangeSet other) {
+      removeAll(other.removed);
+      for (Object element : other.added) {
+         if (other.readded.contains(element)) {
+            remove(element);
+         }
+         add(element);
+      }
+      changeAll(other.changed);
+   }
+
+   public Collection<Object> getAdded() {
+      return added;
+   }
+
+   public Collection<Object> getRemoved() {
+      return removed;
+   }
+
+   public Collection<Object> getChanged() {
+      return changed;
+   }
+
+   /**
+    * @return added and changed elements; these are the elements whose pre-computed values must be re-computed
+    */
+   public List<Object> getAddedAndChanged() {
+      List<Object> objects = new ArrayList<>(added.size() + changed.size());
+      objects.addAll(added);
+      objects.addAll(changed);
+      return objects;
+   }
+
+   public boolean isEmpty() {
+      return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+   }
+
+   public int size() {
+      return added.size() + removed.size() + changed.size();
+   }
+
+   public void clear() {
+      added.clear();
+      removed.clear();
+      changed.clear();
+      readded.clear();
+   }
+
+   @Override
+   public String toString() {
+      return String.format("XViewerChangeSet [added=%d, removed=%d, changed=%d]", added.size(), removed.size(),
+         changed.size());
+   }
+
+}